@@ -104,6 +104,8 @@ public final class Constants {
 
     public static final String BUILD_RUN_COMPLETE_FOR_PROGRAMMING_EXERCISE = "All builds triggered for programming exercise";
 
+    public static final String BUILD_RUN_FAILED_FOR_PROGRAMMING_EXERCISE_NOTIFICATION = "Not all builds of the participations could be triggered. Number of failed builds: ";
+
     public static final String PROGRAMMING_EXERCISE_FAILED_LOCK_OPERATIONS_NOTIFICATION = "When removing the write permissions for the student repositories, not all operations were successful. Number of failed operations: ";
 
     public static final String PROGRAMMING_EXERCISE_FAILED_STASH_OPERATIONS_NOTIFICATION = "When stashing the changes for the student repositories, not all operations were successful. Number of failed operations: ";
@@ -0,0 +1,43 @@
+package de.tum.in.www1.artemis.config.migration.entries;
+
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.config.migration.MigrationEntry;
+import de.tum.in.www1.artemis.service.ActiveStudentSketchService;
+
+/**
+ * This migration builds the active student sketches of all courses from the existing submissions, later submissions are added when they are saved.
+ * The sketches are built asynchronously, because writing the registers of all weeks of all courses takes a while.
+ */
+@Component
+public class MigrationEntry20220402_120000 extends MigrationEntry {
+
+    private final ActiveStudentSketchService activeStudentSketchService;
+
+    public MigrationEntry20220402_120000(ActiveStudentSketchService activeStudentSketchService) {
+        this.activeStudentSketchService = activeStudentSketchService;
+    }
+
+    @Override
+    public void execute() {
+        activeStudentSketchService.rebuildAllSketchesAsync();
+    }
+
+    /**
+     * @return Author of the entry. Either full name or GitHub name.
+     */
+    @Override
+    public String author() {
+        return "artemis";
+    }
+
+    /**
+     * Format YYYYMMDD_HHmmss
+     *
+     * @return Current time in given format
+     */
+    @Override
+    public String date() {
+        return "20220402_120000";
+    }
+}
@@ -50,6 +50,8 @@ import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache.SubscriptionTopic;
 import de.tum.in.www1.artemis.validation.InetSocketAddressValidator;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
@@ -73,6 +75,8 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     private final ExerciseRepository exerciseRepository;
 
+    private final WebsocketSubscriptionAuthorizationCache authorizationCache;
+
     // Split the addresses by comma
     @Value("#{'${spring.websocket.broker.addresses}'.split(',')}")
     private List<String> brokerAddresses;
@@ -85,13 +89,14 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
 
     public WebsocketConfiguration(MappingJackson2HttpMessageConverter springMvcJacksonConverter, TaskScheduler messageBrokerTaskScheduler,
             StudentParticipationRepository studentParticipationRepository, AuthorizationCheckService authorizationCheckService, ExerciseRepository exerciseRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository, WebsocketSubscriptionAuthorizationCache authorizationCache) {
         this.objectMapper = springMvcJacksonConverter.getObjectMapper();
         this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
         this.studentParticipationRepository = studentParticipationRepository;
         this.authorizationCheckService = authorizationCheckService;
         this.exerciseRepository = exerciseRepository;
         this.userRepository = userRepository;
+        this.authorizationCache = authorizationCache;
     }
 
     @Override
@@ -225,9 +230,12 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
             Principal principal = headerAccessor.getUser();
             String destination = headerAccessor.getDestination();
 
-            if (StompCommand.SUBSCRIBE.equals(headerAccessor.getCommand())) {
+            if (StompCommand.DISCONNECT.equals(headerAccessor.getCommand())) {
+                authorizationCache.removeSession(headerAccessor.getSessionId());
+            }
+            else if (StompCommand.SUBSCRIBE.equals(headerAccessor.getCommand())) {
                 try {
-                    if (!allowSubscription(principal, destination)) {
+                    if (!allowSubscription(principal, headerAccessor.getSessionId(), destination)) {
                         logUnauthorizedDestinationAccess(principal, destination);
                         return null; // erase the forbidden SUBSCRIBE command the user was trying to send
                     }
@@ -243,28 +251,33 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
         }
 
         /**
-         * Returns whether the subscription of the given principal to the given destination is permitted
+         * Returns whether the subscription of the given principal to the given destination is permitted. The decisions are cached, so that clients subscribing to the
+         * same topics again after reconnecting do not load the participations, exercises and users again.
          *
          * @param principal User principal of the user who wants to subscribe
+         * @param sessionId Id of the websocket session of the user
          * @param destination Destination topic to which the user wants to subscribe
          * @return flag whether subscription is allowed
          */
-        private boolean allowSubscription(Principal principal, String destination) {
+        private boolean allowSubscription(Principal principal, String sessionId, String destination) {
             if (isParticipationTeamDestination(destination)) {
                 Long participationId = getParticipationIdFromDestination(destination);
-                return isParticipationOwnedByUser(principal, participationId);
+                return authorizationCache.isSubscriptionAllowed(principal.getName(), SubscriptionTopic.PARTICIPATION_TEAM, participationId,
+                        () -> isParticipationOwnedByUser(principal, participationId));
             }
             if (isResultNonPersonalDestination(destination)) {
                 Long exerciseId = getExerciseIdFromResultDestination(destination);
-
-                // TODO: Is it right that TAs are not allowed to subscribe to exam exercises?
-                Exercise exercise = exerciseRepository.findByIdElseThrow(exerciseId);
-                if (exercise.isExamExercise()) {
-                    return isUserInstructorOrHigherForExercise(principal, exercise);
-                }
-                else {
-                    return isUserTAOrHigherForExercise(principal, exercise);
-                }
+                return authorizationCache.isSubscriptionAllowed(principal.getName(), SubscriptionTopic.EXERCISE_RESULTS, exerciseId, () -> {
+                    // TODO: Is it right that TAs are not allowed to subscribe to exam exercises?
+                    Exercise exercise = exerciseRepository.findByIdElseThrow(exerciseId);
+                    User user = authorizationCache.getSessionUser(sessionId, () -> userRepository.getUserWithGroupsAndAuthorities(principal.getName()));
+                    if (exercise.isExamExercise()) {
+                        return isUserInstructorOrHigherForExercise(user, exercise);
+                    }
+                    else {
+                        return isUserTAOrHigherForExercise(user, exercise);
+                    }
+                });
             }
             return true;
         }
@@ -284,13 +297,11 @@ public class WebsocketConfiguration extends DelegatingWebSocketMessageBrokerConf
         return participation.isOwnedBy(principal.getName());
     }
 
-    private boolean isUserInstructorOrHigherForExercise(Principal principal, Exercise exercise) {
-        User user = userRepository.getUserWithGroupsAndAuthorities(principal.getName());
+    private boolean isUserInstructorOrHigherForExercise(User user, Exercise exercise) {
         return authorizationCheckService.isAtLeastInstructorInCourse(exercise.getCourseViaExerciseGroupOrCourseMember(), user);
     }
 
-    private boolean isUserTAOrHigherForExercise(Principal principal, Exercise exercise) {
-        User user = userRepository.getUserWithGroupsAndAuthorities(principal.getName());
+    private boolean isUserTAOrHigherForExercise(User user, Exercise exercise) {
         return authorizationCheckService.isAtLeastTeachingAssistantForExercise(exercise, user);
     }
 }
@@ -0,0 +1,68 @@
+package de.tum.in.www1.artemis.domain;
+
+import javax.persistence.*;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The build logs of a programming submission stored as one compressed blob instead of one {@link BuildLogEntry} per line.
+ * The offsets of the entries in the uncompressed data allow reading single entries without decoding the previous ones.
+ */
+@Entity
+@Table(name = "build_log_archive")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BuildLogArchive extends DomainObject {
+
+    @ManyToOne
+    @JsonIgnore
+    private ProgrammingSubmission programmingSubmission;
+
+    @Column(name = "entry_count")
+    private int entryCount;
+
+    @Lob
+    @Column(name = "entry_offsets")
+    private byte[] entryOffsets;
+
+    @Lob
+    @Column(name = "compressed_logs")
+    private byte[] compressedLogs;
+
+    public ProgrammingSubmission getProgrammingSubmission() {
+        return programmingSubmission;
+    }
+
+    public void setProgrammingSubmission(ProgrammingSubmission programmingSubmission) {
+        this.programmingSubmission = programmingSubmission;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public byte[] getEntryOffsets() {
+        return entryOffsets;
+    }
+
+    public void setEntryOffsets(byte[] entryOffsets) {
+        this.entryOffsets = entryOffsets;
+    }
+
+    public byte[] getCompressedLogs() {
+        return compressedLogs;
+    }
+
+    public void setCompressedLogs(byte[] compressedLogs) {
+        this.compressedLogs = compressedLogs;
+    }
+
+    @Override
+    public String toString() {
+        return "BuildLogArchive{id=" + getId() + ", entryCount=" + entryCount + ", compressedSize=" + (compressedLogs != null ? compressedLogs.length : 0) + "}";
+    }
+}
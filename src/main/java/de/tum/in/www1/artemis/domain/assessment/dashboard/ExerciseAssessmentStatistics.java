@@ -0,0 +1,40 @@
+package de.tum.in.www1.artemis.domain.assessment.dashboard;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.web.rest.dto.DueDateStat;
+
+/**
+ * Class used to hold the statistics of an exercise shown on the assessment dashboard, which are the same for all tutors of the exercise
+ */
+public record ExerciseAssessmentStatistics(DueDateStat numberOfSubmissions, DueDateStat totalNumberOfAssessments, DueDateStat[] numberOfAssessmentsOfCorrectionRounds,
+        Long numberOfComplaints, Long numberOfOpenComplaints, Long numberOfMoreFeedbackRequests, Long numberOfOpenMoreFeedbackRequests, Double averageRating,
+        Long numberOfRatings) {
+
+    /**
+     * @param exercise the exercise with the calculated statistics
+     * @return the statistics of the exercise
+     */
+    public static ExerciseAssessmentStatistics of(Exercise exercise) {
+        return new ExerciseAssessmentStatistics(exercise.getNumberOfSubmissions(), exercise.getTotalNumberOfAssessments(), exercise.getNumberOfAssessmentsOfCorrectionRounds(),
+                exercise.getNumberOfComplaints(), exercise.getNumberOfOpenComplaints(), exercise.getNumberOfMoreFeedbackRequests(),
+                exercise.getNumberOfOpenMoreFeedbackRequests(), exercise.getAverageRating(), exercise.getNumberOfRatings());
+    }
+
+    /**
+     * Sets the statistics on the exercise
+     *
+     * @param exercise the exercise to which the statistics belong
+     */
+    public void applyTo(Exercise exercise) {
+        exercise.setNumberOfSubmissions(numberOfSubmissions);
+        exercise.setTotalNumberOfAssessments(totalNumberOfAssessments);
+        // each exercise gets its own array, as the array is mutable
+        exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds != null ? numberOfAssessmentsOfCorrectionRounds.clone() : null);
+        exercise.setNumberOfComplaints(numberOfComplaints);
+        exercise.setNumberOfOpenComplaints(numberOfOpenComplaints);
+        exercise.setNumberOfMoreFeedbackRequests(numberOfMoreFeedbackRequests);
+        exercise.setNumberOfOpenMoreFeedbackRequests(numberOfOpenMoreFeedbackRequests);
+        exercise.setAverageRating(averageRating);
+        exercise.setNumberOfRatings(numberOfRatings);
+    }
+}
@@ -0,0 +1,7 @@
+package de.tum.in.www1.artemis.domain.assessment.dashboard;
+
+/**
+ * Class used to hold the tutor average rating and number of tutor ratings of one of several exercises
+ */
+public record ExerciseRatingMapEntry(Long exerciseId, Double averageRating, Long numberOfRatings) {
+}
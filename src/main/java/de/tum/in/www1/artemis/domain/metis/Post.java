@@ -1,5 +1,7 @@
 package de.tum.in.www1.artemis.domain.metis;
 
+import static de.tum.in.www1.artemis.config.Constants.VOTE_EMOJI_ID;
+
 import java.util.HashSet;
 import java.util.Set;
 
@@ -8,7 +10,9 @@ import javax.validation.constraints.Size;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 
@@ -65,6 +69,22 @@ public class Post extends Posting {
     @Column(name = "display_priority")
     private DisplayPriority displayPriority;
 
+    // calculated by the database, so that posts can be sorted and paged by these values in queries (the client determines them itself)
+
+    // pinned announcements first, then other pinned posts, then all other posts and archived posts last
+    @Formula("(CASE WHEN display_priority = 'PINNED' AND course_wide_context = 'ANNOUNCEMENT' THEN 0 WHEN display_priority = 'PINNED' THEN 1 "
+            + "WHEN display_priority = 'ARCHIVED' THEN 3 ELSE 2 END)")
+    @JsonIgnore
+    private int displayPriorityRank;
+
+    @Formula("(SELECT COUNT(*) FROM answer_post answer WHERE answer.post_id = id)")
+    @JsonIgnore
+    private int answerCount;
+
+    @Formula("(SELECT COUNT(*) FROM reaction vote WHERE vote.post_id = id AND vote.emoji_id = '" + VOTE_EMOJI_ID + "')")
+    @JsonIgnore
+    private int voteCount;
+
     public String getTitle() {
         return title;
     }
@@ -169,6 +189,18 @@ public class Post extends Posting {
         this.displayPriority = displayPriority;
     }
 
+    public int getDisplayPriorityRank() {
+        return displayPriorityRank;
+    }
+
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    public int getVoteCount() {
+        return voteCount;
+    }
+
     /**
      * Helper method to determine if a given post has the same context, i.e. either same exercise, lecture or course-wide context
      * @param otherPost post that is compared to
@@ -0,0 +1,86 @@
+package de.tum.in.www1.artemis.domain.scores;
+
+import javax.persistence.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+
+/**
+ * The sum of the last rated points of a user in all exercises of a course (exam id is {@link #NO_EXAM}) or of an exam.
+ * The sum contains all exercises, also the ones that are not released yet or not included in the overall score, those are subtracted when reading the scores.
+ * <p>
+ * The table is derived from the {@link ParticipantScore}s and kept up to date by the {@link de.tum.in.www1.artemis.service.TotalScoreService}. It only stores the ids of the
+ * course, exam and user (without foreign keys), so that deleting them does not need to consider this table. A unique constraint ensures that each user has at most one
+ * row per course or exam, also when the first results of a user are created concurrently.
+ */
+@Entity
+@Table(name = "total_score", uniqueConstraints = @UniqueConstraint(name = "total_score_course_exam_user", columnNames = { "course_id", "exam_id", "user_id" }))
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TotalScore extends DomainObject {
+
+    /**
+     * The exam id of the total scores of course exercises, a value instead of null so that the unique constraint applies to them in all databases
+     */
+    public static final long NO_EXAM = 0L;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "points_achieved", nullable = false)
+    private double pointsAchieved;
+
+    public TotalScore() {
+        // for jpa
+    }
+
+    public TotalScore(Long courseId, Long examId, Long userId, double pointsAchieved) {
+        this.courseId = courseId;
+        this.examId = examId;
+        this.userId = userId;
+        this.pointsAchieved = pointsAchieved;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Long examId) {
+        this.examId = examId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public double getPointsAchieved() {
+        return pointsAchieved;
+    }
+
+    public void setPointsAchieved(double pointsAchieved) {
+        this.pointsAchieved = pointsAchieved;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalScore{id=" + getId() + ", courseId=" + courseId + ", examId=" + examId + ", userId=" + userId + ", pointsAchieved=" + pointsAchieved + "}";
+    }
+}
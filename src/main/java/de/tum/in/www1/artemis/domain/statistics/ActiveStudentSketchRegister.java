@@ -0,0 +1,97 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+import de.tum.in.www1.artemis.service.util.HyperLogLog;
+
+/**
+ * One register of the {@link HyperLogLog} sketch of the students with submissions in the exercises of a course in one week. The week starts on Monday at 00:00 in the
+ * time zone of the server. Registers with the value 0 are not stored.
+ * <p>
+ * The registers are updated when submissions are saved and rebuilt by the {@link de.tum.in.www1.artemis.service.ActiveStudentSketchService}, so that the active students
+ * of a course can be estimated with one aggregation per week instead of loading the active students of each day. The weight (2^-value) is stored with the value, so
+ * that the estimate can be calculated from the number and the weight sum of the registers. It only stores the id of the course (without foreign key).
+ */
+@Entity
+@Table(name = "active_student_sketch_register", uniqueConstraints = @UniqueConstraint(columnNames = { "course_id", "week_start", "register_index" }))
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ActiveStudentSketchRegister extends DomainObject {
+
+    @Column(name = "course_id", nullable = false)
+    private long courseId;
+
+    @Column(name = "week_start", nullable = false)
+    private ZonedDateTime weekStart;
+
+    @Column(name = "register_index", nullable = false)
+    private int registerIndex;
+
+    @Column(name = "register_value", nullable = false)
+    private int registerValue;
+
+    @Column(name = "weight", nullable = false)
+    private double weight;
+
+    public ActiveStudentSketchRegister() {
+        // for jpa
+    }
+
+    public ActiveStudentSketchRegister(long courseId, ZonedDateTime weekStart, int registerIndex, int registerValue) {
+        this.courseId = courseId;
+        this.weekStart = weekStart;
+        this.registerIndex = registerIndex;
+        this.registerValue = registerValue;
+        this.weight = HyperLogLog.weight(registerValue);
+    }
+
+    public long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(long courseId) {
+        this.courseId = courseId;
+    }
+
+    public ZonedDateTime getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(ZonedDateTime weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public int getRegisterIndex() {
+        return registerIndex;
+    }
+
+    public void setRegisterIndex(int registerIndex) {
+        this.registerIndex = registerIndex;
+    }
+
+    public int getRegisterValue() {
+        return registerValue;
+    }
+
+    public void setRegisterValue(int registerValue) {
+        this.registerValue = registerValue;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    @Override
+    public String toString() {
+        return "ActiveStudentSketchRegister{id=" + getId() + ", courseId=" + courseId + ", weekStart=" + weekStart + ", registerIndex=" + registerIndex + ", registerValue="
+                + registerValue + "}";
+    }
+}
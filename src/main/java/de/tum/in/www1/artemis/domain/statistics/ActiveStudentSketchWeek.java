@@ -0,0 +1,9 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The aggregated registers of the active student sketch of a course in one week, from which the number of active students is estimated
+ */
+public record ActiveStudentSketchWeek(ZonedDateTime weekStart, Long nonZeroRegisters, Double weightSum) {
+}
@@ -0,0 +1,9 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The course, student login and submission date of a submission in a course exercise, which makes the student active in the week of the submission
+ */
+public record ActiveStudentSubmission(Long courseId, String login, ZonedDateTime submissionDate) {
+}
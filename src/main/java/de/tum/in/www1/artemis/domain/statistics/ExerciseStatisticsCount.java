@@ -0,0 +1,25 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+/**
+ * The number of entries of a graph belonging to one exercise (or course) in a period, used to fill the {@link StatisticsHourlyCount}s
+ *
+ * @param exerciseId the id of the exercise, null for posts without exercise
+ * @param courseId   the id of the course, null for exam exercises
+ * @param testCourse whether the course is a test course, test courses are not included in the Artemis view
+ * @param amount     the number of entries
+ */
+public record ExerciseStatisticsCount(Long exerciseId, Long courseId, Boolean testCourse, Long amount) {
+
+    /**
+     * Used for posts, which belong to the course directly or via their exercise or lecture
+     *
+     * @param exerciseId       the id of the exercise of the post
+     * @param exerciseCourseId the id of the course of the exercise of the post
+     * @param lectureCourseId  the id of the course of the lecture of the post
+     * @param postCourseId     the id of the course of a course-wide post
+     * @param amount           the number of entries
+     */
+    public ExerciseStatisticsCount(Long exerciseId, Long exerciseCourseId, Long lectureCourseId, Long postCourseId, Long amount) {
+        this(exerciseId, exerciseCourseId != null ? exerciseCourseId : lectureCourseId != null ? lectureCourseId : postCourseId, null, amount);
+    }
+}
@@ -0,0 +1,99 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
+
+/**
+ * The number of entries of a graph in one hour for one view, e.g. the number of submissions of an exercise between 10:00 and 11:00.
+ * The entity id is the id of the course or exercise and 0 for the Artemis view. Hours without entries are not stored.
+ * <p>
+ * The table is derived from the submissions, results and posts and filled by the {@link de.tum.in.www1.artemis.service.StatisticsRollupService}, so that the statistics
+ * pages do not have to count the entries of the whole displayed period. It only stores the ids of the courses and exercises (without foreign keys).
+ */
+@Entity
+@Table(name = "statistics_hourly_count")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class StatisticsHourlyCount extends DomainObject {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "graph_type", nullable = false)
+    private GraphType graphType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "statistics_view", nullable = false)
+    private StatisticsView view;
+
+    @Column(name = "entity_id", nullable = false)
+    private long entityId;
+
+    @Column(name = "hour_start", nullable = false)
+    private ZonedDateTime hourStart;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    public StatisticsHourlyCount() {
+        // for jpa
+    }
+
+    public StatisticsHourlyCount(GraphType graphType, StatisticsView view, long entityId, ZonedDateTime hourStart, long amount) {
+        this.graphType = graphType;
+        this.view = view;
+        this.entityId = entityId;
+        this.hourStart = hourStart;
+        this.amount = amount;
+    }
+
+    public GraphType getGraphType() {
+        return graphType;
+    }
+
+    public void setGraphType(GraphType graphType) {
+        this.graphType = graphType;
+    }
+
+    public StatisticsView getView() {
+        return view;
+    }
+
+    public void setView(StatisticsView view) {
+        this.view = view;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(long entityId) {
+        this.entityId = entityId;
+    }
+
+    public ZonedDateTime getHourStart() {
+        return hourStart;
+    }
+
+    public void setHourStart(ZonedDateTime hourStart) {
+        this.hourStart = hourStart;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsHourlyCount{id=" + getId() + ", graphType=" + graphType + ", view=" + view + ", entityId=" + entityId + ", hourStart=" + hourStart + ", amount="
+                + amount + "}";
+    }
+}
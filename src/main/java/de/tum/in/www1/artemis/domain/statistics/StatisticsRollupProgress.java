@@ -0,0 +1,55 @@
+package de.tum.in.www1.artemis.domain.statistics;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import de.tum.in.www1.artemis.domain.DomainObject;
+
+/**
+ * The period for which the {@link StatisticsHourlyCount}s are complete, i.e. all hours from the covered start (inclusive) until the covered end (exclusive).
+ * There is at most one row, entries outside of the covered period are counted from the submissions, results and posts directly.
+ */
+@Entity
+@Table(name = "statistics_rollup_progress")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class StatisticsRollupProgress extends DomainObject {
+
+    @Column(name = "covered_from", nullable = false)
+    private ZonedDateTime coveredFrom;
+
+    @Column(name = "covered_until", nullable = false)
+    private ZonedDateTime coveredUntil;
+
+    public StatisticsRollupProgress() {
+        // for jpa
+    }
+
+    public StatisticsRollupProgress(ZonedDateTime coveredFrom, ZonedDateTime coveredUntil) {
+        this.coveredFrom = coveredFrom;
+        this.coveredUntil = coveredUntil;
+    }
+
+    public ZonedDateTime getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public void setCoveredFrom(ZonedDateTime coveredFrom) {
+        this.coveredFrom = coveredFrom;
+    }
+
+    public ZonedDateTime getCoveredUntil() {
+        return coveredUntil;
+    }
+
+    public void setCoveredUntil(ZonedDateTime coveredUntil) {
+        this.coveredUntil = coveredUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsRollupProgress{id=" + getId() + ", coveredFrom=" + coveredFrom + ", coveredUntil=" + coveredUntil + "}";
+    }
+}
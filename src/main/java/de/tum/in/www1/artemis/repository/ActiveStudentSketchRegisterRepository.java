@@ -0,0 +1,63 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.statistics.ActiveStudentSketchRegister;
+import de.tum.in.www1.artemis.domain.statistics.ActiveStudentSketchWeek;
+
+/**
+ * Spring Data JPA repository for the ActiveStudentSketchRegister entity.
+ */
+@Repository
+public interface ActiveStudentSketchRegisterRepository extends JpaRepository<ActiveStudentSketchRegister, Long> {
+
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.statistics.ActiveStudentSketchWeek(r.weekStart, COUNT(r), SUM(r.weight))
+            FROM ActiveStudentSketchRegister r
+            WHERE r.courseId = :courseId AND r.weekStart >= :startDate AND r.weekStart < :endDate
+            GROUP BY r.weekStart
+            """)
+    List<ActiveStudentSketchWeek> findWeeks(@Param("courseId") long courseId, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    boolean existsByCourseIdAndWeekStartAndRegisterIndex(long courseId, ZonedDateTime weekStart, int registerIndex);
+
+    /**
+     * Raises the value of the register, if its current value is lower
+     *
+     * @param courseId      the id of the course
+     * @param weekStart     the start of the week
+     * @param registerIndex the index of the register
+     * @param registerValue the new value of the register
+     * @param weight        the weight of the new value
+     * @return the number of updated registers, 0 if the register does not exist or already has a higher value
+     */
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("""
+            UPDATE ActiveStudentSketchRegister r SET r.registerValue = :registerValue, r.weight = :weight
+            WHERE r.courseId = :courseId AND r.weekStart = :weekStart AND r.registerIndex = :registerIndex AND r.registerValue < :registerValue
+            """)
+    int raiseRegister(@Param("courseId") long courseId, @Param("weekStart") ZonedDateTime weekStart, @Param("registerIndex") int registerIndex,
+            @Param("registerValue") int registerValue, @Param("weight") double weight);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM ActiveStudentSketchRegister r WHERE r.courseId = :courseId AND r.weekStart >= :startDate AND r.weekStart < :endDate")
+    void deleteAllInPeriod(@Param("courseId") long courseId, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    /**
+     * Deletes the registers of courses that do not exist anymore
+     */
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM ActiveStudentSketchRegister r WHERE r.courseId NOT IN (SELECT c.id FROM Course c)")
+    void deleteAllOfDeletedCourses();
+}
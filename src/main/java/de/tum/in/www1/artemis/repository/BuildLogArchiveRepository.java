@@ -0,0 +1,26 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.BuildLogArchive;
+
+/**
+ * Spring Data JPA repository for the BuildLogArchive entity.
+ */
+@Repository
+public interface BuildLogArchiveRepository extends JpaRepository<BuildLogArchive, Long> {
+
+    Optional<BuildLogArchive> findFirstByProgrammingSubmissionIdOrderByIdDesc(Long programmingSubmissionId);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("delete from BuildLogArchive archive where archive.programmingSubmission.id = :#{#programmingSubmissionId}")
+    void deleteAllByProgrammingSubmissionId(@Param("programmingSubmissionId") Long programmingSubmissionId);
+}
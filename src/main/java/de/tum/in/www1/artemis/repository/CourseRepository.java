@@ -17,6 +17,7 @@ import org.springframework.stereotype.Repository;
 
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
+import de.tum.in.www1.artemis.domain.statistics.ActiveStudentSubmission;
 import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
@@ -48,6 +49,9 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("select distinct course from Course course where course.studentGroupName like :#{#name}")
     Course findCourseByStudentGroupName(@Param("name") String name);
 
+    @Query("select course.id from Course course")
+    Set<Long> findAllIds();
+
     @Query("""
             SELECT DISTINCT c FROM Course c
             WHERE (c.startDate <= :#{#now}
@@ -167,6 +171,45 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             """)
     List<StatisticsEntry> getActiveStudents(@Param("exerciseIds") Set<Long> exerciseIds, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
 
+    /**
+     * Get the course, student login and submission date of a submission, if the submission has a submission date and belongs to a student participation in a course exercise
+     *
+     * @param submissionId the id of the submission
+     * @return the course, login and submission date or an empty optional
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.statistics.ActiveStudentSubmission(c.id, u.login, s.submissionDate)
+            FROM StudentParticipation p JOIN p.submissions s JOIN p.student u JOIN p.exercise e JOIN e.course c
+            WHERE s.id = :submissionId
+                AND s.submissionDate IS NOT NULL
+            """)
+    Optional<ActiveStudentSubmission> findActiveStudentSubmission(@Param("submissionId") long submissionId);
+
+    /**
+     * Get the logins of the students with submissions in the course exercises in the given period
+     *
+     * @param courseId the id of the course
+     * @param startDate the start of the period (inclusive)
+     * @param endDate the end of the period (exclusive)
+     * @return the logins of the active students
+     */
+    @Query("""
+            SELECT DISTINCT p.student.login
+            FROM StudentParticipation p JOIN p.submissions s
+            WHERE p.exercise.course.id = :courseId
+                AND s.submissionDate >= :startDate
+                AND s.submissionDate < :endDate
+            """)
+    Set<String> findActiveStudentLogins(@Param("courseId") long courseId, @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            SELECT MIN(s.submissionDate)
+            FROM StudentParticipation p JOIN p.submissions s
+            WHERE p.exercise.course.id = :courseId
+                AND p.student IS NOT NULL
+            """)
+    Optional<ZonedDateTime> findFirstStudentSubmissionDate(@Param("courseId") long courseId);
+
     /**
      * Fetches the courses to display for the management overview
      *
@@ -139,6 +139,16 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
                 """)
     Set<Long> findAllIdsByCourseId(@Param("courseId") Long courseId);
 
+    /**
+     * @param examId - exam id of the exercises we want to fetch
+     * @return all exercise-ids which belong to the exercise groups of the exam
+     */
+    @Query("""
+            SELECT e.id FROM Exercise e
+            WHERE e.exerciseGroup.exam.id = :examId
+            """)
+    Set<Long> findAllIdsByExamId(@Param("examId") Long examId);
+
     /**
      * calculates the average score and the participation rate of students for each given individual course exercise
      * by using the last result (rated or not)
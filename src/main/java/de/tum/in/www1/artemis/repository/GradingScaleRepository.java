@@ -112,10 +112,21 @@ public interface GradingScaleRepository extends JpaRepository<GradingScale, Long
      * @return grade step corresponding to the given percentage
      */
     default GradeStep matchPercentageToGradeStep(double percentage, Long gradingScaleId) {
+        return matchPercentageToGradeStep(percentage, findById(gradingScaleId).orElseThrow());
+    }
+
+    /**
+     * Maps a grade percentage to a valid grade step within the already loaded grading scale or throws an exception if no match was found
+     *
+     * @param percentage   the grade percentage to be mapped
+     * @param gradingScale the grading scale with its grade steps
+     * @return grade step corresponding to the given percentage
+     */
+    default GradeStep matchPercentageToGradeStep(double percentage, GradingScale gradingScale) {
         if (percentage < 0) {
             throw new BadRequestAlertException("Grade percentages must be greater than 0", "gradeStep", "invalidGradePercentage");
         }
-        Set<GradeStep> gradeSteps = findById(gradingScaleId).orElseThrow().getGradeSteps();
+        Set<GradeStep> gradeSteps = gradingScale.getGradeSteps();
         Optional<GradeStep> matchingGradeStep = gradeSteps.stream().filter(gradeStep -> gradeStep.matchingGradePercentage(percentage)).findFirst();
         if (matchingGradeStep.isPresent()) {
             return matchingGradeStep.get();
@@ -2,7 +2,7 @@ package de.tum.in.www1.artemis.repository;
 
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.LOAD;
 
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -11,6 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.google.common.collect.Lists;
+
 import de.tum.in.www1.artemis.domain.NotificationSetting;
 import de.tum.in.www1.artemis.domain.User;
 
@@ -28,6 +30,30 @@ public interface NotificationSettingRepository extends JpaRepository<Notificatio
             """)
     Set<NotificationSetting> findAllNotificationSettingsForRecipientWithId(@Param("userId") long userId);
 
+    @Query("""
+            SELECT notificationSetting
+            FROM NotificationSetting notificationSetting
+            LEFT JOIN FETCH notificationSetting.user user
+            WHERE user.id IN :#{#userIds}
+            """)
+    List<NotificationSetting> findAllNotificationSettingsForRecipientsWithIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Finds the notification settings of many users with one query per 1000 users (instead of one query per user)
+     *
+     * @param userIds the ids of the users
+     * @return the notification settings of each user by user id, users without saved notification settings are not contained
+     */
+    default Map<Long, Set<NotificationSetting>> findAllNotificationSettingsByRecipientIds(Collection<Long> userIds) {
+        Map<Long, Set<NotificationSetting>> notificationSettingsByUserId = new HashMap<>();
+        // limit the size of the IN clause, some databases do not support arbitrarily many parameters
+        for (List<Long> userIdChunk : Lists.partition(new ArrayList<>(userIds), 1000)) {
+            findAllNotificationSettingsForRecipientsWithIds(userIdChunk).forEach(
+                    notificationSetting -> notificationSettingsByUserId.computeIfAbsent(notificationSetting.getUser().getId(), userId -> new HashSet<>()).add(notificationSetting));
+        }
+        return notificationSettingsByUserId;
+    }
+
     @EntityGraph(type = LOAD, attributePaths = { "user.groups", "user.authorities" })
     @Query("""
             SELECT setting
@@ -2,6 +2,7 @@ package de.tum.in.www1.artemis.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import de.tum.in.www1.artemis.domain.Rating;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingCount;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingMapEntry;
 
 /**
  * Spring Data JPA repository for the Rating entity.
@@ -46,6 +48,21 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
             """)
     ExerciseRatingCount averageRatingByExerciseId(@Param("exerciseId") Long exerciseId);
 
+    @Query("""
+                SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingMapEntry(
+                    e.id,
+                    cast(sum(ra.rating) as double) / sum(case when ra.rating is not null then 1 else 0 end),
+                    sum(case when ra.rating is not null then 1 else 0 end))
+                FROM
+                    Result r JOIN r.participation p JOIN p.exercise e
+                    LEFT JOIN FETCH Rating ra ON ra.result = r.id
+                WHERE
+                    r.completionDate is not null AND
+                    e.id IN :exerciseIds
+                GROUP BY e.id
+            """)
+    List<ExerciseRatingMapEntry> averageRatingByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
+
     /**
      * Count all ratings given to submissions for the given course.
      * @param courseId the id of the course for which the ratings are counted
@@ -13,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ResultCount;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.leaderboard.tutor.TutorLeaderboardAssessments;
@@ -160,6 +161,18 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
             """)
     long countNumberOfFinishedAssessmentsForExercise(@Param("exerciseId") Long exerciseId);
 
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry(e.id, COUNT(DISTINCT p))
+            FROM StudentParticipation p JOIN p.results r JOIN p.exercise e
+            WHERE e.id IN :exerciseIds
+                AND r.assessor IS NOT NULL
+                AND r.rated = TRUE
+                AND r.completionDate IS NOT NULL
+                AND (e.dueDate IS NULL OR r.submission.submissionDate <= e.dueDate)
+            GROUP BY e.id
+            """)
+    List<ExerciseMapEntry> countNumberOfFinishedAssessmentsByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
+
     /**
      * Gets the number of assessments with a rated result set by an assessor for an exercise
      *
@@ -203,6 +216,23 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
             """)
     List<Long> countNumberOfFinishedAssessmentsByExerciseIdIgnoreTestRuns(@Param("exerciseId") Long exerciseId);
 
+    /**
+     * @param exerciseIds ids of the exercises
+     * @return a list that contains the exercise id and the count of manual assessments for each studentParticipation of the exercises
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry(p.exercise.id, COUNT(r.id))
+            FROM StudentParticipation p JOIN p.submissions s JOIN s.results r
+            WHERE p.exercise.id IN :exerciseIds
+                AND p.testRun = FALSE
+                AND s.submitted = TRUE
+                AND r.completionDate IS NOT NULL
+                AND r.rated = TRUE
+                AND r.assessor IS NOT NULL
+                GROUP BY p.exercise.id, p.id
+            """)
+    List<ExerciseMapEntry> countNumberOfFinishedAssessmentsPerParticipationByExerciseIdsIgnoreTestRuns(@Param("exerciseIds") Set<Long> exerciseIds);
+
     @Query("""
             SELECT r
                 FROM StudentParticipation p join p.submissions s join s.results r
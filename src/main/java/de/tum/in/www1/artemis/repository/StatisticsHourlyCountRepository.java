@@ -0,0 +1,36 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsHourlyCount;
+
+/**
+ * Spring Data JPA repository for the StatisticsHourlyCount entity.
+ */
+@Repository
+public interface StatisticsHourlyCountRepository extends JpaRepository<StatisticsHourlyCount, Long> {
+
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.StatisticsEntry(h.hourStart, h.amount)
+            from StatisticsHourlyCount h
+            where h.graphType = :graphType and h.view = :view and h.entityId = :entityId and h.hourStart >= :startDate and h.hourStart < :endDate
+            """)
+    List<StatisticsEntry> findEntries(@Param("graphType") GraphType graphType, @Param("view") StatisticsView view, @Param("entityId") long entityId,
+            @Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM StatisticsHourlyCount h WHERE h.hourStart >= :startDate and h.hourStart < :endDate")
+    void deleteAllInPeriod(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+}
@@ -20,6 +20,7 @@ import de.tum.in.www1.artemis.domain.enumeration.GraphType;
 import de.tum.in.www1.artemis.domain.enumeration.SpanType;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.statistics.CourseStatisticsAverageScore;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount;
 import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
 
 /**
@@ -403,13 +404,55 @@ public interface StatisticsRepository extends JpaRepository<User, Long> {
                 answer.creationDate, count(answer.id)
                 )
             from AnswerPost answer left join answer.post post left join post.exercise exercise
-            where answer.creationDate >= :#{#startDate} and answer.creationDate <= :#{#endDate} and answer.resolvesPost = true and exercise.course.id = :#{#exerciseId}
+            where answer.creationDate >= :#{#startDate} and answer.creationDate <= :#{#endDate} and answer.resolvesPost = true and exercise.id = :#{#exerciseId}
             group by answer.creationDate
             order by answer.creationDate asc
             """)
     List<StatisticsEntry> getResolvedExercisePostsInDateRange(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate,
             @Param("exerciseId") Long exerciseId);
 
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount(e.id, c.id, c.testCourse, count(s.id))
+            from Submission s join s.participation p join p.exercise e left join e.course c
+            where s.submissionDate >= :#{#startDate} and s.submissionDate < :#{#endDate}
+            group by e.id, c.id, c.testCourse
+            """)
+    List<ExerciseStatisticsCount> countSubmissionsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount(e.id, c.id, c.testCourse, count(r.id))
+            from Result r join r.participation p join p.exercise e left join e.course c
+            where r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by e.id, c.id, c.testCourse
+            """)
+    List<ExerciseStatisticsCount> countCreatedResultsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount(e.id, c.id, c.testCourse, sum(size(r.feedbacks)))
+            from Result r join r.participation p join p.exercise e left join e.course c
+            where r.completionDate >= :#{#startDate} and r.completionDate < :#{#endDate}
+            group by e.id, c.id, c.testCourse
+            """)
+    List<ExerciseStatisticsCount> countResultFeedbacksPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount(exercise.id, exerciseCourse.id, lectureCourse.id, postCourse.id, count(post.id))
+            from Post post left join post.exercise exercise left join exercise.course exerciseCourse left join post.lecture lecture left join lecture.course lectureCourse
+                left join post.course postCourse
+            where post.creationDate >= :#{#startDate} and post.creationDate < :#{#endDate}
+            group by exercise.id, exerciseCourse.id, lectureCourse.id, postCourse.id
+            """)
+    List<ExerciseStatisticsCount> countPostsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
+    @Query("""
+            select new de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount(exercise.id, exerciseCourse.id, lectureCourse.id, postCourse.id, count(answer.id))
+            from AnswerPost answer join answer.post post left join post.exercise exercise left join exercise.course exerciseCourse left join post.lecture lecture
+                left join lecture.course lectureCourse left join post.course postCourse
+            where answer.creationDate >= :#{#startDate} and answer.creationDate < :#{#endDate} and answer.resolvesPost = true
+            group by exercise.id, exerciseCourse.id, lectureCourse.id, postCourse.id
+            """)
+    List<ExerciseStatisticsCount> countResolvedPostsPerExercise(@Param("startDate") ZonedDateTime startDate, @Param("endDate") ZonedDateTime endDate);
+
     @Query("""
             select e.id
             from Exercise e
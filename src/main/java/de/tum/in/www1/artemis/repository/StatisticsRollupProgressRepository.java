@@ -0,0 +1,17 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+
+/**
+ * Spring Data JPA repository for the StatisticsRollupProgress entity.
+ */
+@Repository
+public interface StatisticsRollupProgressRepository extends JpaRepository<StatisticsRollupProgress, Long> {
+
+    Optional<StatisticsRollupProgress> findFirstByOrderByIdAsc();
+}
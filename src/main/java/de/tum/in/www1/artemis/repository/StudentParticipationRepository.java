@@ -23,6 +23,8 @@ import de.tum.in.www1.artemis.domain.enumeration.ExerciseMode;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.exam.StudentExam;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.web.rest.dto.ExamResultScoreDTO;
+import de.tum.in.www1.artemis.web.rest.dto.StudentInitializationStateDTO;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
 /**
@@ -36,6 +38,14 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
 
     boolean existsByExerciseId(@Param("exerciseId") Long exerciseId);
 
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.StudentInitializationStateDTO(p.student.id, p.initializationState)
+            FROM StudentParticipation p
+            WHERE p.exercise.id = :exerciseId
+                AND p.student IS NOT NULL
+            """)
+    List<StudentInitializationStateDTO> findStudentInitializationStatesByExerciseId(@Param("exerciseId") Long exerciseId);
+
     @Query("""
             SELECT DISTINCT p FROM StudentParticipation p LEFT JOIN FETCH p.results r
             WHERE p.exercise.course.id = :#{#courseId}
@@ -54,6 +64,27 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
             """)
     List<StudentParticipation> findByExamIdWithEagerLegalSubmissionsRatedResults(@Param("examId") Long examId);
 
+    /**
+     * Gets the rated results of all legal submissions in the exam (without test runs) ordered by participation, submission and position of the result in the submission.
+     * This contains the same results as {@link #findByExamIdWithEagerLegalSubmissionsRatedResults(Long)} without loading the entities.
+     *
+     * @param examId the id of the exam
+     * @return the rated results with the ids of their participation, student, exercise and submission
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.ExamResultScoreDTO(p.id, p.student.id, p.exercise.id, s.id, s.submissionDate, INDEX(r), r.score, r.completionDate,
+                r.assessmentType)
+            FROM StudentParticipation p
+            JOIN p.submissions s
+            JOIN s.results r
+            WHERE p.testRun = FALSE
+                AND p.exercise.exerciseGroup.exam.id = :examId
+                AND r.rated = TRUE
+                AND (s.type <> 'ILLEGAL' OR s.type IS NULL)
+            ORDER BY p.id, s.id, INDEX(r)
+            """)
+    List<ExamResultScoreDTO> findRatedResultScoresByExamId(@Param("examId") long examId);
+
     @Query("""
             SELECT DISTINCT p FROM StudentParticipation p
             WHERE p.exercise.course.id = :#{#courseId}
@@ -366,6 +397,43 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
     List<StudentParticipation> findByExerciseIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(@Param("exerciseId") Long exerciseId,
             @Param("correctionRound") long correctionRound);
 
+    /**
+     * Find the participation, if its submitted latest submission does not already have a manual result for the correction round and it does not belong to a test run,
+     * see {@link #findByExerciseIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(Long, long)}
+     *
+     * @param participationId the id of the participation
+     * @param correctionRound the correction round the fetched results should belong to
+     * @return the participation including its submitted submission that does not have a manual result or an empty optional
+     */
+    @Query("""
+            SELECT DISTINCT p FROM StudentParticipation p
+            LEFT JOIN FETCH p.submissions submission
+            LEFT JOIN FETCH submission.results result
+            LEFT JOIN FETCH result.feedbacks feedbacks
+            LEFT JOIN FETCH result.assessor
+            WHERE p.id = :#{#participationId}
+            AND p.testRun = FALSE
+            AND 0L = (SELECT COUNT(r2)
+                             FROM Result r2 WHERE r2.assessor IS NOT NULL
+                                 AND (r2.rated IS NULL OR r2.rated = FALSE)
+                                 AND r2.submission = submission)
+            AND
+              :#{#correctionRound} = (SELECT COUNT(r)
+                             FROM Result r WHERE r.assessor IS NOT NULL
+                                 AND r.rated = TRUE
+                                 AND r.submission = submission
+                                 AND r.completionDate IS NOT NULL
+                                 AND r.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC')
+                                 AND (p.exercise.dueDate IS NULL OR r.submission.submissionDate <= p.exercise.dueDate))
+            AND :#{#correctionRound} = (SELECT COUNT (prs)
+                            FROM p.results prs
+                            WHERE prs.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC'))
+            AND submission.submitted = true
+            AND submission.id = (SELECT max(id) FROM p.submissions)
+            """)
+    Optional<StudentParticipation> findByIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(@Param("participationId") Long participationId,
+            @Param("correctionRound") long correctionRound);
+
     // TODO SE This one need to be improved.
     /**
      * Find all participations of submissions that are submitted and do not already have a manual result. No manual result means that no user has started an assessment for the
@@ -406,6 +474,30 @@ public interface StudentParticipationRepository extends JpaRepository<StudentPar
     List<StudentParticipation> findByExerciseIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(@Param("exerciseId") Long exerciseId,
             @Param("now") ZonedDateTime now);
 
+    /**
+     * Find the participation, if its submitted latest submission does not already have a manual result and its individual due date has passed,
+     * see {@link #findByExerciseIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(Long, ZonedDateTime)}
+     *
+     * @param participationId the id of the participation
+     * @param now             the current date
+     * @return the participation including its submitted submission that does not have a manual result or an empty optional
+     */
+    @Query("""
+            SELECT DISTINCT p FROM Participation p
+            LEFT JOIN FETCH p.submissions s
+            LEFT JOIN FETCH s.results r
+            LEFT JOIN FETCH r.feedbacks
+            WHERE p.id = :#{#participationId}
+            AND (p.individualDueDate IS NULL OR p.individualDueDate <= :#{#now})
+            AND NOT EXISTS
+                (SELECT prs FROM p.results prs
+                    WHERE prs.assessmentType IN ('MANUAL', 'SEMI_AUTOMATIC'))
+                    AND s.submitted = true
+                    AND s.id = (SELECT max(id) FROM p.submissions)
+            """)
+    Optional<StudentParticipation> findByIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(@Param("participationId") Long participationId,
+            @Param("now") ZonedDateTime now);
+
     @Query("""
             select p from Participation p
             left join fetch p.submissions s
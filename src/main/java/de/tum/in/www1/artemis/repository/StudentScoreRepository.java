@@ -17,6 +17,7 @@ import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.User;
 import de.tum.in.www1.artemis.domain.scores.StudentScore;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
+import de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO;
 
 @Repository
 public interface StudentScoreRepository extends JpaRepository<StudentScore, Long> {
@@ -45,14 +46,13 @@ public interface StudentScoreRepository extends JpaRepository<StudentScore, Long
             """)
     Optional<StudentScore> findStudentScoreByExerciseAndUserLazy(@Param("exercise") Exercise exercise, @Param("user") User user);
 
-    // TODO: use a custom object instead of Object[] (as in the example above with ParticipantScoreAverageDTO)
     @Query("""
-            SELECT sc.user, SUM(sc.lastRatedPoints)
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO(sc.user.id, SUM(sc.lastRatedPoints))
             FROM StudentScore sc
-            WHERE sc.exercise IN :exercises
-            GROUP BY sc.user
+            WHERE sc.exercise.id IN :exerciseIds
+            GROUP BY sc.user.id
             """)
-    List<Object[]> getAchievedPointsOfStudents(@Param("exercises") Set<Exercise> exercises);
+    List<UserPointsDTO> getAchievedPointsOfStudentsByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
 
     @Query("""
                     SELECT s
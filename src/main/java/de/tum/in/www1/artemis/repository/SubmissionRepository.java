@@ -21,6 +21,7 @@ import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 import de.tum.in.www1.artemis.web.rest.dto.DueDateStat;
+import de.tum.in.www1.artemis.web.rest.dto.ParticipationModelDTO;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
 /**
@@ -426,6 +427,84 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
             """)
     Optional<Submission> findWithEagerResultAndFeedbackById(@Param("submissionId") long submissionId);
 
+    /**
+     * Finds the participations of the exam (without test runs) with a manual programming submission that has a rated result, i.e. the student pushed to the repository
+     *
+     * @param examId the id of the exam
+     * @return the ids of the participations
+     */
+    @Query("""
+            SELECT DISTINCT s.participation.id FROM ProgrammingSubmission s
+            WHERE s.participation.exercise.exerciseGroup.exam.id = :examId
+                AND s.participation.testRun = FALSE
+                AND s.type = 'MANUAL'
+                AND EXISTS (SELECT r FROM Result r WHERE r.submission = s AND r.rated = TRUE)
+            """)
+    Set<Long> findParticipationIdsWithManualProgrammingSubmissionByExamId(@Param("examId") long examId);
+
+    /**
+     * Finds the participations of the exam (without test runs) with a text submission that has a rated result and contains a non-blank text
+     *
+     * @param examId the id of the exam
+     * @return the ids of the participations
+     */
+    @Query("""
+            SELECT DISTINCT s.participation.id FROM TextSubmission s
+            WHERE s.participation.exercise.exerciseGroup.exam.id = :examId
+                AND s.participation.testRun = FALSE
+                AND (s.type <> 'ILLEGAL' OR s.type IS NULL)
+                AND LENGTH(TRIM(s.text)) > 0
+                AND EXISTS (SELECT r FROM Result r WHERE r.submission = s AND r.rated = TRUE)
+            """)
+    Set<Long> findParticipationIdsWithNonEmptyTextSubmissionByExamId(@Param("examId") long examId);
+
+    /**
+     * Finds the participations of the exam (without test runs) with a file upload submission that has a rated result and contains a file
+     *
+     * @param examId the id of the exam
+     * @return the ids of the participations
+     */
+    @Query("""
+            SELECT DISTINCT s.participation.id FROM FileUploadSubmission s
+            WHERE s.participation.exercise.exerciseGroup.exam.id = :examId
+                AND s.participation.testRun = FALSE
+                AND (s.type <> 'ILLEGAL' OR s.type IS NULL)
+                AND s.filePath IS NOT NULL AND s.filePath <> ''
+                AND EXISTS (SELECT r FROM Result r WHERE r.submission = s AND r.rated = TRUE)
+            """)
+    Set<Long> findParticipationIdsWithNonEmptyFileUploadSubmissionByExamId(@Param("examId") long examId);
+
+    /**
+     * Finds the participations of the exam (without test runs) with a quiz submission that has a rated result and at least one submitted answer
+     *
+     * @param examId the id of the exam
+     * @return the ids of the participations
+     */
+    @Query("""
+            SELECT DISTINCT s.participation.id FROM QuizSubmission s JOIN s.submittedAnswers answer
+            WHERE s.participation.exercise.exerciseGroup.exam.id = :examId
+                AND s.participation.testRun = FALSE
+                AND (s.type <> 'ILLEGAL' OR s.type IS NULL)
+                AND EXISTS (SELECT r FROM Result r WHERE r.submission = s AND r.rated = TRUE)
+            """)
+    Set<Long> findParticipationIdsWithNonEmptyQuizSubmissionByExamId(@Param("examId") long examId);
+
+    /**
+     * Gets the models of the modeling submissions of the exam (without test runs) that have a rated result, the models have to be parsed to find out if they are empty
+     *
+     * @param examId the id of the exam
+     * @return the model and explanation of each modeling submission with its participation id
+     */
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.ParticipationModelDTO(s.participation.id, s.model, s.explanationText)
+            FROM ModelingSubmission s
+            WHERE s.participation.exercise.exerciseGroup.exam.id = :examId
+                AND s.participation.testRun = FALSE
+                AND (s.type <> 'ILLEGAL' OR s.type IS NULL)
+                AND EXISTS (SELECT r FROM Result r WHERE r.submission = s AND r.rated = TRUE)
+            """)
+    List<ParticipationModelDTO> findParticipationModelsByExamId(@Param("examId") long examId);
+
     /**
      * Initializes a new text, modeling or file upload submission (depending on the type of the given exercise), connects it with the given participation and stores it in the
      * database.
@@ -436,7 +515,21 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
      * @return a new submission for the given type connected to the given participation
      */
     default Submission initializeSubmission(Participation participation, Exercise exercise, SubmissionType submissionType) {
+        Submission submission = instantiateSubmission(exercise);
+        submission.setType(submissionType);
+        submission.setParticipation(participation);
+        save(submission);
+        participation.addSubmission(submission);
+        return submission;
+    }
 
+    /**
+     * Creates a new (not yet saved) submission of the type that belongs to the given exercise
+     *
+     * @param exercise the exercise for which the submission should be created
+     * @return a new programming, modeling, text, file upload or quiz submission
+     */
+    default Submission instantiateSubmission(Exercise exercise) {
         Submission submission;
         if (exercise instanceof ProgrammingExercise) {
             submission = new ProgrammingSubmission();
@@ -456,11 +549,6 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
         else {
             throw new RuntimeException("Unsupported exercise type: " + exercise);
         }
-
-        submission.setType(submissionType);
-        submission.setParticipation(participation);
-        save(submission);
-        participation.addSubmission(submission);
         return submission;
     }
 
@@ -18,6 +18,7 @@ import de.tum.in.www1.artemis.domain.Team;
 import de.tum.in.www1.artemis.domain.User;
 import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
+import de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO;
 
 @Repository
 public interface TeamScoreRepository extends JpaRepository<TeamScore, Long> {
@@ -47,12 +48,15 @@ public interface TeamScoreRepository extends JpaRepository<TeamScore, Long> {
     Optional<TeamScore> findTeamScoreByExerciseAndUserLazy(@Param("exercise") Exercise exercise, @Param("user") User user);
 
     @Query("""
-            SELECT ts.team, SUM(ts.lastRatedPoints)
-            FROM TeamScore ts
-            WHERE ts.exercise IN :exercises
-            GROUP BY ts.team
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO(student.id, SUM(ts.lastRatedPoints))
+            FROM TeamScore ts JOIN ts.team team JOIN team.students student
+            WHERE ts.exercise.id IN :exerciseIds
+            GROUP BY student.id
             """)
-    List<Object[]> getAchievedPointsOfTeams(@Param("exercises") Set<Exercise> exercises);
+    List<UserPointsDTO> getAchievedPointsOfTeamStudentsByExerciseIds(@Param("exerciseIds") Set<Long> exerciseIds);
+
+    @EntityGraph(type = LOAD, attributePaths = { "team", "exercise" })
+    List<TeamScore> findAllByTeam(Team team);
 
     @Query("""
                     SELECT t
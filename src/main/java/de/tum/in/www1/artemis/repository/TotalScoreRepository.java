@@ -0,0 +1,90 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.scores.TotalScore;
+import de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO;
+
+/**
+ * Spring Data JPA repository for the TotalScore entity.
+ */
+@Repository
+public interface TotalScoreRepository extends JpaRepository<TotalScore, Long> {
+
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO(ts.userId, SUM(ts.pointsAchieved))
+            FROM TotalScore ts
+            WHERE ts.courseId = :courseId AND ts.examId = 0
+            GROUP BY ts.userId
+            """)
+    List<UserPointsDTO> findPointsOfUsersByCourseId(@Param("courseId") long courseId);
+
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO(ts.userId, SUM(ts.pointsAchieved))
+            FROM TotalScore ts
+            WHERE ts.examId = :examId
+            GROUP BY ts.userId
+            """)
+    List<UserPointsDTO> findPointsOfUsersByExamId(@Param("examId") long examId);
+
+    boolean existsByCourseIdAndExamIdAndUserId(long courseId, long examId, long userId);
+
+    /**
+     * Creates an empty total score in its own transaction, so that a violation of the unique constraint (if the total score was created concurrently) only rolls back
+     * the insert and not the transaction of the caller
+     *
+     * @param courseId the id of the course
+     * @param examId   the id of the exam or {@link TotalScore#NO_EXAM}
+     * @param userId   the id of the user
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW) // ok because of insert
+    @Query(value = """
+            INSERT INTO total_score (course_id, exam_id, user_id, points_achieved)
+            VALUES (:courseId, :examId, :userId, 0)
+            """, nativeQuery = true)
+    void insertEmptyTotalScore(@Param("courseId") long courseId, @Param("examId") long examId, @Param("userId") long userId);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("""
+            UPDATE TotalScore ts SET ts.pointsAchieved = ts.pointsAchieved + :points
+            WHERE ts.courseId = :courseId AND ts.examId = :examId AND ts.userId = :userId
+            """)
+    int addPoints(@Param("courseId") long courseId, @Param("examId") long examId, @Param("userId") long userId, @Param("points") double points);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM TotalScore ts WHERE ts.courseId = :courseId AND ts.examId = 0")
+    void deleteAllByCourseId(@Param("courseId") long courseId);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM TotalScore ts WHERE ts.examId = :examId")
+    void deleteAllByExamId(@Param("examId") long examId);
+
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("DELETE FROM TotalScore ts WHERE ts.userId = :userId")
+    void deleteAllByUserId(@Param("userId") long userId);
+
+    /**
+     * Deletes the total scores of courses and exams that do not exist anymore
+     */
+    @Modifying
+    @Transactional // ok because of modifying query
+    @Query("""
+            DELETE FROM TotalScore ts
+            WHERE ts.courseId NOT IN (SELECT c.id FROM Course c)
+                OR (ts.examId <> 0 AND ts.examId NOT IN (SELECT e.id FROM Exam e))
+            """)
+    void deleteAllOfDeletedCoursesAndExams();
+}
@@ -21,13 +21,14 @@ import de.tum.in.www1.artemis.domain.enumeration.SortingOrder;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.dto.UserDTO;
 import de.tum.in.www1.artemis.web.rest.dto.PageableSearchDTO;
+import de.tum.in.www1.artemis.web.rest.dto.ScoreDTO;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
 /**
  * Spring Data JPA repository for the User entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     String USERS_CACHE = "users";
 
@@ -83,6 +84,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("select user from User user where :#{#groupName} member of user.groups")
     List<User> findAllInGroup(@Param("groupName") String groupName);
 
+    @Query("""
+            SELECT DISTINCT new de.tum.in.www1.artemis.web.rest.dto.ScoreDTO(user.id, user.login)
+            FROM User user JOIN user.groups userGroup
+            WHERE userGroup IN :groupNames
+            """)
+    List<ScoreDTO> findAllInGroupsAsScoreDTOs(@Param("groupNames") Set<String> groupNames);
+
+    @Query("""
+            SELECT new de.tum.in.www1.artemis.web.rest.dto.ScoreDTO(user.id, user.login)
+            FROM Exam exam JOIN exam.registeredUsers user
+            WHERE exam.id = :examId
+            """)
+    List<ScoreDTO> findAllRegisteredForExamAsScoreDTOs(@Param("examId") long examId);
+
     @Query("select user from User user where user.isInternal = :#{#isInternal}")
     List<User> findAllByInternal(boolean isInternal);
 
@@ -128,6 +143,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
             """)
     List<User> findAllByLoginsInGroup(@Param("groupName") String groupName, @Param("logins") Set<String> logins);
 
+    /**
+     * Gets all users with the given logins (without groups and authorities).
+     *
+     * @param logins Logins of users
+     * @return found users that match the criteria
+     */
+    @Query("""
+            select user
+            from User user
+            where user.login in :#{#logins}
+            """)
+    List<User> findAllByLogins(@Param("logins") Set<String> logins);
+
     /**
      * Searches for users by their login or full name.
      *
@@ -227,14 +255,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     }
 
     /**
-     * Get user with user groups and authorities of currently logged in user
+     * Get user with user groups and authorities of currently logged in user, the user might be cached for a short time
      *
      * @return currently logged in user
      */
     @NotNull
     default User getUserWithGroupsAndAuthorities() {
         String currentUserLogin = getCurrentUserLogin();
-        Optional<User> user = findOneWithGroupsAndAuthoritiesByLogin(currentUserLogin);
+        Optional<User> user = findCachedOneWithGroupsAndAuthoritiesByLogin(currentUserLogin);
         return unwrapOptionalUser(user, currentUserLogin);
     }
 
@@ -277,14 +305,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     }
 
     /**
-     * Get user with user groups and authorities with the username (i.e. user.getLogin() or principal.getName())
+     * Get user with user groups and authorities with the username (i.e. user.getLogin() or principal.getName()), the user might be cached for a short time
      *
      * @param username the username of the user who should be retrieved from the database
      * @return the user that belongs to the given principal with eagerly loaded groups and authorities
      */
     @NotNull
     default User getUserWithGroupsAndAuthorities(@NotNull String username) {
-        Optional<User> user = findOneWithGroupsAndAuthoritiesByLogin(username);
+        Optional<User> user = findCachedOneWithGroupsAndAuthoritiesByLogin(username);
         return unwrapOptionalUser(user, username);
     }
 
@@ -0,0 +1,50 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import de.tum.in.www1.artemis.domain.User;
+
+/**
+ * Queries for users that are answered from the {@link de.tum.in.www1.artemis.service.user.UserPrincipalCache} if possible, and the save methods, which remove the saved
+ * users from the cache.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds the user with groups and authorities by login in the cache of the current request or this node, or else in the database. Every call returns a new copy of
+     * the user, so callers may change it.
+     *
+     * @param login the login of the user
+     * @return the user with groups and authorities or an empty optional, if no user with the login exists
+     */
+    Optional<User> findCachedOneWithGroupsAndAuthoritiesByLogin(String login);
+
+    /**
+     * Saves the user and removes it from the user cache. Changing only the groups or authorities does not update the user itself, so the entity listener would not
+     * notice the change.
+     *
+     * @param user the user to save
+     * @param <S>  the type of the user
+     * @return the saved user
+     */
+    <S extends User> S save(S user);
+
+    /**
+     * Saves the user, flushes the changes and removes the user from the user cache, see {@link #save(User)}
+     *
+     * @param user the user to save
+     * @param <S>  the type of the user
+     * @return the saved user
+     */
+    <S extends User> S saveAndFlush(S user);
+
+    /**
+     * Saves the users and removes them from the user cache, see {@link #save(User)}
+     *
+     * @param users the users to save
+     * @param <S>   the type of the users
+     * @return the saved users
+     */
+    <S extends User> List<S> saveAll(Iterable<S> users);
+}
@@ -0,0 +1,79 @@
+package de.tum.in.www1.artemis.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.user.UserPrincipalCache;
+
+/**
+ * Loads the users of {@link UserRepositoryCustom} with the same entity graph as {@link UserRepository#findOneWithGroupsAndAuthoritiesByLogin(String)} and caches them.
+ * The save methods replace the ones of {@link org.springframework.data.jpa.repository.support.SimpleJpaRepository} for users and additionally invalidate the cache.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    /**
+     * The cache is created lazily, because the repositories are created together with the {@link EntityManager}.
+     *
+     * @param userPrincipalCache the user principal cache that will be lazily injected by Spring
+     */
+    public UserRepositoryCustomImpl(@Lazy UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    @Override
+    public Optional<User> findCachedOneWithGroupsAndAuthoritiesByLogin(String login) {
+        return userPrincipalCache.get(login, () -> {
+            EntityGraph<User> entityGraph = entityManager.createEntityGraph(User.class);
+            entityGraph.addAttributeNodes("groups", "authorities");
+            return entityManager.createQuery("SELECT user FROM User user WHERE user.login = :login", User.class).setParameter("login", login)
+                    .setHint("javax.persistence.loadgraph", entityGraph).getResultStream().findFirst();
+        });
+    }
+
+    @Override
+    @Transactional // ok because the user is saved like in SimpleJpaRepository
+    public <S extends User> S save(S user) {
+        S savedUser;
+        if (user.getId() == null) {
+            entityManager.persist(user);
+            savedUser = user;
+        }
+        else {
+            savedUser = entityManager.merge(user);
+        }
+        userPrincipalCache.invalidate(savedUser.getLogin());
+        return savedUser;
+    }
+
+    @Override
+    @Transactional // ok because the user is saved like in SimpleJpaRepository
+    public <S extends User> S saveAndFlush(S user) {
+        S savedUser = save(user);
+        entityManager.flush();
+        return savedUser;
+    }
+
+    @Override
+    @Transactional // ok because the users are saved like in SimpleJpaRepository
+    public <S extends User> List<S> saveAll(Iterable<S> users) {
+        List<S> savedUsers = new ArrayList<>();
+        for (S user : users) {
+            savedUsers.add(save(user));
+        }
+        return savedUsers;
+    }
+}
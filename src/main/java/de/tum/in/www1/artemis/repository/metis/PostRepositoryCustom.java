@@ -0,0 +1,36 @@
+package de.tum.in.www1.artemis.repository.metis;
+
+import java.util.List;
+
+import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.web.rest.dto.PostContextFilter;
+
+/**
+ * Queries for posts that depend on the filter of the request (and can therefore not be expressed by one static query).
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Finds the posts that match the context (course, course-wide context, exercise or lecture), the search text and the other filters.
+     * <p>
+     * Sorted posts are ordered by their display priority, the sort criterion of the filter and their id. If the filter contains a post id to continue after (keyset
+     * pagination), only the posts following this post in this order are returned. Unsorted posts are ordered by their id.
+     *
+     * @param postContextFilter the filter of the request
+     * @param userId            the id of the requesting user, used for the filters to own and to answered or reacted posts
+     * @param sorted            whether the posts should be sorted by the sort criterion of the filter
+     * @param offset            the number of posts to skip
+     * @param limit             the maximum number of posts, 0 to get all posts
+     * @return the matching posts
+     */
+    List<Post> findPostsInCourse(PostContextFilter postContextFilter, long userId, boolean sorted, int offset, int limit);
+
+    /**
+     * Counts the posts that match the context (course, course-wide context, exercise or lecture), the search text and the other filters.
+     *
+     * @param postContextFilter the filter of the request
+     * @param userId            the id of the requesting user, used for the filters to own and to answered or reacted posts
+     * @return the number of matching posts
+     */
+    long countPostsInCourse(PostContextFilter postContextFilter, long userId);
+}
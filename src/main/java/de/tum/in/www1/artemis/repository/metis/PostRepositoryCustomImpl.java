@@ -0,0 +1,193 @@
+package de.tum.in.www1.artemis.repository.metis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.domain.Lecture;
+import de.tum.in.www1.artemis.domain.enumeration.SortingOrder;
+import de.tum.in.www1.artemis.domain.metis.AnswerPost;
+import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.domain.metis.PostSortCriterion;
+import de.tum.in.www1.artemis.domain.metis.Reaction;
+import de.tum.in.www1.artemis.web.rest.dto.PostContextFilter;
+import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+
+/**
+ * Builds the queries of {@link PostRepositoryCustom} with the criteria API, because the conditions and the order depend on the filter.
+ * All filters are applied in the database, so that only the posts of the requested page are loaded.
+ */
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    // a search text like #42 searches for the post with id 42
+    private static final Pattern POST_ID_SEARCH_PATTERN = Pattern.compile("#\\d+");
+
+    private static final char LIKE_ESCAPE_CHARACTER = '!';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Post> findPostsInCourse(PostContextFilter postContextFilter, long userId, boolean sorted, int offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Post> query = criteriaBuilder.createQuery(Post.class);
+        Root<Post> post = query.from(Post.class);
+        List<Predicate> predicates = createFilterPredicates(criteriaBuilder, query, post, postContextFilter, userId);
+
+        if (sorted) {
+            // the same order as before the sorting moved to the database: descending unless ascending is requested, ties in the order of creation
+            boolean ascending = postContextFilter.getSortingOrder() == SortingOrder.ASCENDING;
+            String sortCriterion = getSortCriterionAttribute(postContextFilter.getPostSortCriterion());
+            if (postContextFilter.getAfterPostId() != null) {
+                predicates.add(createKeysetPredicate(criteriaBuilder, post, sortCriterion, ascending, postContextFilter.getAfterPostId()));
+            }
+            List<Order> orders = new ArrayList<>();
+            orders.add(criteriaBuilder.asc(post.get("displayPriorityRank")));
+            if (sortCriterion != null) {
+                orders.add(ascending ? criteriaBuilder.asc(post.get(sortCriterion)) : criteriaBuilder.desc(post.get(sortCriterion)));
+            }
+            orders.add(criteriaBuilder.asc(post.get("id")));
+            query.orderBy(orders);
+        }
+        else {
+            query.orderBy(criteriaBuilder.asc(post.get("id")));
+        }
+        query.select(post).where(predicates.toArray(Predicate[]::new));
+
+        TypedQuery<Post> typedQuery = entityManager.createQuery(query).setFirstResult(offset);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public long countPostsInCourse(PostContextFilter postContextFilter, long userId) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Post> post = query.from(Post.class);
+        List<Predicate> predicates = createFilterPredicates(criteriaBuilder, query, post, postContextFilter, userId);
+        query.select(criteriaBuilder.count(post)).where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> createFilterPredicates(CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query, Root<Post> post, PostContextFilter postContextFilter,
+            long userId) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // context
+        if (postContextFilter.getExerciseId() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("exercise").get("id"), postContextFilter.getExerciseId()));
+        }
+        else if (postContextFilter.getLectureId() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("lecture").get("id"), postContextFilter.getLectureId()));
+        }
+        else {
+            Join<Post, Lecture> lecture = post.join("lecture", JoinType.LEFT);
+            Join<Post, Exercise> exercise = post.join("exercise", JoinType.LEFT);
+            predicates.add(criteriaBuilder.or(criteriaBuilder.equal(lecture.get("course").get("id"), postContextFilter.getCourseId()),
+                    criteriaBuilder.equal(exercise.get("course").get("id"), postContextFilter.getCourseId()),
+                    criteriaBuilder.equal(post.get("course").get("id"), postContextFilter.getCourseId())));
+            if (postContextFilter.getCourseWideContext() != null) {
+                predicates.add(criteriaBuilder.equal(post.get("courseWideContext"), postContextFilter.getCourseWideContext()));
+            }
+        }
+
+        // search by text or #post
+        String searchText = postContextFilter.getSearchText();
+        if (searchText != null && !searchText.isBlank()) {
+            String lowerCasedSearchText = searchText.toLowerCase();
+            if (POST_ID_SEARCH_PATTERN.matcher(lowerCasedSearchText).matches()) {
+                predicates.add(criteriaBuilder.equal(post.get("id"), Long.parseLong(lowerCasedSearchText.substring(1))));
+            }
+            else {
+                predicates.add(createSearchTextPredicate(criteriaBuilder, query, post, lowerCasedSearchText));
+            }
+        }
+
+        if (postContextFilter.getFilterToOwn() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("author").get("id"), userId));
+        }
+        if (postContextFilter.getFilterToAnsweredOrReacted() != null) {
+            Subquery<Long> answers = query.subquery(Long.class);
+            Root<AnswerPost> answer = answers.from(AnswerPost.class);
+            answers.select(answer.<Long>get("id")).where(criteriaBuilder.equal(answer.get("post"), post), criteriaBuilder.equal(answer.get("author").get("id"), userId));
+            Subquery<Long> reactions = query.subquery(Long.class);
+            Root<Reaction> reaction = reactions.from(Reaction.class);
+            reactions.select(reaction.<Long>get("id")).where(criteriaBuilder.equal(reaction.get("post"), post), criteriaBuilder.equal(reaction.get("user").get("id"), userId));
+            predicates.add(criteriaBuilder.or(criteriaBuilder.exists(answers), criteriaBuilder.exists(reactions)));
+        }
+        if (postContextFilter.getFilterToUnresolved() != null) {
+            Subquery<Long> resolvingAnswers = query.subquery(Long.class);
+            Root<AnswerPost> answer = resolvingAnswers.from(AnswerPost.class);
+            resolvingAnswers.select(answer.<Long>get("id")).where(criteriaBuilder.equal(answer.get("post"), post), criteriaBuilder.isTrue(answer.<Boolean>get("resolvesPost")));
+            predicates.add(criteriaBuilder.not(criteriaBuilder.exists(resolvingAnswers)));
+        }
+        return predicates;
+    }
+
+    /**
+     * The post is kept if the search text is included in either the post title, content or one of its tags (all strings lower cased)
+     */
+    private Predicate createSearchTextPredicate(CriteriaBuilder criteriaBuilder, CriteriaQuery<?> query, Root<Post> post, String lowerCasedSearchText) {
+        String pattern = "%" + escapeLikePattern(lowerCasedSearchText) + "%";
+        Subquery<String> tags = query.subquery(String.class);
+        Root<Post> taggedPost = tags.correlate(post);
+        Join<Post, String> tag = taggedPost.join("tags");
+        tags.select(tag).where(criteriaBuilder.like(criteriaBuilder.lower(tag), pattern, LIKE_ESCAPE_CHARACTER));
+        return criteriaBuilder.or(criteriaBuilder.like(criteriaBuilder.lower(post.<String>get("title")), pattern, LIKE_ESCAPE_CHARACTER),
+                criteriaBuilder.like(criteriaBuilder.lower(post.<String>get("content")), pattern, LIKE_ESCAPE_CHARACTER), criteriaBuilder.exists(tags));
+    }
+
+    /**
+     * Restricts the posts to the posts following the given post in the order (display priority rank, sort criterion, id)
+     */
+    private Predicate createKeysetPredicate(CriteriaBuilder criteriaBuilder, Root<Post> post, String sortCriterion, boolean ascending, long afterPostId) {
+        // read the sort key of the previous post from the database, because the calculated values of cached posts might be outdated
+        CriteriaQuery<Tuple> keyQuery = criteriaBuilder.createTupleQuery();
+        Root<Post> previousPost = keyQuery.from(Post.class);
+        keyQuery.multiselect(previousPost.get("displayPriorityRank"), previousPost.get(sortCriterion != null ? sortCriterion : "id"))
+                .where(criteriaBuilder.equal(previousPost.get("id"), afterPostId));
+        List<Tuple> keys = entityManager.createQuery(keyQuery).getResultList();
+        if (keys.isEmpty()) {
+            throw new EntityNotFoundException("Post", afterPostId);
+        }
+        Integer previousRank = keys.get(0).get(0, Integer.class);
+        Predicate sameRankAndAfter = criteriaBuilder.greaterThan(post.<Long>get("id"), afterPostId);
+        if (sortCriterion != null) {
+            Comparable<?> previousSortValue = (Comparable<?>) keys.get(0).get(1);
+            sameRankAndAfter = criteriaBuilder.or(isAfter(criteriaBuilder, post.get(sortCriterion), previousSortValue, ascending),
+                    criteriaBuilder.and(criteriaBuilder.equal(post.get(sortCriterion), previousSortValue), sameRankAndAfter));
+        }
+        return criteriaBuilder.or(criteriaBuilder.greaterThan(post.<Integer>get("displayPriorityRank"), previousRank),
+                criteriaBuilder.and(criteriaBuilder.equal(post.get("displayPriorityRank"), previousRank), sameRankAndAfter));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate isAfter(CriteriaBuilder criteriaBuilder, Expression expression, Comparable value, boolean ascending) {
+        return ascending ? criteriaBuilder.greaterThan(expression, value) : criteriaBuilder.lessThan(expression, value);
+    }
+
+    private static String getSortCriterionAttribute(PostSortCriterion postSortCriterion) {
+        if (postSortCriterion == null) {
+            return null;
+        }
+        return switch (postSortCriterion) {
+            case CREATION_DATE -> "creationDate";
+            case VOTES -> "voteCount";
+            case ANSWER_COUNT -> "answerCount";
+        };
+    }
+
+    private static String escapeLikePattern(String text) {
+        String escape = String.valueOf(LIKE_ESCAPE_CHARACTER);
+        return text.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+    }
+}
@@ -0,0 +1,227 @@
+package de.tum.in.www1.artemis.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.in.www1.artemis.domain.statistics.ActiveStudentSketchRegister;
+import de.tum.in.www1.artemis.domain.statistics.ActiveStudentSketchWeek;
+import de.tum.in.www1.artemis.repository.ActiveStudentSketchRegisterRepository;
+import de.tum.in.www1.artemis.repository.CourseRepository;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.util.HyperLogLog;
+
+/**
+ * Maintains a {@link HyperLogLog} sketch of the students with submissions in the exercises of each course per week (see {@link ActiveStudentSketchRegister}) and
+ * estimates the active students of the course charts from them.
+ * <p>
+ * The student of a submission is added to the sketch of the week when the submission is saved. {@link #rebuildAllSketches(boolean)} rebuilds the sketches from the
+ * submissions, all of them once after the sketches were introduced and the sketches of the recent weeks every night, so that e.g. deleted submissions are reflected.
+ */
+@Service
+public class ActiveStudentSketchService {
+
+    private final Logger log = LoggerFactory.getLogger(ActiveStudentSketchService.class);
+
+    private final ActiveStudentSketchRegisterRepository activeStudentSketchRegisterRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final TaskScheduler scheduler;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate newTransactionTemplate;
+
+    private final int recalculatedWeeks;
+
+    public ActiveStudentSketchService(ActiveStudentSketchRegisterRepository activeStudentSketchRegisterRepository, CourseRepository courseRepository,
+            @Qualifier("taskScheduler") TaskScheduler scheduler, PlatformTransactionManager transactionManager,
+            @Value("${artemis.statistics.active-students.recalculated-weeks:1}") int recalculatedWeeks) {
+        this.activeStudentSketchRegisterRepository = activeStudentSketchRegisterRepository;
+        this.courseRepository = courseRepository;
+        this.scheduler = scheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.recalculatedWeeks = Math.max(0, recalculatedWeeks);
+    }
+
+    /**
+     * Adds the student of the submission to the sketch of the course and week of the submission, as soon as the current transaction is committed
+     *
+     * @param submissionId the id of the created or updated submission
+     */
+    public void addSubmissionAfterCommit(long submissionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // submissions are saved within transactions, otherwise the student is added by the nightly rebuild
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                    addSubmissionAndLogFailure(submissionId);
+                    return;
+                }
+                // the custom @Query methods fail without authentication (e.g. for submissions saved in a scheduled service or a websocket), but the thread of the
+                // transaction must not get the authorization object, so the student is added on a thread of the scheduler
+                scheduler.schedule(() -> {
+                    SecurityUtils.setAuthorizationObject();
+                    addSubmissionAndLogFailure(submissionId);
+                }, Instant.now());
+            }
+        });
+    }
+
+    private void addSubmissionAndLogFailure(long submissionId) {
+        try {
+            addSubmission(submissionId);
+        }
+        catch (Exception ex) {
+            log.warn("Could not add the submission {} to the active student sketches", submissionId, ex);
+        }
+    }
+
+    /**
+     * Adds the student of the submission to the sketch of the course and week of the submission, if the submission belongs to a student participation in a course exercise.
+     * The custom queries require an authentication.
+     *
+     * @param submissionId the id of the submission
+     */
+    public void addSubmission(long submissionId) {
+        courseRepository.findActiveStudentSubmission(submissionId)
+                .ifPresent(submission -> addActiveStudent(submission.courseId(), submission.login(), submission.submissionDate()));
+    }
+
+    /**
+     * Adds the student to the sketch of the course and week of the submission date.
+     * The register is updated in new transactions, because in afterCommit the committed transaction of the submission is still bound to the thread and would not
+     * commit the modifying queries anymore, and because a failed insert of a concurrently created register must not roll back the update afterwards.
+     *
+     * @param courseId       the id of the course
+     * @param login          the login of the student
+     * @param submissionDate the submission date
+     */
+    public void addActiveStudent(long courseId, String login, ZonedDateTime submissionDate) {
+        long hash = HyperLogLog.hash(login);
+        ActiveStudentSketchRegister register = new ActiveStudentSketchRegister(courseId, getWeekStart(submissionDate), HyperLogLog.registerIndex(hash),
+                HyperLogLog.registerValue(hash));
+        Boolean registerExists = newTransactionTemplate.execute(status -> raiseRegister(register) > 0
+                || activeStudentSketchRegisterRepository.existsByCourseIdAndWeekStartAndRegisterIndex(courseId, register.getWeekStart(), register.getRegisterIndex()));
+        if (Boolean.TRUE.equals(registerExists)) {
+            return;
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> activeStudentSketchRegisterRepository.save(register));
+        }
+        catch (DataIntegrityViolationException ex) {
+            // the register was created concurrently
+            newTransactionTemplate.executeWithoutResult(status -> raiseRegister(register));
+        }
+    }
+
+    /**
+     * Estimates the number of active students of the course, i.e. students with submissions in the course exercises, per week
+     *
+     * @param courseId  the id of the course
+     * @param startDate a date in the first week
+     * @param length    the number of weeks
+     * @return the estimated number of active students of each week
+     */
+    public List<Integer> getActiveStudents(long courseId, ZonedDateTime startDate, int length) {
+        ZonedDateTime firstWeekStart = getWeekStart(startDate);
+        List<Integer> result = new ArrayList<>(Collections.nCopies(length, 0));
+        for (ActiveStudentSketchWeek week : activeStudentSketchRegisterRepository.findWeeks(courseId, firstWeekStart, firstWeekStart.plusWeeks(length))) {
+            int index = Math.toIntExact(ChronoUnit.WEEKS.between(firstWeekStart, week.weekStart()));
+            result.set(index, Math.toIntExact(HyperLogLog.estimate(week.nonZeroRegisters(), week.weightSum())));
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the sketches of all courses since the first submission in each course asynchronously, so that e.g. the startup does not wait for the rebuild of all weeks
+     */
+    @Async
+    public void rebuildAllSketchesAsync() {
+        // the custom @Query methods fail if no authentication is available
+        SecurityUtils.setAuthorizationObject();
+        rebuildAllSketches(false);
+    }
+
+    /**
+     * Rebuilds the sketches of all courses from the submissions and deletes the sketches of deleted courses
+     *
+     * @param onlyRecentWeeks whether only the sketches of the current and the last weeks should be rebuilt or the sketches since the first submission in each course
+     */
+    public void rebuildAllSketches(boolean onlyRecentWeeks) {
+        long start = System.currentTimeMillis();
+        activeStudentSketchRegisterRepository.deleteAllOfDeletedCourses();
+        ZonedDateTime recalculationStart = ZonedDateTime.now().minusWeeks(recalculatedWeeks);
+        Set<Long> courseIds = courseRepository.findAllIds();
+        for (Long courseId : courseIds) {
+            Optional<ZonedDateTime> rebuildStart = onlyRecentWeeks ? Optional.of(recalculationStart) : courseRepository.findFirstStudentSubmissionDate(courseId);
+            rebuildStart.ifPresent(startDate -> rebuildSketches(courseId, startDate));
+        }
+        log.info("Rebuilt the active student sketches of {} courses in {}ms", courseIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Rebuilds the sketches of the course from the submissions, from the week of the start date until the current week.
+     * Each week is rebuilt in one transaction, so that a failure does not leave the week with deleted registers.
+     *
+     * @param courseId  the id of the course
+     * @param startDate a date in the first rebuilt week
+     */
+    public void rebuildSketches(long courseId, ZonedDateTime startDate) {
+        ZonedDateTime currentWeekStart = getWeekStart(ZonedDateTime.now());
+        for (ZonedDateTime weekStart = getWeekStart(startDate); !weekStart.isAfter(currentWeekStart); weekStart = weekStart.plusWeeks(1)) {
+            ZonedDateTime weekEnd = weekStart.plusWeeks(1);
+            HyperLogLog sketch = new HyperLogLog();
+            courseRepository.findActiveStudentLogins(courseId, weekStart, weekEnd).forEach(sketch::add);
+            List<ActiveStudentSketchRegister> registers = new ArrayList<>();
+            for (int index = 0; index < HyperLogLog.NUMBER_OF_REGISTERS; index++) {
+                if (sketch.getRegister(index) > 0) {
+                    registers.add(new ActiveStudentSketchRegister(courseId, weekStart, index, sketch.getRegister(index)));
+                }
+            }
+            ZonedDateTime rebuiltWeekStart = weekStart;
+            transactionTemplate.executeWithoutResult(status -> {
+                activeStudentSketchRegisterRepository.deleteAllInPeriod(courseId, rebuiltWeekStart, weekEnd);
+                activeStudentSketchRegisterRepository.saveAll(registers);
+            });
+        }
+    }
+
+    private int raiseRegister(ActiveStudentSketchRegister register) {
+        return activeStudentSketchRegisterRepository.raiseRegister(register.getCourseId(), register.getWeekStart(), register.getRegisterIndex(), register.getRegisterValue(),
+                register.getWeight());
+    }
+
+    /**
+     * The weeks of the sketches start on Monday at 00:00 in the time zone of the server
+     */
+    private static ZonedDateTime getWeekStart(ZonedDateTime date) {
+        ZoneId zone = ZoneId.systemDefault();
+        return date.withZoneSameInstant(zone).toLocalDate().with(DayOfWeek.MONDAY).atStartOfDay(zone);
+    }
+}
@@ -1,6 +1,7 @@
 package de.tum.in.www1.artemis.service;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -10,7 +11,9 @@ import org.springframework.stereotype.Service;
 import de.tum.in.www1.artemis.domain.ExampleSubmission;
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.ProgrammingExercise;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseAssessmentStatistics;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseMapEntry;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingMapEntry;
 import de.tum.in.www1.artemis.domain.enumeration.TutorParticipationStatus;
 import de.tum.in.www1.artemis.domain.participation.TutorParticipation;
 import de.tum.in.www1.artemis.repository.*;
@@ -37,99 +40,132 @@ public class AssessmentDashboardService {
 
     private final ExampleSubmissionRepository exampleSubmissionRepository;
 
+    private final AssessmentDashboardStatisticsCache statisticsCache;
+
     public AssessmentDashboardService(ComplaintService complaintService, ProgrammingExerciseRepository programmingExerciseRepository, SubmissionRepository submissionRepository,
-            ResultRepository resultRepository, ExampleSubmissionRepository exampleSubmissionRepository, RatingService ratingService) {
+            ResultRepository resultRepository, ExampleSubmissionRepository exampleSubmissionRepository, RatingService ratingService,
+            AssessmentDashboardStatisticsCache statisticsCache) {
         this.complaintService = complaintService;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.submissionRepository = submissionRepository;
         this.resultRepository = resultRepository;
         this.exampleSubmissionRepository = exampleSubmissionRepository;
         this.ratingService = ratingService;
+        this.statisticsCache = statisticsCache;
     }
 
     /**
-     * Prepares the exercises for the assessment dashboard by setting the tutor participations and statistics
-     * This is very slow as each iteration takes about 2.5 s
+     * Prepares the exercises for the assessment dashboard by setting the tutor participations and statistics.
+     * The statistics of all exercises are calculated together with a constant number of queries and are cached for a short time, see {@link AssessmentDashboardStatisticsCache}
      * @param exercises exercises to be prepared for the assessment dashboard
      * @param tutorParticipations participations of the tutors
      * @param examMode flag should be set for exam dashboard
      */
     public void generateStatisticsForExercisesForAssessmentDashboard(Set<Exercise> exercises, List<TutorParticipation> tutorParticipations, boolean examMode) {
         log.debug("generateStatisticsForExercisesForAssessmentDashboard invoked");
-        // start measures performance of each individual query, start2 measures performance of one loop iteration
         long start = System.nanoTime();
-        long start2 = System.nanoTime();
         long startComplete = System.nanoTime();
-        Set<Exercise> programmingExerciseIds = exercises.stream().filter(exercise -> exercise instanceof ProgrammingExercise).collect(Collectors.toSet());
-        Set<Exercise> nonProgrammingExerciseIds = exercises.stream().filter(exercise -> !(exercise instanceof ProgrammingExercise)).collect(Collectors.toSet());
+        Map<Long, Exercise> exercisesById = exercises.stream().collect(Collectors.toMap(Exercise::getId, Function.identity()));
 
-        complaintService.calculateNrOfOpenComplaints(exercises, examMode);
-        log.debug("Finished >> complaintService.calculateNrOfOpenComplaints all << in {}", TimeLogUtil.formatDurationFrom(start));
+        Map<Long, ExerciseAssessmentStatistics> statistics = statisticsCache.getOrCalculate(exercisesById.keySet(), examMode,
+                exerciseIds -> calculateStatistics(exerciseIds.stream().map(exercisesById::get).collect(Collectors.toSet()), examMode));
+        exercises.forEach(exercise -> statistics.get(exercise.getId()).applyTo(exercise));
+        log.debug("Finished >> assessmentDashboardService.calculateStatistics << call for {} exercises in {}", exercises.size(), TimeLogUtil.formatDurationFrom(start));
         start = System.nanoTime();
 
-        calculateNumberOfSubmissions(programmingExerciseIds, nonProgrammingExerciseIds, examMode);
-        log.debug("Finished >> assessmentDashboardService.calculateNumberOfSubmissions all << in {}", TimeLogUtil.formatDurationFrom(start));
-        start = System.nanoTime();
-
-        // NOTE: similar to calculateNumberOfSubmissions the number of assessments could be calculated outside the loop for a performance boost.
-        // This won't be as straight forward as we have to consider correction rounds
+        Map<Long, Set<ExampleSubmission>> exampleSubmissionsByExercise = new HashMap<>();
+        for (ExampleSubmission exampleSubmission : exampleSubmissionRepository.findAllWithResultByExerciseIdIn(exercisesById.keySet())) {
+            // Do not provide example submissions without any assessment
+            if (exampleSubmission.getSubmission() != null && exampleSubmission.getSubmission().getLatestResult() != null) {
+                exampleSubmissionsByExercise.computeIfAbsent(exampleSubmission.getExercise().getId(), exerciseId -> new HashSet<>()).add(exampleSubmission);
+            }
+        }
+        log.debug("Finished >> exampleSubmissionRepository.findAllWithResultByExerciseIdIn << call in {}", TimeLogUtil.formatDurationFrom(start));
 
-        // parts of this loop can possibly still be extracted
+        Map<Long, TutorParticipation> tutorParticipationsByExercise = tutorParticipations.stream()
+                .collect(Collectors.toMap(participation -> participation.getAssessedExercise().getId(), Function.identity(), (first, second) -> first));
         for (Exercise exercise : exercises) {
-            DueDateStat totalNumberOfAssessments;
+            exercise.setExampleSubmissions(exampleSubmissionsByExercise.getOrDefault(exercise.getId(), new HashSet<>()));
 
-            if (exercise instanceof ProgrammingExercise) {
-                totalNumberOfAssessments = new DueDateStat(programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted(exercise.getId(), examMode), 0L);
-                log.debug("Finished >> programmingExerciseRepository.countAssessmentsByExerciseIdSubmitted << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                totalNumberOfAssessments = resultRepository.countNumberOfFinishedAssessmentsForExercise(exercise.getId(), examMode);
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExercise << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
+            TutorParticipation tutorParticipation = tutorParticipationsByExercise.get(exercise.getId());
+            if (tutorParticipation == null) {
+                tutorParticipation = new TutorParticipation();
+                tutorParticipation.setStatus(TutorParticipationStatus.NOT_PARTICIPATED);
             }
-            start = System.nanoTime();
+            exercise.setTutorParticipations(Collections.singleton(tutorParticipation));
+        }
+        log.debug("Finished >> generateStatisticsForExercisesForAssessmentDashboard << call in {}", TimeLogUtil.formatDurationFrom(startComplete));
+    }
 
-            final DueDateStat[] numberOfAssessmentsOfCorrectionRounds;
-            if (examMode) {
-                // set number of corrections specific to each correction round
-                int numberOfCorrectionRounds = exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam();
-                numberOfAssessmentsOfCorrectionRounds = resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds(exercise, numberOfCorrectionRounds);
-                log.debug("Finished >> resultRepository.countNumberOfFinishedAssessmentsForExamExerciseForCorrectionRounds << call for exercise {} in {}", exercise.getId(),
-                        TimeLogUtil.formatDurationFrom(start));
-            }
-            else {
-                // no examMode here, so correction rounds defaults to 1 and is the same as totalNumberOfAssessments
-                numberOfAssessmentsOfCorrectionRounds = new DueDateStat[] { totalNumberOfAssessments };
-            }
+    /**
+     * Calculates the statistics which are the same for all tutors (submissions, assessments per correction round, complaints, more feedback requests and ratings) of all
+     * given exercises together
+     *
+     * @param exercises the exercises for which the statistics should be calculated
+     * @param examMode  if the exercises are part of an exam
+     * @return the statistics by exercise id
+     */
+    private Map<Long, ExerciseAssessmentStatistics> calculateStatistics(Set<Exercise> exercises, boolean examMode) {
+        Set<Exercise> programmingExercises = exercises.stream().filter(exercise -> exercise instanceof ProgrammingExercise).collect(Collectors.toSet());
+        Set<Exercise> nonProgrammingExercises = exercises.stream().filter(exercise -> !(exercise instanceof ProgrammingExercise)).collect(Collectors.toSet());
 
-            exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
-            exercise.setTotalNumberOfAssessments(numberOfAssessmentsOfCorrectionRounds[0]);
-            start = System.nanoTime();
-            Set<ExampleSubmission> exampleSubmissions = exampleSubmissionRepository.findAllWithResultByExerciseId(exercise.getId());
+        complaintService.calculateNrOfOpenComplaints(exercises, examMode);
+        calculateNumberOfSubmissions(programmingExercises, nonProgrammingExercises, examMode);
+        calculateNumberOfAssessments(programmingExercises, nonProgrammingExercises, examMode);
 
-            log.debug("Finished >> exampleSubmissionRepository.findAllWithResultByExerciseId << call for course {} in {}", exercise.getId(), TimeLogUtil.formatDurationFrom(start));
-            start = System.nanoTime();
+        Set<Long> exerciseIds = exercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        Map<Long, ExerciseRatingMapEntry> ratings = ratingService.averageRatingByExerciseIds(exerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseRatingMapEntry::exerciseId, Function.identity()));
+        for (Exercise exercise : exercises) {
+            ExerciseRatingMapEntry exerciseRating = ratings.get(exercise.getId());
+            exercise.setAverageRating(exerciseRating != null ? exerciseRating.averageRating() : null);
+            exercise.setNumberOfRatings(exerciseRating != null ? exerciseRating.numberOfRatings() : null);
+        }
+        return exercises.stream().collect(Collectors.toMap(Exercise::getId, ExerciseAssessmentStatistics::of));
+    }
 
-            // Do not provide example submissions without any assessment
-            exampleSubmissions.removeIf(exampleSubmission -> exampleSubmission.getSubmission() == null || exampleSubmission.getSubmission().getLatestResult() == null);
-            exercise.setExampleSubmissions(exampleSubmissions);
-
-            TutorParticipation tutorParticipation = tutorParticipations.stream().filter(participation -> participation.getAssessedExercise().getId().equals(exercise.getId()))
-                    .findFirst().orElseGet(() -> {
-                        TutorParticipation emptyTutorParticipation = new TutorParticipation();
-                        emptyTutorParticipation.setStatus(TutorParticipationStatus.NOT_PARTICIPATED);
-                        return emptyTutorParticipation;
-                    });
-            exercise.setTutorParticipations(Collections.singleton(tutorParticipation));
+    /**
+     * This method fetches and stores the number of assessments for each exercise, for the exam dashboard also for each correction round.
+     * @param programmingExercises          - the programming-exercises, for which the number of assessments should be fetched
+     * @param nonProgrammingExercises       - the exercises, which are not programming-exercises, for which the number of assessments should be fetched
+     * @param examMode                      - if the exercises are part of an exam
+     */
+    private void calculateNumberOfAssessments(Set<Exercise> programmingExercises, Set<Exercise> nonProgrammingExercises, boolean examMode) {
+        if (examMode) {
+            Set<Exercise> exercises = new HashSet<>(programmingExercises);
+            exercises.addAll(nonProgrammingExercises);
+            Set<Long> exerciseIds = exercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+            // here we receive an entry for each student participation of the exercises with the number of already created and submitted manual results (1 or 2)
+            Map<Long, List<Long>> assessmentCountsPerParticipation = resultRepository.countNumberOfFinishedAssessmentsPerParticipationByExerciseIdsIgnoreTestRuns(exerciseIds)
+                    .stream().collect(Collectors.groupingBy(ExerciseMapEntry::getKey, Collectors.mapping(ExerciseMapEntry::getValue, Collectors.toList())));
+            for (Exercise exercise : exercises) {
+                // set number of corrections specific to each correction round
+                int numberOfCorrectionRounds = exercise.getExerciseGroup().getExam().getNumberOfCorrectionRoundsInExam();
+                DueDateStat[] numberOfAssessmentsOfCorrectionRounds = resultRepository
+                        .convertDatabaseResponseToDueDateStats(assessmentCountsPerParticipation.getOrDefault(exercise.getId(), List.of()), numberOfCorrectionRounds);
+                exercise.setNumberOfAssessmentsOfCorrectionRounds(numberOfAssessmentsOfCorrectionRounds);
+                exercise.setTotalNumberOfAssessments(numberOfAssessmentsOfCorrectionRounds[0]);
+            }
+            return;
+        }
 
-            var exerciseRating = ratingService.averageRatingByExerciseId(exercise.getId());
-            exercise.setAverageRating(exerciseRating.averageRating());
-            exercise.setNumberOfRatings(exerciseRating.numberOfRatings());
+        Set<Long> programmingExerciseIds = programmingExercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        Set<Long> nonProgrammingExerciseIds = nonProgrammingExercises.stream().map(Exercise::getId).collect(Collectors.toSet());
+        var programmingAssessmentMap = programmingExerciseRepository.countAssessmentsByExerciseIdsSubmitted(programmingExerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseMapEntry::getKey, ExerciseMapEntry::getValue));
+        var assessmentMap = resultRepository.countNumberOfFinishedAssessmentsByExerciseIds(nonProgrammingExerciseIds).stream()
+                .collect(Collectors.toMap(ExerciseMapEntry::getKey, ExerciseMapEntry::getValue));
+        programmingExercises.forEach(exercise -> setTotalNumberOfAssessments(exercise, programmingAssessmentMap.getOrDefault(exercise.getId(), 0L)));
+        nonProgrammingExercises.forEach(exercise -> setTotalNumberOfAssessments(exercise, assessmentMap.getOrDefault(exercise.getId(), 0L)));
+    }
 
-            log.debug("Finished >> assessmentDashboardLoopIteration << call for exercise {} in {}", exercise.getId(), TimeLogUtil.formatDurationFrom(start2));
-        }
-        log.debug("Finished >> generateStatisticsForExercisesForAssessmentDashboard << call in {}", TimeLogUtil.formatDurationFrom(startComplete));
+    /**
+     * No examMode here, so correction rounds defaults to 1 and is the same as totalNumberOfAssessments
+     */
+    private static void setTotalNumberOfAssessments(Exercise exercise, long numberOfAssessments) {
+        DueDateStat totalNumberOfAssessments = new DueDateStat(numberOfAssessments, 0L);
+        exercise.setNumberOfAssessmentsOfCorrectionRounds(new DueDateStat[] { totalNumberOfAssessments });
+        exercise.setTotalNumberOfAssessments(totalNumberOfAssessments);
     }
 
     /**
@@ -0,0 +1,89 @@
+package de.tum.in.www1.artemis.service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseAssessmentStatistics;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+
+/**
+ * Caches the {@link ExerciseAssessmentStatistics} of the exercises on this node for a short time, because tutors open the assessment dashboards of their courses and
+ * exams constantly during the correction weeks, while the statistics are the same for all tutors.
+ * <p>
+ * Cached statistics are invalidated on all nodes (via a Hazelcast topic) when a result of the exercise changes. Other changes, e.g. new submissions, complaints or
+ * ratings, become visible after the time to live at the latest.
+ */
+@Service
+public class AssessmentDashboardStatisticsCache {
+
+    private static final String HAZELCAST_ASSESSMENT_DASHBOARD_STATISTICS_INVALIDATION_TOPIC = "assessment-dashboard-statistics-invalidation";
+
+    // the expired statistics are only replaced when their exercise is requested again, so the least recently used statistics are evicted when the cache is full
+    private static final int MAX_CACHED_STATISTICS = 10000;
+
+    private final InvalidatableCache<StatisticsKey, Long, ExerciseAssessmentStatistics> cachedStatistics;
+
+    /**
+     * The exam dashboard ignores test runs and counts the assessments per correction round, so its statistics differ from the course dashboard
+     */
+    private record StatisticsKey(long exerciseId, boolean examMode) {
+    }
+
+    public AssessmentDashboardStatisticsCache(HazelcastInstance hazelcastInstance,
+            @Value("${artemis.assessment-dashboard.statistics-cache.time-to-live:30}") int timeToLiveInSeconds) {
+        this.cachedStatistics = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_ASSESSMENT_DASHBOARD_STATISTICS_INVALIDATION_TOPIC, timeToLiveInSeconds,
+                MAX_CACHED_STATISTICS, key -> Set.of(key.exerciseId()));
+    }
+
+    /**
+     * Returns the cached statistics of the exercises and calculates (and caches) the statistics of all exercises that are not cached or expired together
+     *
+     * @param exerciseIds          the ids of the exercises
+     * @param examMode             if the statistics are shown on the exam dashboard
+     * @param statisticsCalculator calculates the statistics of the given exercise ids
+     * @return the statistics by exercise id
+     */
+    public Map<Long, ExerciseAssessmentStatistics> getOrCalculate(Set<Long> exerciseIds, boolean examMode,
+            Function<Set<Long>, Map<Long, ExerciseAssessmentStatistics>> statisticsCalculator) {
+        if (!cachedStatistics.isEnabled()) {
+            return statisticsCalculator.apply(exerciseIds);
+        }
+        Map<Long, ExerciseAssessmentStatistics> statistics = new HashMap<>();
+        Set<Long> missingExerciseIds = new HashSet<>();
+        for (Long exerciseId : exerciseIds) {
+            ExerciseAssessmentStatistics cached = cachedStatistics.get(new StatisticsKey(exerciseId, examMode));
+            if (cached != null) {
+                statistics.put(exerciseId, cached);
+            }
+            else {
+                missingExerciseIds.add(exerciseId);
+            }
+        }
+        if (missingExerciseIds.isEmpty()) {
+            return statistics;
+        }
+        // the creation date is the start of the calculation, so that an invalidation during the calculation is not lost
+        Instant calculationStart = Instant.now();
+        Map<Long, ExerciseAssessmentStatistics> calculatedStatistics = statisticsCalculator.apply(missingExerciseIds);
+        calculatedStatistics.forEach((exerciseId, exerciseStatistics) -> {
+            cachedStatistics.put(new StatisticsKey(exerciseId, examMode), exerciseStatistics, calculationStart);
+            statistics.put(exerciseId, exerciseStatistics);
+        });
+        return statistics;
+    }
+
+    /**
+     * Removes the cached statistics of the exercise on all nodes
+     *
+     * @param exerciseId the id of the exercise
+     */
+    public void invalidate(long exerciseId) {
+        cachedStatistics.invalidate(exerciseId);
+    }
+}
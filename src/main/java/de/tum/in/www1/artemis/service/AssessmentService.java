@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.connectors.LtiService;
@@ -47,10 +48,12 @@ public class AssessmentService {
 
     private final LtiService ltiService;
 
+    private final AssessmentWorkQueueService assessmentWorkQueueService;
+
     public AssessmentService(ComplaintResponseService complaintResponseService, ComplaintRepository complaintRepository, FeedbackRepository feedbackRepository,
             ResultRepository resultRepository, StudentParticipationRepository studentParticipationRepository, ResultService resultService, SubmissionService submissionService,
             SubmissionRepository submissionRepository, ExamDateService examDateService, ExerciseDateService exerciseDateService,
-            GradingCriterionRepository gradingCriterionRepository, UserRepository userRepository, LtiService ltiService) {
+            GradingCriterionRepository gradingCriterionRepository, UserRepository userRepository, LtiService ltiService, AssessmentWorkQueueService assessmentWorkQueueService) {
         this.complaintResponseService = complaintResponseService;
         this.complaintRepository = complaintRepository;
         this.feedbackRepository = feedbackRepository;
@@ -64,6 +67,7 @@ public class AssessmentService {
         this.gradingCriterionRepository = gradingCriterionRepository;
         this.userRepository = userRepository;
         this.ltiService = ltiService;
+        this.assessmentWorkQueueService = assessmentWorkQueueService;
     }
 
     /**
@@ -170,9 +174,12 @@ public class AssessmentService {
 
         // We only want to be able to cancel a result if it is not of the AUTOMATIC AssessmentType
         if (result != null && result.getAssessmentType() != null && result.getAssessmentType() != AssessmentType.AUTOMATIC) {
+            int correctionRound = Math.max(0, submission.getManualResults().size() - 1);
             participation.removeResult(result);
             feedbackRepository.deleteByResult_Id(result.getId());
             resultRepository.deleteById(result.getId());
+            // the submission can be assessed by other tutors again as soon as the deletion of the result is committed
+            assessmentWorkQueueService.offer(participation.getExercise().getId(), correctionRound, SubmissionService.toQueuedParticipation(submission, correctionRound));
         }
     }
 
@@ -229,9 +236,24 @@ public class AssessmentService {
         result = resultRepository.submitResult(result, exercise, exerciseDateService.getDueDate(result.getParticipation()));
         // Note: we always need to report the result (independent of the assessment due date) over LTI, otherwise it might never become visible in the external system
         ltiService.onNewResult((StudentParticipation) result.getParticipation());
+        addToAssessmentQueueOfSecondCorrectionRound(result);
         return result;
     }
 
+    /**
+     * Adds the participation of the submitted manual result to the assessment work queue of the second correction round, because the submission can be assessed in the
+     * second correction round after its first assessment was submitted. The queue checks whether the submission can actually be assessed when it is taken from the queue.
+     *
+     * @param submittedResult the submitted manual result
+     */
+    public void addToAssessmentQueueOfSecondCorrectionRound(Result submittedResult) {
+        Participation participation = submittedResult.getParticipation();
+        if (participation != null && participation.getExercise() != null && participation.getExercise().isExamExercise()) {
+            Long assessorId = submittedResult.getAssessor() != null ? submittedResult.getAssessor().getId() : null;
+            assessmentWorkQueueService.offer(participation.getExercise().getId(), 1, new AssessmentWorkQueueService.QueuedParticipation(participation.getId(), assessorId));
+        }
+    }
+
     /**
      * This function is used for saving a manual assessment/result. It sets the assessment type to MANUAL and sets the assessor attribute. Furthermore, it saves the result in the
      * database. If a result with the given id exists, it will be overridden. if not, a new result will be created.
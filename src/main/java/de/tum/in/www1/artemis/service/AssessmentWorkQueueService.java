@@ -0,0 +1,179 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.collection.IQueue;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+
+/**
+ * Keeps a distributed work queue of the participations whose latest submission can be assessed for each exercise and correction round, so that tutors requesting the
+ * next submission to assess do not load all participations of the exercise for every request.
+ * <p>
+ * A participation is claimed by polling it from the queue, so concurrent tutors never get the same submission and a request does not need to read the whole queue. Each
+ * entry contains the assessor of the previous correction round, so that the entries assessed by a tutor in the first correction round are skipped without loading their
+ * participations when the tutor requests a submission of the second correction round. The queue is filled with the assessable participations
+ * in random order when it is empty. It is completed with new assessable participations (e.g. new submissions of exercises without due date or participations whose
+ * individual due date passed) when it was filled more than a minute ago. The queue might contain participations which are not assessable anymore (e.g. because their
+ * submission was locked directly), so the caller has to check the participations again. Participations whose assessment was canceled and submissions which became
+ * assessable in the next correction round are added to the queue, if the queue was filled already.
+ */
+@Service
+public class AssessmentWorkQueueService {
+
+    private final Logger log = LoggerFactory.getLogger(AssessmentWorkQueueService.class);
+
+    private static final String HAZELCAST_ASSESSMENT_QUEUE_PREFIX = "assessment-queue-";
+
+    private static final long REFILL_INTERVAL_IN_MILLIS = 60 * 1000L;
+
+    // the queues of the first and second correction round
+    private static final int NUMBER_OF_CORRECTION_ROUNDS = 2;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    // the date when each queue was filled, also used to lock the queues while they are filled
+    private final IMap<String, Long> queueFillDates;
+
+    /**
+     * A participation in the queue
+     *
+     * @param participationId    the id of the participation
+     * @param previousAssessorId the id of the assessor of the previous correction round or null in the first correction round
+     */
+    public record QueuedParticipation(long participationId, @Nullable Long previousAssessorId) implements Serializable {
+    }
+
+    public AssessmentWorkQueueService(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.queueFillDates = hazelcastInstance.getMap("assessmentQueueFillDates");
+    }
+
+    /**
+     * Removes the next participation from the queue of the exercise and correction round, skipping the participations that the given tutor assessed in the previous
+     * correction round, which stay in the queue for the other tutors. The queue is filled first, if it is empty, and completed with new assessable participations, if
+     * it was filled more than a minute ago. Only one tutor of all nodes fills the queue at the same time, the others wait for the filled queue.
+     *
+     * @param exerciseId                the id of the exercise
+     * @param correctionRound           the correction round
+     * @param tutorId                   the id of the requesting tutor, whose participations of the previous correction round are skipped, or null
+     * @param assessableParticipations  supplies the assessable participations in the order in which they should be assessed, called in the current thread
+     * @return the removed participation or an empty optional, if the queue contains no participation for the tutor
+     */
+    public Optional<QueuedParticipation> poll(long exerciseId, int correctionRound, @Nullable Long tutorId, Supplier<List<QueuedParticipation>> assessableParticipations) {
+        String queueName = getQueueName(exerciseId, correctionRound);
+        IQueue<QueuedParticipation> queue = hazelcastInstance.getQueue(queueName);
+        if (isOutdated(queueName, queue)) {
+            queueFillDates.lock(queueName);
+            try {
+                // another tutor might have filled the queue in the meantime
+                if (isOutdated(queueName, queue)) {
+                    fill(exerciseId, correctionRound, queue, assessableParticipations.get());
+                }
+            }
+            finally {
+                queueFillDates.unlock(queueName);
+            }
+        }
+        List<QueuedParticipation> skippedParticipations = new ArrayList<>();
+        try {
+            QueuedParticipation participation;
+            while ((participation = queue.poll()) != null) {
+                if (tutorId == null || !tutorId.equals(participation.previousAssessorId())) {
+                    return Optional.of(participation);
+                }
+                skippedParticipations.add(participation);
+            }
+            return Optional.empty();
+        }
+        finally {
+            queue.addAll(skippedParticipations);
+        }
+    }
+
+    private boolean isOutdated(String queueName, IQueue<QueuedParticipation> queue) {
+        Long fillDate = queueFillDates.get(queueName);
+        return fillDate == null || queue.isEmpty() || fillDate + REFILL_INTERVAL_IN_MILLIS < System.currentTimeMillis();
+    }
+
+    private void fill(long exerciseId, int correctionRound, IQueue<QueuedParticipation> queue, List<QueuedParticipation> assessableParticipations) {
+        String queueName = queue.getName();
+        Set<QueuedParticipation> queuedParticipations = new HashSet<>(queue);
+        List<QueuedParticipation> newParticipations = assessableParticipations.stream().filter(participation -> !queuedParticipations.contains(participation)).toList();
+        queue.addAll(newParticipations);
+        if (queue.isEmpty()) {
+            // all submissions are assessed, so the queue is not kept until it is needed again
+            queue.destroy();
+            queueFillDates.delete(queueName);
+        }
+        else {
+            queueFillDates.set(queueName, System.currentTimeMillis());
+        }
+        log.debug("Added {} participations to the assessment queue of exercise {} and correction round {}", newParticipations.size(), exerciseId, correctionRound);
+    }
+
+    /**
+     * Adds the participation to the end of the queue of the exercise and correction round, e.g. because the assessment of its submission was canceled. Queues which
+     * were not filled yet are not changed, they are filled with all assessable participations when they are used for the first time. Within a transaction, the
+     * participation is added after the commit, because tutors taking it from the queue before would not see it as assessable yet.
+     *
+     * @param exerciseId      the id of the exercise
+     * @param correctionRound the correction round
+     * @param participation   the participation which might be assessable (again)
+     */
+    public void offer(long exerciseId, int correctionRound, QueuedParticipation participation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    offerNow(exerciseId, correctionRound, participation);
+                }
+            });
+        }
+        else {
+            offerNow(exerciseId, correctionRound, participation);
+        }
+    }
+
+    private void offerNow(long exerciseId, int correctionRound, QueuedParticipation participation) {
+        String queueName = getQueueName(exerciseId, correctionRound);
+        if (queueFillDates.containsKey(queueName)) {
+            IQueue<QueuedParticipation> queue = getQueue(exerciseId, correctionRound);
+            if (!queue.contains(participation)) {
+                queue.offer(participation);
+            }
+        }
+    }
+
+    /**
+     * Removes the queues of all correction rounds of the exercise, e.g. because the exercise was deleted
+     *
+     * @param exerciseId the id of the exercise
+     */
+    public void removeQueues(long exerciseId) {
+        for (int correctionRound = 0; correctionRound < NUMBER_OF_CORRECTION_ROUNDS; correctionRound++) {
+            String queueName = getQueueName(exerciseId, correctionRound);
+            getQueue(exerciseId, correctionRound).destroy();
+            queueFillDates.delete(queueName);
+        }
+    }
+
+    private IQueue<QueuedParticipation> getQueue(long exerciseId, int correctionRound) {
+        return hazelcastInstance.getQueue(getQueueName(exerciseId, correctionRound));
+    }
+
+    private static String getQueueName(long exerciseId, int correctionRound) {
+        return HAZELCAST_ASSESSMENT_QUEUE_PREFIX + exerciseId + "-" + correctionRound;
+    }
+}
@@ -1,39 +1,70 @@
 package de.tum.in.www1.artemis.service;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import de.tum.in.www1.artemis.domain.BuildLogArchive;
 import de.tum.in.www1.artemis.domain.BuildLogEntry;
 import de.tum.in.www1.artemis.domain.ProgrammingSubmission;
 import de.tum.in.www1.artemis.domain.enumeration.ProgrammingLanguage;
+import de.tum.in.www1.artemis.repository.BuildLogArchiveRepository;
 import de.tum.in.www1.artemis.repository.BuildLogEntryRepository;
 import de.tum.in.www1.artemis.repository.ProgrammingSubmissionRepository;
 
 @Service
 public class BuildLogEntryService {
 
+    private final Logger log = LoggerFactory.getLogger(BuildLogEntryService.class);
+
     private final BuildLogEntryRepository buildLogEntryRepository;
 
+    private final BuildLogArchiveRepository buildLogArchiveRepository;
+
     private final ProgrammingSubmissionRepository programmingSubmissionRepository;
 
-    public BuildLogEntryService(BuildLogEntryRepository buildLogEntryRepository, ProgrammingSubmissionRepository programmingSubmissionRepository) {
+    private final boolean compressBuildLogs;
+
+    public BuildLogEntryService(BuildLogEntryRepository buildLogEntryRepository, BuildLogArchiveRepository buildLogArchiveRepository,
+            ProgrammingSubmissionRepository programmingSubmissionRepository, @Value("${artemis.build-logs.compress:false}") boolean compressBuildLogs) {
         this.buildLogEntryRepository = buildLogEntryRepository;
+        this.buildLogArchiveRepository = buildLogArchiveRepository;
         this.programmingSubmissionRepository = programmingSubmissionRepository;
+        this.compressBuildLogs = compressBuildLogs;
     }
 
     /**
      * Saves the build log entries in the database. The association to the programming submission is first removed and
      * after the saving restored as the relation submission->result uses an order column.
+     * <p>
+     * If {@code artemis.build-logs.compress} is enabled, all entries are saved as one compressed {@link BuildLogArchive} instead, which replaces the previous archive of
+     * the submission. In this case, no entries have to be associated with the submission.
      *
      * @param buildLogs build logs to save
-     * @param programmingSubmission submission of the build logs
-     * @return the saved build logs
+     * @param programmingSubmission submission of the build logs (already saved)
+     * @return the saved build logs which have to be associated with the submission (empty if the build logs were saved as compressed archive)
      */
     public List<BuildLogEntry> saveBuildLogs(List<BuildLogEntry> buildLogs, ProgrammingSubmission programmingSubmission) {
+        if (compressBuildLogs) {
+            buildLogArchiveRepository.deleteAllByProgrammingSubmissionId(programmingSubmission.getId());
+            buildLogArchiveRepository.save(createBuildLogArchive(buildLogs, programmingSubmission));
+            return new ArrayList<>();
+        }
         return buildLogs.stream().map(buildLogEntry -> {
             // Truncate the log so that it fits into the database
             buildLogEntry.truncateLogToMaxLength();
@@ -48,17 +79,89 @@ public class BuildLogEntryService {
     }
 
     /**
-     * Retrieves the latest build logs for a given programming submission.
+     * Retrieves the latest build logs for a given programming submission, either the saved entries or the entries of the compressed archive.
      *
      * @param programmingSubmission submission for which to retrieve the build logs
      * @return the build log entries
      */
     public List<BuildLogEntry> getLatestBuildLogs(ProgrammingSubmission programmingSubmission) {
         Optional<ProgrammingSubmission> optionalProgrammingSubmission = programmingSubmissionRepository.findWithEagerBuildLogEntriesById(programmingSubmission.getId());
-        if (optionalProgrammingSubmission.isPresent()) {
+        if (optionalProgrammingSubmission.isPresent() && !optionalProgrammingSubmission.get().getBuildLogEntries().isEmpty()) {
             return optionalProgrammingSubmission.get().getBuildLogEntries();
         }
-        return List.of();
+        return buildLogArchiveRepository.findFirstByProgrammingSubmissionIdOrderByIdDesc(programmingSubmission.getId())
+                .map(archive -> readBuildLogArchive(archive, 0, archive.getEntryCount())).orElse(List.of());
+    }
+
+    /**
+     * Creates a compressed archive of the build logs. Each entry consists of its time (a flag whether it is set, followed by the epoch seconds and nanoseconds) and
+     * its UTF-8 encoded log (the length, followed by the bytes). Logs are not truncated, as the archive has no length limit.
+     *
+     * @param buildLogs             the build log entries to store
+     * @param programmingSubmission the submission the build logs belong to
+     * @return the (not yet saved) archive
+     */
+    public BuildLogArchive createBuildLogArchive(List<BuildLogEntry> buildLogs, ProgrammingSubmission programmingSubmission) {
+        ByteArrayOutputStream compressedLogs = new ByteArrayOutputStream();
+        ByteBuffer entryOffsets = ByteBuffer.allocate(buildLogs.size() * Integer.BYTES);
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(compressedLogs))) {
+            for (BuildLogEntry buildLog : buildLogs) {
+                // the number of uncompressed bytes written so far
+                entryOffsets.putInt(output.size());
+                ZonedDateTime time = buildLog.getTime();
+                output.writeBoolean(time != null);
+                if (time != null) {
+                    output.writeLong(time.toInstant().getEpochSecond());
+                    output.writeInt(time.getNano());
+                }
+                byte[] logBytes = Objects.toString(buildLog.getLog(), "").getBytes(StandardCharsets.UTF_8);
+                output.writeInt(logBytes.length);
+                output.write(logBytes);
+            }
+        }
+        catch (IOException e) {
+            // cannot happen when writing into memory
+            throw new UncheckedIOException(e);
+        }
+
+        BuildLogArchive archive = new BuildLogArchive();
+        archive.setProgrammingSubmission(programmingSubmission);
+        archive.setEntryCount(buildLogs.size());
+        archive.setEntryOffsets(entryOffsets.array());
+        archive.setCompressedLogs(compressedLogs.toByteArray());
+        return archive;
+    }
+
+    /**
+     * Decodes entries of a compressed build log archive while decompressing it, the entries before the first requested entry are skipped without decoding them.
+     *
+     * @param archive    the archive created by {@link #createBuildLogArchive(List, ProgrammingSubmission)}
+     * @param firstEntry the index of the first entry to read
+     * @param maxEntries the maximum number of entries to read
+     * @return the build log entries or an empty list if the archive could not be read
+     */
+    public List<BuildLogEntry> readBuildLogArchive(BuildLogArchive archive, int firstEntry, int maxEntries) {
+        int lastEntry = Math.min(archive.getEntryCount(), firstEntry + maxEntries);
+        if (firstEntry < 0 || firstEntry >= lastEntry) {
+            return List.of();
+        }
+        List<BuildLogEntry> buildLogs = new ArrayList<>(lastEntry - firstEntry);
+        try (DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(archive.getCompressedLogs())))) {
+            input.skipNBytes(ByteBuffer.wrap(archive.getEntryOffsets()).getInt(firstEntry * Integer.BYTES));
+            for (int entry = firstEntry; entry < lastEntry; entry++) {
+                ZonedDateTime time = null;
+                if (input.readBoolean()) {
+                    time = ZonedDateTime.ofInstant(Instant.ofEpochSecond(input.readLong(), input.readInt()), ZoneId.systemDefault());
+                }
+                String logString = new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+                buildLogs.add(new BuildLogEntry(time, logString, archive.getProgrammingSubmission()));
+            }
+        }
+        catch (IOException e) {
+            log.error("Could not read the build log archive {}", archive.getId(), e);
+            return List.of();
+        }
+        return buildLogs;
     }
 
     /**
@@ -56,8 +56,13 @@ public class CourseService {
     @Value("${artemis.course-archives-path}")
     private String courseArchivesDirPath;
 
+    @Value("${artemis.statistics.active-students.exact:false}")
+    private boolean exactActiveStudents;
+
     private final Logger log = LoggerFactory.getLogger(CourseService.class);
 
+    private static final DateTimeFormatter ACTIVE_USER_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private final Environment env;
 
     private final ArtemisAuthenticationProvider artemisAuthenticationProvider;
@@ -98,12 +103,14 @@ public class CourseService {
 
     private final StudentParticipationRepository studentParticipationRepository;
 
+    private final ActiveStudentSketchService activeStudentSketchService;
+
     public CourseService(Environment env, ArtemisAuthenticationProvider artemisAuthenticationProvider, CourseRepository courseRepository, ExerciseService exerciseService,
             ExerciseDeletionService exerciseDeletionService, AuthorizationCheckService authCheckService, UserRepository userRepository, LectureService lectureService,
             GroupNotificationRepository groupNotificationRepository, ExerciseGroupRepository exerciseGroupRepository, AuditEventRepository auditEventRepository,
             UserService userService, LearningGoalRepository learningGoalRepository, GroupNotificationService groupNotificationService, ExamService examService,
             ExamRepository examRepository, CourseExamExportService courseExamExportService, GradingScaleRepository gradingScaleRepository,
-            StatisticsRepository statisticsRepository, StudentParticipationRepository studentParticipationRepository) {
+            StatisticsRepository statisticsRepository, StudentParticipationRepository studentParticipationRepository, ActiveStudentSketchService activeStudentSketchService) {
         this.env = env;
         this.artemisAuthenticationProvider = artemisAuthenticationProvider;
         this.courseRepository = courseRepository;
@@ -124,6 +131,7 @@ public class CourseService {
         this.gradingScaleRepository = gradingScaleRepository;
         this.statisticsRepository = statisticsRepository;
         this.studentParticipationRepository = studentParticipationRepository;
+        this.activeStudentSketchService = activeStudentSketchService;
     }
 
     /**
@@ -380,15 +388,16 @@ public class CourseService {
     }
 
     /**
-     * Get the active students for these particular exercise ids
+     * Get the active students for these particular exercise ids. They are estimated from the weekly sketches of the course, unless the exact calculation is configured
      *
+     * @param courseId the id of the course of the exercises
      * @param exerciseIds the ids to get the active students for
      * @param periodIndex the deviation from the current time
      * @param length the length of the chart which we want to fill. This can either be 4 for the course overview or 17 for the course detail view
      * @param date the date for which the active students' calculation should end (e.g. now)
      * @return An Integer list containing active students for each index. An index corresponds to a week
      */
-    public List<Integer> getActiveStudents(Set<Long> exerciseIds, long periodIndex, int length, ZonedDateTime date) {
+    public List<Integer> getActiveStudents(long courseId, Set<Long> exerciseIds, long periodIndex, int length, ZonedDateTime date) {
         LocalDateTime localStartDate = date.toLocalDateTime().with(DayOfWeek.MONDAY);
         LocalDateTime localEndDate = date.toLocalDateTime().with(DayOfWeek.SUNDAY);
         ZoneId zone = date.getZone();
@@ -398,6 +407,9 @@ public class CourseService {
         // If the timeframe was adapted (periodIndex != 0), the endDate needs to be adapted according to the deviation
         ZonedDateTime endDate = periodIndex != 0 ? localEndDate.atZone(zone).minusWeeks(length * (-periodIndex)).withHour(23).withMinute(59).withSecond(59)
                 : localEndDate.atZone(zone).withHour(23).withMinute(59).withSecond(59);
+        if (!exactActiveStudents) {
+            return activeStudentSketchService.getActiveStudents(courseId, startDate, length);
+        }
         List<StatisticsEntry> outcome = courseRepository.getActiveStudents(exerciseIds, startDate, endDate);
         List<StatisticsEntry> distinctOutcome = removeDuplicateActiveUserRows(outcome, startDate);
         List<Integer> result = new ArrayList<>(Collections.nCopies(length, 0));
@@ -420,9 +432,7 @@ public class CourseService {
         for (StatisticsEntry listElement : activeUserRows) {
             // listElement.date has the form "2021-05-04", to convert it to ZonedDateTime, it needs a time
             String dateOfElement = listElement.getDate() + " 10:00";
-            var zone = startDate.getZone();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            ZonedDateTime date = LocalDateTime.parse(dateOfElement, formatter).atZone(zone);
+            ZonedDateTime date = LocalDateTime.parse(dateOfElement, ACTIVE_USER_DATE_FORMATTER).atZone(startDate.getZone());
             int index = statisticsRepository.getWeekOfDate(date);
             /*
              * The database stores entries in UTC, so it can happen that entries lay in the calendar week one week before the calendar week of the startDate If startDate lays in a
@@ -462,7 +472,7 @@ public class CourseService {
         dto.setNumberOfEditorsInCourse(Math.toIntExact(userRepository.countUserInGroup(course.getEditorGroupName())));
         dto.setNumberOfInstructorsInCourse(Math.toIntExact(userRepository.countUserInGroup(course.getInstructorGroupName())));
 
-        dto.setActiveStudents(getActiveStudents(exerciseIds, 0, 17, ZonedDateTime.now()));
+        dto.setActiveStudents(getActiveStudents(courseId, exerciseIds, 0, 17, ZonedDateTime.now()));
         return dto;
     }
 
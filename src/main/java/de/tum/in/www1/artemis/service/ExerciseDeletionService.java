@@ -20,6 +20,7 @@ import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseStudentPar
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.plagiarism.ProgrammingPlagiarismDetectionService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseService;
 
 /**
@@ -64,12 +65,22 @@ public class ExerciseDeletionService {
 
     private final ModelingExerciseRepository modelingExerciseRepository;
 
+    private final TotalScoreService totalScoreService;
+
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
+    private final AssessmentWorkQueueService assessmentWorkQueueService;
+
+    private final ProgrammingPlagiarismDetectionService programmingPlagiarismDetectionService;
+
     public ExerciseDeletionService(ExerciseRepository exerciseRepository, ExerciseUnitRepository exerciseUnitRepository, ParticipationService participationService,
             ProgrammingExerciseService programmingExerciseService, ModelingExerciseService modelingExerciseService, QuizExerciseService quizExerciseService,
             TutorParticipationRepository tutorParticipationRepository, ExampleSubmissionService exampleSubmissionService, StudentExamRepository studentExamRepository,
             ExamRepository examRepository, ParticipantScoreRepository participantScoreRepository, LectureUnitService lectureUnitService,
             TextExerciseRepository textExerciseRepository, PlagiarismResultRepository plagiarismResultRepository, TextAssessmentKnowledgeService textAssessmentKnowledgeService,
-            ModelingExerciseRepository modelingExerciseRepository, ModelAssessmentKnowledgeService modelAssessmentKnowledgeService) {
+            ModelingExerciseRepository modelingExerciseRepository, ModelAssessmentKnowledgeService modelAssessmentKnowledgeService, TotalScoreService totalScoreService,
+            WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache, AssessmentWorkQueueService assessmentWorkQueueService,
+            ProgrammingPlagiarismDetectionService programmingPlagiarismDetectionService) {
         this.exerciseRepository = exerciseRepository;
         this.examRepository = examRepository;
         this.participationService = participationService;
@@ -87,6 +98,10 @@ public class ExerciseDeletionService {
         this.modelAssessmentKnowledgeService = modelAssessmentKnowledgeService;
         this.textExerciseRepository = textExerciseRepository;
         this.modelingExerciseRepository = modelingExerciseRepository;
+        this.totalScoreService = totalScoreService;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
+        this.assessmentWorkQueueService = assessmentWorkQueueService;
+        this.programmingPlagiarismDetectionService = programmingPlagiarismDetectionService;
     }
 
     /**
@@ -150,6 +165,8 @@ public class ExerciseDeletionService {
 
         // delete all participations belonging to this exercise, this will also delete submissions, results, feedback, complaints, etc.
         participationService.deleteAllByExerciseId(exercise.getId(), deleteStudentReposBuildPlans, deleteStudentReposBuildPlans);
+        // the participant scores of the exercise do not exist anymore, so the total scores are recalculated without them
+        totalScoreService.rebuildTotalScores(exercise);
         // clean up the many-to-many relationship to avoid problems when deleting the entities but not the relationship table
         // to avoid a ConcurrentModificationException, we need to use a copy of the set
         var exampleSubmissions = new HashSet<>(exercise.getExampleSubmissions());
@@ -176,6 +193,7 @@ public class ExerciseDeletionService {
         if (exercise instanceof ProgrammingExercise) {
             // TODO: delete all schedules related to this programming exercise
             programmingExerciseService.delete(exercise.getId(), deleteBaseReposBuildPlans);
+            programmingPlagiarismDetectionService.deleteCachedRepositories((ProgrammingExercise) exercise);
         }
         else {
             // delete text assessment knowledge if exercise is of type TextExercise and if no other exercise uses same knowledge
@@ -196,6 +214,8 @@ public class ExerciseDeletionService {
             }
             exerciseRepository.delete(exercise);
         }
+        websocketSubscriptionAuthorizationCache.invalidateExercise(exerciseId);
+        assessmentWorkQueueService.removeQueues(exerciseId);
     }
 
     /**
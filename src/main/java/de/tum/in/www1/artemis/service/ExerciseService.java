@@ -78,13 +78,15 @@ public class ExerciseService {
 
     private final ExampleSubmissionRepository exampleSubmissionRepository;
 
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
     public ExerciseService(ExerciseRepository exerciseRepository, AuthorizationCheckService authCheckService, QuizScheduleService quizScheduleService,
             AuditEventRepository auditEventRepository, TeamRepository teamRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             LtiOutcomeUrlRepository ltiOutcomeUrlRepository, StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository,
             SubmissionRepository submissionRepository, ParticipantScoreRepository participantScoreRepository, UserRepository userRepository,
             ComplaintRepository complaintRepository, TutorLeaderboardService tutorLeaderboardService, ComplaintResponseRepository complaintResponseRepository,
             GradingCriterionRepository gradingCriterionRepository, FeedbackRepository feedbackRepository, RatingService ratingService, ExerciseDateService exerciseDateService,
-            ExampleSubmissionRepository exampleSubmissionRepository) {
+            ExampleSubmissionRepository exampleSubmissionRepository, WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache) {
         this.exerciseRepository = exerciseRepository;
         this.resultRepository = resultRepository;
         this.authCheckService = authCheckService;
@@ -105,6 +107,7 @@ public class ExerciseService {
         this.exerciseDateService = exerciseDateService;
         this.ratingService = ratingService;
         this.exampleSubmissionRepository = exampleSubmissionRepository;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
     }
 
     /**
@@ -348,10 +351,19 @@ public class ExerciseService {
         log.info("User {} has requested to delete {} {} with id {}", user.getLogin(), exercise.getClass().getSimpleName(), exercise.getTitle(), exercise.getId());
     }
 
+    /**
+     * Logs the update of the exercise and removes the cached websocket subscription decisions of the exercise, because the update might change who may subscribe to its
+     * results (e.g. if the exercise was moved into an exam)
+     *
+     * @param exercise the updated exercise
+     * @param course   the course of the exercise
+     * @param user     the user who updated the exercise
+     */
     public void logUpdate(Exercise exercise, Course course, User user) {
         var auditEvent = new AuditEvent(user.getLogin(), Constants.EDIT_EXERCISE, "exercise=" + exercise.getTitle(), "course=" + course.getTitle());
         auditEventRepository.add(auditEvent);
         log.info("User {} has updated {} {} with id {}", user.getLogin(), exercise.getClass().getSimpleName(), exercise.getTitle(), exercise.getId());
+        websocketSubscriptionAuthorizationCache.invalidateExercise(exercise.getId());
     }
 
     /**
@@ -0,0 +1,207 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches the contents of the downloaded files (e.g. lecture attachments) off-heap on this node, so that frequently downloaded files are neither read from the file system
+ * nor copied into the heap for every request. The returned resources are streamed to the client.
+ * <p>
+ * The cache is bounded by the total size of the cached files and evicts the least recently used files. A cached file is only used while the size and the last
+ * modification date of the file are unchanged, so that changes of the file (also by other nodes on a shared file system) do not require an invalidation. Files larger
+ * than the maximum file size are streamed from the file system without caching.
+ */
+@Service
+public class FileContentCache {
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private final long maxSize;
+
+    private final long maxFileSize;
+
+    // the iteration order is the access order, i.e. the least recently used file first
+    private final LinkedHashMap<Path, CachedFile> cachedFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentSize;
+
+    private record CachedFile(ByteBuffer content, long size, long lastModified) {
+    }
+
+    public FileContentCache(@Value("${artemis.file-cache.max-size:256}") int maxSizeInMB, @Value("${artemis.file-cache.max-file-size:32}") int maxFileSizeInMB) {
+        this.maxSize = Math.max(0, maxSizeInMB) * BYTES_PER_MB;
+        this.maxFileSize = Math.min(this.maxSize, Math.max(0, maxFileSizeInMB) * BYTES_PER_MB);
+    }
+
+    /**
+     * Gets the file with the given path from the cache or loads (and caches) it if it is not cached or was changed since it was cached
+     *
+     * @param path the path of the file
+     * @return the file as streamable resource with content length and last modification date, or an empty optional if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public Optional<Resource> getFile(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException ex) {
+            evict(path);
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (size > maxFileSize) {
+            evict(path);
+            return Optional.of(new FileSystemResource(path));
+        }
+        CachedFile cachedFile = getCachedFile(path);
+        if (cachedFile == null || cachedFile.size() != size || cachedFile.lastModified() != lastModified) {
+            cachedFile = new CachedFile(readFile(path, size), size, lastModified);
+            putCachedFile(path, cachedFile);
+        }
+        return Optional.of(new CachedFileResource(path, cachedFile));
+    }
+
+    /**
+     * Removes the file from the cache of this node, e.g. because it was replaced or deleted
+     *
+     * @param path the path of the file
+     */
+    public synchronized void evict(Path path) {
+        CachedFile removedFile = cachedFiles.remove(path);
+        if (removedFile != null) {
+            currentSize -= removedFile.content().capacity();
+        }
+    }
+
+    private synchronized CachedFile getCachedFile(Path path) {
+        return cachedFiles.get(path);
+    }
+
+    private synchronized void putCachedFile(Path path, CachedFile cachedFile) {
+        evict(path);
+        Iterator<CachedFile> leastRecentlyUsedFiles = cachedFiles.values().iterator();
+        while (currentSize + cachedFile.content().capacity() > maxSize && leastRecentlyUsedFiles.hasNext()) {
+            // the off-heap memory of the removed files is released when their buffers are garbage collected
+            currentSize -= leastRecentlyUsedFiles.next().content().capacity();
+            leastRecentlyUsedFiles.remove();
+        }
+        cachedFiles.put(path, cachedFile);
+        currentSize += cachedFile.content().capacity();
+    }
+
+    private static ByteBuffer readFile(Path path, long size) throws IOException {
+        ByteBuffer content = ByteBuffer.allocateDirect(Math.toIntExact(size));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // read until the buffer is full or the file ends (if it was shortened in the meantime)
+            int readBytes = 0;
+            while (content.hasRemaining() && readBytes >= 0) {
+                readBytes = channel.read(content);
+            }
+        }
+        content.flip();
+        return content.asReadOnlyBuffer();
+    }
+
+    /**
+     * A resource reading the cached content of a file, each input stream has its own position in the shared content
+     */
+    private static class CachedFileResource extends AbstractResource {
+
+        private final Path path;
+
+        private final CachedFile cachedFile;
+
+        CachedFileResource(Path path, CachedFile cachedFile) {
+            this.path = path;
+            this.cachedFile = cachedFile;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteBufferInputStream(cachedFile.content().duplicate());
+        }
+
+        @Override
+        public long contentLength() {
+            return cachedFile.content().limit();
+        }
+
+        @Override
+        public long lastModified() {
+            return cachedFile.lastModified();
+        }
+
+        @Override
+        public String getFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached file [" + path + "]";
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int readLength = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, readLength);
+            return readLength;
+        }
+
+        @Override
+        public long skip(long length) {
+            int skippedLength = (int) Math.min(Math.max(0, length), buffer.remaining());
+            buffer.position(buffer.position() + skippedLength);
+            return skippedLength;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
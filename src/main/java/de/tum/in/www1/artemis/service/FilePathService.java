@@ -44,6 +44,10 @@ public class FilePathService {
         return Paths.get(fileUploadPath, "attachments", "attachment-unit").toString();
     }
 
+    public static String getMergedLecturePdfFilePath() {
+        return Paths.get(fileUploadPath, "attachments", "merged-lecture-pdf").toString();
+    }
+
     public static String getFileUploadExercisesFilePath() {
         return Paths.get(fileUploadPath, "file-upload-exercises").toString();
     }
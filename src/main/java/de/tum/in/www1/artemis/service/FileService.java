@@ -25,8 +25,6 @@ import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
@@ -76,30 +74,6 @@ public class FileService implements DisposableBean {
         futures.clear();
     }
 
-    /**
-     * Get the file for the given path as a byte[]
-     *
-     * @param path the path for the file to load
-     * @return file contents as a byte[], or null, if the file doesn't exist
-     * @throws IOException if the file can't be accessed.
-     */
-    @Cacheable(value = "files", unless = "#result == null")
-    public byte[] getFileForPath(String path) throws IOException {
-        File file = new File(path);
-        if (file.exists()) {
-            return Files.readAllBytes(file.toPath());
-        }
-        else {
-            return null;
-        }
-    }
-
-    @CacheEvict(value = "files", key = "#path")
-    public void resetOnPath(String path) {
-        log.info("Invalidate files cache for {}", path);
-        // Intentionally blank
-    }
-
     /**
      * Takes care of any changes that have to be made to the filesystem (deleting old files, moving temporary files into their proper location) and returns the public path for the
      * resulting file (as it might have been moved from newFilePath to another path)
@@ -895,9 +869,22 @@ public class FileService implements DisposableBean {
         if (paths == null || paths.isEmpty()) {
             return Optional.empty();
         }
-        PDFMergerUtility pdfMerger = new PDFMergerUtility();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (!mergePdfFiles(paths, outputStream)) {
+            return Optional.empty();
+        }
+        return Optional.of(outputStream.toByteArray());
+    }
 
+    /**
+     * Merge the PDF files located in the given paths into the given output stream, e.g. of a file, so that the merged file is not kept in memory.
+     *
+     * @param paths        list of paths to merge
+     * @param outputStream the stream the merged file is written to
+     * @return true if the files were merged, false otherwise
+     */
+    public boolean mergePdfFiles(List<String> paths, OutputStream outputStream) {
+        PDFMergerUtility pdfMerger = new PDFMergerUtility();
         try {
             for (String path : paths) {
                 File file = new File(path);
@@ -910,10 +897,9 @@ public class FileService implements DisposableBean {
         }
         catch (IOException e) {
             log.warn("Could not merge files");
-            return Optional.empty();
+            return false;
         }
-
-        return Optional.of(outputStream.toByteArray());
+        return true;
     }
 
     /**
@@ -22,12 +22,15 @@ public class LectureService {
 
     private final LectureUnitService lectureUnitService;
 
+    private final MergedLecturePdfService mergedLecturePdfService;
+
     public LectureService(LectureRepository lectureRepository, AuthorizationCheckService authCheckService, LectureUnitRepository lectureUnitRepository,
-            LectureUnitService lectureUnitService) {
+            LectureUnitService lectureUnitService, MergedLecturePdfService mergedLecturePdfService) {
         this.lectureRepository = lectureRepository;
         this.authCheckService = authCheckService;
         this.lectureUnitRepository = lectureUnitRepository;
         this.lectureUnitService = lectureUnitService;
+        this.mergedLecturePdfService = mergedLecturePdfService;
     }
 
     /**
@@ -70,7 +73,7 @@ public class LectureService {
 
     /**
      * Deletes the given lecture.
-     * Attachments and Lecture Units are not explicitly deleted, as the delete operation is cascaded by the database.
+     * Attachments and Lecture Units are not explicitly deleted, as the delete operation is cascaded by the database. The merged PDF of the lecture is deleted as well.
      * @param lecture the lecture to be deleted
      */
     @Transactional // ok
@@ -94,6 +97,7 @@ public class LectureService {
             }
         }
         lectureRepository.deleteById(lectureToDelete.getId());
+        mergedLecturePdfService.deleteMergedPdfs(lectureToDelete.getId());
     }
 
 }
@@ -5,10 +5,14 @@ import static de.tum.in.www1.artemis.domain.notification.NotificationTargetFacto
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Locale;
-import java.util.Set;
-
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
@@ -17,13 +21,18 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import com.google.common.collect.Lists;
+
+import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.NotificationType;
 import de.tum.in.www1.artemis.domain.metis.Post;
@@ -37,6 +46,9 @@ import tech.jhipster.config.JHipsterProperties;
  * Service for sending emails.
  * <p>
  * We use the @Async annotation to send emails asynchronously.
+ * <p>
+ * Notification emails for multiple users are sent in batches by a dedicated thread pool of {@code artemis.mail.fan-out.threads} threads. If more than
+ * {@code artemis.mail.fan-out.queue-capacity} batches are waiting, the calling thread sends the next batch itself instead of queueing an unbounded number of emails.
  */
 @Service
 public class MailService {
@@ -86,13 +98,39 @@ public class MailService {
 
     private static final String WEEKLY_SUMMARY_NEW_EXERCISES = "weeklySummaryNewExercises";
 
+    // multiple recipients related variables
+
+    // rendered as the name of the recipient and replaced for each recipient, only contains characters that are not escaped by the template engine
+    private static final String RECIPIENT_NAME_PLACEHOLDER = "ARTEMIS_RECIPIENT_NAME_PLACEHOLDER";
+
+    private final int batchSize;
+
+    private final ExecutorService executor;
+
+    private record NotificationEmail(String subject, String content) {
+    }
+
+    private record PreparedEmail(User recipient, String subject, String content) {
+    }
+
     public MailService(JHipsterProperties jHipsterProperties, JavaMailSender javaMailSender, MessageSource messageSource, SpringTemplateEngine templateEngine,
-            TimeService timeService) {
+            TimeService timeService, @Value("${artemis.mail.fan-out.threads:4}") int threads, @Value("${artemis.mail.fan-out.batch-size:50}") int batchSize,
+            @Value("${artemis.mail.fan-out.queue-capacity:100}") int queueCapacity) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
         this.messageSource = messageSource;
         this.templateEngine = templateEngine;
         this.timeService = timeService;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Sends the emails which are still waiting before the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
 
     /**
@@ -108,14 +146,8 @@ public class MailService {
     public void sendEmail(User recipient, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug("Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}", isMultipart, isHtml, recipient, subject, content);
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(recipient.getEmail());
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
+            MimeMessage mimeMessage = createMimeMessage(recipient, subject, content, isMultipart, isHtml);
             javaMailSender.send(mimeMessage);
             log.info("Sent email with subject '{}' to User '{}'", subject, recipient);
         }
@@ -124,6 +156,17 @@ public class MailService {
         }
     }
 
+    private MimeMessage createMimeMessage(User recipient, String subject, String content, boolean isMultipart, boolean isHtml) throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(recipient.getEmail());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
     /**
      * Sends a predefined mail based on a template
      *
@@ -184,6 +227,18 @@ public class MailService {
      * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
      */
     public void sendNotificationEmail(Notification notification, User user, Object notificationSubject) {
+        NotificationEmail notificationEmail = createNotificationEmail(notification, user, notificationSubject);
+        sendEmail(user, notificationEmail.subject(), notificationEmail.content(), false, true);
+    }
+
+    /**
+     * Creates the subject and content of a notification based email to one user
+     * @param notification which properties are used to create the email
+     * @param user who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     * @return the subject and content of the email
+     */
+    private NotificationEmail createNotificationEmail(Notification notification, User user, Object notificationSubject) {
         NotificationType notificationType = NotificationTitleTypeConstants.findCorrespondingNotificationType(notification.getTitle());
         log.debug("Sending \"{}\" notification email to '{}'", notificationType.name(), user.getEmail());
 
@@ -214,7 +269,7 @@ public class MailService {
 
         String content = createContentForNotificationEmailByType(notificationType, context);
 
-        sendEmail(user, subject, content, false, true);
+        return new NotificationEmail(subject, content);
     }
 
     /**
@@ -256,9 +311,73 @@ public class MailService {
         return context;
     }
 
+    /**
+     * Sends a notification based email to multiple users.
+     * The content is only created once per language with a placeholder for the name of the recipient, which is replaced for each user.
+     * The emails are sent in batches, so that each batch reuses one connection to the mail server.
+     *
+     * @param notification which properties are used to create the emails
+     * @param users who should be contacted
+     * @param notificationSubject that is used to provide further information (e.g. exercise, attachment, post, etc.)
+     */
     @Async
     public void sendNotificationEmailForMultipleUsers(GroupNotification notification, List<User> users, Object notificationSubject) {
-        users.forEach(user -> sendNotificationEmail(notification, user, notificationSubject));
+        NotificationType notificationType = NotificationTitleTypeConstants.findCorrespondingNotificationType(notification.getTitle());
+        List<PreparedEmail> emails = new ArrayList<>();
+        if (notificationType == EXERCISE_SUBMISSION_ASSESSED) {
+            // the content contains the score of the recipient, so it has to be created for each user
+            for (User user : users) {
+                NotificationEmail notificationEmail = createNotificationEmail(notification, user, notificationSubject);
+                emails.add(new PreparedEmail(user, notificationEmail.subject(), notificationEmail.content()));
+            }
+        }
+        else {
+            Map<String, List<User>> usersByLanguage = users.stream()
+                    .collect(Collectors.groupingBy(user -> Objects.requireNonNullElse(user.getLangKey(), Constants.DEFAULT_LANGUAGE)));
+            usersByLanguage.forEach((langKey, usersWithLanguage) -> {
+                User placeholderRecipient = new User();
+                placeholderRecipient.setFirstName(RECIPIENT_NAME_PLACEHOLDER);
+                placeholderRecipient.setLangKey(langKey);
+                NotificationEmail notificationEmail = createNotificationEmail(notification, placeholderRecipient, notificationSubject);
+                for (User user : usersWithLanguage) {
+                    // the template engine escapes the name of the recipient, so we have to do the same
+                    String recipientName = HtmlUtils.htmlEscape(Objects.requireNonNullElse(user.getName(), ""), StandardCharsets.UTF_8.name());
+                    emails.add(new PreparedEmail(user, notificationEmail.subject(), notificationEmail.content().replace(RECIPIENT_NAME_PLACEHOLDER, recipientName)));
+                }
+            });
+        }
+        log.debug("Sending \"{}\" notification email to {} users", notificationType.name(), emails.size());
+        Lists.partition(emails, batchSize).forEach(batch -> executor.execute(() -> sendEmailBatch(batch)));
+    }
+
+    /**
+     * Sends the emails together, i.e. with one connection to the mail server
+     *
+     * @param emails the emails that should be sent
+     */
+    private void sendEmailBatch(List<PreparedEmail> emails) {
+        List<MimeMessage> mimeMessages = new ArrayList<>();
+        for (PreparedEmail email : emails) {
+            try {
+                mimeMessages.add(createMimeMessage(email.recipient(), email.subject(), email.content(), false, true));
+            }
+            catch (MessagingException e) {
+                log.warn("Email could not be sent to user '{}'", email.recipient(), e);
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return;
+        }
+        try {
+            javaMailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+            log.info("Sent {} emails with subject '{}'", mimeMessages.size(), emails.get(0).subject());
+        }
+        catch (MailSendException e) {
+            log.warn("{} of {} emails with subject '{}' could not be sent", e.getFailedMessages().size(), mimeMessages.size(), emails.get(0).subject(), e);
+        }
+        catch (MailException e) {
+            log.warn("{} emails with subject '{}' could not be sent", mimeMessages.size(), emails.get(0).subject(), e);
+        }
     }
 
     /// Weekly Summary Email
@@ -0,0 +1,231 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.enumeration.AttachmentType;
+import de.tum.in.www1.artemis.domain.lecture.AttachmentUnit;
+import de.tum.in.www1.artemis.repository.AttachmentUnitRepository;
+import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
+
+/**
+ * Keeps the merged PDF of the visible PDF attachment units of each lecture as a file, so that the attachments are not merged again for every download and the merged PDF
+ * can be streamed like any other file.
+ * <p>
+ * The file name of a merged PDF contains a version, which is calculated from the merged attachment files (their paths, sizes and last modification dates). A merged PDF
+ * is therefore only used as long as the merged attachments are unchanged, also if they were changed by another node on the shared file system or became visible in the
+ * meantime. After an attachment unit was changed, its lecture is merged again in the background. Concurrent requests for the same version wait for the same merge.
+ */
+@Service
+public class MergedLecturePdfService implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(MergedLecturePdfService.class);
+
+    // merging large PDFs is expensive, so only few lectures are merged at the same time
+    private static final int MERGE_THREADS = 2;
+
+    private static final String MERGED_PDF_EXTENSION = ".pdf";
+
+    private final AttachmentUnitRepository attachmentUnitRepository;
+
+    private final FileService fileService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(MERGE_THREADS);
+
+    // the running merges by the path of the merged PDF, i.e. by lecture and version
+    private final Map<Path, CompletableFuture<Optional<Path>>> runningMerges = new ConcurrentHashMap<>();
+
+    public MergedLecturePdfService(AttachmentUnitRepository attachmentUnitRepository, FileService fileService) {
+        this.attachmentUnitRepository = attachmentUnitRepository;
+        this.fileService = fileService;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the merged PDF of the visible PDF attachment units of the lecture. If there is no merged PDF for the current attachments yet, the attachments are merged (or
+     * the request waits for the running merge of the same attachments).
+     *
+     * @param lectureId the id of the lecture
+     * @return the path of the merged PDF, or an empty optional if there are no visible PDF attachments or they could not be merged
+     * @throws EntityNotFoundException if the lecture has no file attachment units
+     */
+    public Optional<Path> getMergedPdf(long lectureId) {
+        Set<AttachmentUnit> attachmentUnits = attachmentUnitRepository.findAllByLectureIdAndAttachmentTypeElseThrow(lectureId, AttachmentType.FILE);
+        List<Path> attachmentPaths = getVisiblePdfAttachmentPaths(attachmentUnits);
+        if (attachmentPaths.isEmpty()) {
+            return Optional.empty();
+        }
+        Path mergedPdfPath = getMergedPdfPath(lectureId, attachmentPaths);
+        if (Files.exists(mergedPdfPath)) {
+            return Optional.of(mergedPdfPath);
+        }
+        try {
+            return merge(lectureId, mergedPdfPath, attachmentPaths).get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        catch (ExecutionException ex) {
+            log.error("Failed to merge the PDF attachments of lecture {}", lectureId, ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts merging the PDF attachments of the lecture in the background (unless the merged PDF of the current attachments exists already), e.g. after an attachment
+     * unit was changed, so that the next download does not have to wait for the merge
+     *
+     * @param lectureId the id of the lecture
+     */
+    public void scheduleMerge(long lectureId) {
+        // the attachment units are loaded in the request, because the custom @Query methods fail if no authentication is available
+        List<Path> attachmentPaths = getVisiblePdfAttachmentPaths(attachmentUnitRepository.findAllByLectureIdAndAttachmentType(lectureId, AttachmentType.FILE));
+        if (attachmentPaths.isEmpty()) {
+            return;
+        }
+        Path mergedPdfPath = getMergedPdfPath(lectureId, attachmentPaths);
+        if (!Files.exists(mergedPdfPath)) {
+            merge(lectureId, mergedPdfPath, attachmentPaths);
+        }
+    }
+
+    /**
+     * Starts merging the PDF attachments of the lecture of the attachment unit in the background, see {@link #scheduleMerge(long)}
+     *
+     * @param attachmentUnitId the id of the changed attachment unit
+     */
+    public void scheduleMergeForAttachmentUnit(long attachmentUnitId) {
+        attachmentUnitRepository.findById(attachmentUnitId).filter(attachmentUnit -> attachmentUnit.getLecture() != null)
+                .ifPresent(attachmentUnit -> scheduleMerge(attachmentUnit.getLecture().getId()));
+    }
+
+    private CompletableFuture<Optional<Path>> merge(long lectureId, Path mergedPdfPath, List<Path> attachmentPaths) {
+        CompletableFuture<Optional<Path>> merge = runningMerges.computeIfAbsent(mergedPdfPath,
+                path -> CompletableFuture.supplyAsync(() -> writeMergedPdf(lectureId, path, attachmentPaths), executor));
+        merge.whenComplete((mergedPdf, error) -> runningMerges.remove(mergedPdfPath, merge));
+        return merge;
+    }
+
+    private Optional<Path> writeMergedPdf(long lectureId, Path mergedPdfPath, List<Path> attachmentPaths) {
+        // the merged PDF might have been written by a merge that completed after the check of the request
+        if (Files.exists(mergedPdfPath)) {
+            return Optional.of(mergedPdfPath);
+        }
+        long start = System.currentTimeMillis();
+        Path temporaryPath = null;
+        try {
+            Files.createDirectories(mergedPdfPath.getParent());
+            // the merged PDF is written to a temporary file first, so that no other request (or node) reads an incomplete merged PDF
+            temporaryPath = Files.createTempFile(mergedPdfPath.getParent(), "merging-", ".tmp");
+            boolean merged;
+            try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+                merged = fileService.mergePdfFiles(attachmentPaths.stream().map(Path::toString).toList(), outputStream);
+            }
+            if (!merged) {
+                return Optional.empty();
+            }
+            Files.move(temporaryPath, mergedPdfPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporaryPath = null;
+            deleteOlderVersions(mergedPdfPath);
+            log.info("Merged the {} PDF attachments of lecture {} in {}ms", attachmentPaths.size(), lectureId, System.currentTimeMillis() - start);
+            return Optional.of(mergedPdfPath);
+        }
+        catch (IOException ex) {
+            log.error("Failed to write the merged PDF of lecture {}", lectureId, ex);
+            return Optional.empty();
+        }
+        finally {
+            if (temporaryPath != null) {
+                fileService.deleteFiles(List.of(temporaryPath));
+            }
+        }
+    }
+
+    /**
+     * Deletes the merged PDFs of the lecture, e.g. because the lecture was deleted
+     *
+     * @param lectureId the id of the lecture
+     */
+    public void deleteMergedPdfs(long lectureId) {
+        Path mergedPdfDirectory = Paths.get(FilePathService.getMergedLecturePdfFilePath(), String.valueOf(lectureId));
+        try {
+            FileUtils.deleteDirectory(mergedPdfDirectory.toFile());
+        }
+        catch (IOException ex) {
+            log.warn("Could not delete the merged PDFs of lecture {}. Error message: {}", lectureId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the merged PDFs of the lecture that were written before the given one. Running merges only write temporary files before they are completed, and a newer
+     * version that was completed in the meantime (e.g. by another node) is kept, so that a slow merge of an outdated version never deletes the current one.
+     */
+    private void deleteOlderVersions(Path mergedPdfPath) throws IOException {
+        FileTime mergedPdfTime = Files.getLastModifiedTime(mergedPdfPath);
+        try (Stream<Path> files = Files.list(mergedPdfPath.getParent())) {
+            fileService.deleteFiles(files.filter(file -> file.toString().endsWith(MERGED_PDF_EXTENSION) && !file.equals(mergedPdfPath))
+                    .filter(file -> isOlderThan(file, mergedPdfTime)).toList());
+        }
+    }
+
+    private static boolean isOlderThan(Path file, FileTime time) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(time) < 0;
+        }
+        catch (IOException ex) {
+            // the file was deleted in the meantime
+            return false;
+        }
+    }
+
+    /**
+     * Gets the paths of the existing attachment files of the visible PDF attachment units, ordered by the ids of the units so that the version does not depend on the
+     * order of the loaded units
+     */
+    private static List<Path> getVisiblePdfAttachmentPaths(Set<AttachmentUnit> attachmentUnits) {
+        return attachmentUnits.stream().filter(unit -> unit.isVisibleToStudents() && "pdf".equals(StringUtils.substringAfterLast(unit.getAttachment().getLink(), ".")))
+                .sorted(Comparator.comparing(AttachmentUnit::getId))
+                .map(unit -> Paths.get(FilePathService.getAttachmentUnitFilePath(), String.valueOf(unit.getId()),
+                        StringUtils.substringAfterLast(unit.getAttachment().getLink(), "/")))
+                .filter(Files::exists).toList();
+    }
+
+    /**
+     * The version of the merged PDF changes whenever a merged attachment file is added, removed, replaced or modified
+     */
+    private static Path getMergedPdfPath(long lectureId, List<Path> attachmentPaths) {
+        StringBuilder attachmentVersions = new StringBuilder();
+        for (Path attachmentPath : attachmentPaths) {
+            attachmentVersions.append(attachmentPath).append(':');
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(attachmentPath, BasicFileAttributes.class);
+                attachmentVersions.append(attributes.size()).append(':').append(attributes.lastModifiedTime().toMillis());
+            }
+            catch (IOException ex) {
+                // the file was deleted in the meantime, it is not merged either
+            }
+            attachmentVersions.append('\n');
+        }
+        String version = DigestUtils.sha256Hex(attachmentVersions.toString());
+        return Paths.get(FilePathService.getMergedLecturePdfFilePath(), String.valueOf(lectureId), "lecture-" + lectureId + "-" + version + MERGED_PDF_EXTENSION);
+    }
+}
@@ -45,9 +45,9 @@ public class ModelingSubmissionService extends SubmissionService {
             CompassService compassService, UserRepository userRepository, SubmissionVersionService submissionVersionService, ParticipationService participationService,
             StudentParticipationRepository studentParticipationRepository, AuthorizationCheckService authCheckService, FeedbackRepository feedbackRepository,
             ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository, ParticipationRepository participationRepository,
-            ModelElementRepository modelElementRepository, ComplaintRepository complaintRepository) {
+            ModelElementRepository modelElementRepository, ComplaintRepository complaintRepository, AssessmentWorkQueueService assessmentWorkQueueService) {
         super(submissionRepository, userRepository, authCheckService, resultRepository, studentParticipationRepository, participationService, feedbackRepository, examDateService,
-                exerciseDateService, courseRepository, participationRepository, complaintRepository);
+                exerciseDateService, courseRepository, participationRepository, complaintRepository, assessmentWorkQueueService);
         this.modelingSubmissionRepository = modelingSubmissionRepository;
         this.compassService = compassService;
         this.submissionVersionService = submissionVersionService;
@@ -154,7 +154,10 @@ public class ModelingSubmissionService extends SubmissionService {
      * @return a random modeling submission (potentially based on compass)
      */
     public ModelingSubmission findRandomSubmissionWithoutExistingAssessment(boolean lockSubmission, int correctionRound, ModelingExercise modelingExercise, boolean isExamMode) {
-        var submissionWithoutResult = super.getRandomSubmissionEligibleForNewAssessment(modelingExercise, isExamMode, correctionRound)
+        // only submissions which are locked are claimed, so that other tutors do not get them
+        var optionalSubmission = lockSubmission ? claimSubmissionEligibleForNewAssessment(modelingExercise, isExamMode, correctionRound)
+                : getRandomSubmissionEligibleForNewAssessment(modelingExercise, isExamMode, correctionRound);
+        var submissionWithoutResult = optionalSubmission
                 .orElseThrow(() -> new EntityNotFoundException("Modeling submission for exercise " + modelingExercise.getId() + " could not be found"));
         ModelingSubmission modelingSubmission = (ModelingSubmission) submissionWithoutResult;
         if (lockSubmission) {
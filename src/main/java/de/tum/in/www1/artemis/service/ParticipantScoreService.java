@@ -4,6 +4,7 @@ import static de.tum.in.www1.artemis.service.util.RoundingUtil.roundScoreSpecifi
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -15,7 +16,6 @@ import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.ExerciseMode;
 import de.tum.in.www1.artemis.domain.enumeration.IncludedInOverallScore;
 import de.tum.in.www1.artemis.domain.exam.Exam;
-import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreDTO;
@@ -32,12 +32,15 @@ public class ParticipantScoreService {
 
     private final ParticipantScoreRepository participantScoreRepository;
 
+    private final TotalScoreService totalScoreService;
+
     public ParticipantScoreService(UserRepository userRepository, StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository,
-            ParticipantScoreRepository participantScoreRepository) {
+            ParticipantScoreRepository participantScoreRepository, TotalScoreService totalScoreService) {
         this.userRepository = userRepository;
         this.studentScoreRepository = studentScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.participantScoreRepository = participantScoreRepository;
+        this.totalScoreService = totalScoreService;
     }
 
     /**
@@ -49,19 +52,24 @@ public class ParticipantScoreService {
      * The goal is to switch completely to this much faster server based calculation if the {@link de.tum.in.www1.artemis.service.listeners.ResultListener}
      * has been battle tested enough.
      *
-     * @param exam the exam with registered students, exercise groups and exercises for which to calculate the scores
+     * @param exam the exam with exercise groups and exercises for which to calculate the scores
      * @return list of scores for every registered student
      */
     public List<ScoreDTO> calculateExamScores(Exam exam) {
         if (exam == null || exam.getExerciseGroups() == null) {
             throw new IllegalArgumentException();
         }
-        Set<Exercise> exercisesOfExam = new HashSet<>();
-        exam.getExerciseGroups().stream().map(ExerciseGroup::getExercises).forEach(exercisesOfExam::addAll);
-        Set<Exercise> includedExercises = exercisesOfExam.stream().filter(exercise -> !exercise.getIncludedInOverallScore().equals(IncludedInOverallScore.NOT_INCLUDED))
-                .collect(Collectors.toSet());
+        // 0.0 means we can not reasonably calculate the achieved points / scores
+        double scoreCalculationDenominator = exam.getMaxPoints();
+        if (scoreCalculationDenominator == 0.0) {
+            return List.of();
+        }
+
+        Set<Long> excludedExerciseIds = exam.getExerciseGroups().stream().flatMap(exerciseGroup -> exerciseGroup.getExercises().stream())
+                .filter(exercise -> exercise.getIncludedInOverallScore() == IncludedInOverallScore.NOT_INCLUDED).map(Exercise::getId).collect(Collectors.toSet());
+        Map<Long, Double> pointsOfUsers = totalScoreService.getPointsOfUsersInExam(exam.getId(), excludedExerciseIds);
 
-        return calculateScores(includedExercises, exam.getRegisteredUsers(), (double) exam.getMaxPoints());
+        return calculateScores(userRepository.findAllRegisteredForExamAsScoreDTOs(exam.getId()), pointsOfUsers, scoreCalculationDenominator, exam.getCourse());
     }
 
     /**
@@ -81,73 +89,37 @@ public class ParticipantScoreService {
             throw new IllegalArgumentException();
         }
 
-        // we want the score for everybody who can perform exercises in the course (students, tutors and instructors)
-        Set<User> usersOfCourse = new HashSet<>();
-        usersOfCourse.addAll(userRepository.findAllInGroupWithAuthorities(course.getStudentGroupName()));
-        usersOfCourse.addAll(userRepository.findAllInGroupWithAuthorities(course.getTeachingAssistantGroupName()));
-        usersOfCourse.addAll(userRepository.findAllInGroupWithAuthorities(course.getInstructorGroupName()));
-
-        // we only consider released exercises that are not optional
-        Set<Exercise> exercisesToConsider = course.getExercises().stream().filter(Exercise::isCourseExercise)
-                .filter(exercise -> exercise.getReleaseDate() == null || exercise.getReleaseDate().isBefore(ZonedDateTime.now()))
-                .filter(exercise -> exercise.getIncludedInOverallScore() != IncludedInOverallScore.NOT_INCLUDED).collect(Collectors.toSet());
+        // we only consider released exercises that are not optional, the points of all other exercises are subtracted from the total scores
+        Predicate<Exercise> isConsidered = exercise -> (exercise.getReleaseDate() == null || exercise.getReleaseDate().isBefore(ZonedDateTime.now()))
+                && exercise.getIncludedInOverallScore() != IncludedInOverallScore.NOT_INCLUDED;
+        Set<Exercise> courseExercises = course.getExercises().stream().filter(Exercise::isCourseExercise).collect(Collectors.toSet());
 
         // this is the denominator when we calculate the achieved score of a student
-        Double regularAchievablePoints = exercisesToConsider.stream().filter(exercise -> exercise.getIncludedInOverallScore() == IncludedInOverallScore.INCLUDED_COMPLETELY)
-                .map(Exercise::getMaxPoints).reduce(0.0, Double::sum);
-
-        return calculateScores(exercisesToConsider, usersOfCourse, regularAchievablePoints);
-    }
-
-    private List<ScoreDTO> calculateScores(Set<Exercise> exercises, Set<User> users, Double scoreCalculationDenominator) {
+        double regularAchievablePoints = courseExercises.stream().filter(isConsidered)
+                .filter(exercise -> exercise.getIncludedInOverallScore() == IncludedInOverallScore.INCLUDED_COMPLETELY).map(Exercise::getMaxPoints).reduce(0.0, Double::sum);
         // 0.0 means we can not reasonably calculate the achieved points / scores
-        if (scoreCalculationDenominator.equals(0.0)) {
+        if (regularAchievablePoints == 0.0) {
             return List.of();
         }
 
-        Set<Exercise> individualExercises = exercises.stream().filter(exercise -> !exercise.isTeamMode()).collect(Collectors.toSet());
-        Set<Exercise> teamExercises = exercises.stream().filter(Exercise::isTeamMode).collect(Collectors.toSet());
+        Set<Long> excludedExerciseIds = courseExercises.stream().filter(isConsidered.negate()).map(Exercise::getId).collect(Collectors.toSet());
+        Map<Long, Double> pointsOfUsers = totalScoreService.getPointsOfUsersInCourse(course.getId(), excludedExerciseIds);
 
-        Course course = exercises.stream().findAny().get().getCourseViaExerciseGroupOrCourseMember();
-
-        // For every student we want to calculate the score
-        Map<Long, ScoreDTO> userIdToScores = users.stream().collect(Collectors.toMap(User::getId, ScoreDTO::new));
-
-        // individual exercises
-        // [0] -> User
-        // [1] -> sum of achieved points in exercises
-        List<Object[]> studentAndAchievedPoints = studentScoreRepository.getAchievedPointsOfStudents(individualExercises);
-        for (Object[] rawData : studentAndAchievedPoints) {
-            User user = (User) rawData[0];
-            double achievedPoints = rawData[1] != null ? ((Number) rawData[1]).doubleValue() : 0.0;
-            if (userIdToScores.containsKey(user.getId())) {
-                userIdToScores.get(user.getId()).pointsAchieved += achievedPoints;
-            }
-        }
-
-        // team exercises
-        // [0] -> Team
-        // [1] -> sum of achieved points in exercises
-        List<Object[]> teamAndAchievedPoints = teamScoreRepository.getAchievedPointsOfTeams(teamExercises);
-        for (Object[] rawData : teamAndAchievedPoints) {
-            Team team = (Team) rawData[0];
-            double achievedPoints = rawData[1] != null ? ((Number) rawData[1]).doubleValue() : 0.0;
-            for (User student : team.getStudents()) {
-                if (userIdToScores.containsKey(student.getId())) {
-                    userIdToScores.get(student.getId()).pointsAchieved += achievedPoints;
-                }
-            }
-        }
+        // we want the score for everybody who can perform exercises in the course (students, tutors and instructors)
+        Set<String> groupNames = Stream.of(course.getStudentGroupName(), course.getTeachingAssistantGroupName(), course.getInstructorGroupName()).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return calculateScores(userRepository.findAllInGroupsAsScoreDTOs(groupNames), pointsOfUsers, regularAchievablePoints, course);
+    }
 
-        // calculating achieved score
-        for (ScoreDTO scoreDTO : userIdToScores.values()) {
+    private List<ScoreDTO> calculateScores(List<ScoreDTO> scoresOfUsers, Map<Long, Double> pointsOfUsers, double scoreCalculationDenominator, Course course) {
+        for (ScoreDTO scoreDTO : scoresOfUsers) {
+            // the points are sums of rounded points, rounding them again removes the inaccuracy of adding them up incrementally
+            scoreDTO.pointsAchieved = roundScoreSpecifiedByCourseSettings(pointsOfUsers.getOrDefault(scoreDTO.studentId, 0.0), course);
             scoreDTO.scoreAchieved = roundScoreSpecifiedByCourseSettings((scoreDTO.pointsAchieved / scoreCalculationDenominator) * 100.0, course);
             // sending this for debugging purposes to find out why the scores' calculation could be wrong
             scoreDTO.regularPointsAchievable = scoreCalculationDenominator;
         }
-
-        return new ArrayList<>(userIdToScores.values());
-
+        return scoresOfUsers;
     }
 
     /**
@@ -66,13 +66,15 @@ public class ParticipationService {
 
     private final UrlService urlService;
 
+    private final TotalScoreService totalScoreService;
+
     public ParticipationService(ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository,
             StudentParticipationRepository studentParticipationRepository, ExerciseRepository exerciseRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             ResultRepository resultRepository, SubmissionRepository submissionRepository, ComplaintResponseRepository complaintResponseRepository,
             ComplaintRepository complaintRepository, TeamRepository teamRepository, GitService gitService, QuizScheduleService quizScheduleService,
             ParticipationRepository participationRepository, Optional<ContinuousIntegrationService> continuousIntegrationService,
             Optional<VersionControlService> versionControlService, RatingRepository ratingRepository, ParticipantScoreRepository participantScoreRepository,
-            UrlService urlService) {
+            UrlService urlService, TotalScoreService totalScoreService) {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.participationRepository = participationRepository;
         this.programmingExerciseStudentParticipationRepository = programmingExerciseStudentParticipationRepository;
@@ -90,6 +92,7 @@ public class ParticipationService {
         this.ratingRepository = ratingRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.urlService = urlService;
+        this.totalScoreService = totalScoreService;
     }
 
     /**
@@ -154,6 +157,35 @@ public class ParticipationService {
         return studentParticipationRepository.saveAndFlush(participation);
     }
 
+    /**
+     * Creates the initialized participations of the students, who did not start the exercise yet, and their initial (empty) submissions with a few batched save operations.
+     * The participations and submissions are saved in one transaction, so that either all students or none of them start the exercise.
+     *
+     * @param exercise the quiz, modeling, text or file upload exercise which is started
+     * @param students the students without participation in the exercise
+     * @return the created participations
+     */
+    @Transactional // ok because the participations and submissions have to be saved together
+    public List<StudentParticipation> createParticipationsWithInitialSubmissions(Exercise exercise, List<User> students) {
+        ZonedDateTime now = ZonedDateTime.now();
+        List<StudentParticipation> participations = students.stream().map(student -> {
+            StudentParticipation participation = new StudentParticipation();
+            participation.setInitializationState(INITIALIZED);
+            participation.setInitializationDate(now);
+            participation.setExercise(exercise);
+            participation.setParticipant(student);
+            return participation;
+        }).toList();
+        participations = studentParticipationRepository.saveAll(participations);
+        List<Submission> submissions = participations.stream().map(participation -> {
+            Submission submission = submissionRepository.instantiateSubmission(exercise);
+            submission.setParticipation(participation);
+            return submission;
+        }).toList();
+        submissionRepository.saveAll(submissions);
+        return participations;
+    }
+
     /**
      * Start a programming exercise participation (which does not exist yet) by creating and configuring a student git repository (step 1) and a student build plan (step 2)
      * based on the templates in the given programming exercise
@@ -668,6 +700,9 @@ public class ParticipationService {
             resultsToBeDeleted.addAll(submission.getResults());
             submissionRepository.deleteById(submission.getId());
         });
+        // deleting the participant scores of one result might also delete the participant score of another result, so all points are removed from the total scores first
+        resultsToBeDeleted.stream().map(participantScoreRepository::findParticipantScoreByLastRatedResult).flatMap(Optional::stream).distinct()
+                .forEach(totalScoreService::removeParticipantScore);
         resultsToBeDeleted.forEach(result -> participantScoreRepository.deleteAllByResultIdTransactional(result.getId()));
         // The results that are only connected to a participation are also deleted
         resultsToBeDeleted.forEach(participation::removeResult);
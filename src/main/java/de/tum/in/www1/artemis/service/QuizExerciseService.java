@@ -365,6 +365,7 @@ public class QuizExerciseService {
         if (updateOfResultsAndStatisticsNecessary) {
             // make sure we have all objects available before updating the statistics to avoid lazy / proxy issues
             quizExercise = quizExerciseRepository.findByIdWithQuestionsAndStatisticsElseThrow(quizExercise.getId());
+            quizScheduleService.clearAggregatedStatistics(quizExercise.getId());
             quizStatisticService.recalculateStatistics(quizExercise);
         }
         // fetch the quiz exercise again to make sure the latest changes are included
@@ -0,0 +1,120 @@
+package de.tum.in.www1.artemis.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+import de.tum.in.www1.artemis.domain.quiz.SubmittedAnswer;
+import de.tum.in.www1.artemis.web.rest.dto.QuizParticipationResultDTO;
+
+/**
+ * Sends the results of a quiz exercise to the participating students when the quiz has ended.
+ * <p>
+ * The messages are sent by a dedicated thread pool of {@code artemis.quiz.result-fan-out.threads} threads. If more than {@code artemis.quiz.result-fan-out.queue-capacity}
+ * messages are waiting, the calling thread sends the next messages itself, which slows down the producer instead of queueing an unbounded number of messages.
+ */
+@Service
+public class QuizResultMessagingService {
+
+    private final Logger log = LoggerFactory.getLogger(QuizResultMessagingService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    private final ExecutorService executor;
+
+    public QuizResultMessagingService(MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter, SimpMessageSendingOperations messagingTemplate,
+            @Value("${artemis.quiz.result-fan-out.threads:8}") int threads, @Value("${artemis.quiz.result-fan-out.queue-capacity:500}") int queueCapacity) {
+        this.objectMapper = mappingJackson2HttpMessageConverter.getObjectMapper();
+        this.messagingTemplate = messagingTemplate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends each participation including its result and submitted answers to its student and waits until all messages are sent.
+     *
+     * @param quizExercise   the quiz exercise (including questions) the participations belong to
+     * @param participations the participations by the username of the participating student
+     * @param onSent         invoked with the username of each student whose participation was sent, possibly from another thread
+     */
+    public void sendQuizResultsToParticipants(QuizExercise quizExercise, Map<String, StudentParticipation> participations, Consumer<String> onSent) {
+        final String exerciseJson;
+        try {
+            exerciseJson = serializeQuizExerciseForResults(quizExercise);
+        }
+        catch (JsonProcessingException e) {
+            log.error("Exception occurred while serializing quiz exercise {}", quizExercise.getId(), e);
+            return;
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(participations.size());
+        participations.forEach((username, participation) -> futures.add(CompletableFuture.runAsync(() -> {
+            try {
+                messagingTemplate.convertAndSendToUser(username, "/topic/exercise/" + quizExercise.getId() + "/participation", createResultDTO(participation, exerciseJson));
+                onSent.accept(username);
+            }
+            catch (Exception e) {
+                log.error("Exception occurred while sending the result of quiz {} to user {}", quizExercise.getId(), username, e);
+            }
+        }, executor)));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * The quiz exercise is the same for all students, so we serialize it only once. We do not need the course and lectures.
+     * Note: students should not see statistics, but the client currently expects them to be included after the quiz has ended.
+     */
+    private String serializeQuizExerciseForResults(QuizExercise quizExercise) throws JsonProcessingException {
+        ObjectNode exerciseNode = objectMapper.valueToTree(quizExercise);
+        exerciseNode.remove("course");
+        return objectMapper.writeValueAsString(exerciseNode);
+    }
+
+    private QuizParticipationResultDTO createResultDTO(StudentParticipation participation, String exerciseJson) {
+        Set<Result> results = new HashSet<>();
+        if (participation.getResults() != null) {
+            for (Result result : participation.getResults()) {
+                // the participation is already the surrounding object
+                result.setParticipation(null);
+                if (result.getSubmission() instanceof QuizSubmission quizSubmission && quizSubmission.getSubmittedAnswers() != null) {
+                    for (SubmittedAnswer submittedAnswer : quizSubmission.getSubmittedAnswers()) {
+                        if (submittedAnswer.getQuizQuestion() != null) {
+                            // we do not need all information of the questions again, they are already stored in the exercise
+                            submittedAnswer.setQuizQuestion(submittedAnswer.getQuizQuestion().copyQuestionId());
+                        }
+                    }
+                }
+                results.add(result);
+            }
+        }
+        return new QuizParticipationResultDTO(participation.getId(), "student", participation.getInitializationState(), participation.getInitializationDate(), exerciseJson,
+                results);
+    }
+}
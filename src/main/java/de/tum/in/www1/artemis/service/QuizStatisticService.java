@@ -106,30 +106,57 @@ public class QuizStatisticService {
     public void updateStatistics(Set<Result> results, QuizExercise quiz) {
 
         if (results != null && quiz != null && quiz.getQuizQuestions() != null) {
-            log.debug("update statistics with {} new results", results.size());
+            addResultsToStatistics(results, quiz);
+            saveStatistics(quiz);
+            sendStatisticsToSubscribedInstructors(quiz);
+        }
+    }
 
-            for (Result result : results) {
-                // check if the result is rated
-                // NOTE: there is never an old Result if the new result is rated
-                if (Boolean.FALSE.equals(result.isRated())) {
-                    quiz.removeResultFromAllStatistics(getPreviousResult(result));
-                }
-                quiz.addResultToAllStatistics(result);
+    /**
+     * Adds the given results to the quiz-point-statistic and all question-statistics of the given quiz without saving them.
+     * For unrated results, the previous result of the participation is removed from the statistics.
+     *
+     * @param results the results, which will be added to the statistics
+     * @param quiz    the quizExercise with Questions where the results should contain to
+     */
+    public void addResultsToStatistics(Set<Result> results, QuizExercise quiz) {
+        log.debug("update statistics with {} new results", results.size());
+
+        for (Result result : results) {
+            // check if the result is rated
+            // NOTE: there is never an old Result if the new result is rated
+            if (Boolean.FALSE.equals(result.isRated())) {
+                quiz.removeResultFromAllStatistics(getPreviousResult(result));
             }
-            // save statistics
-            quizPointStatisticRepository.save(quiz.getQuizPointStatistic());
-            List<QuizQuestionStatistic> quizQuestionStatistics = new ArrayList<>();
-            for (QuizQuestion quizQuestion : quiz.getQuizQuestions()) {
-                if (quizQuestion.getQuizQuestionStatistic() != null) {
-                    quizQuestionStatistics.add(quizQuestion.getQuizQuestionStatistic());
-                }
+            quiz.addResultToAllStatistics(result);
+        }
+    }
+
+    /**
+     * Saves the quiz-point-statistic and all question-statistics of the given quiz
+     *
+     * @param quiz the quizExercise with Questions and statistics
+     */
+    public void saveStatistics(QuizExercise quiz) {
+        quizPointStatisticRepository.save(quiz.getQuizPointStatistic());
+        List<QuizQuestionStatistic> quizQuestionStatistics = new ArrayList<>();
+        for (QuizQuestion quizQuestion : quiz.getQuizQuestions()) {
+            if (quizQuestion.getQuizQuestionStatistic() != null) {
+                quizQuestionStatistics.add(quizQuestion.getQuizQuestionStatistic());
             }
-            quizQuestionStatisticRepository.saveAll(quizQuestionStatistics);
-            // notify users via websocket about new results for the statistics.
-            // filters out solution information
-            quiz.filterForStatisticWebsocket();
-            messagingTemplate.convertAndSend("/topic/statistic/" + quiz.getId(), quiz);
         }
+        quizQuestionStatisticRepository.saveAll(quizQuestionStatistics);
+    }
+
+    /**
+     * Notify users via websocket about new results for the statistics.
+     * NOTE: this filters out solution information of the given quiz, so it should not be used afterwards
+     *
+     * @param quiz the quizExercise with Questions and statistics
+     */
+    public void sendStatisticsToSubscribedInstructors(QuizExercise quiz) {
+        quiz.filterForStatisticWebsocket();
+        messagingTemplate.convertAndSend("/topic/statistic/" + quiz.getId(), quiz);
     }
 
     /**
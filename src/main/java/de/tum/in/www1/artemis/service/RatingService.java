@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import de.tum.in.www1.artemis.domain.Rating;
 import de.tum.in.www1.artemis.domain.Result;
 import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingCount;
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseRatingMapEntry;
 import de.tum.in.www1.artemis.repository.RatingRepository;
 import de.tum.in.www1.artemis.repository.ResultRepository;
 
@@ -104,4 +105,14 @@ public class RatingService {
     public ExerciseRatingCount averageRatingByExerciseId(Long exerciseId) {
         return ratingRepository.averageRatingByExerciseId(exerciseId);
     }
+
+    /**
+     * Computes the average rating and the number of ratings of several exercises together
+     *
+     * @param exerciseIds the ids of the exercises
+     * @return the average rating and number of ratings of each exercise with ratable results
+     */
+    public List<ExerciseRatingMapEntry> averageRatingByExerciseIds(Set<Long> exerciseIds) {
+        return ratingRepository.averageRatingByExerciseIds(exerciseIds);
+    }
 }
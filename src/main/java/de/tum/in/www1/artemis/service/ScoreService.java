@@ -22,6 +22,7 @@ import de.tum.in.www1.artemis.domain.scores.StudentScore;
 import de.tum.in.www1.artemis.domain.scores.TeamScore;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
 
 @Service
 public class ScoreService {
@@ -36,15 +37,25 @@ public class ScoreService {
 
     private final ResultRepository resultRepository;
 
+    private final TotalScoreService totalScoreService;
+
+    private final ExamScoresCache examScoresCache;
+
+    private final AssessmentDashboardStatisticsCache assessmentDashboardStatisticsCache;
+
     private final Logger logger = LoggerFactory.getLogger(ScoreService.class);
 
     public ScoreService(StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository, ParticipationRepository participationRepository,
-            ResultRepository resultRepository, ParticipantScoreRepository participantScoreRepository) {
+            ResultRepository resultRepository, ParticipantScoreRepository participantScoreRepository, TotalScoreService totalScoreService,
+            ExamScoresCache examScoresCache, AssessmentDashboardStatisticsCache assessmentDashboardStatisticsCache) {
         this.studentScoreRepository = studentScoreRepository;
         this.participationRepository = participationRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.teamScoreRepository = teamScoreRepository;
         this.resultRepository = resultRepository;
+        this.totalScoreService = totalScoreService;
+        this.examScoresCache = examScoresCache;
+        this.assessmentDashboardStatisticsCache = assessmentDashboardStatisticsCache;
     }
 
     /**
@@ -78,7 +89,10 @@ public class ScoreService {
         // There is a participant score connected to the result that will be deleted
         ParticipantScore associatedParticipantScore = associatedParticipantScoreOptional.get();
         Exercise exercise = associatedParticipantScore.getExercise();
+        examScoresCache.invalidate(exercise);
+        invalidateAssessmentDashboardStatistics(resultToBeDeleted, exercise);
         String originalParticipantScoreStructure = associatedParticipantScore.toString();
+        Double originalLastRatedPoints = associatedParticipantScore.getLastRatedPoints();
 
         // There are two possibilities now:
         // A: Another result exists for the exercise and the student / team -> update participant score with the newest one
@@ -87,10 +101,12 @@ public class ScoreService {
 
         if (associatedParticipantScore.getLastResult() == null && associatedParticipantScore.getLastRatedResult() == null) {
             participantScoreRepository.deleteById(associatedParticipantScore.getId());
+            totalScoreService.updateTotalScores(associatedParticipantScore, originalLastRatedPoints, null);
             logger.info("Deleted an existing participant score: " + originalParticipantScoreStructure);
         }
         else {
             ParticipantScore updatedParticipantScore = participantScoreRepository.saveAndFlush(associatedParticipantScore);
+            totalScoreService.updateTotalScores(associatedParticipantScore, originalLastRatedPoints, associatedParticipantScore.getLastRatedPoints());
             logger.info("Updated an existing participant score. Was: " + originalParticipantScoreStructure + ". Is: " + updatedParticipantScore);
         }
     }
@@ -142,6 +158,8 @@ public class ScoreService {
             return;
         }
         Exercise exercise = studentParticipation.getExercise();
+        examScoresCache.invalidate(exercise);
+        invalidateAssessmentDashboardStatistics(createdOrUpdatedResult, exercise);
         ParticipantScore existingParticipationScoreForExerciseAndParticipant = getExistingParticipationScore(studentParticipation, exercise);
         // there already exists a participant score -> we need to update it
         if (existingParticipationScoreForExerciseAndParticipant != null) {
@@ -152,6 +170,15 @@ public class ScoreService {
         }
     }
 
+    /**
+     * Only manual assessments are counted on the assessment dashboard, so automatic results (e.g. of programming exercise builds) do not invalidate the statistics
+     */
+    private void invalidateAssessmentDashboardStatistics(Result result, Exercise exercise) {
+        if (result.getAssessor() != null) {
+            assessmentDashboardStatisticsCache.invalidate(exercise.getId());
+        }
+    }
+
     /**
      * Gets the student participation for a result from the database
      *
@@ -222,6 +249,7 @@ public class ScoreService {
             setLastRatedAttributes(newStudentScore, newResult, exercise);
         }
         StudentScore studentScore = studentScoreRepository.saveAndFlush(newStudentScore);
+        totalScoreService.updateTotalScores(newStudentScore, null, newStudentScore.getLastRatedPoints());
         logger.info("Saved a new student score: " + studentScore);
     }
 
@@ -234,6 +262,7 @@ public class ScoreService {
             setLastRatedAttributes(newTeamScore, newResult, exercise);
         }
         TeamScore teamScore = teamScoreRepository.saveAndFlush(newTeamScore);
+        totalScoreService.updateTotalScores(newTeamScore, null, newTeamScore.getLastRatedPoints());
         logger.info("Saved a new team score: " + teamScore);
     }
 
@@ -246,6 +275,7 @@ public class ScoreService {
      */
     private void updateExistingParticipantScore(ParticipantScore participantScore, Result updatedOrNewlyCreatedResult, Exercise exercise) {
         String originalParticipantScoreStructure = participantScore.toString();
+        Double originalLastRatedPoints = participantScore.getLastRatedPoints();
 
         // update the last result and last score if either it has not been set previously or new result is either the old one (=) or newer (>)
         if (participantScore.getLastResult() == null || updatedOrNewlyCreatedResult.getId() >= participantScore.getLastResult().getId()) {
@@ -262,6 +292,7 @@ public class ScoreService {
             setLastRatedAttributes(participantScore, null, exercise);
         }
         participantScoreRepository.saveAndFlush(participantScore);
+        totalScoreService.updateTotalScores(participantScore, originalLastRatedPoints, participantScore.getLastRatedPoints());
         logger.info("Updated an existing participant score. Was: " + originalParticipantScoreStructure + ". Is: " + participantScore);
     }
 
@@ -0,0 +1,206 @@
+package de.tum.in.www1.artemis.service;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.in.www1.artemis.domain.enumeration.GraphType;
+import de.tum.in.www1.artemis.domain.enumeration.SpanType;
+import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
+import de.tum.in.www1.artemis.domain.statistics.ExerciseStatisticsCount;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsEntry;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsHourlyCount;
+import de.tum.in.www1.artemis.domain.statistics.StatisticsRollupProgress;
+import de.tum.in.www1.artemis.repository.StatisticsHourlyCountRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRepository;
+import de.tum.in.www1.artemis.repository.StatisticsRollupProgressRepository;
+
+/**
+ * Maintains the {@link StatisticsHourlyCount}s, i.e. the number of submissions, results, feedbacks, posts and resolved posts per hour for the Artemis, course and
+ * exercise views, and reads the graph data of the statistics pages from them.
+ * <p>
+ * The hourly counts are filled by {@link #rollUp()}, which counts the recent hours again in every run (so that later changes are reflected) and extends the covered
+ * period step by step into the past. Entries outside of the covered period, e.g. of the current hour, are counted from the submissions, results and posts directly.
+ * The other graphs count distinct users, which cannot be summed up over hours, or read the small exercise and exam tables and are not rolled up.
+ */
+@Service
+public class StatisticsRollupService {
+
+    private final Logger log = LoggerFactory.getLogger(StatisticsRollupService.class);
+
+    private static final Set<GraphType> ROLLED_UP_GRAPH_TYPES = EnumSet.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS, GraphType.POSTS,
+            GraphType.RESOLVED_POSTS);
+
+    private static final Set<GraphType> POST_GRAPH_TYPES = EnumSet.of(GraphType.POSTS, GraphType.RESOLVED_POSTS);
+
+    // the entity id of the hourly counts of the Artemis view
+    private static final long ARTEMIS_ENTITY_ID = 0L;
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final StatisticsHourlyCountRepository statisticsHourlyCountRepository;
+
+    private final StatisticsRollupProgressRepository statisticsRollupProgressRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int recalculatedHours;
+
+    private final int backfillDays;
+
+    private final int maxHoursPerRun;
+
+    public StatisticsRollupService(StatisticsRepository statisticsRepository, StatisticsHourlyCountRepository statisticsHourlyCountRepository,
+            StatisticsRollupProgressRepository statisticsRollupProgressRepository, PlatformTransactionManager transactionManager,
+            @Value("${artemis.statistics.rollup.recalculated-hours:24}") int recalculatedHours, @Value("${artemis.statistics.rollup.backfill-days:400}") int backfillDays,
+            @Value("${artemis.statistics.rollup.max-hours-per-run:168}") int maxHoursPerRun) {
+        this.statisticsRepository = statisticsRepository;
+        this.statisticsHourlyCountRepository = statisticsHourlyCountRepository;
+        this.statisticsRollupProgressRepository = statisticsRollupProgressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recalculatedHours = Math.max(0, recalculatedHours);
+        this.backfillDays = Math.max(0, backfillDays);
+        this.maxHoursPerRun = Math.max(1, maxHoursPerRun);
+    }
+
+    /**
+     * Gets the number of entries for the specific graphType in the given period, see {@link StatisticsRepository#getNumberOfEntriesPerTimeSlot}.
+     * For the rolled up graphs, the entries of the covered period are read from the hourly counts with one entry per hour
+     *
+     * @param graphType the type of graph the data should be fetched for
+     * @param span      the spanType for which the call is executed
+     * @param startDate the startDate of which the data should be fetched
+     * @param endDate   the endDate of which the data should be fetched
+     * @param view      the view in which the data will be displayed (Artemis, Course, Exercise)
+     * @param entityId  the entityId which is null for a user statistics call and contains the id for the other statistics pages
+     * @return the list of entries, which can be sorted into the time slots of the graph
+     */
+    public List<StatisticsEntry> getNumberOfEntriesPerTimeSlot(GraphType graphType, SpanType span, ZonedDateTime startDate, ZonedDateTime endDate, StatisticsView view,
+            @Nullable Long entityId) {
+        // the posts are not counted for the Artemis view, the repository rejects this combination
+        boolean rolledUp = ROLLED_UP_GRAPH_TYPES.contains(graphType) && (view != StatisticsView.ARTEMIS || !POST_GRAPH_TYPES.contains(graphType));
+        Optional<StatisticsRollupProgress> progress = rolledUp ? statisticsRollupProgressRepository.findFirstByOrderByIdAsc() : Optional.empty();
+        if (progress.isEmpty()) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+        ZonedDateTime rollupStart = max(progress.get().getCoveredFrom(), ceilToHour(startDate));
+        ZonedDateTime rollupEnd = min(progress.get().getCoveredUntil(), ceilToHour(endDate));
+        if (!rollupStart.isBefore(rollupEnd)) {
+            return statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+        }
+
+        long rollupEntityId = view == StatisticsView.ARTEMIS ? ARTEMIS_ENTITY_ID : Objects.requireNonNull(entityId);
+        List<StatisticsEntry> entries = new ArrayList<>(statisticsHourlyCountRepository.findEntries(graphType, view, rollupEntityId, rollupStart, rollupEnd));
+        if (startDate.isBefore(rollupStart)) {
+            // the end date of the repository queries is inclusive
+            entries.addAll(statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, rollupStart.minus(1, ChronoUnit.MICROS), view, entityId));
+        }
+        if (!rollupEnd.isAfter(endDate)) {
+            entries.addAll(statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, rollupEnd, endDate, view, entityId));
+        }
+        return entries;
+    }
+
+    /**
+     * Counts the recent hours (including the hours since the last run) again and extends the covered period further into the past, at most by the maximum number of
+     * hours per run in each direction
+     */
+    public void rollUp() {
+        long start = System.currentTimeMillis();
+        ZonedDateTime currentHour = ZonedDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        StatisticsRollupProgress progress = statisticsRollupProgressRepository.findFirstByOrderByIdAsc()
+                .orElseGet(() -> new StatisticsRollupProgress(currentHour, currentHour));
+
+        // recent hours might have changed since they were counted, e.g. because of late results or deleted submissions
+        ZonedDateTime recalculationStart = max(progress.getCoveredFrom(), min(progress.getCoveredUntil(), currentHour.minusHours(recalculatedHours)));
+        ZonedDateTime recalculationEnd = min(currentHour, recalculationStart.plusHours(maxHoursPerRun));
+        rollUpPeriod(recalculationStart, recalculationEnd);
+        progress.setCoveredUntil(max(progress.getCoveredUntil(), recalculationEnd));
+        progress = statisticsRollupProgressRepository.save(progress);
+
+        ZonedDateTime backfillLimit = currentHour.minusDays(backfillDays);
+        if (progress.getCoveredFrom().isAfter(backfillLimit)) {
+            ZonedDateTime backfillStart = max(backfillLimit, progress.getCoveredFrom().minusHours(maxHoursPerRun));
+            rollUpPeriod(backfillStart, progress.getCoveredFrom());
+            progress.setCoveredFrom(backfillStart);
+            statisticsRollupProgressRepository.save(progress);
+        }
+        log.info("Rolled up the statistics until {} (covered since {}) in {}ms", progress.getCoveredUntil(), progress.getCoveredFrom(), System.currentTimeMillis() - start);
+    }
+
+    private void rollUpPeriod(ZonedDateTime startHour, ZonedDateTime endHour) {
+        for (ZonedDateTime hour = startHour; hour.isBefore(endHour); hour = hour.plusHours(1)) {
+            rollUpHour(hour);
+        }
+    }
+
+    /**
+     * Replaces the hourly counts of the hour in one transaction, so that the statistics never miss the counts of the hour and a failure keeps the previous counts
+     */
+    private void rollUpHour(ZonedDateTime hour) {
+        ZonedDateTime nextHour = hour.plusHours(1);
+        List<StatisticsHourlyCount> hourlyCounts = new ArrayList<>();
+        addHourlyCounts(hourlyCounts, GraphType.SUBMISSIONS, hour, statisticsRepository.countSubmissionsPerExercise(hour, nextHour), true);
+        addHourlyCounts(hourlyCounts, GraphType.CREATED_RESULTS, hour, statisticsRepository.countCreatedResultsPerExercise(hour, nextHour), true);
+        addHourlyCounts(hourlyCounts, GraphType.CREATED_FEEDBACKS, hour, statisticsRepository.countResultFeedbacksPerExercise(hour, nextHour), true);
+        addHourlyCounts(hourlyCounts, GraphType.POSTS, hour, statisticsRepository.countPostsPerExercise(hour, nextHour), false);
+        addHourlyCounts(hourlyCounts, GraphType.RESOLVED_POSTS, hour, statisticsRepository.countResolvedPostsPerExercise(hour, nextHour), false);
+        transactionTemplate.executeWithoutResult(status -> {
+            statisticsHourlyCountRepository.deleteAllInPeriod(hour, nextHour);
+            statisticsHourlyCountRepository.saveAll(hourlyCounts);
+        });
+    }
+
+    /**
+     * Sums up the counts per exercise of one hour for the Artemis view (if supported by the graph), the courses and the exercises
+     */
+    private static void addHourlyCounts(List<StatisticsHourlyCount> hourlyCounts, GraphType graphType, ZonedDateTime hour, List<ExerciseStatisticsCount> exerciseCounts,
+            boolean withArtemisView) {
+        long artemisAmount = 0;
+        Map<Long, Long> courseAmounts = new HashMap<>();
+        Map<Long, Long> exerciseAmounts = new HashMap<>();
+        for (ExerciseStatisticsCount exerciseCount : exerciseCounts) {
+            long amount = Objects.requireNonNullElse(exerciseCount.amount(), 0L);
+            if (amount == 0) {
+                continue;
+            }
+            // like the direct queries, the Artemis view contains exam exercises (without course) and the exercises of courses that are no test courses
+            if (exerciseCount.courseId() == null || !Boolean.TRUE.equals(exerciseCount.testCourse())) {
+                artemisAmount += amount;
+            }
+            if (exerciseCount.courseId() != null) {
+                courseAmounts.merge(exerciseCount.courseId(), amount, Long::sum);
+            }
+            if (exerciseCount.exerciseId() != null) {
+                exerciseAmounts.merge(exerciseCount.exerciseId(), amount, Long::sum);
+            }
+        }
+        if (withArtemisView && artemisAmount > 0) {
+            hourlyCounts.add(new StatisticsHourlyCount(graphType, StatisticsView.ARTEMIS, ARTEMIS_ENTITY_ID, hour, artemisAmount));
+        }
+        courseAmounts.forEach((courseId, amount) -> hourlyCounts.add(new StatisticsHourlyCount(graphType, StatisticsView.COURSE, courseId, hour, amount)));
+        exerciseAmounts.forEach((exerciseId, amount) -> hourlyCounts.add(new StatisticsHourlyCount(graphType, StatisticsView.EXERCISE, exerciseId, hour, amount)));
+    }
+
+    private static ZonedDateTime ceilToHour(ZonedDateTime date) {
+        ZonedDateTime hour = date.truncatedTo(ChronoUnit.HOURS);
+        return hour.isBefore(date) ? hour.plusHours(1) : hour;
+    }
+
+    private static ZonedDateTime max(ZonedDateTime date1, ZonedDateTime date2) {
+        return date1.isAfter(date2) ? date1 : date2;
+    }
+
+    private static ZonedDateTime min(ZonedDateTime date1, ZonedDateTime date2) {
+        return date1.isBefore(date2) ? date1 : date2;
+    }
+}
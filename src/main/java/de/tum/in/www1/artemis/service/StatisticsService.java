@@ -40,14 +40,17 @@ public class StatisticsService {
 
     private final TeamRepository teamRepository;
 
+    private final StatisticsRollupService statisticsRollupService;
+
     public StatisticsService(StatisticsRepository statisticsRepository, ParticipantScoreRepository participantScoreRepository, CourseRepository courseRepository,
-            ExerciseRepository exerciseRepository, UserRepository userRepository, TeamRepository teamRepository) {
+            ExerciseRepository exerciseRepository, UserRepository userRepository, TeamRepository teamRepository, StatisticsRollupService statisticsRollupService) {
         this.statisticsRepository = statisticsRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.courseRepository = courseRepository;
         this.exerciseRepository = exerciseRepository;
         this.userRepository = userRepository;
         this.teamRepository = teamRepository;
+        this.statisticsRollupService = statisticsRollupService;
     }
 
     /**
@@ -77,20 +80,20 @@ public class StatisticsService {
             case DAY -> {
                 startDate = now.minusDays(-periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusDays(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = this.statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoHours(outcome, result);
             }
             case WEEK -> {
                 startDate = now.minusWeeks(-periodIndex).minusDays(6).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusWeeks(-periodIndex).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = this.statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoDays(outcome, result, startDate);
             }
             case MONTH -> {
                 startDate = now.minusMonths(1 - periodIndex).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = now.minusMonths(-periodIndex).withHour(23).withMinute(59).withSecond(59);
                 result = new ArrayList<>(Collections.nCopies((int) ChronoUnit.DAYS.between(startDate, endDate), 0));
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
+                outcome = this.statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate.plusDays(1), endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoDays(outcome, result, startDate.plusDays(1));
             }
             case QUARTER -> {
@@ -100,14 +103,14 @@ public class StatisticsService {
                 startDate = localStartDate.atZone(zone).minusWeeks(11 + (12L * (-periodIndex))).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 endDate = periodIndex != 0 ? localEndDate.atZone(zone).minusWeeks(12L * (-periodIndex)).withHour(23).withMinute(59).withSecond(59)
                         : localEndDate.atZone(zone).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = this.statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoWeeks(outcome, result, startDate);
             }
             case YEAR -> {
                 startDate = now.minusYears(1 - periodIndex).plusMonths(1).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
                 lengthOfMonth = YearMonth.of(now.minusYears(-periodIndex).getYear(), now.minusYears(-periodIndex).getMonth()).lengthOfMonth();
                 endDate = now.minusYears(-periodIndex).withDayOfMonth(lengthOfMonth).withHour(23).withMinute(59).withSecond(59);
-                outcome = this.statisticsRepository.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
+                outcome = this.statisticsRollupService.getNumberOfEntriesPerTimeSlot(graphType, span, startDate, endDate, view, entityId);
                 this.statisticsRepository.sortDataIntoMonths(outcome, result, startDate);
             }
         }
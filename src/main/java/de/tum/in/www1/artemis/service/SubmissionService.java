@@ -4,11 +4,7 @@ import static de.tum.in.www1.artemis.config.Constants.MAX_NUMBER_OF_LOCKED_SUBMI
 import static java.util.stream.Collectors.toList;
 
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -24,6 +20,7 @@ import de.tum.in.www1.artemis.domain.enumeration.*;
 import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.AssessmentWorkQueueService.QueuedParticipation;
 import de.tum.in.www1.artemis.service.exam.ExamDateService;
 import de.tum.in.www1.artemis.web.rest.dto.PageableSearchDTO;
 import de.tum.in.www1.artemis.web.rest.dto.SearchResultPageDTO;
@@ -60,10 +57,12 @@ public class SubmissionService {
 
     protected final ComplaintRepository complaintRepository;
 
+    protected final AssessmentWorkQueueService assessmentWorkQueueService;
+
     public SubmissionService(SubmissionRepository submissionRepository, UserRepository userRepository, AuthorizationCheckService authCheckService,
             ResultRepository resultRepository, StudentParticipationRepository studentParticipationRepository, ParticipationService participationService,
             FeedbackRepository feedbackRepository, ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository,
-            ParticipationRepository participationRepository, ComplaintRepository complaintRepository) {
+            ParticipationRepository participationRepository, ComplaintRepository complaintRepository, AssessmentWorkQueueService assessmentWorkQueueService) {
         this.submissionRepository = submissionRepository;
         this.userRepository = userRepository;
         this.authCheckService = authCheckService;
@@ -76,6 +75,7 @@ public class SubmissionService {
         this.courseRepository = courseRepository;
         this.participationRepository = participationRepository;
         this.complaintRepository = complaintRepository;
+        this.assessmentWorkQueueService = assessmentWorkQueueService;
     }
 
     /**
@@ -171,6 +171,8 @@ public class SubmissionService {
      * No manual result means that no user has started an assessment for the corresponding submission yet.
      * For exam exercises we should also remove the test run participations as these should not be graded by the tutors.
      * If @param correctionRound is bigger than 0, only submission are shown for which the user has not assessed the first result.
+     * The submission is taken from the assessment work queue of the exercise and correction round (see {@link AssessmentWorkQueueService}), so that only one participation
+     * is loaded per request. The submission is not claimed, use {@link #claimSubmissionEligibleForNewAssessment(Exercise, boolean, int)} to lock it afterwards.
      *
      * @param exercise the exercise for which we want to retrieve a submission without manual result
      * @param correctionRound - the correction round we want our submission to have results for
@@ -178,6 +180,60 @@ public class SubmissionService {
      * @return a submission without any manual result or an empty Optional if no submission without manual result could be found
      */
     public Optional<Submission> getRandomSubmissionEligibleForNewAssessment(Exercise exercise, boolean examMode, int correctionRound) {
+        return findSubmissionEligibleForNewAssessment(exercise, examMode, correctionRound, false);
+    }
+
+    /**
+     * Finds a submission of the exercise which still doesn't have any manual result like {@link #getRandomSubmissionEligibleForNewAssessment(Exercise, boolean, int)}, but
+     * claims the submission by removing it from the assessment work queue, so that concurrent tutors get different submissions. The caller has to lock the submission.
+     *
+     * @param exercise the exercise for which we want to retrieve a submission without manual result
+     * @param examMode flag to determine if test runs should be removed. This should be set to true for exam exercises
+     * @param correctionRound - the correction round we want our submission to have results for
+     * @return the claimed submission without any manual result or an empty Optional if no submission without manual result could be found
+     */
+    public Optional<Submission> claimSubmissionEligibleForNewAssessment(Exercise exercise, boolean examMode, int correctionRound) {
+        return findSubmissionEligibleForNewAssessment(exercise, examMode, correctionRound, true);
+    }
+
+    private Optional<Submission> findSubmissionEligibleForNewAssessment(Exercise exercise, boolean examMode, int correctionRound, boolean claim) {
+        // skip the submissions the user already assessed in the first correction round
+        // if disabled, please switch tutorAssessUnique within the tests
+        final Long tutorId = correctionRound > 0 ? userRepository.getUser().getId() : null;
+        // the queue might be filled again while participations which are not assessable anymore are removed, so each participation is only checked once
+        Set<Long> checkedParticipationIds = new HashSet<>();
+        Optional<QueuedParticipation> participation;
+        while ((participation = assessmentWorkQueueService.poll(exercise.getId(), correctionRound, tutorId,
+                () -> findAssessableParticipations(exercise, examMode, correctionRound))).isPresent()) {
+            if (!checkedParticipationIds.add(participation.get().participationId())) {
+                // the participation is assessable according to the queue, but not when loaded, so it is kept for the next request
+                assessmentWorkQueueService.offer(exercise.getId(), correctionRound, participation.get());
+                break;
+            }
+            Optional<Submission> submission = findAssessableParticipation(participation.get().participationId(), examMode, correctionRound)
+                    .flatMap(Participation::findLatestLegalOrIllegalSubmission);
+            if (submission.isPresent() && tutorId != null && tutorId.equals(toQueuedParticipation(submission.get(), correctionRound).previousAssessorId())) {
+                // the entry was queued without the assessor of the first correction round, it stays in the queue for the other tutors
+                assessmentWorkQueueService.offer(exercise.getId(), correctionRound, toQueuedParticipation(submission.get(), correctionRound));
+                continue;
+            }
+            // participations which are not assessable anymore since they were added to the queue are not added again
+            if (submission.isPresent()) {
+                if (!claim) {
+                    // the submission is only shown, so other tutors can still claim it
+                    assessmentWorkQueueService.offer(exercise.getId(), correctionRound, participation.get());
+                }
+                return submission;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds all participations of the exercise whose latest submission can be assessed in the correction round in random order. If the exercise has a due date, the
+     * participations with submissions before the due date come first. Each participation contains the assessor of the previous correction round.
+     */
+    private List<QueuedParticipation> findAssessableParticipations(Exercise exercise, boolean examMode, int correctionRound) {
         final List<StudentParticipation> participations;
         if (examMode) {
             // Get all participations of submissions that are submitted and do not already have a manual result or belong to test run submissions.
@@ -195,24 +251,33 @@ public class SubmissionService {
 
         List<Submission> submissionsWithoutResult = participations.stream().map(Participation::findLatestLegalOrIllegalSubmission).filter(Optional::isPresent).map(Optional::get)
                 .collect(toList());
-
-        if (correctionRound > 0) {
-            // remove submission if user already assessed first correction round
-            // if disabled, please switch tutorAssessUnique within the tests
-            submissionsWithoutResult = submissionsWithoutResult.stream()
-                    .filter(submission -> !submission.getResultForCorrectionRound(correctionRound - 1).getAssessor().equals(userRepository.getUser())).collect(Collectors.toList());
-        }
-
+        Collections.shuffle(submissionsWithoutResult);
         if (exercise.getDueDate() != null) {
-            submissionsWithoutResult = selectOnlySubmissionsBeforeDueDate(submissionsWithoutResult);
+            // the late submissions are only assessed after all submissions before the due date
+            submissionsWithoutResult.sort(Comparator.comparing((Submission submission) -> !isBeforeDueDate(submission)));
         }
+        return submissionsWithoutResult.stream().map(submission -> toQueuedParticipation(submission, correctionRound)).toList();
+    }
 
-        if (submissionsWithoutResult.isEmpty()) {
-            return Optional.empty();
-        }
-        else {
-            return Optional.of(submissionsWithoutResult.get(ThreadLocalRandom.current().nextInt(submissionsWithoutResult.size())));
+    /**
+     * Creates the entry of the assessment work queue for the participation of the submission, with the assessor of the previous correction round
+     *
+     * @param submission      the submission with its participation and results
+     * @param correctionRound the correction round of the queue
+     * @return the entry of the queue
+     */
+    public static QueuedParticipation toQueuedParticipation(Submission submission, int correctionRound) {
+        Result previousResult = correctionRound > 0 ? submission.getResultForCorrectionRound(correctionRound - 1) : null;
+        // the id of the lazy assessor is available without loading the assessor
+        Long previousAssessorId = previousResult != null && previousResult.getAssessor() != null ? previousResult.getAssessor().getId() : null;
+        return new QueuedParticipation(submission.getParticipation().getId(), previousAssessorId);
+    }
+
+    private Optional<StudentParticipation> findAssessableParticipation(long participationId, boolean examMode, int correctionRound) {
+        if (examMode) {
+            return studentParticipationRepository.findByIdWithLatestSubmissionWithoutManualResultsAndIgnoreTestRunParticipation(participationId, correctionRound);
         }
+        return studentParticipationRepository.findByIdWithLatestSubmissionWithoutManualResultsWithPassedIndividualDueDate(participationId, ZonedDateTime.now());
     }
 
     /**
@@ -29,9 +29,10 @@ public class TextAssessmentService extends AssessmentService {
             FeedbackRepository feedbackRepository, ResultRepository resultRepository, StudentParticipationRepository studentParticipationRepository, ResultService resultService,
             SubmissionRepository submissionRepository, TextBlockService textBlockService, Optional<AutomaticTextFeedbackService> automaticTextFeedbackService,
             ExamDateService examDateService, ExerciseDateService exerciseDateService, FeedbackConflictRepository feedbackConflictRepository,
-            GradingCriterionRepository gradingCriterionRepository, SubmissionService submissionService, LtiService ltiService) {
+            GradingCriterionRepository gradingCriterionRepository, SubmissionService submissionService, LtiService ltiService,
+            AssessmentWorkQueueService assessmentWorkQueueService) {
         super(complaintResponseService, complaintRepository, feedbackRepository, resultRepository, studentParticipationRepository, resultService, submissionService,
-                submissionRepository, examDateService, exerciseDateService, gradingCriterionRepository, userRepository, ltiService);
+                submissionRepository, examDateService, exerciseDateService, gradingCriterionRepository, userRepository, ltiService, assessmentWorkQueueService);
         this.textBlockService = textBlockService;
         this.automaticTextFeedbackService = automaticTextFeedbackService;
         this.feedbackConflictRepository = feedbackConflictRepository;
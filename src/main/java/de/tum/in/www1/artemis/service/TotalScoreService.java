@@ -0,0 +1,239 @@
+package de.tum.in.www1.artemis.service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.domain.exam.Exam;
+import de.tum.in.www1.artemis.domain.scores.ParticipantScore;
+import de.tum.in.www1.artemis.domain.scores.StudentScore;
+import de.tum.in.www1.artemis.domain.scores.TeamScore;
+import de.tum.in.www1.artemis.domain.scores.TotalScore;
+import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.web.rest.dto.UserPointsDTO;
+
+/**
+ * Maintains the {@link TotalScore}s, i.e. the points of each user summed up over all exercises of a course or an exam.
+ * <p>
+ * The total scores are updated incrementally whenever the last rated points of a participant score change, so that the course and exam scores can be read with one
+ * query per course or exam instead of aggregating all participant scores. {@link #rebuildAllTotalScores()} recalculates all total scores from the participant scores,
+ * which corrects deviations, e.g. after students were moved to another team.
+ */
+@Service
+public class TotalScoreService {
+
+    private final Logger log = LoggerFactory.getLogger(TotalScoreService.class);
+
+    private final TotalScoreRepository totalScoreRepository;
+
+    private final StudentScoreRepository studentScoreRepository;
+
+    private final TeamScoreRepository teamScoreRepository;
+
+    private final TeamRepository teamRepository;
+
+    private final ExerciseRepository exerciseRepository;
+
+    private final CourseRepository courseRepository;
+
+    private final ExamRepository examRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TotalScoreService(TotalScoreRepository totalScoreRepository, StudentScoreRepository studentScoreRepository, TeamScoreRepository teamScoreRepository,
+            TeamRepository teamRepository, ExerciseRepository exerciseRepository, CourseRepository courseRepository, ExamRepository examRepository,
+            PlatformTransactionManager transactionManager) {
+        this.totalScoreRepository = totalScoreRepository;
+        this.studentScoreRepository = studentScoreRepository;
+        this.teamScoreRepository = teamScoreRepository;
+        this.teamRepository = teamRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.courseRepository = courseRepository;
+        this.examRepository = examRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds the change of the last rated points of a participant score to the total scores of the participant, i.e. of the student or all students of the team
+     *
+     * @param participantScore   the created, updated or deleted participant score with its exercise
+     * @param oldLastRatedPoints the last rated points before the change (null if the participant score was created)
+     * @param newLastRatedPoints the last rated points after the change (null if the participant score was deleted)
+     */
+    public void updateTotalScores(ParticipantScore participantScore, Double oldLastRatedPoints, Double newLastRatedPoints) {
+        double difference = Objects.requireNonNullElse(newLastRatedPoints, 0.0) - Objects.requireNonNullElse(oldLastRatedPoints, 0.0);
+        if (difference == 0.0) {
+            return;
+        }
+        Set<Long> userIds;
+        if (participantScore instanceof StudentScore studentScore) {
+            userIds = Set.of(studentScore.getUser().getId());
+        }
+        else {
+            userIds = teamRepository.findStudentIdsByTeamId(((TeamScore) participantScore).getTeam().getId());
+        }
+        for (Long userId : userIds) {
+            addPoints(participantScore.getExercise(), userId, difference);
+        }
+    }
+
+    /**
+     * Removes the last rated points of a participant score that is about to be deleted from the total scores of the participant
+     *
+     * @param participantScore the participant score with its exercise
+     */
+    public void removeParticipantScore(ParticipantScore participantScore) {
+        updateTotalScores(participantScore, participantScore.getLastRatedPoints(), null);
+    }
+
+    /**
+     * Gets the points of all users with at least one participant score in the course exercises
+     *
+     * @param courseId            the id of the course
+     * @param excludedExerciseIds the ids of the course exercises whose points should not be considered, e.g. because they are not released yet
+     * @return the points of each user by user id
+     */
+    public Map<Long, Double> getPointsOfUsersInCourse(long courseId, Set<Long> excludedExerciseIds) {
+        return subtractExcludedPoints(totalScoreRepository.findPointsOfUsersByCourseId(courseId), excludedExerciseIds);
+    }
+
+    /**
+     * Gets the points of all users with at least one participant score in the exercises of the exam
+     *
+     * @param examId              the id of the exam
+     * @param excludedExerciseIds the ids of the exam exercises whose points should not be considered, e.g. because they are not included in the overall score
+     * @return the points of each user by user id
+     */
+    public Map<Long, Double> getPointsOfUsersInExam(long examId, Set<Long> excludedExerciseIds) {
+        return subtractExcludedPoints(totalScoreRepository.findPointsOfUsersByExamId(examId), excludedExerciseIds);
+    }
+
+    /**
+     * Recalculates the total scores of all courses and exams from the participant scores and deletes the total scores of deleted courses and exams
+     */
+    public void rebuildAllTotalScores() {
+        long start = System.currentTimeMillis();
+        totalScoreRepository.deleteAllOfDeletedCoursesAndExams();
+        Set<Long> courseIds = courseRepository.findAllIds();
+        for (Long courseId : courseIds) {
+            try {
+                rebuildTotalScoresOfCourse(courseId);
+                for (Exam exam : examRepository.findByCourseId(courseId)) {
+                    rebuildTotalScoresOfExam(courseId, exam.getId());
+                }
+            }
+            catch (Exception ex) {
+                log.error("Could not rebuild the total scores of course {}", courseId, ex);
+            }
+        }
+        log.info("Rebuilt the total scores of {} courses in {}ms", courseIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Recalculates the total scores of the course or exam of the exercise from the participant scores, e.g. after the participant scores of the exercise were deleted
+     *
+     * @param exercise the exercise with its course or exercise group and exam
+     */
+    public void rebuildTotalScores(Exercise exercise) {
+        long courseId = exercise.getCourseViaExerciseGroupOrCourseMember().getId();
+        if (exercise.isExamExercise()) {
+            rebuildTotalScoresOfExam(courseId, exercise.getExerciseGroup().getExam().getId());
+        }
+        else {
+            rebuildTotalScoresOfCourse(courseId);
+        }
+    }
+
+    /**
+     * Recalculates the total scores of the course exercises from the participant scores.
+     * The old total scores are deleted first in the same transaction, so that concurrent increments wait for the rebuild and are neither lost nor counted twice.
+     *
+     * @param courseId the id of the course
+     */
+    public void rebuildTotalScoresOfCourse(long courseId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            totalScoreRepository.deleteAllByCourseId(courseId);
+            List<TotalScore> totalScores = sumPointsOfUsers(exerciseRepository.findAllIdsByCourseId(courseId)).stream()
+                    .map(userPoints -> new TotalScore(courseId, TotalScore.NO_EXAM, userPoints.userId(), Objects.requireNonNullElse(userPoints.points(), 0.0))).toList();
+            totalScoreRepository.saveAll(totalScores);
+        });
+    }
+
+    /**
+     * Recalculates the total scores of the exam exercises from the participant scores.
+     * The old total scores are deleted first in the same transaction, so that concurrent increments wait for the rebuild and are neither lost nor counted twice.
+     *
+     * @param courseId the id of the course of the exam
+     * @param examId   the id of the exam
+     */
+    public void rebuildTotalScoresOfExam(long courseId, long examId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            totalScoreRepository.deleteAllByExamId(examId);
+            List<TotalScore> totalScores = sumPointsOfUsers(exerciseRepository.findAllIdsByExamId(examId)).stream()
+                    .map(userPoints -> new TotalScore(courseId, examId, userPoints.userId(), Objects.requireNonNullElse(userPoints.points(), 0.0))).toList();
+            totalScoreRepository.saveAll(totalScores);
+        });
+    }
+
+    /**
+     * Adds the points with an atomic update. A missing total score is created empty in its own transaction before, because a failed insert (if the total score was
+     * created concurrently) must not mark the transaction of the result as rollback-only. The existence check does not lock, so that the insert does not wait for a
+     * lock of the surrounding transaction.
+     */
+    private void addPoints(Exercise exercise, long userId, double points) {
+        long courseId = exercise.getCourseViaExerciseGroupOrCourseMember().getId();
+        long examId = exercise.isExamExercise() ? exercise.getExerciseGroup().getExam().getId() : TotalScore.NO_EXAM;
+        if (!totalScoreRepository.existsByCourseIdAndExamIdAndUserId(courseId, examId, userId)) {
+            try {
+                totalScoreRepository.insertEmptyTotalScore(courseId, examId, userId);
+            }
+            catch (DataIntegrityViolationException ex) {
+                // the total score was created concurrently (e.g. for the first results of a student in two exercises), so it only needs to be updated
+                log.debug("The total score of user {} in course {} and exam {} was created concurrently", userId, courseId, examId);
+            }
+        }
+        if (totalScoreRepository.addPoints(courseId, examId, userId, points) == 0) {
+            log.error("Could not add {} points of exercise {} to the total score of user {}", points, exercise.getId(), userId);
+        }
+    }
+
+    private Map<Long, Double> subtractExcludedPoints(List<UserPointsDTO> totalPoints, Set<Long> excludedExerciseIds) {
+        Map<Long, Double> pointsOfUsers = totalPoints.stream()
+                .collect(Collectors.toMap(UserPointsDTO::userId, userPoints -> Objects.requireNonNullElse(userPoints.points(), 0.0), Double::sum));
+        for (UserPointsDTO excludedPoints : sumPointsOfUsers(excludedExerciseIds)) {
+            if (excludedPoints.points() != null) {
+                pointsOfUsers.merge(excludedPoints.userId(), -excludedPoints.points(), Double::sum);
+            }
+        }
+        return pointsOfUsers;
+    }
+
+    /**
+     * Sums up the last rated points of each user in the given exercises, the points of team exercises count for every student of the team
+     */
+    private List<UserPointsDTO> sumPointsOfUsers(Set<Long> exerciseIds) {
+        if (exerciseIds.isEmpty()) {
+            return List.of();
+        }
+        List<UserPointsDTO> pointsOfStudents = studentScoreRepository.getAchievedPointsOfStudentsByExerciseIds(exerciseIds);
+        List<UserPointsDTO> pointsOfTeamStudents = teamScoreRepository.getAchievedPointsOfTeamStudentsByExerciseIds(exerciseIds);
+        if (pointsOfTeamStudents.isEmpty()) {
+            return pointsOfStudents;
+        }
+        Map<Long, Double> pointsOfUsers = new HashMap<>();
+        for (UserPointsDTO userPoints : pointsOfStudents) {
+            pointsOfUsers.merge(userPoints.userId(), Objects.requireNonNullElse(userPoints.points(), 0.0), Double::sum);
+        }
+        for (UserPointsDTO userPoints : pointsOfTeamStudents) {
+            pointsOfUsers.merge(userPoints.userId(), Objects.requireNonNullElse(userPoints.points(), 0.0), Double::sum);
+        }
+        return pointsOfUsers.entrySet().stream().map(entry -> new UserPointsDTO(entry.getKey(), entry.getValue())).toList();
+    }
+}
@@ -0,0 +1,168 @@
+package de.tum.in.www1.artemis.service;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+
+/**
+ * Caches the decisions whether a user may subscribe to a protected websocket topic and the users of the websocket sessions on this node, so that clients which
+ * (re)connect and subscribe to the same topics again, e.g. all students of an exam after a network problem, do not load the participations, exercises and users from
+ * the database for every subscription.
+ * <p>
+ * The cache is bounded and the decisions expire after the time to live. Decisions and session users are invalidated on all nodes (via a Hazelcast topic) when the groups
+ * of a user, the members of a team, the groups of a course or an exercise change.
+ */
+@Service
+public class WebsocketSubscriptionAuthorizationCache {
+
+    private static final String HAZELCAST_WEBSOCKET_AUTHORIZATION_INVALIDATION_TOPIC = "websocket-subscription-authorization-invalidation";
+
+    private static final Invalidation ALL = new Invalidation(null, null);
+
+    private final InvalidatableCache<DecisionKey, Invalidation, Boolean> cachedDecisions;
+
+    private final int maxSize;
+
+    // sessionId -> user with groups and authorities of the session
+    private final Map<String, User> sessionUsers = new ConcurrentHashMap<>();
+
+    /**
+     * The protected topics whose subscription is checked
+     */
+    public enum SubscriptionTopic {
+        PARTICIPATION_TEAM, EXERCISE_RESULTS
+    }
+
+    /**
+     * @param login    the login of the subscribing user
+     * @param topic    the kind of the destination
+     * @param entityId the id of the participation or exercise in the destination
+     */
+    private record DecisionKey(String login, SubscriptionTopic topic, long entityId) {
+    }
+
+    /**
+     * Invalidates the decisions of the user with the given login, or of the exercise with the given id, or all decisions if both are null
+     */
+    private record Invalidation(@Nullable String login, @Nullable Long exerciseId) implements Serializable {
+    }
+
+    public WebsocketSubscriptionAuthorizationCache(HazelcastInstance hazelcastInstance,
+            @Value("${artemis.websocket.authorization-cache.time-to-live:300}") int timeToLiveInSeconds,
+            @Value("${artemis.websocket.authorization-cache.max-size:100000}") int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.cachedDecisions = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_WEBSOCKET_AUTHORIZATION_INVALIDATION_TOPIC, timeToLiveInSeconds, maxSize,
+                WebsocketSubscriptionAuthorizationCache::getInvalidations);
+        this.cachedDecisions.addInvalidationListener(this::removeSessionUsers);
+    }
+
+    /**
+     * Returns the cached decision whether the user may subscribe to the topic of the entity or makes (and caches) the decision
+     *
+     * @param login    the login of the subscribing user
+     * @param topic    the kind of the destination
+     * @param entityId the id of the participation or exercise in the destination
+     * @param decision decides whether the user may subscribe, might throw an exception (which is not cached) if the entity does not exist
+     * @return true if the user may subscribe
+     */
+    public boolean isSubscriptionAllowed(String login, SubscriptionTopic topic, long entityId, BooleanSupplier decision) {
+        // the decision is only cached if neither the user nor the exercise were invalidated while it was made
+        return cachedDecisions.getOrLoad(new DecisionKey(login, topic, entityId), decision::getAsBoolean);
+    }
+
+    /**
+     * Returns the user of the websocket session, the user is loaded once per session and kept until the session is closed (or the user is invalidated)
+     *
+     * @param sessionId the id of the websocket session
+     * @param userLoader loads the user with groups and authorities of the session
+     * @return the user of the session
+     */
+    public User getSessionUser(String sessionId, Supplier<User> userLoader) {
+        if (!cachedDecisions.isEnabled() || sessionId == null) {
+            return userLoader.get();
+        }
+        User user = sessionUsers.get(sessionId);
+        if (user == null) {
+            Instant loadingStart = Instant.now();
+            user = userLoader.get();
+            if (sessionUsers.size() >= maxSize) {
+                sessionUsers.clear();
+            }
+            sessionUsers.put(sessionId, user);
+            // the user might have been loaded before an invalidation which happened in the meantime
+            if (cachedDecisions.isInvalidatedSince(new Invalidation(user.getLogin(), null), loadingStart) || cachedDecisions.isInvalidatedSince(ALL, loadingStart)) {
+                sessionUsers.remove(sessionId, user);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Removes the user of the closed websocket session
+     *
+     * @param sessionId the id of the websocket session
+     */
+    public void removeSession(String sessionId) {
+        if (sessionId != null) {
+            sessionUsers.remove(sessionId);
+        }
+    }
+
+    /**
+     * Removes the decisions and the session users of the user on all nodes, e.g. because the groups of the user or the teams of the user changed
+     *
+     * @param login the login of the user
+     */
+    public void invalidateUser(String login) {
+        cachedDecisions.invalidate(new Invalidation(login, null));
+    }
+
+    /**
+     * Removes the decisions about the results of the exercise on all nodes, e.g. because the exercise was updated or deleted
+     *
+     * @param exerciseId the id of the exercise
+     */
+    public void invalidateExercise(long exerciseId) {
+        cachedDecisions.invalidate(new Invalidation(null, exerciseId));
+    }
+
+    /**
+     * Removes all decisions and session users on all nodes, e.g. because the groups of a course changed
+     */
+    public void invalidateAll() {
+        cachedDecisions.invalidate(ALL);
+    }
+
+    private void removeSessionUsers(Invalidation invalidation) {
+        if (invalidation.login() != null) {
+            sessionUsers.values().removeIf(user -> invalidation.login().equals(user.getLogin()));
+        }
+        else if (invalidation.exerciseId() == null) {
+            sessionUsers.clear();
+        }
+    }
+
+    /**
+     * A decision is invalidated with all decisions, with the decisions of its user and, if it is about the results of an exercise, with the decisions of the exercise
+     */
+    private static List<Invalidation> getInvalidations(DecisionKey key) {
+        if (key.topic() == SubscriptionTopic.EXERCISE_RESULTS) {
+            return List.of(ALL, new Invalidation(key.login(), null), new Invalidation(null, key.entityId()));
+        }
+        return List.of(ALL, new Invalidation(key.login(), null));
+    }
+}
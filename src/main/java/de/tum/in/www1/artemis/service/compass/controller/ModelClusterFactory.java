@@ -3,10 +3,9 @@ package de.tum.in.www1.artemis.service.compass.controller;
 import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -43,20 +42,26 @@ public class ModelClusterFactory {
      */
     public List<ModelCluster> buildClusters(List<ModelingSubmission> modelingSubmissions, ModelingExercise exercise) {
         // The elements that has no other similar elements or are the first of their kind
-        HashSet<UMLElement> uniqueElements = new HashSet<>();
+        SimilarityIndex uniqueElements = new SimilarityIndex();
 
         // The map of similarity id and clusters. We are using similarity id instead of cluster id here since clusters do not exist in database yet
         Map<Integer, ModelCluster> clusters = new ConcurrentHashMap<>();
         // TODO: this should work without unproxy!
+        // We have to unproxy here as sometimes the Submission is a Hibernate proxy resulting in a cast exception
+        // when iterating over the ModelingSubmissions directly (i.e. for (ModelingSubmission submission : submissions)).
+        List<ModelingSubmission> submissions = new ArrayList<>(modelingSubmissions.size());
         for (Submission submission : modelingSubmissions) {
-            // We have to unproxy here as sometimes the Submission is a Hibernate proxy resulting in a cast exception
-            // when iterating over the ModelingSubmissions directly (i.e. for (ModelingSubmission submission : submissions)).
-            ModelingSubmission modelingSubmission = (ModelingSubmission) Hibernate.unproxy(submission);
+            submissions.add((ModelingSubmission) Hibernate.unproxy(submission));
+        }
+
+        // Parsing the models is independent of each other, but the clustering depends on the order of the submissions, so we only parse them in parallel
+        List<List<UMLElement>> modelElementsOfSubmissions = submissions.parallelStream().map(this::getModelElements).collect(Collectors.toList());
 
-            List<UMLElement> modelElements = getModelElements(modelingSubmission);
+        for (int i = 0; i < submissions.size(); i++) {
+            List<UMLElement> modelElements = modelElementsOfSubmissions.get(i);
             if (modelElements != null) {
                 for (UMLElement element : modelElements) {
-                    selectCluster(element, uniqueElements, clusters, exercise, modelingSubmission);
+                    selectCluster(element, uniqueElements, clusters, exercise, submissions.get(i));
                 }
                 setContextOfModelElements(modelElements);
             }
@@ -113,21 +118,23 @@ public class ModelClusterFactory {
      * Builds and returns the elements of the modeling submission
      *
      * @param element the element to compare for other elements
-     * @param uniqueModelElements the elements that have no similar elements or the first of their kind
+     * @param uniqueModelElements the index of the elements that have no similar elements or the first of their kind
      * @param clusters map of clusters and similarity ids to assign the element
      * @param exercise the exercise that submission of element belongs to
      * @param submission the submission that element belongs to
      */
-    private void selectCluster(UMLElement element, Set<UMLElement> uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
+    private void selectCluster(UMLElement element, SimilarityIndex uniqueModelElements, Map<Integer, ModelCluster> clusters, ModelingExercise exercise,
             ModelingSubmission submission) {
 
         // Pair of similarity value and cluster ID
         var bestSimilarityFit = Pair.of(-1.0, -1);
 
-        for (final var knownElement : uniqueModelElements) {
+        // only the candidates of the index can exceed the equality threshold
+        for (final var knownElement : uniqueModelElements.getCandidates(element)) {
             final var similarity = knownElement.similarity(element);
-            if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && similarity > bestSimilarityFit.getFirst()) {
-                // element is similar to existing element and has a higher similarity than another element
+            if (similarity > CompassConfiguration.EQUALITY_THRESHOLD && (similarity > bestSimilarityFit.getFirst()
+                    || similarity == bestSimilarityFit.getFirst() && knownElement.getSimilarityID() < bestSimilarityFit.getSecond())) {
+                // element is similar to existing element and has a higher similarity than another element (or the same similarity and was found earlier)
                 bestSimilarityFit = Pair.of(similarity, knownElement.getSimilarityID());
             }
         }
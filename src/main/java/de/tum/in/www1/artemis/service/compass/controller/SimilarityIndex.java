@@ -0,0 +1,183 @@
+package de.tum.in.www1.artemis.service.compass.controller;
+
+import java.util.*;
+
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
+import de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLAttribute;
+import de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLClass;
+import de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLMethod;
+import de.tum.in.www1.artemis.service.compass.utils.CompassConfiguration;
+import de.tum.in.www1.artemis.service.compass.utils.SimilarityUtils;
+
+/**
+ * Index of the unique model elements that were found while building the clusters of an exercise. It returns the known elements that can be more similar to a given element
+ * than the {@link CompassConfiguration#EQUALITY_THRESHOLD}, so that the (expensive) similarity only has to be calculated for these candidates.
+ * <p>
+ * The index never drops a candidate that could exceed the threshold:
+ * <ul>
+ * <li>Elements are grouped by the top-most non-abstract class of their type hierarchy, because the similarity of elements of different types is always 0.</li>
+ * <li>Classes, attributes and methods can only exceed the threshold if their name similarity is high enough. The name similarity (see
+ * {@link de.tum.in.www1.artemis.service.compass.strategy.NameSimilarity#levenshteinSimilarity(String, String)}) is the indel based ratio of the two names, which is bounded by
+ * the number of characters both names have in common. Known elements whose bound is too low are skipped.</li>
+ * </ul>
+ */
+public class SimilarityIndex {
+
+    // tolerance for floating point errors when comparing against the minimum name similarity, in doubt we rather return a candidate too much
+    private static final double EPSILON = 1e-9;
+
+    private final Map<Class<?>, List<UMLElement>> elementsByType = new HashMap<>();
+
+    // classes and attributes by type and name length (-1 for null names), to skip elements with a very different name length without looking at them
+    private final Map<Class<?>, NavigableMap<Integer, List<UMLElement>>> namedElementsByTypeAndLength = new HashMap<>();
+
+    private final Map<UMLElement, char[]> sortedNameCharacters = new IdentityHashMap<>();
+
+    private int size = 0;
+
+    /**
+     * Adds a new unique element to the index
+     *
+     * @param element the element that is not similar to any other element of the index
+     */
+    public void add(UMLElement element) {
+        Class<?> type = SimilarityUtils.similarityType(element);
+        elementsByType.computeIfAbsent(type, key -> new ArrayList<>()).add(element);
+        if (hasFixedNameWeight(type)) {
+            namedElementsByTypeAndLength.computeIfAbsent(type, key -> new TreeMap<>()).computeIfAbsent(nameLength(element), key -> new ArrayList<>()).add(element);
+        }
+        size++;
+    }
+
+    /**
+     * @return the number of unique elements in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the known elements that can be more similar to the given element than the equality threshold. All other known elements are guaranteed to have a similarity
+     * below or equal to the threshold.
+     *
+     * @param element the element for which similar elements should be found
+     * @return the known elements that have to be compared with the given element
+     */
+    public List<UMLElement> getCandidates(UMLElement element) {
+        Class<?> type = SimilarityUtils.similarityType(element);
+        if (hasFixedNameWeight(type)) {
+            return getCandidatesByName(element, type);
+        }
+        List<UMLElement> elements = elementsByType.getOrDefault(type, List.of());
+        if (type != UMLMethod.class) {
+            return elements;
+        }
+        List<UMLElement> candidates = new ArrayList<>();
+        for (UMLElement knownElement : elements) {
+            if (canBeSimilarMethods((UMLMethod) knownElement, (UMLMethod) element)) {
+                candidates.add(knownElement);
+            }
+        }
+        return candidates;
+    }
+
+    private List<UMLElement> getCandidatesByName(UMLElement element, Class<?> type) {
+        NavigableMap<Integer, List<UMLElement>> elementsByLength = namedElementsByTypeAndLength.get(type);
+        if (elementsByLength == null) {
+            return List.of();
+        }
+        double minimumNameSimilarity = minimumNameSimilarity(type == UMLClass.class ? CompassConfiguration.CLASS_NAME_WEIGHT : CompassConfiguration.ATTRIBUTE_NAME_WEIGHT);
+        int length = nameLength(element);
+        Collection<List<UMLElement>> buckets;
+        if (length < 0) {
+            // a name can only be similar to another name if both are null
+            buckets = Optional.ofNullable(elementsByLength.get(length)).map(List::of).orElse(List.of());
+        }
+        else {
+            // two names cannot have more characters in common than the shorter one, the name similarity is rounded to two decimal places
+            double minimumRatio = minimumNameSimilarity - 0.005;
+            int minLength = Math.max(0, (int) Math.floor(length * minimumRatio / (2 - minimumRatio)) - 1);
+            int maxLength = (int) Math.ceil(length * (2 - minimumRatio) / minimumRatio) + 1;
+            buckets = elementsByLength.subMap(minLength, true, maxLength, true).values();
+        }
+
+        List<UMLElement> candidates = new ArrayList<>();
+        for (List<UMLElement> bucket : buckets) {
+            for (UMLElement knownElement : bucket) {
+                if (nameSimilarityUpperBound(knownElement, element) >= minimumNameSimilarity - EPSILON) {
+                    candidates.add(knownElement);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * The similarity of two methods consists of the name, the return type and the parameters of the reference method that the known method also has, each weighted with
+     * 1 / (number of parameters of the known method + 2). If the reference method has more parameters than the known method, the parameters alone can exceed the threshold.
+     */
+    private boolean canBeSimilarMethods(UMLMethod knownMethod, UMLMethod method) {
+        int referenceParameterCount = method.getParameters() != null ? method.getParameters().size() : 0;
+        if (referenceParameterCount > knownMethod.getParameters().size()) {
+            return true;
+        }
+        double minimumNameSimilarity = minimumNameSimilarity(1.0 / (knownMethod.getParameters().size() + 2));
+        return minimumNameSimilarity <= 0 || nameSimilarityUpperBound(knownMethod, method) >= minimumNameSimilarity - EPSILON;
+    }
+
+    /**
+     * The name similarity an element needs to exceed the equality threshold if all other parts of the similarity are equal.
+     */
+    private static double minimumNameSimilarity(double nameWeight) {
+        return 1 - (1 - CompassConfiguration.EQUALITY_THRESHOLD) / nameWeight;
+    }
+
+    /**
+     * Calculates an upper bound of the name similarity of the two elements (rounded like the name similarity itself). The indel based ratio is 2 * (length of the longest
+     * common subsequence) / (sum of both lengths), and the longest common subsequence cannot be longer than the number of characters both names have in common.
+     */
+    private double nameSimilarityUpperBound(UMLElement knownElement, UMLElement element) {
+        String knownName = knownElement.getName();
+        String name = element.getName();
+        if (Objects.equals(knownName, name)) {
+            return 1;
+        }
+        if (knownName == null || name == null) {
+            return 0;
+        }
+        char[] knownCharacters = sortedNameCharacters.computeIfAbsent(knownElement, key -> sortedCharacters(knownName));
+        char[] characters = sortedCharacters(name);
+        int common = 0;
+        for (int i = 0, j = 0; i < knownCharacters.length && j < characters.length;) {
+            if (knownCharacters[i] == characters[j]) {
+                common++;
+                i++;
+                j++;
+            }
+            else if (knownCharacters[i] < characters[j]) {
+                i++;
+            }
+            else {
+                j++;
+            }
+        }
+        return Math.round(200.0 * common / (knownCharacters.length + characters.length)) / 100.0;
+    }
+
+    private static char[] sortedCharacters(String name) {
+        char[] characters = name.toCharArray();
+        Arrays.sort(characters);
+        return characters;
+    }
+
+    private static int nameLength(UMLElement element) {
+        return element.getName() != null ? element.getName().length() : -1;
+    }
+
+    /**
+     * Classes and attributes weight their name with a fixed factor and all other parts of their similarity with the remaining weight.
+     */
+    private static boolean hasFixedNameWeight(Class<?> type) {
+        return type == UMLClass.class || type == UMLAttribute.class;
+    }
+}
@@ -1,7 +1,11 @@
 package de.tum.in.www1.artemis.service.compass.umlmodel;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import de.tum.in.www1.artemis.service.compass.utils.SimilarityUtils;
 
 public abstract class UMLDiagram implements Similarity<UMLDiagram>, Serializable {
 
@@ -83,6 +87,47 @@ public abstract class UMLDiagram implements Similarity<UMLDiagram>, Serializable
         return Math.min(Math.max(similarity, 0), 1);
     }
 
+    /**
+     * Counts the first level model elements of this diagram by their similarity type (see {@link SimilarityUtils#similarityType(UMLElement)}). The counts of two diagrams are
+     * sufficient to calculate an upper bound of their similarity, see {@link #similarityUpperBound(Map, Map)}.
+     *
+     * @return the number of first level model elements by similarity type
+     */
+    public Map<Class<?>, Integer> countModelElementsBySimilarityType() {
+        Map<Class<?>, Integer> counts = new HashMap<>();
+        for (UMLElement element : getModelElements()) {
+            counts.merge(SimilarityUtils.similarityType(element), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Calculates an upper bound of the similarity of two diagrams without comparing their model elements. An element can at most contribute the weight 1 / (element count of the
+     * larger diagram) to the similarity and only if the other diagram contains an element of the same similarity type.
+     *
+     * @param counts          the element counts of this diagram, see {@link #countModelElementsBySimilarityType()}
+     * @param referenceCounts the element counts of the reference diagram
+     * @return an upper bound of the similarity of the diagrams as number [0-1]
+     */
+    public static double similarityUpperBound(Map<Class<?>, Integer> counts, Map<Class<?>, Integer> referenceCounts) {
+        int elementCount = counts.values().stream().mapToInt(Integer::intValue).sum();
+        int referenceElementCount = referenceCounts.values().stream().mapToInt(Integer::intValue).sum();
+        // same order as in similarity(), i.e. this diagram is the smaller one
+        if (elementCount > referenceElementCount) {
+            return similarityUpperBound(referenceCounts, counts);
+        }
+        if (referenceElementCount == 0) {
+            return 0;
+        }
+        int comparableElementCount = 0;
+        for (var entry : counts.entrySet()) {
+            if (referenceCounts.containsKey(entry.getKey())) {
+                comparableElementCount += entry.getValue();
+            }
+        }
+        return (double) comparableElementCount / referenceElementCount;
+    }
+
     /**
      * Compares a reference element to the list of model elements of this diagram and returns the maximum similarity score, i.e. the similarity between the reference element and
      * the most similar element of this diagram.
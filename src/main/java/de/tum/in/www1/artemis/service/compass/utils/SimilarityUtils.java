@@ -1,5 +1,6 @@
 package de.tum.in.www1.artemis.service.compass.utils;
 
+import java.lang.reflect.Modifier;
 import java.util.Objects;
 
 import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
@@ -30,4 +31,19 @@ public class SimilarityUtils {
         }
         return Objects.equals(parent1, parent2);
     }
+
+    /**
+     * Returns the type of elements the given element can be similar to. The similarity of elements of different types is always 0, and elements of subclasses inherit the
+     * similarity of their super class (e.g. object attributes and attributes), so this is the top-most non-abstract class in the type hierarchy of the element.
+     *
+     * @param element the element for which the similarity type should be determined
+     * @return the top-most non-abstract class of the element
+     */
+    public static Class<?> similarityType(UMLElement element) {
+        Class<?> type = element.getClass();
+        while (type.getSuperclass() != null && !Modifier.isAbstract(type.getSuperclass().getModifiers())) {
+            type = type.getSuperclass();
+        }
+        return type;
+    }
 }
@@ -0,0 +1,215 @@
+package de.tum.in.www1.artemis.service.connectors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.jgit.internal.storage.file.WindowCache;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the opened local git repositories (e.g. of the online code editor) of this node, so that they do not have to be opened again for every request.
+ * <p>
+ * Each opened repository holds pack file indexes and possibly the file listing of the online code editor, so the cache is bounded by the number of repositories and
+ * closes the least recently used repositories and the repositories that were not used for the idle time. The pack file data of all repositories is cached in the shared
+ * JGit window cache, which is configured from the Artemis settings when this cache is created. Hits, misses and evictions are exposed as metrics.
+ */
+@Service
+public class GitRepositoryCache {
+
+    private final Logger log = LoggerFactory.getLogger(GitRepositoryCache.class);
+
+    private static final String METRIC_PREFIX = "artemis.git.repository.cache";
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    private static final Duration IDLE_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private final int maxSize;
+
+    private final Duration idleTime;
+
+    // the iteration order is the access order, i.e. the least recently used repository first
+    private final LinkedHashMap<Path, CachedRepository> cachedRepositories = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter sizeEvictions;
+
+    private final Counter idleEvictions;
+
+    private static class CachedRepository {
+
+        private final Repository repository;
+
+        private long lastAccess = System.currentTimeMillis();
+
+        CachedRepository(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    public GitRepositoryCache(MeterRegistry meterRegistry, @Qualifier("taskScheduler") TaskScheduler scheduler,
+            @Value("${artemis.git.repository-cache.max-size:500}") int maxSize, @Value("${artemis.git.repository-cache.idle-time:30}") int idleTimeInMinutes,
+            @Value("${artemis.git.window-cache.packed-git-limit:64}") int packedGitLimitInMB,
+            @Value("${artemis.git.window-cache.packed-git-open-files:128}") int packedGitOpenFiles,
+            @Value("${artemis.git.window-cache.delta-base-cache-limit:16}") int deltaBaseCacheLimitInMB) {
+        this.maxSize = Math.max(1, maxSize);
+        this.idleTime = Duration.ofMinutes(Math.max(0, idleTimeInMinutes));
+        configureWindowCache(packedGitLimitInMB, packedGitOpenFiles, deltaBaseCacheLimitInMB);
+
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").description("Number of local git repositories found in the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").description("Number of local git repositories opened because they were not cached")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder(METRIC_PREFIX + ".evictions").tag("cause", "size").description("Number of least recently used local git repositories closed")
+                .register(meterRegistry);
+        this.idleEvictions = Counter.builder(METRIC_PREFIX + ".evictions").tag("cause", "idle").description("Number of idle local git repositories closed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, GitRepositoryCache::size).description("Number of cached local git repositories").register(meterRegistry);
+        // the window cache is replaced when it is reconfigured, so the current instance is read for every measurement
+        Gauge.builder("artemis.git.window.cache.open.bytes", () -> WindowCache.getInstance().getStats().getOpenByteCount())
+                .description("Number of bytes of pack files cached by JGit").register(meterRegistry);
+        Gauge.builder("artemis.git.window.cache.open.files", () -> WindowCache.getInstance().getStats().getOpenFileCount())
+                .description("Number of pack files kept open by JGit").register(meterRegistry);
+
+        if (!idleTime.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::evictIdleRepositories, IDLE_CHECK_INTERVAL);
+        }
+    }
+
+    private void configureWindowCache(int packedGitLimitInMB, int packedGitOpenFiles, int deltaBaseCacheLimitInMB) {
+        WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+        windowCacheConfig.setPackedGitLimit(Math.max(1, packedGitLimitInMB) * BYTES_PER_MB);
+        windowCacheConfig.setPackedGitOpenFiles(Math.max(1, packedGitOpenFiles));
+        windowCacheConfig.setDeltaBaseCacheLimit(Math.toIntExact(Math.max(1, deltaBaseCacheLimitInMB) * BYTES_PER_MB));
+        windowCacheConfig.install();
+        log.info("Configured the JGit window cache with {} MB for at most {} pack files", packedGitLimitInMB, packedGitOpenFiles);
+    }
+
+    /**
+     * Gets the cached repository with the given local path
+     *
+     * @param localPath the local path of the repository
+     * @return the cached repository or null, if the repository is not cached
+     */
+    @Nullable
+    public synchronized Repository get(Path localPath) {
+        CachedRepository cachedRepository = cachedRepositories.get(localPath);
+        if (cachedRepository == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        cachedRepository.lastAccess = System.currentTimeMillis();
+        return cachedRepository.repository;
+    }
+
+    /**
+     * Checks whether the repository with the given local path is cached, without counting it as access
+     *
+     * @param localPath the local path of the repository
+     * @return true if the repository is cached
+     */
+    public synchronized boolean contains(Path localPath) {
+        return cachedRepositories.containsKey(localPath);
+    }
+
+    /**
+     * Caches the opened repository and closes the least recently used repositories if the cache is full. If another thread cached the same repository in the meantime,
+     * the given repository is closed and the cached repository is returned, so that all users share the same repository.
+     *
+     * @param localPath  the local path of the repository
+     * @param repository the opened repository
+     * @return the cached repository
+     */
+    public Repository put(Path localPath, Repository repository) {
+        List<Repository> closedRepositories = new ArrayList<>();
+        Repository cachedRepository;
+        synchronized (this) {
+            CachedRepository existingRepository = cachedRepositories.get(localPath);
+            if (existingRepository != null) {
+                closedRepositories.add(repository);
+                cachedRepository = existingRepository.repository;
+            }
+            else {
+                Iterator<CachedRepository> leastRecentlyUsedRepositories = cachedRepositories.values().iterator();
+                while (cachedRepositories.size() >= maxSize && leastRecentlyUsedRepositories.hasNext()) {
+                    closedRepositories.add(leastRecentlyUsedRepositories.next().repository);
+                    leastRecentlyUsedRepositories.remove();
+                    sizeEvictions.increment();
+                }
+                cachedRepositories.put(localPath, new CachedRepository(repository));
+                cachedRepository = repository;
+            }
+        }
+        // closing a repository might take a while, so it is done outside of the lock
+        closedRepositories.forEach(GitRepositoryCache::close);
+        return cachedRepository;
+    }
+
+    /**
+     * Removes the repository from the cache without closing it, e.g. because it is deleted by the caller
+     *
+     * @param localPath the local path of the repository
+     * @return the removed repository or null, if the repository was not cached
+     */
+    @Nullable
+    public synchronized Repository remove(Path localPath) {
+        CachedRepository removedRepository = cachedRepositories.remove(localPath);
+        return removedRepository != null ? removedRepository.repository : null;
+    }
+
+    public synchronized int size() {
+        return cachedRepositories.size();
+    }
+
+    /**
+     * Closes the repositories that were not used for the idle time
+     */
+    public void evictIdleRepositories() {
+        long idleLimit = System.currentTimeMillis() - idleTime.toMillis();
+        List<Repository> closedRepositories = new ArrayList<>();
+        synchronized (this) {
+            Iterator<CachedRepository> leastRecentlyUsedRepositories = cachedRepositories.values().iterator();
+            while (leastRecentlyUsedRepositories.hasNext()) {
+                CachedRepository cachedRepository = leastRecentlyUsedRepositories.next();
+                // all following repositories were used more recently
+                if (cachedRepository.lastAccess > idleLimit) {
+                    break;
+                }
+                closedRepositories.add(cachedRepository.repository);
+                leastRecentlyUsedRepositories.remove();
+                idleEvictions.increment();
+            }
+        }
+        closedRepositories.forEach(GitRepositoryCache::close);
+        if (!closedRepositories.isEmpty()) {
+            log.debug("Closed {} idle local git repositories", closedRepositories.size());
+        }
+    }
+
+    /**
+     * Releases the pack files and the file listing of the repository. JGit opens the pack files again if a caller still uses the closed repository.
+     */
+    private static void close(Repository repository) {
+        repository.setContent(null);
+        repository.setFiles(null);
+        repository.close();
+    }
+}
@@ -92,7 +92,7 @@ public class GitService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    private final Map<Path, Repository> cachedRepositories = new ConcurrentHashMap<>();
+    private final GitRepositoryCache cachedRepositories;
 
     private final Map<Path, Path> cloneInProgressOperations = new ConcurrentHashMap<>();
 
@@ -108,13 +108,14 @@ public class GitService {
 
     private static final String ANONYMIZED_STUDENT_EMAIL = "";
 
-    public GitService(FileService fileService, ZipFileService zipFileService) {
+    public GitService(FileService fileService, ZipFileService zipFileService, GitRepositoryCache cachedRepositories) {
         log.info("file.encoding={}", System.getProperty("file.encoding"));
         log.info("sun.jnu.encoding={}", System.getProperty("sun.jnu.encoding"));
         log.info("Default Charset={}", Charset.defaultCharset());
         log.info("Default Charset in Use={}", new OutputStreamWriter(new ByteArrayOutputStream()).getEncoding());
         this.fileService = fileService;
         this.zipFileService = zipFileService;
+        this.cachedRepositories = cachedRepositories;
     }
 
     /**
@@ -312,20 +313,31 @@ public class GitService {
      */
     public Repository getOrCheckoutRepositoryForJPlag(ProgrammingExerciseParticipation participation, String targetPath)
             throws InterruptedException, GitAPIException, InvalidPathException {
-        var repoUrl = participation.getVcsRepositoryUrl();
-        String repoFolderName = folderNameForRepositoryUrl(repoUrl);
-
-        // Replace the exercise name in the repository folder name with the participation ID.
-        // This is necessary to be able to refer back to the correct participation after the JPlag detection run.
-        String updatedRepoFolderName = repoFolderName.replaceAll("/[a-zA-Z0-9]*-", "/" + participation.getId() + "-");
-        Path localPath = Paths.get(targetPath, updatedRepoFolderName);
+        Path localPath = getLocalPathOfRepoForJPlag(participation, targetPath);
 
-        Repository repository = getOrCheckoutRepository(repoUrl, localPath, true);
+        Repository repository = getOrCheckoutRepository(participation.getVcsRepositoryUrl(), localPath, true);
         repository.setParticipation(participation);
 
         return repository;
     }
 
+    /**
+     * Get the local path of the repository of a participation when it is checked out for JPlag (see {@link #getOrCheckoutRepositoryForJPlag}).
+     *
+     * @param participation Participation the remote repository belongs to.
+     * @param targetPath    path where the repo is located on disk
+     * @return the local path which includes the participation ID
+     * @throws InvalidPathException if the path contains unmappable characters.
+     */
+    public Path getLocalPathOfRepoForJPlag(ProgrammingExerciseParticipation participation, String targetPath) throws InvalidPathException {
+        String repoFolderName = folderNameForRepositoryUrl(participation.getVcsRepositoryUrl());
+
+        // Replace the exercise name in the repository folder name with the participation ID.
+        // This is necessary to be able to refer back to the correct participation after the JPlag detection run.
+        String updatedRepoFolderName = repoFolderName.replaceAll("/[a-zA-Z0-9]*-", "/" + participation.getId() + "-");
+        return Paths.get(targetPath, updatedRepoFolderName);
+    }
+
     /**
      * Get the local repository for a given remote repository URL. If the local repo does not exist yet, it will be checked out.
      * Saves the repo in the default path
@@ -477,7 +489,7 @@ public class GitService {
     public boolean isRepositoryCached(VcsRepositoryUrl repositoryUrl) {
         Path localPath = getLocalPathOfRepo(repoClonePath, repositoryUrl);
         // Check if the repository is already cached in the server's session.
-        return cachedRepositories.containsKey(localPath);
+        return cachedRepositories.contains(localPath);
     }
 
     /**
@@ -509,7 +521,7 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -521,7 +533,7 @@ public class GitService {
 
     /**
      * Get an existing git repository that is checked out on the server. Returns immediately null if the localPath does not exist. Will first try to retrieve a cached repository
-     * from cachedRepositories. Side effect: This method caches retrieved repositories in a HashMap, so continuous retrievals can be avoided (reduces load).
+     * from cachedRepositories. Side effect: This method caches retrieved repositories in a bounded cache, so continuous retrievals can be avoided (reduces load).
      *
      * @param localPath           to git repo on server.
      * @param remoteRepositoryUrl the remote repository url for the git repository, will be added to the Repository object for later use, can be null
@@ -532,8 +544,11 @@ public class GitService {
         try {
             // Check if there is a folder with the provided path of the git repository.
             if (!Files.exists(localPath)) {
-                // In this case we should remove the repository if cached, because it can't exist anymore.
-                cachedRepositories.remove(localPath);
+                // In this case we should remove (and close) the repository if cached, because it can't exist anymore.
+                Repository removedRepository = cachedRepositories.remove(localPath);
+                if (removedRepository != null) {
+                    removedRepository.close();
+                }
                 return null;
             }
 
@@ -568,8 +583,7 @@ public class GitService {
             refUpdate.link("refs/heads/" + defaultBranch);
 
             // Cache the JGit repository object for later use: avoids the expensive re-opening of local repositories
-            cachedRepositories.put(localPath, repository);
-            return repository;
+            return cachedRepositories.put(localPath, repository);
         }
         catch (IOException | InvalidRefNameException ex) {
             log.warn("Cannot get existing checkout out repository by local path: " + ex.getMessage());
@@ -285,8 +285,7 @@ public class JenkinsService extends AbstractContinuousIntegrationService {
 
             // Filter and save build logs
             buildLogEntries = filterUnnecessaryLogs(buildLogEntries, programmingLanguage);
-            buildLogEntries = buildLogService.saveBuildLogs(buildLogEntries, programmingSubmission);
-            programmingSubmission.setBuildLogEntries(buildLogEntries);
+            programmingSubmission.setBuildLogEntries(buildLogService.saveBuildLogs(buildLogEntries, programmingSubmission));
             programmingSubmissionRepository.save(programmingSubmission);
             return buildLogEntries;
         }
@@ -0,0 +1,78 @@
+package de.tum.in.www1.artemis.service.exam;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.Exercise;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+import de.tum.in.www1.artemis.web.rest.dto.ExamScoresDTO;
+
+/**
+ * Caches the calculated {@link ExamScoresDTO} of each exam on this node, because instructors reload the exam scores page repeatedly while the calculation reads all
+ * results of the exam.
+ * <p>
+ * Cached scores are invalidated on all nodes (via a Hazelcast topic) when a result of an exercise of the exam or the grading scale of the exam changes. Other changes,
+ * e.g. of the exercise titles or the submitted student exams, become visible after the time to live at the latest.
+ */
+@Service
+public class ExamScoresCache {
+
+    private static final String HAZELCAST_EXAM_SCORES_INVALIDATION_TOPIC = "exam-scores-invalidation";
+
+    // the scores of large exams are big, only the exams currently corrected are needed
+    private static final int MAX_CACHED_EXAMS = 100;
+
+    private final InvalidatableCache<Long, Long, ExamScoresDTO> cachedExamScores;
+
+    public ExamScoresCache(HazelcastInstance hazelcastInstance, @Value("${artemis.exam.scores-cache.time-to-live:120}") int timeToLiveInSeconds) {
+        this.cachedExamScores = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_EXAM_SCORES_INVALIDATION_TOPIC, timeToLiveInSeconds, MAX_CACHED_EXAMS, Set::of);
+    }
+
+    /**
+     * Returns the cached scores of the exam or calculates (and caches) them if they are not cached or expired
+     *
+     * @param examId          the id of the exam
+     * @param scoreCalculator calculates the scores of the exam
+     * @return the scores of the exam
+     */
+    public ExamScoresDTO getOrCalculate(long examId, Supplier<ExamScoresDTO> scoreCalculator) {
+        return cachedExamScores.getOrLoad(examId, scoreCalculator);
+    }
+
+    /**
+     * Removes the cached scores of the exam on all nodes. If the scores change within a transaction (e.g. a result is saved and the entity listener calls this method),
+     * they are removed again after the commit, because other requests might calculate and cache the scores before the changes are committed.
+     *
+     * @param examId the id of the exam
+     */
+    public void invalidate(long examId) {
+        cachedExamScores.invalidate(examId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    cachedExamScores.invalidate(examId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the cached scores of the exam of the exercise on all nodes, if the exercise is an exam exercise
+     *
+     * @param exercise the exercise with its exercise group and exam
+     */
+    public void invalidate(Exercise exercise) {
+        if (exercise.isExamExercise()) {
+            invalidate(exercise.getExerciseGroup().getExam().getId());
+        }
+    }
+}
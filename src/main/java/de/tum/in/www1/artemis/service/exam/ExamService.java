@@ -30,9 +30,7 @@ import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.exam.StudentExam;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
 import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
-import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
-import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.SecurityUtils;
 import de.tum.in.www1.artemis.service.*;
@@ -93,12 +91,14 @@ public class ExamService {
 
     private final GradingScaleRepository gradingScaleRepository;
 
+    private final ExamScoresCache examScoresCache;
+
     public ExamService(ExerciseDeletionService exerciseDeletionService, ExamRepository examRepository, StudentExamRepository studentExamRepository, ExamQuizService examQuizService,
             InstanceMessageSendService instanceMessageSendService, TutorLeaderboardService tutorLeaderboardService, AuditEventRepository auditEventRepository,
             StudentParticipationRepository studentParticipationRepository, ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository,
             UserRepository userRepository, ProgrammingExerciseRepository programmingExerciseRepository, QuizExerciseRepository quizExerciseRepository,
             ResultRepository resultRepository, SubmissionRepository submissionRepository, CourseExamExportService courseExamExportService, GitService gitService,
-            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository) {
+            GroupNotificationService groupNotificationService, GradingScaleRepository gradingScaleRepository, ExamScoresCache examScoresCache) {
         this.exerciseDeletionService = exerciseDeletionService;
         this.examRepository = examRepository;
         this.studentExamRepository = studentExamRepository;
@@ -118,6 +118,7 @@ public class ExamService {
         this.groupNotificationService = groupNotificationService;
         this.gitService = gitService;
         this.gradingScaleRepository = gradingScaleRepository;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -215,28 +216,119 @@ public class ExamService {
     }
 
     /**
-     * Puts students, result and exerciseGroups together for ExamScoresDTO
+     * Puts students, result and exerciseGroups together for ExamScoresDTO.
+     * The scores are cached for a short time, see {@link ExamScoresCache}.
      *
      * @param examId the id of the exam
      * @return return ExamScoresDTO with students, scores and exerciseGroups for exam
      */
     public ExamScoresDTO calculateExamScores(Long examId) {
-        Exam exam = examRepository.findWithExerciseGroupsAndExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
+        return examScoresCache.getOrCalculate(examId, () -> calculateExamScoresWithoutCache(examId));
+    }
 
-        List<StudentParticipation> studentParticipations = studentParticipationRepository.findByExamIdWithSubmissionRelevantResult(examId); // without test run participations
+    /**
+     * Calculates the exam scores in one pass over the rated results of the exam, which are read as projections instead of loading all participations, submissions and
+     * results of the exam.
+     */
+    private ExamScoresDTO calculateExamScoresWithoutCache(long examId) {
+        Exam exam = examRepository.findWithExerciseGroupsAndExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
 
         // Adding exam information to DTO
         ExamScoresDTO scores = new ExamScoresDTO(exam.getId(), exam.getTitle(), exam.getMaxPoints());
 
         // setting multiplicity of correction rounds
         scores.hasSecondCorrectionAndStarted = false;
+        boolean hasTwoCorrectionRounds = Integer.valueOf(2).equals(exam.getNumberOfCorrectionRoundsInExam());
+
+        // the exercises and exercise groups are referenced by their position in the arrays below
+        Map<Long, Integer> exerciseIndices = new HashMap<>();
+        List<Exercise> exercises = new ArrayList<>();
+        List<Integer> exerciseGroupIndices = new ArrayList<>();
+        for (int groupIndex = 0; groupIndex < exam.getExerciseGroups().size(); groupIndex++) {
+            for (Exercise exercise : exam.getExerciseGroups().get(groupIndex).getExercises()) {
+                exerciseIndices.put(exercise.getId(), exercises.size());
+                exercises.add(exercise);
+                exerciseGroupIndices.add(groupIndex);
+            }
+        }
+        long[] numberOfParticipantsOfExercises = new long[exercises.size()];
+        double[] pointsOfExerciseGroups = new double[exam.getExerciseGroups().size()];
+        int[] numberOfResultsOfExerciseGroups = new int[exam.getExerciseGroups().size()];
 
-        // Counts how many participants each exercise has
-        Map<Long, Long> exerciseIdToNumberParticipations = studentParticipations.stream()
-                .collect(Collectors.groupingBy(studentParticipation -> studentParticipation.getExercise().getId(), Collectors.counting()));
+        // Adding registered student information to DTO
+        Set<StudentExam> studentExams = studentExamRepository.findByExamId(examId); // fetched without test runs
+        Map<Long, Integer> studentIndices = new HashMap<>();
+        for (StudentExam studentExam : studentExams) {
+            User user = studentExam.getUser();
+            studentIndices.put(user.getId(), scores.studentResults.size());
+            scores.studentResults.add(new ExamScoresDTO.StudentResult(user.getId(), user.getName(), user.getEmail(), user.getLogin(), user.getRegistrationNumber(),
+                    studentExam.isSubmitted()));
+        }
+        double[] overallPointsOfStudents = new double[studentIndices.size()];
+        double[] overallPointsOfStudentsInFirstCorrection = new double[studentIndices.size()];
+
+        Set<Long> participationIdsWithNonEmptySubmission = findParticipationIdsWithNonEmptySubmission(examId);
+
+        // the results are ordered by participation, so all results of a participation are processed together
+        List<ExamResultScoreDTO> resultScores = studentParticipationRepository.findRatedResultScoresByExamId(examId); // without test run participations
+        int participationStart = 0;
+        for (int i = 1; i <= resultScores.size(); i++) {
+            if (i < resultScores.size() && resultScores.get(i).participationId().equals(resultScores.get(participationStart).participationId())) {
+                continue;
+            }
+            List<ExamResultScoreDTO> resultScoresOfParticipation = resultScores.subList(participationStart, i);
+            participationStart = i;
+
+            ExamResultScoreDTO firstResultScore = resultScoresOfParticipation.get(0);
+            Integer exerciseIndex = exerciseIndices.get(firstResultScore.exerciseId());
+            if (exerciseIndex == null) {
+                continue;
+            }
+            // Counts how many participants each exercise has
+            numberOfParticipantsOfExercises[exerciseIndex]++;
+
+            ParticipationScore participationScore = calculateParticipationScore(resultScoresOfParticipation);
+            Integer studentIndex = studentIndices.get(firstResultScore.studentId());
+            // only the relevant results of students with a student exam count towards the scores
+            if (participationScore.relevantResult() == null || studentIndex == null) {
+                continue;
+            }
+            Exercise exercise = exercises.get(exerciseIndex);
+            // Note: It is important that we round on the individual exercise level first and then sum up.
+            // This is necessary so that the student arrives at the same overall result when doing his own recalculation.
+            // Let's assume that the student achieved 1.05 points in each of 5 exercises.
+            // In the client, these are now displayed rounded as 1.1 points.
+            // If the student adds up the displayed points, he gets a total of 5.5 points.
+            // In order to get the same total result as the student, we have to round before summing.
+            double achievedPoints = roundScoreSpecifiedByCourseSettings(participationScore.relevantResult().score() / 100.0 * exercise.getMaxPoints(), exam.getCourse());
+
+            // points earned in NOT_INCLUDED exercises do not count towards the students result in the exam
+            if (!exercise.getIncludedInOverallScore().equals(IncludedInOverallScore.NOT_INCLUDED)) {
+                overallPointsOfStudents[studentIndex] += achievedPoints;
+
+                // collect points of first correction, if the second correction of the latest submission already started
+                if (hasTwoCorrectionRounds && participationScore.numberOfManualResultsOfLatestSubmission() > 1) {
+                    scores.hasSecondCorrectionAndStarted = true;
+                    Double firstManualScore = participationScore.firstManualResultOfLatestSubmission().score();
+                    overallPointsOfStudentsInFirstCorrection[studentIndex] += firstManualScore != null
+                            ? roundScoreSpecifiedByCourseSettings(firstManualScore / 100.0 * exercise.getMaxPoints(), exam.getCourse())
+                            : 0.0;
+                }
+            }
+            int groupIndex = exerciseGroupIndices.get(exerciseIndex);
+            pointsOfExerciseGroups[groupIndex] += achievedPoints;
+            numberOfResultsOfExerciseGroups[groupIndex]++;
+
+            // Check whether the student attempted to solve the exercise
+            boolean hasNonEmptySubmission = participationIdsWithNonEmptySubmission.contains(firstResultScore.participationId());
+            scores.studentResults.get(studentIndex).exerciseGroupIdToExerciseResult.put(exam.getExerciseGroups().get(groupIndex).getId(),
+                    new ExamScoresDTO.ExerciseResult(exercise.getId(), exercise.getTitle(), exercise.getMaxPoints(), participationScore.relevantResult().score(), achievedPoints,
+                            hasNonEmptySubmission));
+        }
 
         // Adding exercise group information to DTO
-        for (ExerciseGroup exerciseGroup : exam.getExerciseGroups()) {
+        for (int groupIndex = 0; groupIndex < exam.getExerciseGroups().size(); groupIndex++) {
+            ExerciseGroup exerciseGroup = exam.getExerciseGroups().get(groupIndex);
             // Find the maximum points for this exercise group
             OptionalDouble optionalMaxPointsGroup = exerciseGroup.getExercises().stream().mapToDouble(Exercise::getMaxPoints).max();
             Double maxPointsGroup = optionalMaxPointsGroup.orElse(0);
@@ -246,103 +338,40 @@ public class ExamService {
             // Add information about exercise groups and exercises
             var exerciseGroupDTO = new ExamScoresDTO.ExerciseGroup(exerciseGroup.getId(), exerciseGroup.getTitle(), maxPointsGroup);
             for (Exercise exercise : exerciseGroup.getExercises()) {
-                Long participantsForExercise = exerciseIdToNumberParticipations.get(exercise.getId());
-                // If no participation exists for an exercise then no entry exists in the map
-                if (participantsForExercise == null) {
-                    participantsForExercise = 0L;
-                }
+                long participantsForExercise = numberOfParticipantsOfExercises[exerciseIndices.get(exercise.getId())];
                 numberOfExerciseGroupParticipants += participantsForExercise;
                 exerciseGroupDTO.containedExercises.add(new ExamScoresDTO.ExerciseGroup.ExerciseInfo(exercise.getId(), exercise.getTitle(), exercise.getMaxPoints(),
                         participantsForExercise, exercise.getClass().getSimpleName()));
             }
             exerciseGroupDTO.numberOfParticipants = numberOfExerciseGroupParticipants;
+            if (numberOfResultsOfExerciseGroups[groupIndex] > 0) {
+                exerciseGroupDTO.averagePointsAchieved = pointsOfExerciseGroups[groupIndex] / numberOfResultsOfExerciseGroups[groupIndex];
+            }
             scores.exerciseGroups.add(exerciseGroupDTO);
         }
 
-        // Adding registered student information to DTO
-        Set<StudentExam> studentExams = studentExamRepository.findByExamId(examId); // fetched without test runs
-        ObjectMapper objectMapper = new ObjectMapper();
-        for (StudentExam studentExam : studentExams) {
-
-            User user = studentExam.getUser();
-            var studentResult = new ExamScoresDTO.StudentResult(user.getId(), user.getName(), user.getEmail(), user.getLogin(), user.getRegistrationNumber(),
-                    studentExam.isSubmitted());
-
-            // Adding student results information to DTO
-            List<StudentParticipation> participationsOfStudent = studentParticipations.stream()
-                    .filter(studentParticipation -> studentParticipation.getStudent().get().getId().equals(studentResult.userId)).toList();
-
-            studentResult.overallPointsAchieved = 0.0;
-            studentResult.overallPointsAchievedInFirstCorrection = 0.0;
-            for (StudentParticipation studentParticipation : participationsOfStudent) {
-                Exercise exercise = studentParticipation.getExercise();
-
-                // Relevant Result is already calculated
-                if (studentParticipation.getResults() != null && !studentParticipation.getResults().isEmpty()) {
-                    Result relevantResult = studentParticipation.getResults().iterator().next();
-                    // Note: It is important that we round on the individual exercise level first and then sum up.
-                    // This is necessary so that the student arrives at the same overall result when doing his own recalculation.
-                    // Let's assume that the student achieved 1.05 points in each of 5 exercises.
-                    // In the client, these are now displayed rounded as 1.1 points.
-                    // If the student adds up the displayed points, he gets a total of 5.5 points.
-                    // In order to get the same total result as the student, we have to round before summing.
-                    double achievedPoints = roundScoreSpecifiedByCourseSettings(relevantResult.getScore() / 100.0 * exercise.getMaxPoints(), exam.getCourse());
-
-                    // points earned in NOT_INCLUDED exercises do not count towards the students result in the exam
-                    if (!exercise.getIncludedInOverallScore().equals(IncludedInOverallScore.NOT_INCLUDED)) {
-                        studentResult.overallPointsAchieved += achievedPoints;
-                    }
-
-                    // collect points of first correction, if a second correction exists
-                    if (exam.getNumberOfCorrectionRoundsInExam() == 2 && !exercise.getIncludedInOverallScore().equals(IncludedInOverallScore.NOT_INCLUDED)) {
-                        Optional<Submission> latestSubmission = studentParticipation.findLatestSubmission();
-                        if (latestSubmission.isPresent()) {
-                            Submission submission = latestSubmission.get();
-                            // Check if second correction already started
-                            if (submission.getManualResults().size() > 1) {
-                                if (!scores.hasSecondCorrectionAndStarted) {
-                                    scores.hasSecondCorrectionAndStarted = true;
-                                }
-                                Result firstManualResult = submission.getFirstManualResult();
-                                double achievedPointsInFirstCorrection = 0.0;
-                                if (firstManualResult != null) {
-                                    Double resultScore = firstManualResult.getScore();
-                                    achievedPointsInFirstCorrection = resultScore != null
-                                            ? roundScoreSpecifiedByCourseSettings(resultScore / 100.0 * exercise.getMaxPoints(), exam.getCourse())
-                                            : 0.0;
-                                }
-                                studentResult.overallPointsAchievedInFirstCorrection += achievedPointsInFirstCorrection;
-                            }
-                        }
-                    }
-
-                    // Check whether the student attempted to solve the exercise
-                    boolean hasNonEmptySubmission = hasNonEmptySubmission(studentParticipation.getSubmissions(), exercise, objectMapper);
-                    studentResult.exerciseGroupIdToExerciseResult.put(exercise.getExerciseGroup().getId(), new ExamScoresDTO.ExerciseResult(exercise.getId(), exercise.getTitle(),
-                            exercise.getMaxPoints(), relevantResult.getScore(), achievedPoints, hasNonEmptySubmission));
-                }
-
-            }
-
+        // Sets the overall points and grading scale related properties for exam scores, the grading scale is loaded once for all students
+        Optional<GradingScale> gradingScale = scores.maxPoints != null ? gradingScaleRepository.findByExamId(examId) : Optional.empty();
+        for (int studentIndex = 0; studentIndex < scores.studentResults.size(); studentIndex++) {
+            var studentResult = scores.studentResults.get(studentIndex);
+            studentResult.overallPointsAchieved = overallPointsOfStudents[studentIndex];
+            studentResult.overallPointsAchievedInFirstCorrection = overallPointsOfStudentsInFirstCorrection[studentIndex];
             if (scores.maxPoints != null) {
                 studentResult.overallScoreAchieved = (studentResult.overallPointsAchieved / scores.maxPoints) * 100.0;
                 var overallScoreAchievedInFirstCorrection = (studentResult.overallPointsAchievedInFirstCorrection / scores.maxPoints) * 100.0;
-                // Sets grading scale related properties for exam scores
-                Optional<GradingScale> gradingScale = gradingScaleRepository.findByExamId(examId);
                 if (gradingScale.isPresent()) {
                     // Calculate current student grade
-                    GradeStep studentGrade = gradingScaleRepository.matchPercentageToGradeStep(studentResult.overallScoreAchieved, gradingScale.get().getId());
-                    GradeStep studentGradeInFirstCorrection = gradingScaleRepository.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection, gradingScale.get().getId());
+                    GradeStep studentGrade = gradingScaleRepository.matchPercentageToGradeStep(studentResult.overallScoreAchieved, gradingScale.get());
+                    GradeStep studentGradeInFirstCorrection = gradingScaleRepository.matchPercentageToGradeStep(overallScoreAchievedInFirstCorrection, gradingScale.get());
                     studentResult.overallGrade = studentGrade.getGradeName();
                     studentResult.overallGradeInFirstCorrection = studentGradeInFirstCorrection.getGradeName();
                     studentResult.hasPassed = studentGrade.getIsPassingGrade();
                 }
             }
-            scores.studentResults.add(studentResult);
         }
 
         // Updating exam information in DTO
-        double sumOverallPoints = scores.studentResults.stream().mapToDouble(studentResult -> studentResult.overallPointsAchieved).sum();
+        double sumOverallPoints = Arrays.stream(overallPointsOfStudents).sum();
 
         int numberOfStudentResults = scores.studentResults.size();
 
@@ -354,42 +383,88 @@ public class ExamService {
     }
 
     /**
-     * Checks whether one of the submissions is not empty
+     * The relevant result of a participation and the manual results of its latest submission
      *
-     * @param submissions         Submissions to check
-     * @param exercise            Exercise of the submissions
-     * @param jacksonObjectMapper Mapper to parse a modeling exercise model string to JSON
-     * @return true if at least one submission is not empty else false
+     * @param relevantResult                          the latest rated result with score and completion date or null if the participation has none
+     * @param firstManualResultOfLatestSubmission     the first manual result of the latest submission or null
+     * @param numberOfManualResultsOfLatestSubmission the number of manual results of the latest submission, more than one if the second correction started
      */
-    private boolean hasNonEmptySubmission(Set<Submission> submissions, Exercise exercise, ObjectMapper jacksonObjectMapper) {
-        if (exercise instanceof ProgrammingExercise) {
-            return submissions.stream().anyMatch(submission -> submission.getType() == SubmissionType.MANUAL);
+    private record ParticipationScore(ExamResultScoreDTO relevantResult, ExamResultScoreDTO firstManualResultOfLatestSubmission, int numberOfManualResultsOfLatestSubmission) {
+    }
+
+    /**
+     * Finds the relevant result of a participation, i.e. the result with the latest completion date among the latest rated result of each submission, and the manual
+     * results of the latest submission
+     *
+     * @param resultScores the rated results of the participation ordered by submission and position in the submission
+     * @return the relevant result and the manual results of the latest submission
+     */
+    private ParticipationScore calculateParticipationScore(List<ExamResultScoreDTO> resultScores) {
+        ExamResultScoreDTO relevantResult = null;
+        List<ExamResultScoreDTO> resultsOfLatestSubmission = null;
+        int submissionStart = 0;
+        for (int i = 1; i <= resultScores.size(); i++) {
+            if (i < resultScores.size() && resultScores.get(i).submissionId().equals(resultScores.get(submissionStart).submissionId())) {
+                continue;
+            }
+            List<ExamResultScoreDTO> resultsOfSubmission = resultScores.subList(submissionStart, i);
+            submissionStart = i;
+
+            // we are only interested in the latest result of the submission and only if it has a completion date and a score
+            ExamResultScoreDTO latestResult = resultsOfSubmission.get(resultsOfSubmission.size() - 1);
+            if (latestResult.completionDate() != null && latestResult.score() != null
+                    && (relevantResult == null || latestResult.completionDate().isAfter(relevantResult.completionDate()))) {
+                relevantResult = latestResult;
+            }
+            if (resultsOfLatestSubmission == null || isLaterSubmission(resultsOfSubmission.get(0), resultsOfLatestSubmission.get(0))) {
+                resultsOfLatestSubmission = resultsOfSubmission;
+            }
         }
-        else if (exercise instanceof FileUploadExercise) {
-            FileUploadSubmission textSubmission = (FileUploadSubmission) submissions.iterator().next();
-            return textSubmission.getFilePath() != null && !textSubmission.getFilePath().isEmpty();
+        if (resultsOfLatestSubmission == null) {
+            return new ParticipationScore(null, null, 0);
         }
-        else if (exercise instanceof TextExercise) {
-            TextSubmission textSubmission = (TextSubmission) submissions.iterator().next();
-            return textSubmission.getText() != null && !textSubmission.getText().isBlank();
+        List<ExamResultScoreDTO> manualResults = resultsOfLatestSubmission.stream().filter(result -> result.assessmentType() != AssessmentType.AUTOMATIC).toList();
+        return new ParticipationScore(relevantResult, manualResults.isEmpty() ? null : manualResults.get(0), manualResults.size());
+    }
+
+    /**
+     * Compares the submissions of two results like {@link de.tum.in.www1.artemis.domain.participation.Participation#findLatestSubmission()}
+     */
+    private static boolean isLaterSubmission(ExamResultScoreDTO submission, ExamResultScoreDTO otherSubmission) {
+        if (submission.submissionDate() == null || otherSubmission.submissionDate() == null) {
+            return submission.submissionId() > otherSubmission.submissionId();
         }
-        else if (exercise instanceof ModelingExercise) {
-            ModelingSubmission modelingSubmission = (ModelingSubmission) submissions.iterator().next();
+        return submission.submissionDate().isAfter(otherSubmission.submissionDate());
+    }
+
+    /**
+     * Finds the participations of the exam with a non-empty submission that has a rated result, i.e. the participations in which the student attempted to solve the exercise
+     *
+     * @param examId the id of the exam
+     * @return the ids of the participations
+     */
+    private Set<Long> findParticipationIdsWithNonEmptySubmission(long examId) {
+        Set<Long> participationIds = new HashSet<>();
+        participationIds.addAll(submissionRepository.findParticipationIdsWithManualProgrammingSubmissionByExamId(examId));
+        participationIds.addAll(submissionRepository.findParticipationIdsWithNonEmptyTextSubmissionByExamId(examId));
+        participationIds.addAll(submissionRepository.findParticipationIdsWithNonEmptyFileUploadSubmissionByExamId(examId));
+        participationIds.addAll(submissionRepository.findParticipationIdsWithNonEmptyQuizSubmissionByExamId(examId));
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (ParticipationModelDTO participationModel : submissionRepository.findParticipationModelsByExamId(examId)) {
+            ModelingSubmission modelingSubmission = new ModelingSubmission();
+            modelingSubmission.setModel(participationModel.model());
+            modelingSubmission.setExplanationText(participationModel.explanationText());
             try {
-                return !modelingSubmission.isEmpty(jacksonObjectMapper);
+                if (!modelingSubmission.isEmpty(objectMapper)) {
+                    participationIds.add(participationModel.participationId());
+                }
             }
             catch (Exception e) {
                 // Then the student most likely submitted something which breaks the model, if parsing fails
-                return true;
+                participationIds.add(participationModel.participationId());
             }
         }
-        else if (exercise instanceof QuizExercise) {
-            QuizSubmission quizSubmission = (QuizSubmission) submissions.iterator().next();
-            return quizSubmission != null && !quizSubmission.getSubmittedAnswers().isEmpty();
-        }
-        else {
-            throw new IllegalArgumentException("The exercise type of the exercise with id " + exercise.getId() + " is not supported");
-        }
+        return participationIds;
     }
 
     /**
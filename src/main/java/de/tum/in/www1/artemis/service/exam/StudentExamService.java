@@ -2,14 +2,18 @@ package de.tum.in.www1.artemis.service.exam;
 
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
 
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -31,6 +35,8 @@ import de.tum.in.www1.artemis.service.SubmissionVersionService;
 import de.tum.in.www1.artemis.service.messaging.InstanceMessageSendService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseParticipationService;
 import de.tum.in.www1.artemis.service.scheduled.ProgrammingExerciseScheduleService;
+import de.tum.in.www1.artemis.web.rest.dto.ExamExerciseStartProgressDTO;
+import de.tum.in.www1.artemis.web.rest.dto.StudentInitializationStateDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
@@ -74,11 +80,28 @@ public class StudentExamService {
 
     private final InstanceMessageSendService instanceMessageSendService;
 
+    private final int participationBatchSize;
+
+    private final long programmingExerciseStartIntervalNanos;
+
+    private final Semaphore programmingExerciseStartsInFlight;
+
+    private final ExecutorService programmingExerciseStartExecutor;
+
+    // the time at which the next programming exercise participation may be started on this node, see waitForNextProgrammingExerciseStart()
+    private final AtomicLong nextProgrammingExerciseStartNanos = new AtomicLong(System.nanoTime());
+
+    // the progress of the latest start of the exercises of each exam
+    private final Map<Long, ExerciseStartProgress> exerciseStartProgress = new ConcurrentHashMap<>();
+
     public StudentExamService(StudentExamRepository studentExamRepository, UserRepository userRepository, ParticipationService participationService,
             QuizSubmissionRepository quizSubmissionRepository, TextSubmissionRepository textSubmissionRepository, ModelingSubmissionRepository modelingSubmissionRepository,
             SubmissionVersionService submissionVersionService, ProgrammingExerciseParticipationService programmingExerciseParticipationService, SubmissionService submissionService,
             ProgrammingSubmissionRepository programmingSubmissionRepository, StudentParticipationRepository studentParticipationRepository, ExamQuizService examQuizService,
-            ProgrammingExerciseRepository programmingExerciseRepository, ExamRepository examRepository, InstanceMessageSendService instanceMessageSendService) {
+            ProgrammingExerciseRepository programmingExerciseRepository, ExamRepository examRepository, InstanceMessageSendService instanceMessageSendService,
+            @Value("${artemis.exam.start.batch-size:100}") int participationBatchSize,
+            @Value("${artemis.exam.start.programming-max-in-flight:10}") int programmingExerciseMaxInFlight,
+            @Value("${artemis.exam.start.programming-rate:20}") double programmingExerciseStartsPerSecond) {
         this.participationService = participationService;
         this.studentExamRepository = studentExamRepository;
         this.userRepository = userRepository;
@@ -94,6 +117,15 @@ public class StudentExamService {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.examRepository = examRepository;
         this.instanceMessageSendService = instanceMessageSendService;
+        this.participationBatchSize = Math.max(1, participationBatchSize);
+        this.programmingExerciseStartIntervalNanos = programmingExerciseStartsPerSecond > 0 ? (long) (1e9 / programmingExerciseStartsPerSecond) : 0;
+        this.programmingExerciseStartsInFlight = new Semaphore(Math.max(1, programmingExerciseMaxInFlight));
+        this.programmingExerciseStartExecutor = Executors.newFixedThreadPool(Math.max(1, programmingExerciseMaxInFlight));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        programmingExerciseStartExecutor.shutdownNow();
     }
 
     /**
@@ -412,35 +444,208 @@ public class StudentExamService {
     }
 
     /**
-     * Starts all the exercises of all the student exams of an exam
+     * Starts all exercises of all student exams of the exam, i.e. creates the missing participations and initial submissions.
+     * <p>
+     * The existing participations are loaded with one query per exercise. The missing participations of quiz, modeling, text and file upload exercises and their initial
+     * submissions are created in batches. The participations of programming exercises need repositories and build plans, they are started in parallel, but at most
+     * {@code artemis.exam.start.programming-max-in-flight} at the same time and {@code artemis.exam.start.programming-rate} per second to not overload the version control and
+     * continuous integration server. The progress can be requested with {@link #getExerciseStartProgress(long)} in the meantime.
      *
-     * @param examId exam to which the student exams belong
-     * @return number of generated Participations
+     * @param examId the id of the exam
+     * @return the number of generated participations
      */
     public int startExercises(Long examId) {
         var exam = examRepository.findWithStudentExamsExercisesById(examId).orElseThrow(() -> new EntityNotFoundException("Exam", examId));
-        var studentExams = exam.getStudentExams();
-        List<StudentParticipation> generatedParticipations = Collections.synchronizedList(new ArrayList<>());
-        executeInParallel(() -> studentExams.parallelStream().forEach(studentExam -> setUpExerciseParticipationsAndSubmissions(studentExam, generatedParticipations)));
-        return generatedParticipations.size();
+
+        // the students of each exercise, all student exams reference the same exercise objects
+        Map<Exercise, Set<User>> studentsByExercise = new HashMap<>();
+        for (StudentExam studentExam : exam.getStudentExams()) {
+            for (Exercise exercise : studentExam.getExercises()) {
+                studentsByExercise.computeIfAbsent(exercise, ignored -> new HashSet<>()).add(studentExam.getUser());
+            }
+        }
+
+        // we start the exercise for all students without a participation that was already fully initialized
+        Map<Exercise, List<User>> studentsWithoutParticipation = new HashMap<>();
+        Map<Exercise, List<User>> studentsWithUninitializedParticipation = new HashMap<>();
+        for (var exerciseAndStudents : studentsByExercise.entrySet()) {
+            Exercise exercise = exerciseAndStudents.getKey();
+            Map<Long, InitializationState> initializationStates = studentParticipationRepository.findStudentInitializationStatesByExerciseId(exercise.getId()).stream()
+                    .collect(Collectors.toMap(StudentInitializationStateDTO::studentId,
+                            state -> Objects.requireNonNullElse(state.initializationState(), InitializationState.UNINITIALIZED), StudentExamService::maxInitializationState));
+            for (User student : exerciseAndStudents.getValue()) {
+                InitializationState initializationState = initializationStates.get(student.getId());
+                if (initializationState == null) {
+                    studentsWithoutParticipation.computeIfAbsent(exercise, ignored -> new ArrayList<>()).add(student);
+                }
+                else if (!initializationState.hasCompletedState(InitializationState.INITIALIZED)) {
+                    studentsWithUninitializedParticipation.computeIfAbsent(exercise, ignored -> new ArrayList<>()).add(student);
+                }
+            }
+        }
+
+        int total = Stream.concat(studentsWithoutParticipation.values().stream(), studentsWithUninitializedParticipation.values().stream()).mapToInt(List::size).sum();
+        ExerciseStartProgress progress = new ExerciseStartProgress(examId, total);
+        exerciseStartProgress.put(examId, progress);
+
+        int numberOfGeneratedParticipations = 0;
+        for (Exercise exercise : studentsByExercise.keySet()) {
+            List<User> newStudents = studentsWithoutParticipation.getOrDefault(exercise, List.of());
+            List<User> uninitializedStudents = studentsWithUninitializedParticipation.getOrDefault(exercise, List.of());
+            if (exercise instanceof ProgrammingExercise programmingExercise) {
+                List<User> students = Stream.concat(newStudents.stream(), uninitializedStudents.stream()).toList();
+                numberOfGeneratedParticipations += startProgrammingExercise(programmingExercise, students, progress);
+            }
+            else {
+                numberOfGeneratedParticipations += createParticipationsWithInitialSubmissions(exercise, newStudents, progress);
+                // existing participations are rare (e.g. if starting the exercises failed before), so we start them one by one
+                for (User student : uninitializedStudents) {
+                    numberOfGeneratedParticipations += startExercise(exercise, student, progress) ? 1 : 0;
+                }
+            }
+        }
+        progress.finishDate = ZonedDateTime.now();
+        return numberOfGeneratedParticipations;
+    }
+
+    /**
+     * @param examId the id of the exam
+     * @return the progress of the latest start of the exercises of the exam on this node or an empty optional if the exercises were not started on this node
+     */
+    public Optional<ExamExerciseStartProgressDTO> getExerciseStartProgress(long examId) {
+        return Optional.ofNullable(exerciseStartProgress.get(examId)).map(ExerciseStartProgress::toDTO);
+    }
+
+    /**
+     * Creates the participations of the students and their initial submissions with a few batched save operations instead of one by one. If a batch fails, the students
+     * of the batch start the exercise one by one, so that only the students whose participation cannot be created are affected.
+     */
+    private int createParticipationsWithInitialSubmissions(Exercise exercise, List<User> students, ExerciseStartProgress progress) {
+        int numberOfCreatedParticipations = 0;
+        for (int batchStart = 0; batchStart < students.size(); batchStart += participationBatchSize) {
+            List<User> batch = students.subList(batchStart, Math.min(students.size(), batchStart + participationBatchSize));
+            try {
+                SecurityUtils.setAuthorizationObject();
+                participationService.createParticipationsWithInitialSubmissions(exercise, batch);
+                numberOfCreatedParticipations += batch.size();
+                progress.started.addAndGet(batch.size());
+            }
+            catch (Exception ex) {
+                log.warn("Start exercise {} for {} students failed with exception: {}, starting it for each student separately", exercise.getId(), batch.size(),
+                        ex.getMessage(), ex);
+                for (User student : batch) {
+                    numberOfCreatedParticipations += startExercise(exercise, student, progress) ? 1 : 0;
+                }
+            }
+        }
+        return numberOfCreatedParticipations;
     }
 
-    private void executeInParallel(Runnable task) {
-        final int numberOfParallelThreads = 10;
-        ForkJoinPool forkJoinPool = new ForkJoinPool(numberOfParallelThreads);
-        Future<?> future = forkJoinPool.submit(task);
-        // Wait for the operation to complete
+    /**
+     * Starts the participations of the students in the programming exercise, which creates their repositories and build plans, in parallel but rate limited
+     */
+    private int startProgrammingExercise(ProgrammingExercise programmingExercise, List<User> students, ExerciseStartProgress progress) {
+        if (students.isEmpty()) {
+            return 0;
+        }
+        // Load lazy property
+        if (!Hibernate.isInitialized(programmingExercise.getTemplateParticipation())) {
+            final var programmingExerciseReloaded = programmingExerciseRepository.findByIdWithTemplateAndSolutionParticipationElseThrow(programmingExercise.getId());
+            programmingExercise.setTemplateParticipation(programmingExerciseReloaded.getTemplateParticipation());
+        }
+
+        List<CompletableFuture<Boolean>> starts = new ArrayList<>();
+        try {
+            for (User student : students) {
+                programmingExerciseStartsInFlight.acquire();
+                try {
+                    waitForNextProgrammingExerciseStart();
+                    starts.add(CompletableFuture.supplyAsync(() -> startExercise(programmingExercise, student, progress), programmingExerciseStartExecutor)
+                            .whenComplete((started, error) -> programmingExerciseStartsInFlight.release()));
+                }
+                catch (InterruptedException | RejectedExecutionException ex) {
+                    programmingExerciseStartsInFlight.release();
+                    throw ex;
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            log.error("Starting programming exercise {} got interrupted", programmingExercise.getId(), ex);
+            Thread.currentThread().interrupt();
+        }
+        catch (RejectedExecutionException ex) {
+            log.error("Starting programming exercise {} was stopped during shutdown", programmingExercise.getId(), ex);
+        }
+        CompletableFuture.allOf(starts.toArray(CompletableFuture[]::new)).join();
+        int numberOfStartedParticipations = (int) starts.stream().filter(CompletableFuture::join).count();
+
+        // Unlock Repositories if the exam starts within 5 minutes
+        if (numberOfStartedParticipations > 0 && ProgrammingExerciseScheduleService.getExamProgrammingExerciseUnlockDate(programmingExercise).isBefore(ZonedDateTime.now())) {
+            instanceMessageSendService.sendUnlockAllRepositories(programmingExercise.getId());
+        }
+        return numberOfStartedParticipations;
+    }
+
+    /**
+     * Waits until the next programming exercise participation may be started according to artemis.exam.start.programming-rate. The start times are reserved in advance, so
+     * that waiting callers are served in order.
+     */
+    private void waitForNextProgrammingExerciseStart() throws InterruptedException {
+        if (programmingExerciseStartIntervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long reservedStart = Math.max(now,
+                nextProgrammingExerciseStartNanos.getAndAccumulate(now, (nextStart, currentTime) -> Math.max(nextStart, currentTime) + programmingExerciseStartIntervalNanos));
+        if (reservedStart > now) {
+            TimeUnit.NANOSECONDS.sleep(reservedStart - now);
+        }
+    }
+
+    private boolean startExercise(Exercise exercise, User student, ExerciseStartProgress progress) {
+        // the start might run in another thread, which cannot access the authentication object of the caller
+        SecurityUtils.setAuthorizationObject();
         try {
-            future.get();
+            // this will also create initial (empty) submissions for quiz, text, modeling and file upload
+            participationService.startExercise(exercise, student, true);
+            progress.started.incrementAndGet();
+            return true;
         }
-        catch (InterruptedException e) {
-            log.error("Execute in parallel got interrupted while waiting for task to complete", e);
+        catch (Exception ex) {
+            log.warn("Start exercise {} for student {} failed with exception: {}", exercise.getId(), student.getId(), ex.getMessage(), ex);
+            progress.failed.incrementAndGet();
+            return false;
         }
-        catch (ExecutionException e) {
-            log.error("Execute in parallel failed, an exception was thrown", e.getCause());
+    }
+
+    private static InitializationState maxInitializationState(InitializationState first, InitializationState second) {
+        return first.hasCompletedState(second) ? first : second;
+    }
+
+    /**
+     * The progress of starting the exercises of an exam
+     */
+    private static final class ExerciseStartProgress {
+
+        private final long examId;
+
+        private final int total;
+
+        private final AtomicInteger started = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final ZonedDateTime startDate = ZonedDateTime.now();
+
+        private volatile ZonedDateTime finishDate;
+
+        private ExerciseStartProgress(long examId, int total) {
+            this.examId = examId;
+            this.total = total;
         }
-        finally {
-            forkJoinPool.shutdown();
+
+        private ExamExerciseStartProgressDTO toDTO() {
+            return new ExamExerciseStartProgressDTO(examId, total, started.get(), failed.get(), startDate, finishDate);
         }
     }
 
@@ -0,0 +1,45 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.Submission;
+import de.tum.in.www1.artemis.service.ActiveStudentSketchService;
+
+/**
+ * Adds the students of saved submissions to the active student sketches. As the listener is called while Hibernate flushes the submission, the sketches are only
+ * updated after the transaction was committed (see {@link ActiveStudentSketchService#addSubmissionAfterCommit(long)}).
+ */
+@Component
+public class SubmissionListener {
+
+    private final ActiveStudentSketchService activeStudentSketchService;
+
+    /**
+     * The {@link ActiveStudentSketchService} requires repositories, which require the {@link javax.persistence.EntityManager}, which instantiates this listener.
+     * To break this circular dependency we use lazy injection of the service here.
+     *
+     * @param activeStudentSketchService the active student sketch service that will be lazily injected by Spring
+     */
+    public SubmissionListener(@Lazy ActiveStudentSketchService activeStudentSketchService) {
+        this.activeStudentSketchService = activeStudentSketchService;
+    }
+
+    /**
+     * Adds the student of the submission to the active student sketch of the week of the submission
+     * <p>
+     * Will be called by Hibernate AFTER a submission is updated or created
+     *
+     * @param submission created or updated submission
+     */
+    @PostUpdate
+    @PostPersist
+    public void addActiveStudent(Submission submission) {
+        if (submission.getId() != null && submission.getSubmissionDate() != null) {
+            activeStudentSketchService.addSubmissionAfterCommit(submission.getId());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.tum.in.www1.artemis.service.listeners;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.user.UserPrincipalCache;
+
+/**
+ * Removes saved and deleted users from the {@link UserPrincipalCache}. Changes of only the groups do not update the user entity, they are invalidated by the save
+ * methods of {@link de.tum.in.www1.artemis.repository.UserRepositoryCustom} instead.
+ */
+@Component
+public class UserListener {
+
+    private final UserPrincipalCache userPrincipalCache;
+
+    /**
+     * The {@link UserPrincipalCache} is used by the repositories, which require the {@link javax.persistence.EntityManager}, which instantiates this listener.
+     * To break this circular dependency we use lazy injection of the cache here.
+     *
+     * @param userPrincipalCache the user principal cache that will be lazily injected by Spring
+     */
+    public UserListener(@Lazy UserPrincipalCache userPrincipalCache) {
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    /**
+     * Removes the user from the cache
+     * <p>
+     * Will be called by Hibernate AFTER a user is created, updated or deleted
+     *
+     * @param user created, updated or deleted user
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidateUser(User user) {
+        userPrincipalCache.invalidate(user.getLogin());
+    }
+}
@@ -0,0 +1,71 @@
+package de.tum.in.www1.artemis.service.metis;
+
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.metis.CourseWideContext;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+import de.tum.in.www1.artemis.web.rest.dto.PostContextFilter;
+
+/**
+ * Caches the number of posts matching a filter on this node, so that the total number of posts of a paged request does not require counting all matching posts for
+ * every page.
+ * <p>
+ * Cached counts are invalidated on all nodes (via a Hazelcast topic) when a post, answer post or reaction of the course changes. Other changes, e.g. deleting an exercise
+ * with its posts, become visible after the time to live at the latest.
+ */
+@Service
+public class PostCountCache {
+
+    private static final String HAZELCAST_POST_COUNT_INVALIDATION_TOPIC = "metis-post-count-invalidation";
+
+    // different search texts create different entries, so the least recently used counts are evicted when the cache becomes too large
+    private static final int MAX_CACHED_COUNTS = 10000;
+
+    private final InvalidatableCache<PostCountKey, Long, Long> cachedPostCounts;
+
+    /**
+     * The user id is only part of the key if the filter depends on the user
+     */
+    private record PostCountKey(long courseId, CourseWideContext courseWideContext, Long exerciseId, Long lectureId, String searchText, Boolean filterToUnresolved,
+            Boolean filterToOwn, Boolean filterToAnsweredOrReacted, Long userId) {
+    }
+
+    public PostCountCache(HazelcastInstance hazelcastInstance, @Value("${artemis.metis.post-count-cache.time-to-live:60}") int timeToLiveInSeconds) {
+        this.cachedPostCounts = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_POST_COUNT_INVALIDATION_TOPIC, timeToLiveInSeconds, MAX_CACHED_COUNTS,
+                key -> Set.of(key.courseId()));
+    }
+
+    /**
+     * Returns the cached number of posts matching the filter or counts (and caches) them if they are not cached or expired
+     *
+     * @param postContextFilter the filter of the request
+     * @param userId            the id of the requesting user
+     * @param postCounter       counts the posts matching the filter
+     * @return the number of posts matching the filter
+     */
+    public long getOrCount(PostContextFilter postContextFilter, long userId, LongSupplier postCounter) {
+        if (!cachedPostCounts.isEnabled()) {
+            return postCounter.getAsLong();
+        }
+        boolean dependsOnUser = postContextFilter.getFilterToOwn() != null || postContextFilter.getFilterToAnsweredOrReacted() != null;
+        PostCountKey key = new PostCountKey(postContextFilter.getCourseId(), postContextFilter.getCourseWideContext(), postContextFilter.getExerciseId(),
+                postContextFilter.getLectureId(), postContextFilter.getSearchText(), postContextFilter.getFilterToUnresolved(), postContextFilter.getFilterToOwn(),
+                postContextFilter.getFilterToAnsweredOrReacted(), dependsOnUser ? userId : null);
+        return cachedPostCounts.getOrLoad(key, postCounter::getAsLong);
+    }
+
+    /**
+     * Removes the cached counts of the course on all nodes
+     *
+     * @param courseId the id of the course
+     */
+    public void invalidate(long courseId) {
+        cachedPostCounts.invalidate(courseId);
+    }
+}
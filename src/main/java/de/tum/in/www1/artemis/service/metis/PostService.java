@@ -1,10 +1,7 @@
 package de.tum.in.www1.artemis.service.metis;
 
-import static de.tum.in.www1.artemis.config.Constants.VOTE_EMOJI_ID;
-
-import java.util.Comparator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.validation.Valid;
@@ -18,17 +15,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
-import com.google.common.collect.Lists;
-
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.Lecture;
 import de.tum.in.www1.artemis.domain.User;
 import de.tum.in.www1.artemis.domain.enumeration.DisplayPriority;
-import de.tum.in.www1.artemis.domain.enumeration.SortingOrder;
 import de.tum.in.www1.artemis.domain.metis.CourseWideContext;
 import de.tum.in.www1.artemis.domain.metis.Post;
-import de.tum.in.www1.artemis.domain.metis.PostSortCriterion;
 import de.tum.in.www1.artemis.domain.metis.Reaction;
 import de.tum.in.www1.artemis.repository.CourseRepository;
 import de.tum.in.www1.artemis.repository.ExerciseRepository;
@@ -51,6 +44,9 @@ public class PostService extends PostingService {
 
     public static final int TOP_K_SIMILARITY_RESULTS = 5;
 
+    // number of course posts sharing the most words with a new post that are compared with the similarity strategy
+    private static final int MAX_SIMILARITY_CANDIDATES = 50;
+
     private final UserRepository userRepository;
 
     private final PostRepository postRepository;
@@ -59,14 +55,21 @@ public class PostService extends PostingService {
 
     private final PostSimilarityComparisonStrategy postContentCompareStrategy;
 
+    private final PostCountCache postCountCache;
+
+    private final PostSimilarityIndex postSimilarityIndex;
+
     protected PostService(CourseRepository courseRepository, AuthorizationCheckService authorizationCheckService, UserRepository userRepository, PostRepository postRepository,
             ExerciseRepository exerciseRepository, LectureRepository lectureRepository, GroupNotificationService groupNotificationService,
-            PostSimilarityComparisonStrategy postContentCompareStrategy, SimpMessageSendingOperations messagingTemplate) {
-        super(courseRepository, exerciseRepository, lectureRepository, postRepository, authorizationCheckService, messagingTemplate);
+            PostSimilarityComparisonStrategy postContentCompareStrategy, SimpMessageSendingOperations messagingTemplate, PostCountCache postCountCache,
+            PostSimilarityIndex postSimilarityIndex) {
+        super(courseRepository, exerciseRepository, lectureRepository, postRepository, authorizationCheckService, messagingTemplate, postCountCache);
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.groupNotificationService = groupNotificationService;
         this.postContentCompareStrategy = postContentCompareStrategy;
+        this.postCountCache = postCountCache;
+        this.postSimilarityIndex = postSimilarityIndex;
     }
 
     /**
@@ -98,11 +101,13 @@ public class PostService extends PostingService {
             // display priority of announcement is set to pinned per default
             post.setDisplayPriority(DisplayPriority.PINNED);
             Post savedPost = postRepository.save(post);
+            postSimilarityIndex.addOrUpdate(courseId, savedPost);
             sendNotification(savedPost, course);
             broadcastForPost(new MetisPostDTO(savedPost, MetisPostAction.CREATE_POST), course);
             return savedPost;
         }
         Post savedPost = postRepository.save(post);
+        postSimilarityIndex.addOrUpdate(courseId, savedPost);
 
         broadcastForPost(new MetisPostDTO(savedPost, MetisPostAction.CREATE_POST), course);
         sendNotification(savedPost, course);
@@ -158,6 +163,7 @@ public class PostService extends PostingService {
         }
 
         Post updatedPost = postRepository.save(existingPost);
+        postSimilarityIndex.addOrUpdate(courseId, updatedPost);
 
         if (updatedPost.getExercise() != null) {
             // protect sample solution, grading instructions, etc.
@@ -206,187 +212,68 @@ public class PostService extends PostingService {
     }
 
     /**
+     * Checks course, user and context validity and retrieves the posts that match the given context and filters.
+     * Filtering, searching, sorting and paging happens in the database, so that only the posts of the requested page are loaded
+     *
      * @param pagingEnabled     fetches single page instead of all entities
      * @param pageable          requested page and page size
      * @param postContextFilter request object to fetch posts
      * @return page of posts that match the given context
      */
     public Page<Post> getPostsInCourse(boolean pagingEnabled, Pageable pageable, @Valid PostContextFilter postContextFilter) {
-
-        List<Post> postsInCourse;
-        // no filter -> get all posts in course
-        if (postContextFilter.getCourseWideContext() == null && postContextFilter.getExerciseId() == null && postContextFilter.getLectureId() == null) {
-            postsInCourse = this.getAllCoursePosts(postContextFilter);
-        }
-        // filter by course-wide context
-        else if (postContextFilter.getCourseWideContext() != null && postContextFilter.getExerciseId() == null && postContextFilter.getLectureId() == null) {
-            postsInCourse = this.getAllPostsByCourseWideContext(postContextFilter);
-        }
-        // filter by exercise
-        else if (postContextFilter.getCourseWideContext() == null && postContextFilter.getExerciseId() != null && postContextFilter.getLectureId() == null) {
-            postsInCourse = this.getAllExercisePosts(postContextFilter);
-        }
-        // filter by lecture
-        else if (postContextFilter.getCourseWideContext() == null && postContextFilter.getExerciseId() == null && postContextFilter.getLectureId() != null) {
-            postsInCourse = this.getAllLecturePosts(postContextFilter);
-        }
-        else {
-            throw new BadRequestAlertException("A new post cannot be associated with more than one context", METIS_POST_ENTITY_NAME, "ambiguousContext");
-        }
-
-        // search by text or #post
-        if (postContextFilter.getSearchText() != null) {
-            postsInCourse = postsInCourse.stream().filter(post -> postFilter(post, postContextFilter.getSearchText())).collect(Collectors.toList());
-        }
+        final User user = userRepository.getUserWithGroupsAndAuthorities();
+        preCheckPostContext(user, postContextFilter);
 
         final Page<Post> postsPage;
         if (pagingEnabled) {
-            int startIndex = pageable.getPageNumber() * pageable.getPageSize();
-            int endIndex = Math.min(startIndex + pageable.getPageSize(), postsInCourse.size());
-
-            // sort (only used by CourseDiscussionsPage, which has pagination enabled)
-            postsInCourse.sort((postA, postB) -> postComparator(postA, postB, postContextFilter.getPostSortCriterion(), postContextFilter.getSortingOrder()));
-
-            try {
-                postsPage = new PageImpl<>(postsInCourse.subList(startIndex, endIndex), pageable, postsInCourse.size());
+            long numberOfPosts = postCountCache.getOrCount(postContextFilter, user.getId(), () -> postRepository.countPostsInCourse(postContextFilter, user.getId()));
+            final List<Post> posts;
+            if (postContextFilter.getAfterPostId() != null) {
+                // keyset pagination: the page starts after the given post, independent of the page number
+                posts = postRepository.findPostsInCourse(postContextFilter, user.getId(), true, 0, pageable.getPageSize());
             }
-            catch (IllegalArgumentException ex) {
-                throw new BadRequestAlertException("Not enough posts to fetch " + pageable.getPageNumber() + "'th page", METIS_POST_ENTITY_NAME, "invalidPageRequest");
+            else {
+                if (pageable.getOffset() > numberOfPosts) {
+                    throw new BadRequestAlertException("Not enough posts to fetch " + pageable.getPageNumber() + "'th page", METIS_POST_ENTITY_NAME, "invalidPageRequest");
+                }
+                // sort (only used by CourseDiscussionsPage, which has pagination enabled)
+                posts = postRepository.findPostsInCourse(postContextFilter, user.getId(), true, (int) pageable.getOffset(), pageable.getPageSize());
             }
+            postsPage = new PageImpl<>(posts, pageable, numberOfPosts);
         }
         else {
-            postsPage = new PageImpl<>(postsInCourse);
+            postsPage = new PageImpl<>(postRepository.findPostsInCourse(postContextFilter, user.getId(), false, 0, 0));
         }
 
-        return postsPage;
-    }
-
-    /**
-     * Checks course, user and post validity,
-     * retrieves all posts for a course by its id
-     * and ensures that sensitive information is filtered out
-     *
-     * @param courseId id of the course the post belongs to
-     * @return list of posts that belong to the course
-     */
-    public List<Post> getAllCoursePosts(Long courseId) {
-        final User user = userRepository.getUserWithGroupsAndAuthorities();
-
-        // checks
-        final Course course = preCheckUserAndCourse(user, courseId);
-        authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.STUDENT, course, null);
-
-        // retrieve posts
-        List<Post> coursePosts = postRepository.findPostsForCourse(courseId, null, null, null, null, null);
         // protect sample solution, grading instructions, etc.
-        coursePosts.stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
+        postsPage.getContent().stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
 
-        return coursePosts;
-    }
-
-    /**
-     * Checks course, user and post validity,
-     * retrieves and filters posts for a course by its id
-     * and ensures that sensitive information is filtered out
-     *
-     * @param postContextFilter filter object
-     * @return page of posts that belong to the course
-     */
-    public List<Post> getAllCoursePosts(PostContextFilter postContextFilter) {
-        final User user = userRepository.getUserWithGroupsAndAuthorities();
-
-        // checks
-        final Course course = preCheckUserAndCourse(user, postContextFilter.getCourseId());
-        authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.STUDENT, course, null);
-
-        // retrieve posts
-        List<Post> coursePosts;
-        coursePosts = postRepository.findPostsForCourse(postContextFilter.getCourseId(), null, postContextFilter.getFilterToUnresolved(), postContextFilter.getFilterToOwn(),
-                postContextFilter.getFilterToAnsweredOrReacted(), user.getId());
-
-        // protect sample solution, grading instructions, etc.
-        coursePosts.stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
-
-        return coursePosts;
+        return postsPage;
     }
 
     /**
-     * Checks course, user and post validity,
-     * retrieves and filters posts with a certain course-wide context by course id
-     * and ensures that sensitive information is filtered out
+     * Checks that the post context filter contains at most one context (course-wide context, exercise or lecture)
+     * and that the requesting user is allowed to see the posts in this context
      *
+     * @param user              requesting user
      * @param postContextFilter filter object
-     * @return page of posts for a certain course-wide context
      */
-    public List<Post> getAllPostsByCourseWideContext(PostContextFilter postContextFilter) {
-        final User user = userRepository.getUserWithGroupsAndAuthorities();
-
-        // checks
+    private void preCheckPostContext(User user, PostContextFilter postContextFilter) {
+        int numberOfContexts = (postContextFilter.getCourseWideContext() != null ? 1 : 0) + (postContextFilter.getExerciseId() != null ? 1 : 0)
+                + (postContextFilter.getLectureId() != null ? 1 : 0);
+        if (numberOfContexts > 1) {
+            throw new BadRequestAlertException("A new post cannot be associated with more than one context", METIS_POST_ENTITY_NAME, "ambiguousContext");
+        }
         final Course course = preCheckUserAndCourse(user, postContextFilter.getCourseId());
-        authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.STUDENT, course, null);
-
-        // retrieve posts
-        List<Post> coursePosts;
-        // retrieve posts
-        coursePosts = postRepository.findPostsForCourse(postContextFilter.getCourseId(), postContextFilter.getCourseWideContext(), postContextFilter.getFilterToUnresolved(),
-                postContextFilter.getFilterToOwn(), postContextFilter.getFilterToAnsweredOrReacted(), user.getId());
-
-        // protect sample solution, grading instructions, etc.
-        coursePosts.stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
-
-        return coursePosts;
-    }
-
-    /**
-     * Checks course, user, exercise and post validity,
-     * retrieves and filters posts for an exercise by its id
-     * and ensures that sensitive information is filtered out
-     *
-     * @param postContextFilter filter object
-     * @return page of posts that belong to the exercise
-     */
-    public List<Post> getAllExercisePosts(PostContextFilter postContextFilter) {
-        final User user = userRepository.getUserWithGroupsAndAuthorities();
-
-        // checks
-        preCheckUserAndCourse(user, postContextFilter.getCourseId());
-        preCheckExercise(user, postContextFilter.getCourseId(), postContextFilter.getExerciseId());
-
-        // retrieve posts
-        List<Post> exercisePosts;
-        exercisePosts = postRepository.findPostsByExerciseId(postContextFilter.getExerciseId(), postContextFilter.getFilterToUnresolved(), postContextFilter.getFilterToOwn(),
-                postContextFilter.getFilterToAnsweredOrReacted(), user.getId());
-
-        // protect sample solution, grading instructions, etc.
-        exercisePosts.forEach(post -> post.getExercise().filterSensitiveInformation());
-
-        return exercisePosts;
-    }
-
-    /**
-     * Checks course, user, lecture and post validity,
-     * retrieves and filters posts for a lecture by its id
-     * and ensures that sensitive information is filtered out
-     *
-     * @param postContextFilter filter object
-     * @return page of posts that belong to the lecture
-     */
-    public List<Post> getAllLecturePosts(PostContextFilter postContextFilter) {
-        final User user = userRepository.getUserWithGroupsAndAuthorities();
-
-        // checks
-        preCheckUserAndCourse(user, postContextFilter.getCourseId());
-        preCheckLecture(user, postContextFilter.getCourseId(), postContextFilter.getLectureId());
-
-        // retrieve posts
-        List<Post> lecturePosts;
-        lecturePosts = postRepository.findPostsByLectureId(postContextFilter.getLectureId(), postContextFilter.getFilterToUnresolved(), postContextFilter.getFilterToOwn(),
-                postContextFilter.getFilterToAnsweredOrReacted(), user.getId());
-
-        // protect sample solution, grading instructions, etc.
-        lecturePosts.stream().map(Post::getExercise).filter(Objects::nonNull).forEach(Exercise::filterSensitiveInformation);
-
-        return lecturePosts;
+        if (postContextFilter.getExerciseId() != null) {
+            preCheckExercise(user, postContextFilter.getCourseId(), postContextFilter.getExerciseId());
+        }
+        else if (postContextFilter.getLectureId() != null) {
+            preCheckLecture(user, postContextFilter.getCourseId(), postContextFilter.getLectureId());
+        }
+        else {
+            authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.STUDENT, course, null);
+        }
     }
 
     /**
@@ -408,6 +295,7 @@ public class PostService extends PostingService {
 
         // delete
         postRepository.deleteById(postId);
+        postSimilarityIndex.remove(courseId, postId);
         broadcastForPost(new MetisPostDTO(post, MetisPostAction.DELETE_POST), course);
     }
 
@@ -529,18 +417,41 @@ public class PostService extends PostingService {
     }
 
     /**
-     * Calculates k similar posts based on the underlying content comparison strategy
+     * Calculates k similar posts based on the underlying content comparison strategy.
+     * Only the course posts sharing the most words with the post are compared with the strategy, so that the check does not depend on the number of course posts
      *
      * @param courseId id of the course in which similar posts are searched for
      * @param post     post that is to be created and check for similar posts beforehand
      * @return list of similar posts
      */
     public List<Post> getSimilarPosts(Long courseId, Post post) {
-        List<Post> coursePosts = this.getAllCoursePosts(courseId);
+        final User user = userRepository.getUserWithGroupsAndAuthorities();
+
+        // checks
+        final Course course = preCheckUserAndCourse(user, courseId);
+        authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.STUDENT, course, null);
 
-        // sort course posts by calculated similarity scores
-        coursePosts.sort(Comparator.comparing(coursePost -> postContentCompareStrategy.performSimilarityCheck(post, coursePost)));
-        return Lists.reverse(coursePosts).stream().limit(TOP_K_SIMILARITY_RESULTS).toList();
+        // sort candidates by calculated similarity scores, candidates with more shared words first for the same score
+        List<Post> candidates = new ArrayList<>(postSimilarityIndex.findCandidates(courseId, post, MAX_SIMILARITY_CANDIDATES));
+        candidates.sort(Comparator.comparing((Post candidate) -> postContentCompareStrategy.performSimilarityCheck(post, candidate)).reversed());
+        List<Long> similarPostIds = candidates.stream().limit(TOP_K_SIMILARITY_RESULTS).map(Post::getId).toList();
+
+        Map<Long, Post> similarPostsById = postRepository.findAllById(similarPostIds).stream().collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> similarPosts = new ArrayList<>();
+        for (Long similarPostId : similarPostIds) {
+            Post similarPost = similarPostsById.get(similarPostId);
+            if (similarPost == null) {
+                // the post was deleted together with its exercise or lecture
+                postSimilarityIndex.remove(courseId, similarPostId);
+                continue;
+            }
+            // protect sample solution, grading instructions, etc.
+            if (similarPost.getExercise() != null) {
+                similarPost.getExercise().filterSensitiveInformation();
+            }
+            similarPosts.add(similarPost);
+        }
+        return similarPosts;
     }
 
     /**
@@ -556,163 +467,4 @@ public class PostService extends PostingService {
             authorizationCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.INSTRUCTOR, course, user);
         }
     }
-
-    /**
-     * sorts posts by following criteria
-     * 1. criterion: displayPriority is PINNED -> pinned posts come first
-     * 2. criterion: displayPriority is ARCHIVED  -> archived posts come last
-     * -- in between pinned and archived posts --
-     * 3. criterion: currently selected criterion in combination with currently selected order
-     *
-     * @param postA             post 1 to be compared
-     * @param postB             post 2 to be compared
-     * @param postSortCriterion criterion to sort posts (CREATION_DATE, #VOTES,#ANSWERS)
-     * @param sortingOrder      direction of sorting (ASC, DESC)
-     * @return number indicating the order of two elements
-     */
-    public static int postComparator(Post postA, Post postB, PostSortCriterion postSortCriterion, SortingOrder sortingOrder) {
-        // sort by priority
-        int order = compareByPriority(postA, postB);
-        if (order != 0) {
-            return order;
-        }
-
-        // sort by votes via voteEmojiCount
-        if (postSortCriterion == PostSortCriterion.VOTES) {
-            order = compareByVotes(postA, postB, sortingOrder);
-            if (order != 0) {
-                return order;
-            }
-        }
-
-        // sort by creation date
-        if (postSortCriterion == PostSortCriterion.CREATION_DATE) {
-            order = compareByCreationDate(postA, postB, sortingOrder);
-            if (order != 0) {
-                return order;
-            }
-        }
-
-        // sort by answer count
-        if (postSortCriterion == PostSortCriterion.ANSWER_COUNT) {
-            order = compareByAnswerCount(postA, postB, sortingOrder);
-            if (order != 0) {
-                return order;
-            }
-        }
-        return 0;
-    }
-
-    private static int compareByPriority(Post postA, Post postB) {
-        if ((postA.getCourseWideContext() == CourseWideContext.ANNOUNCEMENT && postA.getDisplayPriority() == DisplayPriority.PINNED
-                && postB.getCourseWideContext() != CourseWideContext.ANNOUNCEMENT)
-                || ((postA.getDisplayPriority() == DisplayPriority.PINNED && postB.getDisplayPriority() != DisplayPriority.PINNED)
-                        || postA.getDisplayPriority() != DisplayPriority.ARCHIVED && postB.getDisplayPriority() == DisplayPriority.ARCHIVED)) {
-            return -1;
-        }
-        else if ((postA.getCourseWideContext() != CourseWideContext.ANNOUNCEMENT && postB.getCourseWideContext() == CourseWideContext.ANNOUNCEMENT
-                && postB.getDisplayPriority() == DisplayPriority.PINNED)
-                || (postA.getDisplayPriority() != DisplayPriority.PINNED && postB.getDisplayPriority() == DisplayPriority.PINNED)
-                || postA.getDisplayPriority() == DisplayPriority.ARCHIVED && postB.getDisplayPriority() != DisplayPriority.ARCHIVED) {
-            return 1;
-        }
-        else {
-            return 0;
-        }
-    }
-
-    private static int compareByVotes(Post postA, Post postB, SortingOrder sortingOrder) {
-        int comparisonResult = 0;
-
-        int postAVoteEmojiCount = 0;
-        int postBVoteEmojiCount = 0;
-
-        if (postA.getReactions() != null) {
-            postAVoteEmojiCount = (int) postA.getReactions().stream().filter((Reaction reaction) -> reaction.getEmojiId().equals(VOTE_EMOJI_ID)).count();
-        }
-
-        if (postB.getReactions() != null) {
-            postBVoteEmojiCount = (int) postB.getReactions().stream().filter((Reaction reaction) -> reaction.getEmojiId().equals(VOTE_EMOJI_ID)).count();
-        }
-
-        if (postAVoteEmojiCount > postBVoteEmojiCount) {
-            comparisonResult = 1;
-        }
-        else if (postAVoteEmojiCount < postBVoteEmojiCount) {
-            comparisonResult = -1;
-        }
-
-        return applySortingOrder(sortingOrder, comparisonResult);
-    }
-
-    private static int compareByCreationDate(Post postA, Post postB, SortingOrder sortingOrder) {
-        int comparisonResult = 0;
-
-        if (postA.getCreationDate().compareTo(postB.getCreationDate()) > 0) {
-            comparisonResult = 1;
-        }
-        else if (postA.getCreationDate().compareTo(postB.getCreationDate()) < 0) {
-            comparisonResult = -1;
-        }
-
-        return applySortingOrder(sortingOrder, comparisonResult);
-    }
-
-    private static int compareByAnswerCount(Post postA, Post postB, SortingOrder sortingOrder) {
-        int comparisonResult = 0;
-
-        int postAAnswerCount = 0;
-        int postBAnswerCount = 0;
-
-        if (postA.getAnswers() != null) {
-            postAAnswerCount = postA.getAnswers().size();
-        }
-        if (postB.getAnswers() != null) {
-            postBAnswerCount = postB.getAnswers().size();
-        }
-
-        if (postAAnswerCount > postBAnswerCount) {
-            comparisonResult = 1;
-        }
-        else if (postAAnswerCount < postBAnswerCount) {
-            comparisonResult = -1;
-        }
-
-        return applySortingOrder(sortingOrder, comparisonResult);
-    }
-
-    private static int applySortingOrder(SortingOrder sortingOrder, int comparisonResult) {
-        if (SortingOrder.ASCENDING == sortingOrder) {
-            return comparisonResult;
-        }
-        else {
-            return -1 * comparisonResult;
-        }
-    }
-
-    /**
-     * filters posts on a search string in a match-all-manner
-     * - currentPostContentFilter: post is only kept if the search string (which is not a #id pattern) is included in either the post title, content or tag (all strings lowercased)
-     *
-     * @param post          checked post for including searchText
-     * @param searchText    text to be searched within posts
-     * @return boolean predicate if the post is kept (true) or filtered out (false)
-     */
-    public static boolean postFilter(Post post, String searchText) {
-        boolean keepPost = true;
-
-        if (searchText != null && searchText.trim().length() > 0) {
-            // check if the search text is either contained in the title or in the content
-            String lowerCasedSearchString = searchText.toLowerCase();
-            // if searchText starts with a # and is followed by a post id, filter for post with id
-            if (lowerCasedSearchString.startsWith("#") && (lowerCasedSearchString.substring(1) != null && !lowerCasedSearchString.substring(1).isBlank())) {
-                return post.getId() == Integer.parseInt(lowerCasedSearchString.substring(1));
-            }
-            // regular search on content, title, and tags
-            return post.getTitle() != null && post.getTitle().toLowerCase().contains(lowerCasedSearchString)
-                    || post.getContent() != null && post.getContent().toLowerCase().contains(lowerCasedSearchString)
-                    || post.getTags() != null && String.join(" ", post.getTags()).toLowerCase().contains(lowerCasedSearchString);
-        }
-        return keepPost;
-    }
 }
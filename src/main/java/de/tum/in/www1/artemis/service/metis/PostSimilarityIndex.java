@@ -0,0 +1,171 @@
+package de.tum.in.www1.artemis.service.metis;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.repository.metis.PostRepository;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+
+/**
+ * Keeps an inverted index of the words in the title, content and tags of the posts of each course on this node, so that the similarity check for a new post only has
+ * to compare the new post with the course posts sharing the most words with it instead of with all course posts.
+ * <p>
+ * The index of a course is built from the database when it is first used and is then updated incrementally when a post is created, updated or deleted on this node.
+ * Changes on other nodes remove the index of the course (via a Hazelcast topic), so that it is rebuilt on the next similarity check. The index is also rebuilt after
+ * the time to live, so that changes which were not reported (e.g. posts deleted together with their exercise) are reflected eventually.
+ */
+@Service
+public class PostSimilarityIndex {
+
+    private static final String HAZELCAST_POST_SIMILARITY_INDEX_INVALIDATION_TOPIC = "metis-post-similarity-index-invalidation";
+
+    // the indexes of the least recently used courses are removed if more courses are indexed
+    private static final int MAX_INDEXED_COURSES = 200;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // words with fewer characters are not specific enough to find similar posts
+    private static final int MIN_WORD_LENGTH = 2;
+
+    private final PostRepository postRepository;
+
+    private final InvalidatableCache<Long, Long, CourseIndex> courseIndexes;
+
+    public PostSimilarityIndex(PostRepository postRepository, HazelcastInstance hazelcastInstance,
+            @Value("${artemis.metis.similarity-index.time-to-live:3600}") int timeToLiveInSeconds) {
+        this.postRepository = postRepository;
+        this.courseIndexes = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_POST_SIMILARITY_INDEX_INVALIDATION_TOPIC, timeToLiveInSeconds, MAX_INDEXED_COURSES,
+                Set::of);
+    }
+
+    /**
+     * Finds the course posts that share the most words (in the title, content or tags) with the given post. If fewer posts share words with the given post, the
+     * candidates are filled up with the most recent course posts.
+     * <p>
+     * The candidates only contain the id, title, content and tags of the posts, so that a similarity strategy can compare them with the given post.
+     *
+     * @param courseId      the id of the course
+     * @param post          the post for which similar posts are searched
+     * @param maxCandidates the maximum number of returned candidates
+     * @return the candidates ordered by the number of shared words (descending)
+     */
+    public List<Post> findCandidates(long courseId, Post post, int maxCandidates) {
+        return courseIndexes.getOrLoad(courseId, () -> loadCourseIndex(courseId)).findCandidates(extractWords(post), maxCandidates);
+    }
+
+    /**
+     * Adds the post to the index of the course or updates its words, if the post is already indexed
+     *
+     * @param courseId the id of the course of the post
+     * @param post     the created or updated post
+     */
+    public void addOrUpdate(long courseId, Post post) {
+        courseIndexes.updateLocally(courseId, courseIndex -> courseIndex.addOrUpdate(post));
+    }
+
+    /**
+     * Removes the post from the index of the course
+     *
+     * @param courseId the id of the course of the post
+     * @param postId   the id of the deleted post
+     */
+    public void remove(long courseId, long postId) {
+        courseIndexes.updateLocally(courseId, courseIndex -> courseIndex.remove(postId));
+    }
+
+    private CourseIndex loadCourseIndex(long courseId) {
+        CourseIndex courseIndex = new CourseIndex();
+        for (Post post : postRepository.findPostsForCourse(courseId, null, null, null, null, null)) {
+            courseIndex.addOrUpdate(post);
+        }
+        return courseIndex;
+    }
+
+    private static Set<String> extractWords(Post post) {
+        Set<String> words = new HashSet<>();
+        addWords(words, post.getTitle());
+        addWords(words, post.getContent());
+        if (post.getTags() != null) {
+            post.getTags().forEach(tag -> addWords(words, tag));
+        }
+        return words;
+    }
+
+    private static void addWords(Set<String> words, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase())) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add(word);
+            }
+        }
+    }
+
+    /**
+     * The inverted index of the posts of one course, i.e. the ids of the posts containing each word
+     */
+    private static class CourseIndex {
+
+        private final Map<String, Set<Long>> postIdsByWord = new HashMap<>();
+
+        private final Map<Long, IndexedPost> postsById = new HashMap<>();
+
+        private record IndexedPost(Post post, Set<String> words) {
+        }
+
+        synchronized void addOrUpdate(Post post) {
+            remove(post.getId());
+            // only keep the attributes needed for the comparison, the posts returned to the client are loaded from the database
+            Post indexedPost = new Post();
+            indexedPost.setId(post.getId());
+            indexedPost.setTitle(post.getTitle());
+            indexedPost.setContent(post.getContent());
+            indexedPost.setTags(post.getTags() != null ? new HashSet<>(post.getTags()) : new HashSet<>());
+            Set<String> words = extractWords(post);
+            postsById.put(post.getId(), new IndexedPost(indexedPost, words));
+            for (String word : words) {
+                postIdsByWord.computeIfAbsent(word, key -> new HashSet<>()).add(post.getId());
+            }
+        }
+
+        synchronized void remove(long postId) {
+            IndexedPost removedPost = postsById.remove(postId);
+            if (removedPost == null) {
+                return;
+            }
+            for (String word : removedPost.words()) {
+                Set<Long> postIds = postIdsByWord.get(word);
+                postIds.remove(postId);
+                if (postIds.isEmpty()) {
+                    postIdsByWord.remove(word);
+                }
+            }
+        }
+
+        synchronized List<Post> findCandidates(Set<String> words, int maxCandidates) {
+            Map<Long, Integer> sharedWordCounts = new HashMap<>();
+            for (String word : words) {
+                for (Long postId : postIdsByWord.getOrDefault(word, Set.of())) {
+                    sharedWordCounts.merge(postId, 1, Integer::sum);
+                }
+            }
+            // more shared words first, more recent posts first for the same number of shared words
+            List<Long> candidateIds = sharedWordCounts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.<Long, Integer>comparingByKey().reversed())).limit(maxCandidates)
+                    .map(Map.Entry::getKey).collect(Collectors.toCollection(ArrayList::new));
+            if (candidateIds.size() < maxCandidates) {
+                postsById.keySet().stream().filter(postId -> !sharedWordCounts.containsKey(postId)).sorted(Comparator.reverseOrder())
+                        .limit(maxCandidates - candidateIds.size()).forEach(candidateIds::add);
+            }
+            return candidateIds.stream().map(postId -> postsById.get(postId).post()).toList();
+        }
+    }
+}
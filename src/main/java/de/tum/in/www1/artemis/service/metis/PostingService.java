@@ -30,25 +30,30 @@ public abstract class PostingService {
 
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final PostCountCache postCountCache;
+
     private static final String METIS_WEBSOCKET_CHANNEL_PREFIX = "/topic/metis/";
 
     protected PostingService(CourseRepository courseRepository, ExerciseRepository exerciseRepository, LectureRepository lectureRepository, PostRepository postRepository,
-            AuthorizationCheckService authorizationCheckService, SimpMessageSendingOperations messagingTemplate) {
+            AuthorizationCheckService authorizationCheckService, SimpMessageSendingOperations messagingTemplate, PostCountCache postCountCache) {
         this.courseRepository = courseRepository;
         this.exerciseRepository = exerciseRepository;
         this.lectureRepository = lectureRepository;
         this.postRepository = postRepository;
         this.authorizationCheckService = authorizationCheckService;
         this.messagingTemplate = messagingTemplate;
+        this.postCountCache = postCountCache;
     }
 
     /**
      * Broadcasts a posting related event in a course under a specific topic via websockets
+     * and invalidates the cached post counts of the course, because every change of a posting is broadcast
      *
      * @param postDTO object including the affected post as well as the action
      * @param course  course the posting belongs to
      */
     void broadcastForPost(MetisPostDTO postDTO, Course course) {
+        postCountCache.invalidate(course.getId());
         String specificTopicName = METIS_WEBSOCKET_CHANNEL_PREFIX;
         String genericTopicName = METIS_WEBSOCKET_CHANNEL_PREFIX + "courses/" + course.getId();
         if (postDTO.getPost().getExercise() != null) {
@@ -107,8 +107,14 @@ public class NotificationSettingsService {
     private static final Set<NotificationType> NOTIFICATION_TYPES_WITH_EMAIL_SUPPORT = Set.of(EXERCISE_RELEASED, EXERCISE_PRACTICE, ATTACHMENT_CHANGE, NEW_ANNOUNCEMENT_POST,
             FILE_SUBMISSION_SUCCESSFUL, EXERCISE_SUBMISSION_ASSESSED, DUPLICATE_TEST_CASE);
 
+    // the deactivated types of the default settings per communication channel, used for all users who have not changed their settings
+    private final Map<NotificationSettingsCommunicationChannel, Set<NotificationType>> defaultDeactivatedTypes = new EnumMap<>(NotificationSettingsCommunicationChannel.class);
+
     public NotificationSettingsService(NotificationSettingRepository notificationSettingRepository) {
         this.notificationSettingRepository = notificationSettingRepository;
+        for (NotificationSettingsCommunicationChannel communicationChannel : NotificationSettingsCommunicationChannel.values()) {
+            defaultDeactivatedTypes.put(communicationChannel, findDeactivatedNotificationTypes(communicationChannel, DEFAULT_NOTIFICATION_SETTINGS));
+        }
     }
 
     /**
@@ -128,7 +134,7 @@ public class NotificationSettingsService {
         // the urgent emails were already sent at this point
         // if the user has not yet changed his settings they will be of size 0 -> use default
         if (notificationSettings.isEmpty()) {
-            deactivatedTypes = findDeactivatedNotificationTypes(communicationChannel, DEFAULT_NOTIFICATION_SETTINGS);
+            deactivatedTypes = defaultDeactivatedTypes.get(communicationChannel);
         }
         else {
             deactivatedTypes = findDeactivatedNotificationTypes(communicationChannel, notificationSettings);
@@ -140,6 +146,34 @@ public class NotificationSettingsService {
         return !deactivatedTypes.contains(type);
     }
 
+    /**
+     * Filters the users for whom a notification (i.e. its type based on title) is allowed by their respective notification settings.
+     * In contrast to {@link #checkIfNotificationOrEmailIsAllowedBySettingsForGivenUser} the notification settings of all users are loaded together
+     *
+     * @param notification         which type (based on title) should be checked
+     * @param users                whose notification settings will be used for checking
+     * @param communicationChannel which channel to use (e.g. email or webapp)
+     * @return the users for whom the type is allowed
+     */
+    public List<User> filterUsersWhoAllowNotificationOrEmailBySettings(Notification notification, List<User> users,
+            NotificationSettingsCommunicationChannel communicationChannel) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        NotificationType type = findCorrespondingNotificationType(notification.getTitle());
+        Set<Long> userIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        Map<Long, Set<NotificationSetting>> notificationSettingsByUserId = notificationSettingRepository.findAllNotificationSettingsByRecipientIds(userIds);
+
+        // most users never change their settings, so the deactivated types of the default settings are only determined once
+        Set<NotificationType> deactivatedTypesByDefault = defaultDeactivatedTypes.get(communicationChannel);
+        return users.stream().filter(user -> {
+            Set<NotificationSetting> notificationSettings = notificationSettingsByUserId.get(user.getId());
+            Set<NotificationType> deactivatedTypes = notificationSettings == null ? deactivatedTypesByDefault
+                    : findDeactivatedNotificationTypes(communicationChannel, notificationSettings);
+            return !deactivatedTypes.contains(type);
+        }).collect(Collectors.toList());
+    }
+
     /**
      * Checks if the notification type has email support (per default not for an individual user!)
      * For some types there is no need for email support so they will be filtered out here.
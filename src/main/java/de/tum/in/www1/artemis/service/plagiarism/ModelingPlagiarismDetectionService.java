@@ -4,9 +4,14 @@ import static com.google.gson.JsonParser.parseString;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -27,12 +32,26 @@ import de.tum.in.www1.artemis.service.compass.umlmodel.parsers.UMLModelParser;
 @Service
 public class ModelingPlagiarismDetectionService {
 
-    private final Logger log = LoggerFactory.getLogger(ModelingPlagiarismDetectionService.class);
+    // number of diagrams per side of a tile of the comparison matrix, i.e. the pairs of a tile are compared on the same thread
+    private static final int TILE_SIZE = 32;
+
+    // tolerance for floating point errors of the similarity upper bound, in doubt we rather compare a pair too much
+    private static final double SIMILARITY_BOUND_TOLERANCE = 1e-9;
+
+    private static final Logger log = LoggerFactory.getLogger(ModelingPlagiarismDetectionService.class);
 
     private final PlagiarismWebsocketService plagiarismWebsocketService;
 
+    private final ForkJoinPool comparisonPool;
+
     public ModelingPlagiarismDetectionService(PlagiarismWebsocketService plagiarismWebsocketService) {
         this.plagiarismWebsocketService = plagiarismWebsocketService;
+        this.comparisonPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        comparisonPool.shutdownNow();
     }
 
     /**
@@ -120,49 +139,36 @@ public class ModelingPlagiarismDetectionService {
 
         long timeBeforeStartInMillis = System.currentTimeMillis();
 
-        // It is intended to use the classic for loop here, because we only want to check
-        // similarity between two different submissions once
-        for (int i = 0; i < nonEmptyDiagrams.size(); i++) {
-            String progressMessage = "Comparing submissions: " + (i + 1) + "/" + nonEmptyDiagrams.size();
-            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+        List<SimilarDiagrams> similarDiagrams = compareDiagrams(nonEmptyDiagrams, minimumSimilarity, topic);
 
-            for (int j = i + 1; j < nonEmptyDiagrams.size(); j++) {
+        for (SimilarDiagrams similarPair : similarDiagrams) {
+            UMLDiagram model1 = nonEmptyDiagrams.get(similarPair.index1());
+            UMLDiagram model2 = nonEmptyDiagrams.get(similarPair.index2());
+            final double similarity = similarPair.similarity();
 
-                UMLDiagram model1 = nonEmptyDiagrams.get(i);
-                UMLDiagram model2 = nonEmptyDiagrams.get(j);
+            ModelingSubmission modelingSubmissionA = models.get(model1);
+            ModelingSubmission modelingSubmissionB = models.get(model2);
 
-                final double similarity = model1.similarity(model2);
-                log.debug("Compare result {} with {}: {}", i, j, similarity);
+            log.info("Found similar models {} with {}: {}", similarPair.index1(), similarPair.index2(), similarity);
 
-                if (similarity < minimumSimilarity) {
-                    // ignore comparison results with too small similarity
-                    continue;
-                }
-
-                ModelingSubmission modelingSubmissionA = models.get(model1);
-                ModelingSubmission modelingSubmissionB = models.get(model2);
-
-                log.info("Found similar models {} with {}: {}", i, j, similarity);
+            PlagiarismSubmission<ModelingSubmissionElement> submissionA = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionA);
+            submissionA.setSize(model1.getAllModelElements().size());
+            submissionA.setElements(model1.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
 
-                PlagiarismSubmission<ModelingSubmissionElement> submissionA = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionA);
-                submissionA.setSize(model1.getAllModelElements().size());
-                submissionA.setElements(model1.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+            PlagiarismSubmission<ModelingSubmissionElement> submissionB = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionB);
+            submissionB.setSize(model2.getAllModelElements().size());
+            submissionB.setElements(model2.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
 
-                PlagiarismSubmission<ModelingSubmissionElement> submissionB = PlagiarismSubmission.fromModelingSubmission(modelingSubmissionB);
-                submissionB.setSize(model2.getAllModelElements().size());
-                submissionB.setElements(model2.getAllModelElements().stream().map(ModelingSubmissionElement::fromUMLElement).collect(Collectors.toList()));
+            PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
 
-                PlagiarismComparison<ModelingSubmissionElement> comparison = new PlagiarismComparison<>();
+            comparison.setPlagiarismResult(result);
+            comparison.setSimilarity(similarity * 100);
+            comparison.setSubmissionA(submissionA);
+            comparison.setSubmissionB(submissionB);
+            // TODO: Add matches to highlight similar modeling elements
+            comparison.setMatches(new HashSet<>());
 
-                comparison.setPlagiarismResult(result);
-                comparison.setSimilarity(similarity * 100);
-                comparison.setSubmissionA(submissionA);
-                comparison.setSubmissionB(submissionB);
-                // TODO: Add matches to highlight similar modeling elements
-                comparison.setMatches(new HashSet<>());
-
-                comparisons.add(comparison);
-            }
+            comparisons.add(comparison);
         }
 
         log.info("Found {} similar modeling submission combinations (>{})", comparisons.size(), minimumSimilarity);
@@ -178,6 +184,117 @@ public class ModelingPlagiarismDetectionService {
         return result;
     }
 
+    /**
+     * Compares each diagram with every other diagram once. The upper triangle of the comparison matrix is split into tiles of {@link #TILE_SIZE} x {@link #TILE_SIZE} pairs,
+     * which are compared in parallel on the comparison pool. Pairs whose similarity cannot reach the minimum similarity according to their element counts are skipped without
+     * comparing their elements (see {@link UMLDiagram#similarityUpperBound(Map, Map)}).
+     *
+     * @param diagrams          the diagrams to compare
+     * @param minimumSimilarity the minimum similarity so that the pair is returned
+     * @param topic             the topic to which the progress of the comparison is sent
+     * @return the pairs of diagrams (by their index) with at least the minimum similarity
+     */
+    private List<SimilarDiagrams> compareDiagrams(List<UMLDiagram> diagrams, double minimumSimilarity, String topic) {
+        List<Map<Class<?>, Integer>> elementCounts = diagrams.stream().map(UMLDiagram::countModelElementsBySimilarityType).toList();
+
+        List<int[]> tiles = new ArrayList<>();
+        for (int rowStart = 0; rowStart < diagrams.size(); rowStart += TILE_SIZE) {
+            for (int columnStart = rowStart; columnStart < diagrams.size(); columnStart += TILE_SIZE) {
+                tiles.add(new int[] { rowStart, columnStart });
+            }
+        }
+
+        long pairCount = (long) diagrams.size() * (diagrams.size() - 1) / 2;
+        var progress = new PlagiarismProgress(plagiarismWebsocketService, topic, "Comparing submission pairs", pairCount);
+        var skippedPairs = new AtomicLong();
+        List<SimilarDiagrams> similarDiagrams = comparisonPool
+                .invoke(new TileComparisonTask(diagrams, elementCounts, minimumSimilarity, tiles, 0, tiles.size(), progress, skippedPairs));
+        log.info("Compared {} pairs of modeling submissions, {} pairs were skipped because of their element counts", pairCount, skippedPairs.get());
+        return similarDiagrams;
+    }
+
+    private record SimilarDiagrams(int index1, int index2, double similarity) {
+    }
+
+    /**
+     * Compares the diagram pairs of a range of tiles, the range is split until it only contains one tile.
+     */
+    private static class TileComparisonTask extends RecursiveTask<List<SimilarDiagrams>> {
+
+        private final List<UMLDiagram> diagrams;
+
+        private final List<Map<Class<?>, Integer>> elementCounts;
+
+        private final double minimumSimilarity;
+
+        private final List<int[]> tiles;
+
+        private final int fromTile;
+
+        private final int toTile;
+
+        private final PlagiarismProgress progress;
+
+        private final AtomicLong skippedPairs;
+
+        TileComparisonTask(List<UMLDiagram> diagrams, List<Map<Class<?>, Integer>> elementCounts, double minimumSimilarity, List<int[]> tiles, int fromTile, int toTile,
+                PlagiarismProgress progress, AtomicLong skippedPairs) {
+            this.diagrams = diagrams;
+            this.elementCounts = elementCounts;
+            this.minimumSimilarity = minimumSimilarity;
+            this.tiles = tiles;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+            this.progress = progress;
+            this.skippedPairs = skippedPairs;
+        }
+
+        @Override
+        protected List<SimilarDiagrams> compute() {
+            if (toTile - fromTile > 1) {
+                int middle = (fromTile + toTile) >>> 1;
+                var left = new TileComparisonTask(diagrams, elementCounts, minimumSimilarity, tiles, fromTile, middle, progress, skippedPairs);
+                left.fork();
+                var right = new TileComparisonTask(diagrams, elementCounts, minimumSimilarity, tiles, middle, toTile, progress, skippedPairs);
+                List<SimilarDiagrams> similarDiagrams = new ArrayList<>(right.compute());
+                similarDiagrams.addAll(left.join());
+                return similarDiagrams;
+            }
+            if (toTile == fromTile) {
+                return List.of();
+            }
+            return compareTile(tiles.get(fromTile)[0], tiles.get(fromTile)[1]);
+        }
+
+        private List<SimilarDiagrams> compareTile(int rowStart, int columnStart) {
+            List<SimilarDiagrams> similarDiagrams = new ArrayList<>();
+            int comparedPairs = 0;
+            int skippedPairsOfTile = 0;
+            for (int i = rowStart; i < Math.min(rowStart + TILE_SIZE, diagrams.size()); i++) {
+                // we only want to check similarity between two different submissions once
+                for (int j = Math.max(columnStart, i + 1); j < Math.min(columnStart + TILE_SIZE, diagrams.size()); j++) {
+                    comparedPairs++;
+                    if (UMLDiagram.similarityUpperBound(elementCounts.get(i), elementCounts.get(j)) < minimumSimilarity - SIMILARITY_BOUND_TOLERANCE) {
+                        skippedPairsOfTile++;
+                        continue;
+                    }
+
+                    final double similarity = diagrams.get(i).similarity(diagrams.get(j));
+                    log.debug("Compare result {} with {}: {}", i, j, similarity);
+
+                    if (similarity < minimumSimilarity) {
+                        // ignore comparison results with too small similarity
+                        continue;
+                    }
+                    similarDiagrams.add(new SimilarDiagrams(i, j, similarity));
+                }
+            }
+            skippedPairs.addAndGet(skippedPairsOfTile);
+            progress.add(comparedPairs);
+            return similarDiagrams;
+        }
+    }
+
     /**
      * Reduce a ModelingExercise Object to a list of latest modeling submissions.
      *
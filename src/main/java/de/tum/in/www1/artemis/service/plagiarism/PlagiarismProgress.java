@@ -0,0 +1,49 @@
+package de.tum.in.www1.artemis.service.plagiarism;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.tum.in.www1.artemis.domain.PlagiarismCheckState;
+
+/**
+ * Counts the processed items of one step of a plagiarism check (e.g. downloaded repositories) and notifies the instructor about the progress.
+ * The counter can be incremented concurrently, but the instructor is notified at most once per {@link #NOTIFICATION_INTERVAL_MILLIS} milliseconds.
+ */
+public class PlagiarismProgress {
+
+    private static final long NOTIFICATION_INTERVAL_MILLIS = 1000;
+
+    private final PlagiarismWebsocketService plagiarismWebsocketService;
+
+    private final String topic;
+
+    private final String step;
+
+    private final long total;
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final AtomicLong lastNotificationMillis = new AtomicLong();
+
+    public PlagiarismProgress(PlagiarismWebsocketService plagiarismWebsocketService, String topic, String step, long total) {
+        this.plagiarismWebsocketService = plagiarismWebsocketService;
+        this.topic = topic;
+        this.step = step;
+        this.total = total;
+    }
+
+    /**
+     * Adds the given number of processed items and notifies the instructor if the last notification was sent long enough ago
+     *
+     * @param count the number of items that were processed
+     */
+    public void add(long count) {
+        long processedCount = processed.addAndGet(count);
+        long now = System.currentTimeMillis();
+        long lastNotification = lastNotificationMillis.get();
+        if (now - lastNotification >= NOTIFICATION_INTERVAL_MILLIS && lastNotificationMillis.compareAndSet(lastNotification, now)) {
+            String progressMessage = step + ": " + processedCount + "/" + total;
+            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package de.tum.in.www1.artemis.service.plagiarism;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismComparison;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismMatch;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismStatus;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismSubmission;
+import de.tum.in.www1.artemis.domain.plagiarism.text.TextPlagiarismResult;
+import de.tum.in.www1.artemis.domain.plagiarism.text.TextSubmissionElement;
+
+/**
+ * Caches the result of the last JPlag check of each exercise on this node, so that a check of unchanged submissions does not need to export, tokenize and compare all
+ * submissions again.
+ * <p>
+ * A cached result is identified by a fingerprint of the compared submissions and the options of the check (see {@link #fingerprint(Collection)}). As JPlag only returns
+ * comparisons with a similarity of at least the threshold, a cached result can answer checks with the same or a higher threshold. The cached result contains the
+ * {@link #MAX_CACHED_COMPARISONS} comparisons with the highest similarity, i.e. the ones that are saved, so filtering it by a higher threshold returns the same saved
+ * comparisons as a new check and the memory of each cached result is bounded.
+ * <p>
+ * The cache stores copies of the comparisons (including the tokens of the submissions) instead of the entities, because the entities are saved and therefore cannot be
+ * reused for another result.
+ * <p>
+ * The scope of this cache is deliberately limited: it only holds the latest result of each exercise on the node that ran the check, and it is all-or-nothing, i.e. a
+ * single new or changed submission requires a complete JPlag run again. JPlag compares all submissions of a folder in one run and neither exposes its tokenization nor
+ * can it compare only some submissions against a stored corpus, so reusing the comparisons of unchanged submissions would require replacing JPlag.
+ */
+@Service
+public class PlagiarismResultCache {
+
+    /**
+     * The number of comparisons of each cached result, the same limit as for saving a result
+     */
+    public static final int MAX_CACHED_COMPARISONS = 500;
+
+    private final Duration retention;
+
+    private final Map<Long, CachedResult> cachedResults = new ConcurrentHashMap<>();
+
+    public PlagiarismResultCache(@Value("${artemis.plagiarism.result-cache.retention:60}") int retentionInMinutes) {
+        this.retention = Duration.ofMinutes(Math.max(0, retentionInMinutes));
+    }
+
+    private record CachedElement(int column, int line, String file, int type, int length) {
+    }
+
+    private record CachedSubmission(long submissionId, String studentLogin, int size, Double score, List<CachedElement> elements) {
+    }
+
+    private record CachedComparison(double similarity, CachedSubmission submissionA, CachedSubmission submissionB, List<PlagiarismMatch> matches) {
+    }
+
+    private record CachedResult(String fingerprint, float similarityThreshold, List<CachedComparison> comparisons, int[] similarityDistribution, long duration,
+            Instant creationDate) {
+    }
+
+    /**
+     * @return true if results are cached, otherwise the fingerprints of checks do not need to be calculated
+     */
+    public boolean isEnabled() {
+        return !retention.isZero();
+    }
+
+    /**
+     * Creates the fingerprint of a plagiarism check from the given parts, e.g. the options of the check and the id and content hash of each compared submission.
+     * The order of the parts does not matter.
+     *
+     * @param parts the parts which identify the check, must not contain null values
+     * @return the fingerprint
+     */
+    public static String fingerprint(Collection<String> parts) {
+        return DigestUtils.sha256Hex(parts.stream().sorted().collect(Collectors.joining("\n")));
+    }
+
+    /**
+     * Returns a new (not yet saved) result of a previous check of the exercise, if the check had the same fingerprint and its threshold was not higher than the given one.
+     *
+     * @param exerciseId          the id of the checked exercise
+     * @param fingerprint         the fingerprint of the check, see {@link #fingerprint(Collection)}
+     * @param similarityThreshold the similarity threshold of the check (%)
+     * @return the result with all comparisons of the cached result whose similarity is at least the threshold or an empty optional
+     */
+    public Optional<TextPlagiarismResult> getResult(long exerciseId, String fingerprint, float similarityThreshold) {
+        CachedResult cachedResult = cachedResults.get(exerciseId);
+        if (cachedResult == null || isExpired(cachedResult) || !cachedResult.fingerprint().equals(fingerprint) || similarityThreshold < cachedResult.similarityThreshold()) {
+            return Optional.empty();
+        }
+
+        TextPlagiarismResult result = new TextPlagiarismResult();
+        // the same submission is usually part of several comparisons, but each comparison needs its own entities
+        for (CachedComparison cachedComparison : cachedResult.comparisons()) {
+            if (cachedComparison.similarity() < similarityThreshold) {
+                continue;
+            }
+            PlagiarismComparison<TextSubmissionElement> comparison = new PlagiarismComparison<>();
+            comparison.setSubmissionA(toSubmission(cachedComparison.submissionA()));
+            comparison.setSubmissionB(toSubmission(cachedComparison.submissionB()));
+            comparison.setMatches(cachedComparison.matches().stream().map(PlagiarismResultCache::copyMatch).collect(Collectors.toSet()));
+            comparison.setSimilarity(cachedComparison.similarity());
+            comparison.setStatus(PlagiarismStatus.NONE);
+            comparison.setPlagiarismResult(result);
+            result.getComparisons().add(comparison);
+        }
+        result.setSimilarityDistribution(cachedResult.similarityDistribution());
+        result.setDuration(cachedResult.duration());
+        return Optional.of(result);
+    }
+
+    /**
+     * Caches the {@link #MAX_CACHED_COMPARISONS} comparisons with the highest similarity of the given result of a check of the exercise and replaces the previously
+     * cached result of the exercise.
+     *
+     * @param exerciseId          the id of the checked exercise
+     * @param fingerprint         the fingerprint of the check, see {@link #fingerprint(Collection)}
+     * @param similarityThreshold the similarity threshold of the check (%)
+     * @param result              the result of the check
+     */
+    public void putResult(long exerciseId, String fingerprint, float similarityThreshold, TextPlagiarismResult result) {
+        cachedResults.values().removeIf(this::isExpired);
+        if (retention.isZero()) {
+            return;
+        }
+
+        Map<Long, CachedSubmission> cachedSubmissions = new HashMap<>();
+        List<CachedComparison> cachedComparisons = new ArrayList<>();
+        List<PlagiarismComparison<TextSubmissionElement>> comparisons = result.getComparisons().stream().sorted(Comparator.reverseOrder()).limit(MAX_CACHED_COMPARISONS)
+                .toList();
+        for (PlagiarismComparison<TextSubmissionElement> comparison : comparisons) {
+            List<PlagiarismMatch> matches = comparison.getMatches().stream().map(PlagiarismResultCache::copyMatch).toList();
+            cachedComparisons.add(new CachedComparison(comparison.getSimilarity(), toCachedSubmission(comparison.getSubmissionA(), cachedSubmissions),
+                    toCachedSubmission(comparison.getSubmissionB(), cachedSubmissions), matches));
+        }
+        int[] similarityDistribution = result.getSimilarityDistribution().stream().mapToInt(Integer::intValue).toArray();
+        cachedResults.put(exerciseId, new CachedResult(fingerprint, similarityThreshold, cachedComparisons, similarityDistribution, result.getDuration(), Instant.now()));
+    }
+
+    private boolean isExpired(CachedResult cachedResult) {
+        return cachedResult.creationDate().plus(retention).isBefore(Instant.now());
+    }
+
+    private static CachedSubmission toCachedSubmission(PlagiarismSubmission<TextSubmissionElement> submission, Map<Long, CachedSubmission> cachedSubmissions) {
+        return cachedSubmissions.computeIfAbsent(submission.getSubmissionId(), submissionId -> {
+            List<CachedElement> elements = submission.getElements() == null ? List.of()
+                    : submission.getElements().stream().map(element -> new CachedElement(element.getColumn(), element.getLine(), element.getFile(), element.getType(),
+                            element.getLength())).toList();
+            return new CachedSubmission(submissionId, submission.getStudentLogin(), submission.getSize(), submission.getScore(), elements);
+        });
+    }
+
+    private static PlagiarismSubmission<TextSubmissionElement> toSubmission(CachedSubmission cachedSubmission) {
+        PlagiarismSubmission<TextSubmissionElement> submission = new PlagiarismSubmission<>();
+        submission.setSubmissionId(cachedSubmission.submissionId());
+        submission.setStudentLogin(cachedSubmission.studentLogin());
+        submission.setSize(cachedSubmission.size());
+        submission.setScore(cachedSubmission.score());
+        submission.setElements(cachedSubmission.elements().stream().map(cachedElement -> {
+            TextSubmissionElement element = new TextSubmissionElement();
+            element.setColumn(cachedElement.column());
+            element.setLine(cachedElement.line());
+            element.setFile(cachedElement.file());
+            element.setType(cachedElement.type());
+            element.setLength(cachedElement.length());
+            return element;
+        }).collect(Collectors.toList()));
+        return submission;
+    }
+
+    private static PlagiarismMatch copyMatch(PlagiarismMatch match) {
+        PlagiarismMatch copy = new PlagiarismMatch();
+        copy.setStartA(match.getStartA());
+        copy.setStartB(match.getStartB());
+        copy.setLength(match.getLength());
+        return copy;
+    }
+}
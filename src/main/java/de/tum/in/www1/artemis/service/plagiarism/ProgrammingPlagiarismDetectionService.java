@@ -5,14 +5,16 @@ import java.io.IOException;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +29,7 @@ import de.jplag.options.LanguageOption;
 import de.jplag.reporting.Report;
 import de.tum.in.www1.artemis.domain.PlagiarismCheckState;
 import de.tum.in.www1.artemis.domain.ProgrammingExercise;
+import de.tum.in.www1.artemis.domain.ProgrammingSubmission;
 import de.tum.in.www1.artemis.domain.Repository;
 import de.tum.in.www1.artemis.domain.Submission;
 import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseParticipation;
@@ -46,9 +49,21 @@ import de.tum.in.www1.artemis.web.rest.errors.BadRequestAlertException;
 @Service
 public class ProgrammingPlagiarismDetectionService {
 
+    // the time between two download attempts of a repository is multiplied with the number of the failed attempt
+    private static final long DOWNLOAD_RETRY_DELAY_MILLIS = 1000;
+
     @Value("${artemis.repo-download-clone-path}")
     private String repoDownloadClonePath;
 
+    @Value("${artemis.plagiarism.repository-download.concurrency:8}")
+    private int downloadConcurrency;
+
+    @Value("${artemis.plagiarism.repository-download.attempts:3}")
+    private int downloadAttempts;
+
+    @Value("${artemis.plagiarism.repository-download.cache-retention:60}")
+    private int cacheRetentionInMinutes;
+
     private final Logger log = LoggerFactory.getLogger(ProgrammingPlagiarismDetectionService.class);
 
     private final FileService fileService;
@@ -71,9 +86,17 @@ public class ProgrammingPlagiarismDetectionService {
 
     private final UrlService urlService;
 
+    private final PlagiarismResultCache plagiarismResultCache;
+
+    // the cached repositories of an exercise must not be changed by one plagiarism check while another check uses them, the lock is removed with the repositories
+    private final Map<Long, ReentrantLock> repositoryCacheLocks = new ConcurrentHashMap<>();
+
+    private final Map<Long, ScheduledFuture<?>> scheduledRepositoryCacheDeletions = new ConcurrentHashMap<>();
+
     public ProgrammingPlagiarismDetectionService(ProgrammingExerciseRepository programmingExerciseRepository, FileService fileService, ZipFileService zipFileService,
             GitService gitService, StudentParticipationRepository studentParticipationRepository, PlagiarismResultRepository plagiarismResultRepository,
-            ProgrammingExerciseExportService programmingExerciseExportService, PlagiarismWebsocketService plagiarismWebsocketService, UrlService urlService) {
+            ProgrammingExerciseExportService programmingExerciseExportService, PlagiarismWebsocketService plagiarismWebsocketService, UrlService urlService,
+            PlagiarismResultCache plagiarismResultCache) {
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.fileService = fileService;
         this.zipFileService = zipFileService;
@@ -83,6 +106,7 @@ public class ProgrammingPlagiarismDetectionService {
         this.plagiarismResultRepository = plagiarismResultRepository;
         this.plagiarismWebsocketService = plagiarismWebsocketService;
         this.urlService = urlService;
+        this.plagiarismResultCache = plagiarismResultCache;
     }
 
     /**
@@ -100,7 +124,23 @@ public class ProgrammingPlagiarismDetectionService {
         String topic = plagiarismWebsocketService.getProgrammingExercisePlagiarismCheckTopic(programmingExerciseId);
 
         final var programmingExercise = programmingExerciseRepository.findWithAllParticipationsById(programmingExerciseId).get();
-        JPlagResult result = getJPlagResult(programmingExercise, similarityThreshold, minimumScore);
+        List<ProgrammingExerciseParticipation> participations = filterStudentParticipationsForComparison(programmingExercise, minimumScore);
+
+        // if no repository changed since the last check, we can reuse its result instead of downloading and comparing all repositories again
+        final String fingerprint = participations.size() >= 2 && plagiarismResultCache.isEnabled() ? fingerprint(programmingExercise, participations) : null;
+        if (fingerprint != null) {
+            Optional<TextPlagiarismResult> cachedResult = plagiarismResultCache.getResult(programmingExerciseId, fingerprint, similarityThreshold);
+            if (cachedResult.isPresent()) {
+                log.info("Reuse the JPlag programming comparison of the unchanged {} repositories of programming exercise {}", participations.size(), programmingExerciseId);
+                TextPlagiarismResult textPlagiarismResult = cachedResult.get();
+                textPlagiarismResult.setExercise(programmingExercise);
+                plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
+                limitAndSavePlagiarismResult(textPlagiarismResult);
+                return textPlagiarismResult;
+            }
+        }
+
+        JPlagResult result = getJPlagResult(programmingExercise, participations, similarityThreshold);
         if (result == null) {
             log.info("Insufficient amount of submissions for plagiarism detection. Return empty result.");
             TextPlagiarismResult textPlagiarismResult = new TextPlagiarismResult();
@@ -118,6 +158,9 @@ public class ProgrammingPlagiarismDetectionService {
         TextPlagiarismResult textPlagiarismResult = new TextPlagiarismResult();
         textPlagiarismResult.convertJPlagResult(result);
         textPlagiarismResult.setExercise(programmingExercise);
+        if (fingerprint != null) {
+            plagiarismResultCache.putResult(programmingExerciseId, fingerprint, similarityThreshold, textPlagiarismResult);
+        }
 
         log.info("JPlag programming comparison done in {}", TimeLogUtil.formatDurationFrom(start));
         plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
@@ -139,7 +182,8 @@ public class ProgrammingPlagiarismDetectionService {
         long start = System.nanoTime();
 
         final var programmingExercise = programmingExerciseRepository.findWithAllParticipationsById(programmingExerciseId).get();
-        JPlagResult result = getJPlagResult(programmingExercise, similarityThreshold, minimumScore);
+        List<ProgrammingExerciseParticipation> participations = filterStudentParticipationsForComparison(programmingExercise, minimumScore);
+        JPlagResult result = getJPlagResult(programmingExercise, participations, similarityThreshold);
         if (result == null) {
             return null;
         }
@@ -152,60 +196,159 @@ public class ProgrammingPlagiarismDetectionService {
      * Checks for plagiarism and returns a JPlag result
      *
      * @param programmingExercise the programming exercise to check
+     * @param participations      the participations to compare, see {@link #filterStudentParticipationsForComparison(ProgrammingExercise, int)}
      * @param similarityThreshold the similarity threshold
-     * @param minimumScore        the minimum score
      * @return the JPlag result or null if there are not enough participations
      * @throws ExitException in case JPlag fails
      */
-    private JPlagResult getJPlagResult(ProgrammingExercise programmingExercise, float similarityThreshold, int minimumScore) throws ExitException {
+    private JPlagResult getJPlagResult(ProgrammingExercise programmingExercise, List<ProgrammingExerciseParticipation> participations, float similarityThreshold)
+            throws ExitException {
         long programmingExerciseId = programmingExercise.getId();
 
         final var numberOfParticipations = programmingExercise.getStudentParticipations().size();
         log.info("Download repositories for JPlag for programming exercise {} to compare {} participations", programmingExerciseId, numberOfParticipations);
 
-        final var targetPath = fileService.getUniquePathString(repoDownloadClonePath);
-        List<ProgrammingExerciseParticipation> participations = filterStudentParticipationsForComparison(programmingExercise, minimumScore);
+        final boolean reuseRepositories = cacheRetentionInMinutes > 0;
+        final var targetPath = reuseRepositories ? Paths.get(repoDownloadClonePath, "plagiarism-cache", String.valueOf(programmingExerciseId)).toString()
+                : fileService.getUniquePathString(repoDownloadClonePath);
 
         if (participations.size() < 2) {
             return null;
         }
 
-        List<Repository> repositories = downloadRepositories(programmingExercise, participations, targetPath);
-        log.info("Downloading repositories done for programming exercise {}", programmingExerciseId);
+        // the repositories are only shared between checks if they are reused, otherwise each check uses its own folder
+        ReentrantLock repositoryCacheLock = reuseRepositories ? lockRepositoryCache(programmingExerciseId) : null;
+        try {
+            Optional.ofNullable(scheduledRepositoryCacheDeletions.remove(programmingExerciseId)).ifPresent(scheduledDeletion -> scheduledDeletion.cancel(false));
+
+            List<Repository> repositories = downloadRepositories(programmingExercise, participations, targetPath);
+            log.info("Downloading repositories done for programming exercise {}", programmingExerciseId);
+            if (reuseRepositories) {
+                deleteRepositoriesNotInComparison(programmingExercise, repositories, targetPath);
+            }
+
+            final var projectKey = programmingExercise.getProjectKey();
+            final var repoFolder = Paths.get(targetPath, projectKey).toString();
+            final LanguageOption programmingLanguage = getJPlagProgrammingLanguage(programmingExercise);
+
+            final var templateRepoName = urlService.getRepositorySlugFromRepositoryUrl(programmingExercise.getTemplateParticipation().getVcsRepositoryUrl());
+
+            JPlagOptions options = new JPlagOptions(repoFolder, programmingLanguage);
+            if (templateRepoName != null) {
+                options.setBaseCodeSubmissionName(templateRepoName);
+            }
 
-        final var projectKey = programmingExercise.getProjectKey();
-        final var repoFolder = Paths.get(targetPath, projectKey).toString();
-        final LanguageOption programmingLanguage = getJPlagProgrammingLanguage(programmingExercise);
+            options.setSimilarityThreshold(similarityThreshold);
 
-        final var templateRepoName = urlService.getRepositorySlugFromRepositoryUrl(programmingExercise.getTemplateParticipation().getVcsRepositoryUrl());
+            log.info("Start JPlag programming comparison for programming exercise {}", programmingExerciseId);
+            String topic = plagiarismWebsocketService.getProgrammingExercisePlagiarismCheckTopic(programmingExerciseId);
+            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of("Running JPlag..."));
 
-        JPlagOptions options = new JPlagOptions(repoFolder, programmingLanguage);
-        if (templateRepoName != null) {
-            options.setBaseCodeSubmissionName(templateRepoName);
+            JPlag jplag = new JPlag(options);
+            JPlagResult result = null;
+            try {
+                result = jplag.run();
+            }
+            catch (BasecodeException e) {
+                // Handling small or invalid base codes
+                log.error(e.getMessage(), e);
+                log.info("Retrying JPlag Plagiarism Check without BaseCode");
+                options.setBaseCodeSubmissionName(null);
+                jplag = new JPlag(options);
+                result = jplag.run();
+            }
+
+            cleanupResourcesAsync(programmingExercise, repositories, targetPath, reuseRepositories);
+            return result;
+        }
+        finally {
+            if (repositoryCacheLock != null) {
+                repositoryCacheLock.unlock();
+            }
         }
+    }
 
-        options.setSimilarityThreshold(similarityThreshold);
+    /**
+     * Locks the cached repositories of the exercise. A check that waited for a lock which was removed together with the repositories in the meantime uses a new lock.
+     *
+     * @param programmingExerciseId the id of the programming exercise
+     * @return the locked lock, which has to be unlocked after the check
+     */
+    private ReentrantLock lockRepositoryCache(long programmingExerciseId) {
+        while (true) {
+            ReentrantLock repositoryCacheLock = repositoryCacheLocks.computeIfAbsent(programmingExerciseId, id -> new ReentrantLock());
+            repositoryCacheLock.lock();
+            if (repositoryCacheLocks.get(programmingExerciseId) == repositoryCacheLock) {
+                return repositoryCacheLock;
+            }
+            repositoryCacheLock.unlock();
+        }
+    }
 
-        log.info("Start JPlag programming comparison for programming exercise {}", programmingExerciseId);
-        String topic = plagiarismWebsocketService.getProgrammingExercisePlagiarismCheckTopic(programmingExerciseId);
-        plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of("Running JPlag..."));
+    /**
+     * Deletes the repositories of the exercise which were kept for the next plagiarism check, e.g. because the exercise is deleted. If a check currently uses the
+     * repositories, they are deleted after the cache retention time instead.
+     *
+     * @param programmingExercise the programming exercise whose repositories should be deleted
+     */
+    public void deleteCachedRepositories(ProgrammingExercise programmingExercise) {
+        final var targetPath = Paths.get(repoDownloadClonePath, "plagiarism-cache", String.valueOf(programmingExercise.getId())).toString();
+        deleteRepositoryCacheIfUnused(programmingExercise.getId(), () -> {
+            deleteRepositoriesNotInComparison(programmingExercise, List.of(), targetPath);
+            FileUtils.deleteQuietly(Path.of(targetPath).toFile());
+        });
+    }
 
-        JPlag jplag = new JPlag(options);
-        JPlagResult result = null;
+    /**
+     * Runs the deletion of the cached repositories of the exercise and removes the lock and the scheduled deletion of the repositories, unless a check uses them.
+     */
+    private void deleteRepositoryCacheIfUnused(long programmingExerciseId, Runnable deletion) {
+        ReentrantLock repositoryCacheLock = repositoryCacheLocks.get(programmingExerciseId);
+        // a running check uses the repositories and schedules their deletion again when it is done
+        if (repositoryCacheLock == null || !repositoryCacheLock.tryLock()) {
+            return;
+        }
         try {
-            result = jplag.run();
+            // the lock might have been removed with the repositories before this deletion got it
+            if (!repositoryCacheLocks.remove(programmingExerciseId, repositoryCacheLock)) {
+                return;
+            }
+            Optional.ofNullable(scheduledRepositoryCacheDeletions.remove(programmingExerciseId)).ifPresent(scheduledDeletion -> scheduledDeletion.cancel(false));
+            deletion.run();
         }
-        catch (BasecodeException e) {
-            // Handling small or invalid base codes
-            log.error(e.getMessage(), e);
-            log.info("Retrying JPlag Plagiarism Check without BaseCode");
-            options.setBaseCodeSubmissionName(null);
-            jplag = new JPlag(options);
-            result = jplag.run();
+        finally {
+            repositoryCacheLock.unlock();
         }
+    }
 
-        cleanupResourcesAsync(programmingExercise, repositories, targetPath);
-        return result;
+    /**
+     * The result of JPlag only depends on the latest commit of each compared repository, the template repository (used as base code) and the programming language.
+     *
+     * @return the fingerprint of the check or null if a commit hash is unknown and the result therefore must not be cached
+     */
+    private String fingerprint(ProgrammingExercise programmingExercise, List<ProgrammingExerciseParticipation> participations) {
+        List<String> parts = new ArrayList<>();
+        parts.add("language:" + programmingExercise.getProgrammingLanguage());
+        try {
+            ObjectId templateCommitHash = gitService.getLastCommitHash(programmingExercise.getTemplateParticipation().getVcsRepositoryUrl());
+            if (templateCommitHash == null) {
+                return null;
+            }
+            parts.add("template:" + templateCommitHash.getName());
+        }
+        catch (Exception ex) {
+            log.warn("Cannot get the last commit hash of the template repository of programming exercise {}: {}", programmingExercise.getId(), ex.getMessage());
+            return null;
+        }
+        for (ProgrammingExerciseParticipation participation : participations) {
+            String commitHash = participation.findLatestSubmission().filter(submission -> submission instanceof ProgrammingSubmission)
+                    .map(submission -> ((ProgrammingSubmission) submission).getCommitHash()).orElse(null);
+            if (commitHash == null) {
+                return null;
+            }
+            parts.add(participation.getId() + ":" + participation.getRepositoryUrl() + ":" + commitHash);
+        }
+        return PlagiarismResultCache.fingerprint(parts);
     }
 
     /**
@@ -272,14 +415,51 @@ public class ProgrammingPlagiarismDetectionService {
         return new File(zipFilePath.toString());
     }
 
-    private void cleanupResourcesAsync(final ProgrammingExercise programmingExercise, final List<Repository> repositories, final String targetPath) {
-        executor.schedule(() -> {
+    /**
+     * Deletes the downloaded repositories. If the repositories are reused by the next check of the exercise, they are only deleted if the exercise is not checked again
+     * within the cache retention time.
+     */
+    private void cleanupResourcesAsync(final ProgrammingExercise programmingExercise, final List<Repository> repositories, final String targetPath,
+            final boolean reuseRepositories) {
+        Runnable cleanup = () -> {
             log.info("Will delete local repositories for programming exercise {}", programmingExercise.getId());
             deleteLocalRepositories(repositories);
             // delete project root folder in the repos download folder
             programmingExerciseExportService.deleteReposDownloadProjectRootDirectory(programmingExercise, targetPath);
+            FileUtils.deleteQuietly(Path.of(targetPath).toFile());
             log.info("Delete repositories done for programming exercise {}", programmingExercise.getId());
-        }, 10, TimeUnit.SECONDS);
+        };
+        if (!reuseRepositories) {
+            executor.schedule(cleanup, 10, TimeUnit.SECONDS);
+            return;
+        }
+
+        long programmingExerciseId = programmingExercise.getId();
+        scheduledRepositoryCacheDeletions.put(programmingExerciseId,
+                executor.schedule(() -> deleteRepositoryCacheIfUnused(programmingExerciseId, cleanup), cacheRetentionInMinutes, TimeUnit.MINUTES));
+    }
+
+    /**
+     * Deletes the cached repositories of participations that are not compared in this check (e.g. because of the minimum score), as JPlag compares all repositories in the folder.
+     */
+    private void deleteRepositoriesNotInComparison(ProgrammingExercise programmingExercise, List<Repository> repositories, String targetPath) {
+        Set<Path> repositoryPaths = repositories.stream().map(repository -> repository.getLocalPath().toAbsolutePath().normalize()).collect(Collectors.toSet());
+        File[] repositoryFolders = Paths.get(targetPath, programmingExercise.getProjectKey()).toFile().listFiles(File::isDirectory);
+        if (repositoryFolders == null) {
+            return;
+        }
+        for (File repositoryFolder : repositoryFolders) {
+            if (repositoryPaths.contains(repositoryFolder.toPath().toAbsolutePath().normalize())) {
+                continue;
+            }
+            Repository repository = gitService.getExistingCheckedOutRepositoryByLocalPath(repositoryFolder.toPath(), null);
+            if (repository != null) {
+                deleteTempLocalRepository(repository);
+            }
+            else {
+                FileUtils.deleteQuietly(repositoryFolder);
+            }
+        }
     }
 
     private void deleteLocalRepositories(List<Repository> repositories) {
@@ -347,25 +527,35 @@ public class ProgrammingPlagiarismDetectionService {
                 }).collect(Collectors.toList());
     }
 
+    /**
+     * Downloads the repositories of the participations with at most {@code artemis.plagiarism.repository-download.concurrency} parallel downloads and the template repository.
+     *
+     * @param programmingExercise the programming exercise of the participations
+     * @param participations      the participations whose repositories should be downloaded
+     * @param targetPath          the folder into which the repositories are downloaded
+     * @return the repositories that could be downloaded
+     */
     private List<Repository> downloadRepositories(ProgrammingExercise programmingExercise, List<ProgrammingExerciseParticipation> participations, String targetPath) {
         // Used for sending progress notifications
         var topic = plagiarismWebsocketService.getProgrammingExercisePlagiarismCheckTopic(programmingExercise.getId());
+        var progress = new PlagiarismProgress(plagiarismWebsocketService, topic, "Downloading repositories", participations.size());
+        var reusedRepositoryCount = new AtomicInteger();
 
-        List<Repository> downloadedRepositories = new ArrayList<>();
-        participations.forEach(participation -> {
-            try {
-                var progressMessage = "Downloading repositories: " + (downloadedRepositories.size() + 1) + "/" + participations.size();
-                plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.RUNNING, List.of(progressMessage));
-
-                Repository repo = gitService.getOrCheckoutRepositoryForJPlag(participation, targetPath);
-                gitService.resetToOriginHead(repo); // start with clean state
-                downloadedRepositories.add(repo);
-            }
-            catch (GitException | GitAPIException | InterruptedException | InvalidPathException ex) {
-                log.error("Clone student repository {} in exercise '{}' did not work as expected: {}", participation.getVcsRepositoryUrl(), programmingExercise.getTitle(),
-                        ex.getMessage());
-            }
-        });
+        List<Repository> downloadedRepositories;
+        ExecutorService downloadExecutor = Executors.newFixedThreadPool(Math.max(1, downloadConcurrency));
+        try {
+            List<CompletableFuture<Optional<Repository>>> downloads = participations.stream().map(participation -> CompletableFuture.supplyAsync(() -> {
+                Optional<Repository> repository = downloadRepository(programmingExercise, participation, targetPath, reusedRepositoryCount);
+                progress.add(1);
+                return repository;
+            }, downloadExecutor)).toList();
+            downloadedRepositories = downloads.stream().map(CompletableFuture::join).flatMap(Optional::stream).collect(Collectors.toCollection(ArrayList::new));
+        }
+        finally {
+            downloadExecutor.shutdownNow();
+        }
+        log.info("Downloaded {} of {} student repositories in exercise {}, {} of them were reused from a previous check", downloadedRepositories.size(), participations.size(),
+                programmingExercise.getId(), reusedRepositoryCount.get());
 
         // clone the template repo
         try {
@@ -380,4 +570,78 @@ public class ProgrammingPlagiarismDetectionService {
 
         return downloadedRepositories;
     }
+
+    /**
+     * Downloads the repository of the participation. Failed clones and fetches are retried up to {@code artemis.plagiarism.repository-download.attempts} times in total.
+     *
+     * @return the repository or an empty optional if it could not be downloaded
+     */
+    private Optional<Repository> downloadRepository(ProgrammingExercise programmingExercise, ProgrammingExerciseParticipation participation, String targetPath,
+            AtomicInteger reusedRepositoryCount) {
+        try {
+            Repository unchangedRepository = getUnchangedCachedRepository(participation, targetPath);
+            if (unchangedRepository != null) {
+                reusedRepositoryCount.incrementAndGet();
+                return Optional.of(unchangedRepository);
+            }
+
+            for (int attempt = 1;; attempt++) {
+                try {
+                    Repository repo = gitService.getOrCheckoutRepositoryForJPlag(participation, targetPath);
+                    gitService.resetToOriginHead(repo); // start with clean state
+                    return Optional.of(repo);
+                }
+                catch (GitException | GitAPIException ex) {
+                    if (attempt >= downloadAttempts) {
+                        throw ex;
+                    }
+                    log.warn("Attempt {} to clone student repository {} failed, will retry: {}", attempt, participation.getVcsRepositoryUrl(), ex.getMessage());
+                    Thread.sleep(DOWNLOAD_RETRY_DELAY_MILLIS * attempt);
+                }
+            }
+        }
+        catch (GitException | GitAPIException | InvalidPathException ex) {
+            log.error("Clone student repository {} in exercise '{}' did not work as expected: {}", participation.getVcsRepositoryUrl(), programmingExercise.getTitle(),
+                    ex.getMessage());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.error("Clone student repository {} in exercise '{}' was interrupted", participation.getVcsRepositoryUrl(), programmingExercise.getTitle());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the repository of the participation that was downloaded by a previous check, if it is still checked out at the commit of the latest submission.
+     * Then we neither need to fetch nor to reset the repository.
+     *
+     * @return the repository or null if it was not downloaded before or the participation has a newer submission
+     */
+    private Repository getUnchangedCachedRepository(ProgrammingExerciseParticipation participation, String targetPath) {
+        if (cacheRetentionInMinutes <= 0) {
+            return null;
+        }
+        String commitHash = participation.findLatestSubmission().filter(submission -> submission instanceof ProgrammingSubmission)
+                .map(submission -> ((ProgrammingSubmission) submission).getCommitHash()).orElse(null);
+        if (commitHash == null) {
+            return null;
+        }
+        Repository repository = gitService.getExistingCheckedOutRepositoryByLocalPath(gitService.getLocalPathOfRepoForJPlag(participation, targetPath),
+                participation.getVcsRepositoryUrl());
+        if (repository == null) {
+            return null;
+        }
+        try {
+            ObjectId head = repository.resolve(Constants.HEAD);
+            if (head == null || !commitHash.equals(head.getName())) {
+                return null;
+            }
+        }
+        catch (IOException ex) {
+            log.debug("Cannot resolve the HEAD of the cached repository {}: {}", repository.getLocalPath(), ex.getMessage());
+            return null;
+        }
+        repository.setParticipation(participation);
+        return repository;
+    }
 }
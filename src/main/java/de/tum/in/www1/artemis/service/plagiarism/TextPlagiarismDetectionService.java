@@ -4,9 +4,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -35,9 +37,13 @@ public class TextPlagiarismDetectionService {
 
     private final PlagiarismWebsocketService plagiarismWebsocketService;
 
-    public TextPlagiarismDetectionService(TextSubmissionExportService textSubmissionExportService, PlagiarismWebsocketService plagiarismWebsocketService) {
+    private final PlagiarismResultCache plagiarismResultCache;
+
+    public TextPlagiarismDetectionService(TextSubmissionExportService textSubmissionExportService, PlagiarismWebsocketService plagiarismWebsocketService,
+            PlagiarismResultCache plagiarismResultCache) {
         this.textSubmissionExportService = textSubmissionExportService;
         this.plagiarismWebsocketService = plagiarismWebsocketService;
+        this.plagiarismResultCache = plagiarismResultCache;
     }
 
     /**
@@ -93,6 +99,16 @@ public class TextPlagiarismDetectionService {
             return textPlagiarismResult;
         }
 
+        // if no submission changed since the last check, we can reuse its result instead of exporting and comparing all submissions again
+        final String fingerprint = fingerprint(textSubmissions, minimumSize);
+        Optional<TextPlagiarismResult> cachedResult = plagiarismResultCache.getResult(textExercise.getId(), fingerprint, similarityThreshold);
+        if (cachedResult.isPresent()) {
+            log.info("Reuse the JPlag text comparison of the unchanged {} submissions of exercise {}", submissionsSize, textExercise.getId());
+            cachedResult.get().setExercise(textExercise);
+            plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
+            return cachedResult.get();
+        }
+
         AtomicInteger processedSubmissionCount = new AtomicInteger(1);
         textSubmissions.forEach(submission -> {
             var progressMessage = "Getting submission: " + processedSubmissionCount + "/" + textSubmissions.size();
@@ -140,9 +156,23 @@ public class TextPlagiarismDetectionService {
         TextPlagiarismResult textPlagiarismResult = new TextPlagiarismResult();
         textPlagiarismResult.convertJPlagResult(jPlagResult);
         textPlagiarismResult.setExercise(textExercise);
+        plagiarismResultCache.putResult(textExercise.getId(), fingerprint, similarityThreshold, textPlagiarismResult);
 
         log.info("JPlag text comparison for {} submissions done in {}", submissionsSize, TimeLogUtil.formatDurationFrom(start));
         plagiarismWebsocketService.notifyInstructorAboutPlagiarismState(topic, PlagiarismCheckState.COMPLETED, List.of());
         return textPlagiarismResult;
     }
+
+    /**
+     * The result of JPlag only depends on the compared texts, the names of the exported files and the minimum token match
+     */
+    private static String fingerprint(List<TextSubmission> textSubmissions, int minimumSize) {
+        List<String> parts = new ArrayList<>();
+        parts.add("minimumSize:" + minimumSize);
+        for (TextSubmission submission : textSubmissions) {
+            String participantIdentifier = ((StudentParticipation) submission.getParticipation()).getParticipantIdentifier();
+            parts.add(submission.getId() + ":" + participantIdentifier + ":" + DigestUtils.sha256Hex(Objects.toString(submission.getText(), "")));
+        }
+        return PlagiarismResultCache.fingerprint(parts);
+    }
 }
@@ -15,9 +15,9 @@ public class ProgrammingAssessmentService extends AssessmentService {
     public ProgrammingAssessmentService(ComplaintResponseService complaintResponseService, ComplaintRepository complaintRepository, FeedbackRepository feedbackRepository,
             ResultRepository resultRepository, StudentParticipationRepository studentParticipationRepository, ResultService resultService, SubmissionService submissionService,
             SubmissionRepository submissionRepository, ExamDateService examDateService, ExerciseDateService exerciseDateService, UserRepository userRepository,
-            GradingCriterionRepository gradingCriterionRepository, LtiService ltiService) {
+            GradingCriterionRepository gradingCriterionRepository, LtiService ltiService, AssessmentWorkQueueService assessmentWorkQueueService) {
         super(complaintResponseService, complaintRepository, feedbackRepository, resultRepository, studentParticipationRepository, resultService, submissionService,
-                submissionRepository, examDateService, exerciseDateService, gradingCriterionRepository, userRepository, ltiService);
+                submissionRepository, examDateService, exerciseDateService, gradingCriterionRepository, userRepository, ltiService, assessmentWorkQueueService);
     }
 
     /**
@@ -0,0 +1,325 @@
+package de.tum.in.www1.artemis.service.programming;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseStudentParticipation;
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.web.rest.dto.BuildTriggerProgressDTO;
+
+/**
+ * Triggers the builds of many participations asynchronously without overloading the continuous integration server.
+ * <p>
+ * All build runs of this node share a token bucket that allows {@code artemis.external-system-request.batch-size} trigger requests per
+ * {@code artemis.external-system-request.batch-waiting-time} and at most {@code artemis.external-system-request.build-trigger.max-in-flight} requests at the same time.
+ * When the continuous integration server responds with an error or slower than {@code artemis.external-system-request.build-trigger.slow-response-time}, the rate is halved,
+ * and it recovers step by step with each fast response.
+ */
+@Service
+public class ProgrammingBuildTriggerService {
+
+    private final Logger log = LoggerFactory.getLogger(ProgrammingBuildTriggerService.class);
+
+    // the rate is never reduced below this fraction of the configured rate
+    private static final double MIN_RATE_FACTOR = 1.0 / 16;
+
+    // each fast response increases the rate by this fraction of the configured rate
+    private static final double RATE_INCREASE_FACTOR = 1.0 / 10;
+
+    private final TokenBucket tokenBucket;
+
+    private final Semaphore inFlightRequests;
+
+    private final long slowResponseTimeMillis;
+
+    private final ExecutorService dispatchExecutor = Executors.newCachedThreadPool();
+
+    private final ExecutorService triggerExecutor;
+
+    // the latest build run of each exercise, finished runs are kept so that their progress can still be requested
+    private final Map<Long, BuildRun> buildRuns = new ConcurrentHashMap<>();
+
+    public ProgrammingBuildTriggerService(@Value("${artemis.external-system-request.batch-size}") int batchSize,
+            @Value("${artemis.external-system-request.batch-waiting-time}") int batchWaitingTime,
+            @Value("${artemis.external-system-request.build-trigger.max-in-flight:5}") int maxInFlight,
+            @Value("${artemis.external-system-request.build-trigger.slow-response-time:5000}") long slowResponseTimeMillis) {
+        double ratePerSecond = batchSize * 1000.0 / Math.max(1, batchWaitingTime);
+        this.tokenBucket = new TokenBucket(ratePerSecond, Math.max(1, batchSize));
+        this.inFlightRequests = new Semaphore(Math.max(1, maxInFlight));
+        this.triggerExecutor = Executors.newFixedThreadPool(Math.max(1, maxInFlight));
+        this.slowResponseTimeMillis = slowResponseTimeMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchExecutor.shutdownNow();
+        triggerExecutor.shutdownNow();
+    }
+
+    /**
+     * Adds the participations to the build run of the exercise and starts a new build run if none is running.
+     * Participations that are already waiting in the running build run are not added again.
+     *
+     * @param exerciseId     the id of the exercise the participations belong to
+     * @param participations the participations whose builds should be triggered
+     * @param trigger        triggers the build of a participation and returns false if the continuous integration server failed to do so
+     * @return a future that is completed with the final progress of the build run when the builds of all participations have been triggered or the build run was
+     *         cancelled, the progress is null if no participations were given
+     */
+    public CompletableFuture<BuildTriggerProgressDTO> triggerBuilds(long exerciseId, List<ProgrammingExerciseStudentParticipation> participations,
+            Predicate<ProgrammingExerciseStudentParticipation> trigger) {
+        if (participations.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        while (true) {
+            BuildRun buildRun = buildRuns.compute(exerciseId,
+                    (id, existingRun) -> existingRun == null || !existingRun.isAcceptingParticipations() ? new BuildRun(exerciseId, trigger) : existingRun);
+            if (buildRun.offer(participations)) {
+                if (buildRun.start()) {
+                    dispatchExecutor.execute(() -> dispatch(buildRun));
+                }
+                return buildRun.completion;
+            }
+            // the build run was closed or cancelled in the meantime, we start a new one
+        }
+    }
+
+    /**
+     * @param exerciseId the id of the exercise
+     * @return the progress of the latest build run of the exercise on this node or an empty optional if there was none
+     */
+    public Optional<BuildTriggerProgressDTO> getProgress(long exerciseId) {
+        return Optional.ofNullable(buildRuns.get(exerciseId)).map(buildRun -> buildRun.toProgress(tokenBucket.getRate()));
+    }
+
+    /**
+     * Cancels the running build run of the exercise. Builds that were already triggered are not stopped, all waiting participations are skipped.
+     *
+     * @param exerciseId the id of the exercise
+     * @return true if a running build run was cancelled
+     */
+    public boolean cancel(long exerciseId) {
+        BuildRun buildRun = buildRuns.get(exerciseId);
+        if (buildRun == null || !buildRun.isAcceptingParticipations()) {
+            return false;
+        }
+        log.info("Cancel the build run of exercise {}", exerciseId);
+        buildRun.cancelled = true;
+        return true;
+    }
+
+    private void dispatch(BuildRun buildRun) {
+        List<CompletableFuture<Void>> triggers = new ArrayList<>();
+        try {
+            ProgrammingExerciseStudentParticipation participation;
+            while ((participation = buildRun.poll()) != null) {
+                long waitingTimeNanos = tokenBucket.reserve();
+                if (waitingTimeNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitingTimeNanos);
+                }
+                inFlightRequests.acquire();
+                final var participationToTrigger = participation;
+                triggers.add(CompletableFuture.runAsync(() -> trigger(buildRun, participationToTrigger), triggerExecutor).whenComplete((ignored, error) -> {
+                    inFlightRequests.release();
+                    if (error != null) {
+                        buildRun.failed.incrementAndGet();
+                    }
+                }));
+            }
+        }
+        catch (InterruptedException ex) {
+            log.warn("The build run of exercise {} was interrupted", buildRun.exerciseId);
+            buildRun.cancelled = true;
+            buildRun.poll();
+            Thread.currentThread().interrupt();
+        }
+        catch (RejectedExecutionException ex) {
+            log.warn("The build run of exercise {} was stopped during shutdown", buildRun.exerciseId);
+            inFlightRequests.release();
+            buildRun.cancelled = true;
+            buildRun.poll();
+        }
+        CompletableFuture.allOf(triggers.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            log.info("Build run of exercise {} finished: {} of {} builds triggered, {} failed, {} skipped", buildRun.exerciseId, buildRun.triggered.get(), buildRun.total.get(),
+                    buildRun.failed.get(), buildRun.skipped.get());
+            buildRun.finishDate = ZonedDateTime.now();
+            buildRun.completion.complete(buildRun.toProgress(tokenBucket.getRate()));
+        });
+    }
+
+    private void trigger(BuildRun buildRun, ProgrammingExerciseStudentParticipation participation) {
+        // the trigger runs in another thread, which cannot access the authentication object of the caller
+        SecurityUtils.setAuthorizationObject();
+        long start = System.nanoTime();
+        boolean successful;
+        try {
+            successful = buildRun.trigger.test(participation);
+        }
+        catch (Exception ex) {
+            log.error("Trigger build failed for participation {}", participation.getId(), ex);
+            successful = false;
+        }
+        long responseTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!successful || responseTimeMillis > slowResponseTimeMillis) {
+            tokenBucket.slowDown();
+            log.debug("Slow down build triggers to {} per second after a response time of {}ms (successful: {})", tokenBucket.getRate(), responseTimeMillis, successful);
+        }
+        else {
+            tokenBucket.speedUp();
+        }
+        (successful ? buildRun.triggered : buildRun.failed).incrementAndGet();
+    }
+
+    /**
+     * The participations of an exercise whose builds are triggered one after another. A build run is closed as soon as no participation is waiting anymore,
+     * afterwards participations have to be added to a new build run.
+     */
+    private static final class BuildRun {
+
+        private final long exerciseId;
+
+        private final Predicate<ProgrammingExerciseStudentParticipation> trigger;
+
+        private final Deque<ProgrammingExerciseStudentParticipation> waitingParticipations = new ArrayDeque<>();
+
+        private final Set<Long> waitingParticipationIds = new HashSet<>();
+
+        private final CompletableFuture<BuildTriggerProgressDTO> completion = new CompletableFuture<>();
+
+        private final ZonedDateTime startDate = ZonedDateTime.now();
+
+        private final AtomicInteger total = new AtomicInteger();
+
+        private final AtomicInteger triggered = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        private volatile ZonedDateTime finishDate;
+
+        private volatile boolean cancelled = false;
+
+        private boolean started = false;
+
+        private boolean closed = false;
+
+        private BuildRun(long exerciseId, Predicate<ProgrammingExerciseStudentParticipation> trigger) {
+            this.exerciseId = exerciseId;
+            this.trigger = trigger;
+        }
+
+        private synchronized boolean offer(List<ProgrammingExerciseStudentParticipation> participations) {
+            if (!isAcceptingParticipations()) {
+                return false;
+            }
+            for (var participation : participations) {
+                if (waitingParticipationIds.add(participation.getId())) {
+                    waitingParticipations.add(participation);
+                    total.incrementAndGet();
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return true if the build run was not started before and the caller has to dispatch it
+         */
+        private synchronized boolean start() {
+            boolean notStartedBefore = !started;
+            started = true;
+            return notStartedBefore;
+        }
+
+        /**
+         * @return the next waiting participation or null if no participation is waiting anymore or the build run was cancelled, in which case the build run is closed
+         */
+        private synchronized ProgrammingExerciseStudentParticipation poll() {
+            if (cancelled) {
+                skipped.addAndGet(waitingParticipations.size());
+                waitingParticipations.clear();
+            }
+            ProgrammingExerciseStudentParticipation participation = waitingParticipations.poll();
+            if (participation == null) {
+                closed = true;
+                return null;
+            }
+            waitingParticipationIds.remove(participation.getId());
+            return participation;
+        }
+
+        private synchronized boolean isAcceptingParticipations() {
+            return !closed && !cancelled;
+        }
+
+        private synchronized BuildTriggerProgressDTO toProgress(double ratePerSecond) {
+            return new BuildTriggerProgressDTO(exerciseId, total.get(), triggered.get(), failed.get(), skipped.get(), waitingParticipations.size(), cancelled, startDate,
+                    finishDate, ratePerSecond);
+        }
+    }
+
+    /**
+     * A token bucket whose rate adapts to the response times of the continuous integration server (additive increase, multiplicative decrease).
+     * Requests reserve a token in advance, so that waiting requests are served in order.
+     */
+    private static final class TokenBucket {
+
+        private final double maxRate;
+
+        private final double capacity;
+
+        private double rate;
+
+        private double tokens;
+
+        private long lastRefillNanos = System.nanoTime();
+
+        private TokenBucket(double ratePerSecond, int capacity) {
+            this.maxRate = ratePerSecond;
+            this.rate = ratePerSecond;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        /**
+         * Takes a token from the bucket.
+         *
+         * @return the time in nanoseconds the caller has to wait until the token is available
+         */
+        private synchronized long reserve() {
+            refill();
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+        }
+
+        private synchronized void slowDown() {
+            refill();
+            rate = Math.max(maxRate * MIN_RATE_FACTOR, rate / 2);
+        }
+
+        private synchronized void speedUp() {
+            refill();
+            rate = Math.min(maxRate, rate + maxRate * RATE_INCREASE_FACTOR);
+        }
+
+        private synchronized double getRate() {
+            return rate;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1e9 * rate);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.toList;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -50,12 +51,6 @@ public class ProgrammingSubmissionService extends SubmissionService {
     @Value("${artemis.git.email}")
     private String artemisGitEmail;
 
-    @Value("${artemis.external-system-request.batch-size}")
-    private int externalSystemRequestBatchSize;
-
-    @Value("${artemis.external-system-request.batch-waiting-time}")
-    private int externalSystemRequestBatchWaitingTime;
-
     private final ProgrammingExerciseRepository programmingExerciseRepository;
 
     private final ProgrammingSubmissionRepository programmingSubmissionRepository;
@@ -84,6 +79,8 @@ public class ProgrammingSubmissionService extends SubmissionService {
 
     private final ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService;
 
+    private final ProgrammingBuildTriggerService programmingBuildTriggerService;
+
     public ProgrammingSubmissionService(ProgrammingSubmissionRepository programmingSubmissionRepository, ProgrammingExerciseRepository programmingExerciseRepository,
             GroupNotificationService groupNotificationService, SubmissionRepository submissionRepository, UserRepository userRepository, AuthorizationCheckService authCheckService,
             WebsocketMessagingService websocketMessagingService, Optional<VersionControlService> versionControlService, ResultRepository resultRepository,
@@ -92,9 +89,10 @@ public class ProgrammingSubmissionService extends SubmissionService {
             StudentParticipationRepository studentParticipationRepository, FeedbackRepository feedbackRepository, AuditEventRepository auditEventRepository,
             ExamDateService examDateService, ExerciseDateService exerciseDateService, CourseRepository courseRepository, ParticipationRepository participationRepository,
             ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository, ComplaintRepository complaintRepository,
-            ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService) {
+            ProgrammingExerciseGitDiffReportService programmingExerciseGitDiffReportService, ProgrammingBuildTriggerService programmingBuildTriggerService,
+            AssessmentWorkQueueService assessmentWorkQueueService) {
         super(submissionRepository, userRepository, authCheckService, resultRepository, studentParticipationRepository, participationService, feedbackRepository, examDateService,
-                exerciseDateService, courseRepository, participationRepository, complaintRepository);
+                exerciseDateService, courseRepository, participationRepository, complaintRepository, assessmentWorkQueueService);
         this.programmingSubmissionRepository = programmingSubmissionRepository;
         this.programmingExerciseRepository = programmingExerciseRepository;
         this.groupNotificationService = groupNotificationService;
@@ -109,6 +107,7 @@ public class ProgrammingSubmissionService extends SubmissionService {
         this.auditEventRepository = auditEventRepository;
         this.programmingExerciseStudentParticipationRepository = programmingExerciseStudentParticipationRepository;
         this.programmingExerciseGitDiffReportService = programmingExerciseGitDiffReportService;
+        this.programmingBuildTriggerService = programmingBuildTriggerService;
     }
 
     /**
@@ -310,7 +309,8 @@ public class ProgrammingSubmissionService extends SubmissionService {
         List<ProgrammingExerciseStudentParticipation> participations = new ArrayList<>(
                 programmingExerciseStudentParticipationRepository.findWithSubmissionsByExerciseId(exerciseId));
 
-        triggerBuildForParticipations(participations);
+        // the method is already async, so we can wait until the builds of all participations have been triggered
+        triggerBuildForParticipations(participations).join();
 
         // When the instructor build was triggered for the programming exercise, it is not considered 'dirty' anymore.
         setTestCasesChanged(programmingExercise, false);
@@ -319,25 +319,29 @@ public class ProgrammingSubmissionService extends SubmissionService {
     }
 
     /**
-     * trigger the build using the batch size approach for all participations
+     * Triggers the builds of the participations asynchronously, see {@link ProgrammingBuildTriggerService} for how the requests to the CI system are rate limited.
+     * Participations without a submission are skipped, as their build does not need to be triggered.
+     * If the builds of some participations could not be triggered, the editors and instructors of the exercise are notified, so callers do not have to wait for the result.
+     *
      * @param participations the participations for which the method triggerBuild should be executed.
+     * @return a future that is completed when the builds of all participations have been triggered or the build run was cancelled
      */
-    public void triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
-        var index = 0;
-        for (var participation : participations) {
-            // Execute requests in batches instead all at once.
-            if (index > 0 && index % externalSystemRequestBatchSize == 0) {
-                try {
-                    log.info("Sleep for {}s during triggerBuild", externalSystemRequestBatchWaitingTime / 1000);
-                    Thread.sleep(externalSystemRequestBatchWaitingTime);
+    public CompletableFuture<Void> triggerBuildForParticipations(List<ProgrammingExerciseStudentParticipation> participations) {
+        Map<Long, List<ProgrammingExerciseStudentParticipation>> participationsByExerciseId = participations.stream()
+                .filter(participation -> participation.getExercise() != null && participation.findLatestSubmission().isPresent())
+                .collect(Collectors.groupingBy(participation -> participation.getExercise().getId()));
+        return CompletableFuture.allOf(participationsByExerciseId.entrySet().stream().map(entry -> {
+            long exerciseId = entry.getKey();
+            return programmingBuildTriggerService.triggerBuilds(exerciseId, entry.getValue(), this::triggerBuild).thenAccept(progress -> {
+                if (progress != null && progress.failed() > 0) {
+                    notifyInstructorAboutFailedBuilds(exerciseId, progress.failed());
                 }
-                catch (InterruptedException ex) {
-                    log.error("Exception encountered when pausing before executing successive build for participation " + participation.getId(), ex);
-                }
-            }
-            triggerBuild(participation);
-            index++;
-        }
+            }).exceptionally(error -> {
+                log.error("Triggering the builds of {} participations in exercise {} failed", entry.getValue().size(), exerciseId, error);
+                notifyInstructorAboutFailedBuilds(exerciseId, entry.getValue().size());
+                return null;
+            });
+        }).toArray(CompletableFuture[]::new));
     }
 
     public void logTriggerInstructorBuild(User user, Exercise exercise, Course course) {
@@ -352,6 +356,19 @@ public class ProgrammingSubmissionService extends SubmissionService {
         groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise, BUILD_RUN_STARTED_FOR_PROGRAMMING_EXERCISE);
     }
 
+    private void notifyInstructorAboutFailedBuilds(long exerciseId, int numberOfFailedBuilds) {
+        try {
+            // the builds are triggered in another thread, which cannot access the authentication object of the caller
+            SecurityUtils.setAuthorizationObject();
+            var programmingExercise = programmingExerciseRepository.findByIdElseThrow(exerciseId);
+            groupNotificationService.notifyEditorAndInstructorGroupAboutExerciseUpdate(programmingExercise,
+                    BUILD_RUN_FAILED_FOR_PROGRAMMING_EXERCISE_NOTIFICATION + numberOfFailedBuilds);
+        }
+        catch (Exception ex) {
+            log.error("Could not notify the instructors of exercise {} about {} failed builds", exerciseId, numberOfFailedBuilds, ex);
+        }
+    }
+
     private void notifyInstructorAboutCompletedExerciseBuildRun(ProgrammingExercise programmingExercise) {
         websocketMessagingService.sendMessage(getProgrammingExerciseAllExerciseBuildsTriggeredTopic(programmingExercise.getId()), BuildRunState.COMPLETED);
         // Send a notification to the client to inform the instructor about the test case update.
@@ -437,8 +454,9 @@ public class ProgrammingSubmissionService extends SubmissionService {
      * Note: This call "resumes the exercise", i.e. re-creates the build plan if the build plan was already cleaned before
      *
      * @param participation the participation for which we create a new submission and new result
+     * @return false if triggering the build failed, true otherwise
      */
-    public void triggerBuild(ProgrammingExerciseStudentParticipation participation) {
+    public boolean triggerBuild(ProgrammingExerciseStudentParticipation participation) {
         Optional<ProgrammingSubmission> submission = participation.findLatestSubmission();
         // we only need to trigger the build if the student actually already made a submission, otherwise this is not needed
         if (submission.isPresent()) {
@@ -456,8 +474,10 @@ public class ProgrammingSubmissionService extends SubmissionService {
                 log.error("Trigger build failed for {} with the exception {}", participation.getBuildPlanId(), e.getMessage());
                 BuildTriggerWebsocketError error = new BuildTriggerWebsocketError(e.getMessage(), participation.getId());
                 notifyUserAboutSubmissionError(participation, error);
+                return false;
             }
         }
+        return true;
     }
 
     /**
@@ -770,7 +790,7 @@ public class ProgrammingSubmissionService extends SubmissionService {
      * @return a locked programming submission that needs an assessment
      */
     public ProgrammingSubmission lockAndGetProgrammingSubmissionWithoutResult(ProgrammingExercise exercise, int correctionRound) {
-        ProgrammingSubmission programmingSubmission = getRandomProgrammingSubmissionEligibleForNewAssessment(exercise, exercise.isExamExercise(), correctionRound)
+        ProgrammingSubmission programmingSubmission = (ProgrammingSubmission) claimSubmissionEligibleForNewAssessment(exercise, exercise.isExamExercise(), correctionRound)
                 .orElseThrow(() -> new EntityNotFoundException("Programming submission for exercise " + exercise.getId() + " could not be found"));
         Result newManualResult = lockSubmission(programmingSubmission, correctionRound);
         return (ProgrammingSubmission) newManualResult.getSubmission();
@@ -0,0 +1,38 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.ActiveStudentSketchService;
+
+@Service
+@Profile("scheduling")
+public class ActiveStudentSketchScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveStudentSketchScheduleService.class);
+
+    private final ActiveStudentSketchService activeStudentSketchService;
+
+    public ActiveStudentSketchScheduleService(ActiveStudentSketchService activeStudentSketchService) {
+        this.activeStudentSketchService = activeStudentSketchService;
+    }
+
+    /**
+     * Rebuilds the active student sketches of the recent weeks at 4:30:00 am in the night, so that e.g. deleted submissions are reflected
+     */
+    @Scheduled(cron = "0 30 4 * * *") // execute this every night at 4:30:00 am
+    public void rebuildActiveStudentSketches() {
+        // the custom @Query methods fail if no authentication is available
+        SecurityUtils.setAuthorizationObject();
+        try {
+            activeStudentSketchService.rebuildAllSketches(true);
+        }
+        catch (Exception ex) {
+            log.error("Rebuilding the active student sketches failed", ex);
+        }
+    }
+}
@@ -348,6 +348,7 @@ public class ProgrammingExerciseScheduleService implements IExerciseScheduleServ
             SecurityUtils.setAuthorizationObject();
             try {
                 log.info("Invoking scheduled task for participation {} in programming exercise with id {}.", participation.getId(), exercise.getId());
+                // the build is triggered in the background, the instructors are notified if it fails
                 programmingSubmissionService.triggerBuildForParticipations(List.of(participation));
             }
             catch (EntityNotFoundException ex) {
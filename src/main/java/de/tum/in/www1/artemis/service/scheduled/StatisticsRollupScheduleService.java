@@ -0,0 +1,38 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.StatisticsRollupService;
+
+@Service
+@Profile("scheduling")
+public class StatisticsRollupScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsRollupScheduleService.class);
+
+    private final StatisticsRollupService statisticsRollupService;
+
+    public StatisticsRollupScheduleService(StatisticsRollupService statisticsRollupService) {
+        this.statisticsRollupService = statisticsRollupService;
+    }
+
+    /**
+     * Counts the submissions, results, feedbacks and posts of the last hours for the statistics pages five minutes after every full hour
+     */
+    @Scheduled(cron = "0 5 * * * *") // execute this every hour at xx:05:00
+    public void rollUpStatistics() {
+        // the custom @Query methods fail if no authentication is available
+        SecurityUtils.setAuthorizationObject();
+        try {
+            statisticsRollupService.rollUp();
+        }
+        catch (Exception ex) {
+            log.error("Rolling up the statistics failed", ex);
+        }
+    }
+}
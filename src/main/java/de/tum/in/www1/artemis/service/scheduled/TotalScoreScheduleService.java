@@ -0,0 +1,38 @@
+package de.tum.in.www1.artemis.service.scheduled;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.TotalScoreService;
+
+@Service
+@Profile("scheduling")
+public class TotalScoreScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(TotalScoreScheduleService.class);
+
+    private final TotalScoreService totalScoreService;
+
+    public TotalScoreScheduleService(TotalScoreService totalScoreService) {
+        this.totalScoreService = totalScoreService;
+    }
+
+    /**
+     * Recalculates the incrementally updated total scores of all courses and exams at 4:00:00 am in the night, so that deviations from the participant scores do not persist
+     */
+    @Scheduled(cron = "0 0 4 * * *") // execute this every night at 4:00:00 am
+    public void rebuildTotalScores() {
+        // the custom @Query methods fail if no authentication is available
+        SecurityUtils.setAuthorizationObject();
+        try {
+            totalScoreService.rebuildAllTotalScores();
+        }
+        catch (Exception ex) {
+            log.error("Rebuilding the total scores failed", ex);
+        }
+    }
+}
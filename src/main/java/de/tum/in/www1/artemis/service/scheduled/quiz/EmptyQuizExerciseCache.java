@@ -62,6 +62,11 @@ final class EmptyQuizExerciseCache extends QuizExerciseCache {
         return Map.of();
     }
 
+    @Override
+    Map<String, Integer> getStatisticCounters() {
+        return Map.of();
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         log.error("EmptyQuizExerciseCache cannot have an exercise set");
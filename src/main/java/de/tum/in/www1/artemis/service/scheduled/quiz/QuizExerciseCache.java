@@ -55,6 +55,11 @@ abstract class QuizExerciseCache {
      */
     abstract Map<Long, Result> getResults();
 
+    /**
+     * The changes of the statistic counters that are not yet saved in the database, by their {@linkplain QuizStatisticCounters counter key}
+     */
+    abstract Map<String, Integer> getStatisticCounters();
+
     /**
      * Set the cached {@link QuizExercise} object
      */
@@ -41,6 +41,8 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
 
     private static final String HAZELCAST_CACHE_RESULTS = "-results";
 
+    private static final String HAZELCAST_CACHE_STATISTIC_COUNTERS = "-statistic-counters";
+
     /**
      * All {@link List} classes that are supported by Hazelcast {@link SerializationServiceV1}
      */
@@ -57,7 +59,7 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
     private transient QuizExercise exercise;
 
     /*
-     * All three IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
+     * All four IMaps are distributed Hazelcast objects and must not be (de-)serialized, they are all set in the setHazelcastInstance method.
      */
 
     private transient IMap<String, StudentParticipation> participations;
@@ -69,6 +71,8 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
      */
     private transient IMap<Long, Result> results;
 
+    private transient IMap<String, Integer> statisticCounters;
+
     QuizExerciseDistributedCache(Long exerciseId, List<ScheduledTaskHandler> quizStart, QuizExercise exercise) {
         super(Objects.requireNonNull(exerciseId, "exerciseId must not be null"));
         setQuizStart(quizStart);
@@ -109,6 +113,11 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         return results;
     }
 
+    @Override
+    Map<String, Integer> getStatisticCounters() {
+        return statisticCounters;
+    }
+
     @Override
     void setExercise(QuizExercise newExercise) {
         this.exercise = newExercise;
@@ -130,6 +139,7 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         int participationsSize = participations.size();
         int submissionsSize = submissions.size();
         int resultsSize = results.size();
+        int statisticCountersSize = statisticCounters.size();
         if (participationsSize > 0) {
             log.warn("Cache for Quiz {} destroyed with {} participations cached", getExerciseId(), participationsSize);
         }
@@ -139,9 +149,13 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         if (resultsSize > 0) {
             log.warn("Cache for Quiz {} destroyed with {} results cached", getExerciseId(), resultsSize);
         }
+        if (statisticCountersSize > 0) {
+            log.warn("Cache for Quiz {} destroyed with {} unsaved statistic counters cached", getExerciseId(), statisticCountersSize);
+        }
         participations.destroy();
         submissions.destroy();
         results.destroy();
+        statisticCounters.destroy();
         exercise = null;
     }
 
@@ -154,6 +168,7 @@ final class QuizExerciseDistributedCache extends QuizExerciseCache implements Ha
         participations = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_PARTICIPATIONS);
         submissions = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_SUBMISSIONS);
         results = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_RESULTS);
+        statisticCounters = hazelcastInstance.getMap(Constants.HAZELCAST_QUIZ_PREFIX + getExerciseId() + HAZELCAST_CACHE_STATISTIC_COUNTERS);
     }
 
     /**
@@ -6,15 +6,16 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.validation.constraints.NotNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
 import com.hazelcast.config.Config;
@@ -24,16 +25,13 @@ import com.hazelcast.scheduledexecutor.*;
 
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.Result;
-import de.tum.in.www1.artemis.domain.User;
-import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
-import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
 import de.tum.in.www1.artemis.domain.enumeration.SubmissionType;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
 import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
-import de.tum.in.www1.artemis.domain.quiz.SubmittedAnswer;
-import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.repository.QuizExerciseRepository;
 import de.tum.in.www1.artemis.service.QuizMessagingService;
+import de.tum.in.www1.artemis.service.QuizResultMessagingService;
 import de.tum.in.www1.artemis.service.QuizStatisticService;
 
 @Service
@@ -47,35 +45,34 @@ public class QuizScheduleService {
 
     private final IAtomicReference<ScheduledTaskHandler> scheduledProcessQuizSubmissions;
 
-    private final StudentParticipationRepository studentParticipationRepository;
-
-    private final ResultRepository resultRepository;
-
-    private final UserRepository userRepository;
-
-    private final QuizSubmissionRepository quizSubmissionRepository;
-
     private final QuizMessagingService quizMessagingService;
 
     private final QuizStatisticService quizStatisticService;
 
-    private final SimpMessageSendingOperations messagingTemplate;
-
     private final QuizCache quizCache;
 
     private final QuizExerciseRepository quizExerciseRepository;
 
-    public QuizScheduleService(SimpMessageSendingOperations messagingTemplate, StudentParticipationRepository studentParticipationRepository, ResultRepository resultRepository,
-            UserRepository userRepository, QuizSubmissionRepository quizSubmissionRepository, HazelcastInstance hazelcastInstance, QuizExerciseRepository quizExerciseRepository,
-            QuizMessagingService quizMessagingService, QuizStatisticService quizStatisticService) {
-        this.messagingTemplate = messagingTemplate;
-        this.studentParticipationRepository = studentParticipationRepository;
-        this.resultRepository = resultRepository;
-        this.userRepository = userRepository;
-        this.quizSubmissionRepository = quizSubmissionRepository;
+    private final QuizSubmissionBatchService quizSubmissionBatchService;
+
+    private final QuizResultMessagingService quizResultMessagingService;
+
+    private final long statisticSaveIntervalInSeconds;
+
+    /**
+     * The last time (in ms) the aggregated statistics of a quiz were saved on this instance, by quiz exercise id
+     */
+    private final Map<Long, Long> lastStatisticSaves = new ConcurrentHashMap<>();
+
+    public QuizScheduleService(HazelcastInstance hazelcastInstance, QuizExerciseRepository quizExerciseRepository, QuizMessagingService quizMessagingService,
+            QuizStatisticService quizStatisticService, QuizSubmissionBatchService quizSubmissionBatchService, QuizResultMessagingService quizResultMessagingService,
+            @Value("${artemis.quiz.statistics.save-interval:30}") long statisticSaveIntervalInSeconds) {
         this.quizExerciseRepository = quizExerciseRepository;
         this.quizMessagingService = quizMessagingService;
         this.quizStatisticService = quizStatisticService;
+        this.quizSubmissionBatchService = quizSubmissionBatchService;
+        this.quizResultMessagingService = quizResultMessagingService;
+        this.statisticSaveIntervalInSeconds = statisticSaveIntervalInSeconds;
         this.scheduledProcessQuizSubmissions = hazelcastInstance.getCPSubsystem().getAtomicReference(HAZELCAST_PROCESS_CACHE_HANDLER);
         this.threadPoolTaskScheduler = hazelcastInstance.getScheduledExecutorService(Constants.HAZELCAST_QUIZ_SCHEDULER);
         this.quizCache = new QuizCache(hazelcastInstance);
@@ -356,6 +353,7 @@ public class QuizScheduleService {
      */
     public void clearQuizData(Long quizExerciseId) {
         quizCache.removeAndClear(quizExerciseId);
+        lastStatisticSaves.remove(quizExerciseId);
     }
 
     /**
@@ -368,7 +366,8 @@ public class QuizScheduleService {
      *          ii. Create Participation and Result and save to Database (DB WRITE)
      *          iii. Remove processed Submissions from cache and write the Participations with Result and the Results into the cache
      *      b. Send out cached Participations (including QuizExercise and Result) from to each participant and remove them from the cache (WEBSOCKET SEND)
-     * 3. Update Statistics with Results from ResultHashMap (DB READ and DB WRITE) and remove from cache
+     * 3. Add the Results from ResultHashMap to the aggregated statistic counters in the cache and remove them from the cache
+     *      a. Save the aggregated statistics periodically and when the quiz has ended (DB WRITE)
      * 4. Send out new Statistics to instructors (WEBSOCKET SEND)
      */
     public void processCachedQuizSubmissions() {
@@ -394,9 +393,11 @@ public class QuizScheduleService {
                 boolean hasNewSubmissions = !cachedQuiz.getSubmissions().isEmpty();
                 boolean hasNewParticipations = !cachedQuiz.getParticipations().isEmpty();
                 boolean hasNewResults = !cachedQuiz.getResults().isEmpty();
+                // Aggregated statistic changes are only written to the database periodically or when the quiz has ended
+                boolean hasStatisticsToSave = !cachedQuiz.getStatisticCounters().isEmpty() && (hasEnded || isStatisticSaveDue(quizExerciseId));
 
                 // Skip quizzes with no cached changes
-                if (!hasNewSubmissions && !hasNewParticipations && !hasNewResults) {
+                if (!hasNewSubmissions && !hasNewParticipations && !hasNewResults && !hasStatisticsToSave) {
                     // Remove quiz if it has ended
                     if (hasEnded) {
                         removeCachedQuiz(cachedQuiz);
@@ -432,38 +433,32 @@ public class QuizScheduleService {
 
                 if (hasNewParticipations && hasEnded) {
                     // Send the participation with containing result and quiz back to the users via websocket and remove the participation from the ParticipationHashMap
-                    Collection<Entry<String, StudentParticipation>> finishedParticipations = cachedQuiz.getParticipations().entrySet();
-                    // TODO maybe find a better way to optimize the performance (use an executor service with e.g. X parallel threads)
-                    finishedParticipations.parallelStream().forEach(entry -> {
+                    Map<String, StudentParticipation> finishedParticipations = new HashMap<>();
+                    for (Entry<String, StudentParticipation> entry : cachedQuiz.getParticipations().entrySet()) {
                         StudentParticipation participation = entry.getValue();
                         if (participation.getParticipant() == null || participation.getParticipantIdentifier() == null) {
                             log.error("Participation is missing student (or student is missing username): {}", participation);
                         }
                         else {
-                            sendQuizResultToUser(quizExerciseId, participation);
-                            cachedQuiz.getParticipations().remove(entry.getKey());
+                            finishedParticipations.put(entry.getKey(), participation);
                         }
-                    });
+                    }
+                    quizResultMessagingService.sendQuizResultsToParticipants(quizExercise, finishedParticipations, username -> cachedQuiz.getParticipations().remove(username));
                     if (finishedParticipations.size() > 0) {
                         log.info("Sent out {} participations in {} for quiz {}", finishedParticipations.size(), formatDurationFrom(start), quizExercise.getTitle());
                     }
                 }
 
-                // Update Statistics with Results (DB Read and DB Write) and remove the results from the cache
+                // Update the aggregated statistics with Results and remove the results from the cache
                 start = System.nanoTime();
 
-                if (hasNewResults) {
-                    // Fetch a new quiz exercise here including deeper attribute paths (this is relatively expensive, so we only do that if necessary)
+                if (hasNewResults || hasStatisticsToSave) {
                     try {
                         // Get a Set because QuizStatisticService needs one (currently)
                         Set<Result> newResultsForQuiz = Set.copyOf(cachedQuiz.getResults().values());
-                        // Update the statistics
-                        quizStatisticService.updateStatistics(newResultsForQuiz, quizExercise);
+                        // Update the statistics, this also removes the processed results
+                        updateAggregatedStatistics(cachedQuiz, quizExercise, newResultsForQuiz, hasEnded);
                         log.info("Updated statistics with {} new results in {} for quiz {}", newResultsForQuiz.size(), formatDurationFrom(start), quizExercise.getTitle());
-                        // Remove only processed results
-                        for (Result result : newResultsForQuiz) {
-                            cachedQuiz.getResults().remove(result.getId());
-                        }
                     }
                     catch (Exception e) {
                         log.error("Exception in StatisticService.updateStatistics(): {}", e.getMessage(), e);
@@ -479,39 +474,70 @@ public class QuizScheduleService {
     private void removeCachedQuiz(QuizExerciseCache cachedQuiz) {
         cancelScheduledQuizStart(cachedQuiz.getExerciseId());
         quizCache.remove(cachedQuiz.getExerciseId());
+        lastStatisticSaves.remove(cachedQuiz.getExerciseId());
     }
 
-    private void sendQuizResultToUser(long quizExerciseId, StudentParticipation participation) {
-        var user = participation.getParticipantIdentifier();
-        removeUnnecessaryObjectsBeforeSendingToClient(participation);
-        messagingTemplate.convertAndSendToUser(user, "/topic/exercise/" + quizExerciseId + "/participation", participation);
-    }
-
-    private void removeUnnecessaryObjectsBeforeSendingToClient(StudentParticipation participation) {
-        if (participation.getExercise() != null) {
-            var quizExercise = (QuizExercise) participation.getExercise();
-            // we do not need the course and lectures
-            quizExercise.setCourse(null);
-            // students should not see statistics
-            // TODO: this would be useful, but leads to problems when the quiz schedule service wants to access the statistics again later on
-            // quizExercise.setQuizPointStatistic(null);
-            // quizExercise.getQuizQuestions().forEach(quizQuestion -> quizQuestion.setQuizQuestionStatistic(null));
-        }
-        // submissions are part of results, so we do not need them twice
-        participation.setSubmissions(null);
-        participation.setParticipant(null);
-        if (participation.getResults() != null && participation.getResults().size() > 0) {
-            QuizSubmission quizSubmission = (QuizSubmission) participation.getResults().iterator().next().getSubmission();
-            if (quizSubmission != null && quizSubmission.getSubmittedAnswers() != null) {
-                for (SubmittedAnswer submittedAnswer : quizSubmission.getSubmittedAnswers()) {
-                    if (submittedAnswer.getQuizQuestion() != null) {
-                        // we do not need all information of the questions again, they are already stored in the exercise
-                        var question = submittedAnswer.getQuizQuestion();
-                        submittedAnswer.setQuizQuestion(question.copyQuestionId());
-                    }
+    /**
+     * Adds the changes caused by the new results to the statistic counters aggregated in the quiz cache and sends the aggregated statistics to the instructors.
+     * The aggregated counters are only written to the database if the save interval has passed or if the quiz has ended.
+     * <p>
+     * The new results are removed from the cache directly after their changes were added to the aggregated counters (before the statistics are saved), so that the
+     * results are not added again in the next run if saving the statistics fails. The unsaved changes stay in the aggregated counters and are saved in the next run.
+     *
+     * @param cachedQuiz   the cache of the quiz exercise that contains the aggregated statistic counters
+     * @param quizExercise the quiz exercise with questions and statistics as currently saved in the database, its statistics will be modified
+     * @param newResults   the new results that should be added to the statistics
+     * @param hasEnded     whether the quiz has ended
+     */
+    private void updateAggregatedStatistics(QuizExerciseCache cachedQuiz, QuizExercise quizExercise, Set<Result> newResults, boolean hasEnded) {
+        Map<String, Integer> savedCounters = QuizStatisticCounters.read(quizExercise);
+        Map<String, Integer> aggregatedCounters = cachedQuiz.getStatisticCounters();
+        if (!newResults.isEmpty()) {
+            // we only calculate the change caused by the new results, so that we neither need to read nor to write all statistics in every run
+            QuizStatisticCounters.reset(quizExercise);
+            quizStatisticService.addResultsToStatistics(newResults, quizExercise);
+            Map<String, Integer> changes = QuizStatisticCounters.read(quizExercise);
+            // a failed calculation did not change the cache yet, so it is simply repeated with the same results in the next run
+            changes.forEach((key, change) -> {
+                if (change != 0) {
+                    aggregatedCounters.merge(key, change, Integer::sum);
                 }
+            });
+            // remove the processed results right away, so that a failed save below does not add them again (newer results are added in the next run)
+            for (Result result : newResults) {
+                cachedQuiz.getResults().remove(result.getId());
             }
         }
+
+        Map<String, Integer> unsavedChanges = new HashMap<>(aggregatedCounters);
+        Map<String, Integer> currentCounters = new HashMap<>(savedCounters);
+        unsavedChanges.forEach((key, change) -> currentCounters.merge(key, change, Integer::sum));
+        QuizStatisticCounters.write(quizExercise, currentCounters);
+
+        if (hasEnded || isStatisticSaveDue(quizExercise.getId())) {
+            quizStatisticService.saveStatistics(quizExercise);
+            lastStatisticSaves.put(quizExercise.getId(), System.currentTimeMillis());
+            // only remove the saved changes, the map is distributed and might contain newer changes
+            unsavedChanges.forEach((key, change) -> aggregatedCounters.merge(key, -change, (oldValue, value) -> oldValue + value == 0 ? null : oldValue + value));
+        }
+        quizStatisticService.sendStatisticsToSubscribedInstructors(quizExercise);
+    }
+
+    private boolean isStatisticSaveDue(Long quizExerciseId) {
+        long lastSave = lastStatisticSaves.computeIfAbsent(quizExerciseId, id -> System.currentTimeMillis());
+        return System.currentTimeMillis() - lastSave >= statisticSaveIntervalInSeconds * 1000L;
+    }
+
+    /**
+     * Discards the aggregated statistic changes of the given quiz that are not yet saved in the database, e.g. because the statistics are recalculated from the saved results
+     *
+     * @param quizExerciseId the id of the quiz exercise
+     */
+    public void clearAggregatedStatistics(Long quizExerciseId) {
+        var statisticCounters = quizCache.getReadCacheFor(quizExerciseId).getStatisticCounters();
+        if (!statisticCounters.isEmpty()) {
+            statisticCounters.clear();
+        }
     }
 
     /**
@@ -524,86 +550,41 @@ public class QuizScheduleService {
      */
     private int saveQuizSubmissionWithParticipationAndResultToDatabase(@NotNull QuizExercise quizExercise, Map<String, QuizSubmission> userSubmissionMap) {
 
-        int count = 0;
+        Map<String, QuizSubmission> processedSubmissions = new HashMap<>();
 
-        for (String username : userSubmissionMap.keySet()) {
-            try {
-                // first case: the user submitted the quizSubmission
-                QuizSubmission quizSubmission = userSubmissionMap.get(username);
-                if (quizSubmission.isSubmitted()) {
-                    if (quizSubmission.getType() == null) {
-                        quizSubmission.setType(SubmissionType.MANUAL);
-                    }
-                } // second case: the quiz has ended
-                else if (quizExercise.isEnded()) {
-                    quizSubmission.setSubmitted(true);
-                    quizSubmission.setType(SubmissionType.TIMEOUT);
-                    quizSubmission.setSubmissionDate(ZonedDateTime.now());
-                }
-                else {
-                    // the quiz is running and the submission was not yet submitted.
-                    continue;
+        for (Entry<String, QuizSubmission> entry : userSubmissionMap.entrySet()) {
+            // first case: the user submitted the quizSubmission
+            QuizSubmission quizSubmission = entry.getValue();
+            if (quizSubmission.isSubmitted()) {
+                if (quizSubmission.getType() == null) {
+                    quizSubmission.setType(SubmissionType.MANUAL);
                 }
-
-                count++;
-                // Create Participation and Result and save to Database (DB Write)
-                // Remove processed Submissions from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
-
-                StudentParticipation participation = new StudentParticipation();
-                // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
-                participation.setInitializationDate(quizSubmission.getSubmissionDate());
-                Optional<User> user = userRepository.findOneByLogin(username);
-                user.ifPresent(participation::setParticipant);
-                // add the quizExercise to the participation
-                participation.setExercise(quizExercise);
-                participation.setInitializationState(InitializationState.FINISHED);
-
-                // create participation
-                participation = studentParticipationRepository.save(participation);
-                quizSubmission.setParticipation(participation);
-                quizSubmission = quizSubmissionRepository.save(quizSubmission);
-                participation.setSubmissions(Set.of(quizSubmission));
-                var savedQuizSubmission = quizSubmissionRepository.findById(quizSubmission.getId()).get();
-
-                // create new result
-                Result result = new Result().participation(participation);
-                result.setRated(true);
-                result.setAssessmentType(AssessmentType.AUTOMATIC);
-                result.setCompletionDate(savedQuizSubmission.getSubmissionDate());
-                result = resultRepository.save(result);
-
-                // set submission, calculate scores and update result and submission accordingly
-                result.setSubmission(savedQuizSubmission);
-                savedQuizSubmission.calculateAndUpdateScores(quizExercise);
-                result.evaluateSubmission();
-
-                // add result to submission
-                savedQuizSubmission.setResults(List.of(result));
-                // save submission to set result index column
-                savedQuizSubmission = quizSubmissionRepository.save(savedQuizSubmission);
-                result = resultRepository.save(result);
-                // NOTE: we save submission and result here individually so that one exception (e.g. duplicated key) cannot destroy multiple student answers
-
-                // reconnect entities after save
-                participation.setSubmissions(Set.of(savedQuizSubmission));
-                participation.setResults(Set.of(result));
-                result.setSubmission(savedQuizSubmission);
-                result.setParticipation(participation);
-
-                // add the participation to the participationHashMap for the send out at the end of the quiz
-                addParticipation(quizExercise.getId(), participation);
-
-                // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
-                // the same user
-                userSubmissionMap.remove(username);
-
-                // add the result of the participation resultHashMap for the statistic-Update
-                addResultForStatisticUpdate(quizExercise.getId(), result);
+            } // second case: the quiz has ended
+            else if (quizExercise.isEnded()) {
+                quizSubmission.setSubmitted(true);
+                quizSubmission.setType(SubmissionType.TIMEOUT);
+                quizSubmission.setSubmissionDate(ZonedDateTime.now());
             }
-            catch (Exception e) {
-                log.error("Exception in saveQuizSubmissionWithParticipationAndResultToDatabase() for user {} in quiz {}: {}", username, quizExercise.getId(), e.getMessage(), e);
+            else {
+                // the quiz is running and the submission was not yet submitted.
+                continue;
             }
+            processedSubmissions.put(entry.getKey(), quizSubmission);
         }
-        return count;
+
+        // Create Participation and Result and save to Database (DB Write)
+        // Remove processed Submissions from SubmissionHashMap and write Participations with Result into ParticipationHashMap and Results into ResultHashMap
+        quizSubmissionBatchService.saveSubmissions(quizExercise, processedSubmissions, (username, participation) -> {
+            // add the participation to the participationHashMap for the send out at the end of the quiz
+            addParticipation(quizExercise.getId(), participation);
+
+            // remove the submission only after the participation has been added to the participation hashmap to avoid duplicated key exceptions for multiple participations for
+            // the same user
+            userSubmissionMap.remove(username);
+
+            // add the result of the participation resultHashMap for the statistic-Update
+            participation.getResults().forEach(result -> addResultForStatisticUpdate(quizExercise.getId(), result));
+        });
+        return processedSubmissions.size();
     }
 }
@@ -0,0 +1,114 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import de.tum.in.www1.artemis.domain.quiz.*;
+
+/**
+ * Reads and writes the values of all statistic counters of a quiz exercise as a flat map, so that they can be aggregated in the distributed {@link QuizExerciseCache}.
+ * <p>
+ * The keys consist of the id of the {@link QuizStatistic} or {@link QuizStatisticCounter} and the name of the value, e.g. <code>S42-participants-rated</code>.
+ * Statistics and counters that have not been saved yet (and therefore have no id) are ignored.
+ */
+final class QuizStatisticCounters {
+
+    private QuizStatisticCounters() {
+    }
+
+    private record CounterValue(String key, Supplier<Integer> getter, Consumer<Integer> setter) {
+    }
+
+    /**
+     * Reads the current values of all statistic counters of the given quiz exercise
+     *
+     * @param quizExercise the quiz exercise including questions and statistics
+     * @return the values of all counters mapped by their key
+     */
+    static Map<String, Integer> read(QuizExercise quizExercise) {
+        Map<String, Integer> values = new HashMap<>();
+        for (CounterValue counterValue : counterValues(quizExercise)) {
+            values.put(counterValue.key(), Objects.requireNonNullElse(counterValue.getter().get(), 0));
+        }
+        return values;
+    }
+
+    /**
+     * Sets the statistic counters of the given quiz exercise to the given values. Counters without a value in the map are not changed.
+     *
+     * @param quizExercise the quiz exercise including questions and statistics
+     * @param values       the new values of the counters mapped by their key
+     */
+    static void write(QuizExercise quizExercise, Map<String, Integer> values) {
+        for (CounterValue counterValue : counterValues(quizExercise)) {
+            Integer value = values.get(counterValue.key());
+            if (value != null) {
+                counterValue.setter().accept(value);
+            }
+        }
+    }
+
+    /**
+     * Sets all statistic counters of the given quiz exercise to 0
+     *
+     * @param quizExercise the quiz exercise including questions and statistics
+     */
+    static void reset(QuizExercise quizExercise) {
+        for (CounterValue counterValue : counterValues(quizExercise)) {
+            counterValue.setter().accept(0);
+        }
+    }
+
+    private static List<CounterValue> counterValues(QuizExercise quizExercise) {
+        List<CounterValue> values = new ArrayList<>();
+        QuizPointStatistic quizPointStatistic = quizExercise.getQuizPointStatistic();
+        if (quizPointStatistic != null) {
+            addStatisticValues(values, quizPointStatistic);
+            addCounterValues(values, quizPointStatistic.getPointCounters());
+        }
+        if (quizExercise.getQuizQuestions() == null) {
+            return values;
+        }
+        for (QuizQuestion quizQuestion : quizExercise.getQuizQuestions()) {
+            QuizQuestionStatistic statistic = quizQuestion.getQuizQuestionStatistic();
+            if (statistic == null) {
+                continue;
+            }
+            addStatisticValues(values, statistic);
+            if (statistic.getId() != null) {
+                values.add(new CounterValue("S" + statistic.getId() + "-correct-rated", statistic::getRatedCorrectCounter, statistic::setRatedCorrectCounter));
+                values.add(new CounterValue("S" + statistic.getId() + "-correct-unrated", statistic::getUnRatedCorrectCounter, statistic::setUnRatedCorrectCounter));
+            }
+            if (statistic instanceof MultipleChoiceQuestionStatistic multipleChoiceStatistic) {
+                addCounterValues(values, multipleChoiceStatistic.getAnswerCounters());
+            }
+            else if (statistic instanceof DragAndDropQuestionStatistic dragAndDropStatistic) {
+                addCounterValues(values, dragAndDropStatistic.getDropLocationCounters());
+            }
+            else if (statistic instanceof ShortAnswerQuestionStatistic shortAnswerStatistic) {
+                addCounterValues(values, shortAnswerStatistic.getShortAnswerSpotCounters());
+            }
+        }
+        return values;
+    }
+
+    private static void addStatisticValues(List<CounterValue> values, QuizStatistic statistic) {
+        if (statistic.getId() != null) {
+            values.add(new CounterValue("S" + statistic.getId() + "-participants-rated", statistic::getParticipantsRated, statistic::setParticipantsRated));
+            values.add(new CounterValue("S" + statistic.getId() + "-participants-unrated", statistic::getParticipantsUnrated, statistic::setParticipantsUnrated));
+        }
+    }
+
+    private static void addCounterValues(List<CounterValue> values, Collection<? extends QuizStatisticCounter> counters) {
+        if (counters == null) {
+            return;
+        }
+        for (QuizStatisticCounter counter : counters) {
+            if (counter.getId() != null) {
+                values.add(new CounterValue("C" + counter.getId() + "-rated", counter::getRatedCounter, counter::setRatedCounter));
+                values.add(new CounterValue("C" + counter.getId() + "-unrated", counter::getUnRatedCounter, counter::setUnRatedCounter));
+            }
+        }
+    }
+}
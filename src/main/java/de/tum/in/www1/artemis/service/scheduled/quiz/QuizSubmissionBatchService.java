@@ -0,0 +1,228 @@
+package de.tum.in.www1.artemis.service.scheduled.quiz;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+import javax.validation.constraints.NotNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
+import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.domain.quiz.QuizExercise;
+import de.tum.in.www1.artemis.domain.quiz.QuizSubmission;
+import de.tum.in.www1.artemis.repository.QuizSubmissionRepository;
+import de.tum.in.www1.artemis.repository.ResultRepository;
+import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
+
+/**
+ * Persists processed quiz submissions together with a new participation and result for each student.
+ * <p>
+ * In bulk mode, all users are loaded in one query and the submissions are split into chunks of {@code artemis.quiz.persistence.batch-size}.
+ * Each chunk is saved with one saveAll call per entity type on a bounded worker pool. If a chunk fails, its rows are saved one by one again,
+ * so that one broken submission cannot destroy the answers of other students.
+ */
+@Service
+public class QuizSubmissionBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizSubmissionBatchService.class);
+
+    private final StudentParticipationRepository studentParticipationRepository;
+
+    private final QuizSubmissionRepository quizSubmissionRepository;
+
+    private final ResultRepository resultRepository;
+
+    private final UserRepository userRepository;
+
+    private final boolean bulkMode;
+
+    private final int batchSize;
+
+    private final ExecutorService executor;
+
+    public QuizSubmissionBatchService(StudentParticipationRepository studentParticipationRepository, QuizSubmissionRepository quizSubmissionRepository,
+            ResultRepository resultRepository, UserRepository userRepository, @Value("${artemis.quiz.persistence.bulk-mode:true}") boolean bulkMode,
+            @Value("${artemis.quiz.persistence.batch-size:100}") int batchSize, @Value("${artemis.quiz.persistence.threads:4}") int threads) {
+        this.studentParticipationRepository = studentParticipationRepository;
+        this.quizSubmissionRepository = quizSubmissionRepository;
+        this.resultRepository = resultRepository;
+        this.userRepository = userRepository;
+        this.bulkMode = bulkMode;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates and saves a participation and a result for each of the given (already submitted) quiz submissions.
+     * The callback is invoked for every submission that was saved successfully, possibly from a worker thread.
+     *
+     * @param quizExercise          the quiz exercise (including questions) the submissions belong to
+     * @param submissionsByUsername the submissions which should be saved, mapped by the username of the student
+     * @param onSaved               invoked with the username and the saved participation (including submission and result) of each saved submission
+     */
+    public void saveSubmissions(@NotNull QuizExercise quizExercise, Map<String, QuizSubmission> submissionsByUsername, BiConsumer<String, StudentParticipation> onSaved) {
+        if (submissionsByUsername.isEmpty()) {
+            return;
+        }
+        if (!bulkMode) {
+            submissionsByUsername.forEach((username, quizSubmission) -> saveSubmissionSafely(quizExercise, username, quizSubmission,
+                    userRepository.findOneByLogin(username).orElse(null), null, onSaved));
+            return;
+        }
+
+        // load all users in one query instead of one query per submission
+        Map<String, User> usersByLogin = userRepository.findAllByLogins(submissionsByUsername.keySet()).stream()
+                .collect(Collectors.toMap(User::getLogin, Function.identity()));
+
+        List<Entry<String, QuizSubmission>> entries = new ArrayList<>(submissionsByUsername.entrySet());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int start = 0; start < entries.size(); start += batchSize) {
+            var chunk = entries.subList(start, Math.min(start + batchSize, entries.size()));
+            futures.add(CompletableFuture.runAsync(() -> saveChunk(quizExercise, chunk, usersByLogin, onSaved), executor));
+        }
+        // wait until all chunks are processed, exceptions are already handled per chunk
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Saves one chunk of submissions with one saveAll call for the participations and one saveAll call for the submissions (which cascades to the results).
+     * If one of the calls fails, the remaining work is done row by row.
+     */
+    private void saveChunk(QuizExercise quizExercise, List<Entry<String, QuizSubmission>> chunk, Map<String, User> usersByLogin,
+            BiConsumer<String, StudentParticipation> onSaved) {
+        List<StudentParticipation> participations = chunk.stream()
+                .map(entry -> createParticipation(quizExercise, entry.getValue(), usersByLogin.get(entry.getKey()))).collect(Collectors.toList());
+        try {
+            participations = studentParticipationRepository.saveAll(participations);
+        }
+        catch (Exception e) {
+            log.warn("Could not save {} participations in bulk for quiz {}, fall back to saving them individually: {}", chunk.size(), quizExercise.getId(), e.getMessage());
+            chunk.forEach(entry -> saveSubmissionSafely(quizExercise, entry.getKey(), entry.getValue(), usersByLogin.get(entry.getKey()), null, onSaved));
+            return;
+        }
+
+        List<QuizSubmission> quizSubmissions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            // the returned entities are detached copies, so we need to reconnect the full exercise for the score calculation
+            participations.get(i).setExercise(quizExercise);
+            quizSubmissions.add(prepareSubmissionWithResult(quizExercise, chunk.get(i).getValue(), participations.get(i)));
+        }
+        List<QuizSubmission> savedQuizSubmissions;
+        try {
+            // results are saved via the cascade of the submission, which also sets the result index column
+            savedQuizSubmissions = quizSubmissionRepository.saveAll(quizSubmissions);
+        }
+        catch (Exception e) {
+            log.warn("Could not save {} submissions in bulk for quiz {}, fall back to saving them individually: {}", chunk.size(), quizExercise.getId(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                var entry = chunk.get(i);
+                saveSubmissionSafely(quizExercise, entry.getKey(), entry.getValue(), usersByLogin.get(entry.getKey()), participations.get(i), onSaved);
+            }
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentParticipation participation = participations.get(i);
+            connect(participation, savedQuizSubmissions.get(i));
+            onSaved.accept(chunk.get(i).getKey(), participation);
+        }
+    }
+
+    /**
+     * Saves a single submission and logs (but does not rethrow) any exception.
+     *
+     * @param participation an already persisted participation that should be reused or null if a new participation should be created
+     */
+    private void saveSubmissionSafely(QuizExercise quizExercise, String username, QuizSubmission quizSubmission, User user, StudentParticipation participation,
+            BiConsumer<String, StudentParticipation> onSaved) {
+        try {
+            if (participation == null) {
+                participation = studentParticipationRepository.save(createParticipation(quizExercise, quizSubmission, user));
+                participation.setExercise(quizExercise);
+            }
+            // NOTE: we save submission and result here individually so that one exception (e.g. duplicated key) cannot destroy multiple student answers
+            quizSubmission.setParticipation(participation);
+            quizSubmission.setResults(new ArrayList<>());
+            var savedQuizSubmission = quizSubmissionRepository.save(quizSubmission);
+
+            Result result = createResult(quizExercise, savedQuizSubmission, participation);
+            result = resultRepository.save(result);
+            // save submission to set result index column
+            savedQuizSubmission.setResults(List.of(result));
+            savedQuizSubmission = quizSubmissionRepository.save(savedQuizSubmission);
+
+            connect(participation, savedQuizSubmission);
+            participation.setResults(Set.of(result));
+            result.setSubmission(savedQuizSubmission);
+            onSaved.accept(username, participation);
+        }
+        catch (Exception e) {
+            log.error("Exception in saveSubmissions() for user {} in quiz {}: {}", username, quizExercise.getId(), e.getMessage(), e);
+        }
+    }
+
+    private StudentParticipation createParticipation(QuizExercise quizExercise, QuizSubmission quizSubmission, User user) {
+        StudentParticipation participation = new StudentParticipation();
+        // TODO: when this is set earlier for the individual quiz start of a student, we don't need to set this here anymore
+        participation.setInitializationDate(quizSubmission.getSubmissionDate());
+        participation.setParticipant(user);
+        participation.setExercise(quizExercise);
+        participation.setInitializationState(InitializationState.FINISHED);
+        return participation;
+    }
+
+    private QuizSubmission prepareSubmissionWithResult(QuizExercise quizExercise, QuizSubmission quizSubmission, StudentParticipation participation) {
+        quizSubmission.setParticipation(participation);
+        Result result = createResult(quizExercise, quizSubmission, participation);
+        quizSubmission.setResults(new ArrayList<>(List.of(result)));
+        return quizSubmission;
+    }
+
+    /**
+     * Creates the automatic result for the submission and calculates the scores of the submission and the result.
+     */
+    private Result createResult(QuizExercise quizExercise, QuizSubmission quizSubmission, StudentParticipation participation) {
+        Result result = new Result().participation(participation);
+        result.setRated(true);
+        result.setAssessmentType(AssessmentType.AUTOMATIC);
+        result.setCompletionDate(quizSubmission.getSubmissionDate());
+        result.setSubmission(quizSubmission);
+        quizSubmission.calculateAndUpdateScores(quizExercise);
+        result.evaluateSubmission();
+        return result;
+    }
+
+    /**
+     * Reconnects the saved entities, so that the participation can be sent to the student and the result can be used for the statistics
+     */
+    private void connect(StudentParticipation participation, QuizSubmission savedQuizSubmission) {
+        participation.setSubmissions(Set.of(savedQuizSubmission));
+        Set<Result> results = new HashSet<>();
+        for (Result result : savedQuizSubmission.getResults()) {
+            result.setSubmission(savedQuizSubmission);
+            result.setParticipation(participation);
+            results.add(result);
+        }
+        participation.setResults(results);
+    }
+}
@@ -28,6 +28,7 @@ import de.tum.in.www1.artemis.repository.CourseRepository;
 import de.tum.in.www1.artemis.repository.OrganizationRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache;
 import de.tum.in.www1.artemis.service.connectors.CIUserManagementService;
 import de.tum.in.www1.artemis.service.connectors.VcsUserManagementService;
 import de.tum.in.www1.artemis.web.rest.vm.ManagedUserVM;
@@ -69,9 +70,14 @@ public class UserCreationService {
 
     private final CacheManager cacheManager;
 
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
+    private final UserPrincipalCache userPrincipalCache;
+
     public UserCreationService(UserRepository userRepository, PasswordService passwordService, AuthorityRepository authorityRepository, CourseRepository courseRepository,
             Optional<VcsUserManagementService> optionalVcsUserManagementService, Optional<CIUserManagementService> optionalCIUserManagementService, CacheManager cacheManager,
-            OrganizationRepository organizationRepository) {
+            OrganizationRepository organizationRepository, WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache,
+            UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
         this.passwordService = passwordService;
         this.authorityRepository = authorityRepository;
@@ -80,6 +86,8 @@ public class UserCreationService {
         this.optionalCIUserManagementService = optionalCIUserManagementService;
         this.cacheManager = cacheManager;
         this.organizationRepository = organizationRepository;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -271,9 +279,11 @@ public class UserCreationService {
      * @return the saved and potentially updated user object
      */
     public User saveUser(User user) {
-        clearUserCaches(user);
         log.debug("Save user {}", user);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // the caches are cleared after saving, so that a concurrent request cannot cache the user before the change is saved
+        clearUserCaches(user);
+        return savedUser;
     }
 
     /**
@@ -306,6 +316,8 @@ public class UserCreationService {
         if (userCache != null) {
             userCache.evict(user.getLogin());
         }
+        userPrincipalCache.invalidate(user.getLogin());
+        websocketSubscriptionAuthorizationCache.invalidateUser(user.getLogin());
     }
 
     /**
@@ -0,0 +1,176 @@
+package de.tum.in.www1.artemis.service.user;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.SerializationUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches the users with groups and authorities (see {@link de.tum.in.www1.artemis.repository.UserRepository#getUserWithGroupsAndAuthorities(String)}), because almost
+ * every request loads the current user, often several times.
+ * <p>
+ * The users are cached for the current request and on this node for a short time. Callers often change and save the returned user, so the cache keeps a serialized
+ * snapshot of the loaded (detached) user and returns a new copy for every call. Cached users are invalidated on all nodes (via a Hazelcast topic) when a user is saved,
+ * deleted or its groups change. Hits and misses are exposed as metrics.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private static final String HAZELCAST_USER_INVALIDATION_TOPIC = "user-principal-cache-invalidation";
+
+    private static final String METRIC_PREFIX = "artemis.user.principal.cache";
+
+    private static final String REQUEST_ATTRIBUTE = UserPrincipalCache.class.getName() + ".users";
+
+    // every cached user also belongs to this group (logins are never empty), so that all users can be invalidated together
+    private static final String ALL_USERS = "";
+
+    // the least recently used users are evicted when the cache is full
+    private final InvalidatableCache<String, String, byte[]> cachedUsers;
+
+    private final Counter requestHits;
+
+    private final Counter nodeHits;
+
+    private final Counter misses;
+
+    public UserPrincipalCache(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry, @Value("${artemis.user-cache.time-to-live:30}") int timeToLiveInSeconds,
+            @Value("${artemis.user-cache.max-size:10000}") int maxSize) {
+        this.cachedUsers = new InvalidatableCache<>(hazelcastInstance, HAZELCAST_USER_INVALIDATION_TOPIC, timeToLiveInSeconds, maxSize, login -> List.of(login, ALL_USERS));
+
+        this.requestHits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").tag("scope", "request")
+                .description("Number of users found in the cache of the current request").register(meterRegistry);
+        this.nodeHits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").tag("scope", "node").description("Number of users found in the cache of this node")
+                .register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").tag("scope", "node")
+                .description("Number of users loaded from the database because they were not cached").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", cachedUsers, InvalidatableCache::size).description("Number of users cached on this node").register(meterRegistry);
+    }
+
+    /**
+     * Returns a copy of the cached user with the given login or loads (and caches) the user
+     *
+     * @param login      the login of the user
+     * @param userLoader loads the user with groups and authorities from the database
+     * @return the user or an empty optional, if no user with the login exists
+     */
+    public Optional<User> get(String login, Supplier<Optional<User>> userLoader) {
+        // callers within a transaction might rely on changes of the (managed) user being saved automatically
+        if (login == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return userLoader.get();
+        }
+        Map<String, byte[]> requestSnapshots = getRequestSnapshots();
+        byte[] snapshot = requestSnapshots != null ? requestSnapshots.get(login) : null;
+        if (snapshot != null) {
+            requestHits.increment();
+            return Optional.of(toUser(snapshot));
+        }
+        snapshot = cachedUsers.get(login);
+        if (snapshot != null) {
+            nodeHits.increment();
+            if (requestSnapshots != null) {
+                requestSnapshots.put(login, snapshot);
+            }
+            return Optional.of(toUser(snapshot));
+        }
+
+        misses.increment();
+        // users which were invalidated while they were loaded are not cached
+        Instant loadingStart = Instant.now();
+        Optional<User> user = userLoader.get();
+        if (user.isEmpty()) {
+            return user;
+        }
+        // the snapshot is taken before the loaded user is returned, so that changes of the caller are not cached
+        snapshot = SerializationUtils.serialize(user.get());
+        if (requestSnapshots != null) {
+            requestSnapshots.put(login, snapshot);
+        }
+        cachedUsers.put(login, snapshot, loadingStart);
+        return user;
+    }
+
+    /**
+     * Removes the user from the caches of all nodes. If the user is changed within a transaction, it is removed again after the commit, because other requests might load
+     * and cache the user before the changes are committed.
+     *
+     * @param login the login of the changed user
+     */
+    public void invalidate(String login) {
+        if (login == null) {
+            return;
+        }
+        invalidateEverywhere(login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    invalidateEverywhere(login);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes all users from the caches of all nodes, e.g. because the users were changed or deleted directly in the database
+     */
+    public void invalidateAll() {
+        invalidateEverywhere(ALL_USERS);
+    }
+
+    private void invalidateEverywhere(String login) {
+        cachedUsers.invalidate(login);
+        Map<String, byte[]> requestSnapshots = getRequestSnapshots();
+        if (requestSnapshots != null) {
+            if (ALL_USERS.equals(login)) {
+                requestSnapshots.clear();
+            }
+            else {
+                requestSnapshots.remove(login);
+            }
+        }
+    }
+
+    /**
+     * @return the snapshots of the users loaded in the current request or null, if the current thread does not handle a request
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Map<String, byte[]> getRequestSnapshots() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Map<String, byte[]> requestSnapshots = (Map<String, byte[]>) requestAttributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestSnapshots == null) {
+            requestSnapshots = new HashMap<>();
+            requestAttributes.setAttribute(REQUEST_ATTRIBUTE, requestSnapshots, RequestAttributes.SCOPE_REQUEST);
+        }
+        return requestSnapshots;
+    }
+
+    private static User toUser(byte[] snapshot) {
+        return (User) SerializationUtils.deserialize(snapshot);
+    }
+}
@@ -26,6 +26,7 @@ import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.ArtemisAuthenticationProvider;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache;
 import de.tum.in.www1.artemis.service.connectors.CIUserManagementService;
 import de.tum.in.www1.artemis.service.connectors.VcsUserManagementService;
 import de.tum.in.www1.artemis.service.connectors.jira.JiraAuthenticationProvider;
@@ -73,6 +74,8 @@ public class UserService {
 
     private final StudentScoreRepository studentScoreRepository;
 
+    private final TotalScoreRepository totalScoreRepository;
+
     private final CacheManager cacheManager;
 
     private final AuthorityRepository authorityRepository;
@@ -81,10 +84,16 @@ public class UserService {
 
     private final InstanceMessageSendService instanceMessageSendService;
 
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
+    private final UserPrincipalCache userPrincipalCache;
+
     public UserService(UserCreationService userCreationService, UserRepository userRepository, AuthorityService authorityService, AuthorityRepository authorityRepository,
             CacheManager cacheManager, Optional<LdapUserService> ldapUserService, GuidedTourSettingsRepository guidedTourSettingsRepository, PasswordService passwordService,
             Optional<VcsUserManagementService> optionalVcsUserManagementService, Optional<CIUserManagementService> optionalCIUserManagementService,
-            ArtemisAuthenticationProvider artemisAuthenticationProvider, StudentScoreRepository studentScoreRepository, InstanceMessageSendService instanceMessageSendService) {
+            ArtemisAuthenticationProvider artemisAuthenticationProvider, StudentScoreRepository studentScoreRepository, TotalScoreRepository totalScoreRepository,
+            InstanceMessageSendService instanceMessageSendService, WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache,
+            UserPrincipalCache userPrincipalCache) {
         this.userCreationService = userCreationService;
         this.userRepository = userRepository;
         this.authorityService = authorityService;
@@ -97,7 +106,10 @@ public class UserService {
         this.optionalCIUserManagementService = optionalCIUserManagementService;
         this.artemisAuthenticationProvider = artemisAuthenticationProvider;
         this.studentScoreRepository = studentScoreRepository;
+        this.totalScoreRepository = totalScoreRepository;
         this.instanceMessageSendService = instanceMessageSendService;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
@@ -198,9 +210,11 @@ public class UserService {
      * @return the saved and potentially updated user object
      */
     public User saveUser(User user) {
-        clearUserCaches(user);
         log.debug("Save user {}", user);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // the caches are cleared after saving, so that a concurrent request cannot cache the user before the change is saved
+        clearUserCaches(user);
+        return savedUser;
     }
 
     /**
@@ -431,6 +445,7 @@ public class UserService {
         // 10) Delete the tutor participation
 
         studentScoreRepository.deleteAllByUser(user);
+        totalScoreRepository.deleteAllByUserId(user.getId());
 
         userRepository.delete(user);
         clearUserCaches(user);
@@ -464,6 +479,8 @@ public class UserService {
         if (userCache != null) {
             userCache.evict(user.getLogin());
         }
+        userPrincipalCache.invalidate(user.getLogin());
+        websocketSubscriptionAuthorizationCache.invalidateUser(user.getLogin());
     }
 
     /**
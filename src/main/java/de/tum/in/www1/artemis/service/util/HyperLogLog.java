@@ -0,0 +1,114 @@
+package de.tum.in.www1.artemis.service.util;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * A HyperLogLog sketch, which estimates the number of distinct values (e.g. logins) in constant memory with a standard error of about 1.6%.
+ * <p>
+ * Each value sets one of the registers to the maximum of its current value and the position of the first 1-bit of the value's hash. Sketches (e.g. of different weeks
+ * or courses) are merged by taking the maximum of each register, which is why the registers can also be stored and merged in the database.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+
+    public static final int NUMBER_OF_REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / NUMBER_OF_REGISTERS);
+
+    private final byte[] registers = new byte[NUMBER_OF_REGISTERS];
+
+    /**
+     * Adds the value to the sketch
+     *
+     * @param value the value, e.g. the login of a user
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int index = registerIndex(hash);
+        registers[index] = (byte) Math.max(registers[index], registerValue(hash));
+    }
+
+    /**
+     * Merges the other sketch into this sketch, which then estimates the number of distinct values added to either of both sketches
+     *
+     * @param other the other sketch
+     */
+    public void merge(HyperLogLog other) {
+        for (int index = 0; index < NUMBER_OF_REGISTERS; index++) {
+            registers[index] = (byte) Math.max(registers[index], other.registers[index]);
+        }
+    }
+
+    public int getRegister(int index) {
+        return registers[index];
+    }
+
+    /**
+     * @return the estimated number of distinct values added to the sketch
+     */
+    public long estimate() {
+        int nonZeroRegisters = 0;
+        double weightSum = 0;
+        for (byte register : registers) {
+            if (register > 0) {
+                nonZeroRegisters++;
+                weightSum += weight(register);
+            }
+        }
+        return estimate(nonZeroRegisters, weightSum);
+    }
+
+    /**
+     * Estimates the number of distinct values from the number of registers that are not 0 and the sum of their weights, so that the estimate can be calculated from an
+     * aggregation of the registers in the database
+     *
+     * @param nonZeroRegisters the number of registers that are not 0
+     * @param weightSum        the sum of the {@link #weight(int)}s of the registers that are not 0
+     * @return the estimated number of distinct values
+     */
+    public static long estimate(long nonZeroRegisters, double weightSum) {
+        long zeroRegisters = NUMBER_OF_REGISTERS - nonZeroRegisters;
+        double estimate = ALPHA * NUMBER_OF_REGISTERS * NUMBER_OF_REGISTERS / (zeroRegisters + weightSum);
+        if (estimate <= 2.5 * NUMBER_OF_REGISTERS && zeroRegisters > 0) {
+            // linear counting is more accurate for small numbers of values
+            estimate = NUMBER_OF_REGISTERS * Math.log((double) NUMBER_OF_REGISTERS / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * @param registerValue the value of a register
+     * @return the weight of a register with the given value, i.e. 2^-value
+     */
+    public static double weight(int registerValue) {
+        return Math.scalb(1.0, -registerValue);
+    }
+
+    /**
+     * @param value the value, e.g. the login of a user
+     * @return the 64 bit hash of the value, which determines the register and the register value of the value
+     */
+    public static long hash(String value) {
+        return MurmurHash3.hash128x64(value.getBytes(StandardCharsets.UTF_8))[0];
+    }
+
+    /**
+     * @param hash the hash of a value
+     * @return the index of the register for the value, given by the first bits of the hash
+     */
+    public static int registerIndex(long hash) {
+        return (int) (hash >>> (Long.SIZE - PRECISION));
+    }
+
+    /**
+     * @param hash the hash of a value
+     * @return the register value for the value, i.e. the position of the first 1-bit in the remaining bits of the hash
+     */
+    public static int registerValue(long hash) {
+        // the additional bit limits the value if all remaining bits are 0
+        return Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+    }
+}
@@ -0,0 +1,239 @@
+package de.tum.in.www1.artemis.service.util;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+/**
+ * A bounded cache of values on this node which expire after a time to live and which are invalidated on all nodes (via a Hazelcast topic) when their data changes.
+ * <p>
+ * Each value belongs to one or more groups (e.g. the course of a cached post count), whose values are invalidated together. The cache keeps the date of the last
+ * invalidation of each group, so that a value whose loading started before an invalidation of one of its groups is not cached. These dates are removed after the time
+ * to live, because the values loaded before are expired anyway. The least recently used values are evicted when the cache is full. A time to live of 0 disables the
+ * cache.
+ *
+ * @param <K> the type of the keys
+ * @param <G> the type of the groups, which are sent to the other nodes when they are invalidated
+ * @param <V> the type of the cached values
+ */
+public class InvalidatableCache<K, G extends Serializable, V> {
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final Duration timeToLive;
+
+    private final Function<K, Collection<G>> groupsOfKey;
+
+    // access ordered, so that the least recently used value is evicted first, all accesses have to be synchronized on the map
+    private final LinkedHashMap<K, CachedValue<V>> cachedValues;
+
+    // the date of the last invalidation of each group, values whose loading started before are outdated
+    private final Map<G, Instant> invalidationDates = new ConcurrentHashMap<>();
+
+    private final List<Consumer<G>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final ITopic<G> invalidations;
+
+    /**
+     * @param creationDate the date when the loading of the value started, the value expires after the time to live from this date
+     * @param currentDate  the date until which the value contains all changes, i.e. the creation date or the date of the last local update
+     */
+    private record CachedValue<V>(V value, Instant creationDate, Instant currentDate) {
+    }
+
+    /**
+     * @param hazelcastInstance   the Hazelcast instance used to send the invalidations to the other nodes
+     * @param invalidationTopic   the name of the Hazelcast topic of the invalidations, unique for each cache
+     * @param timeToLiveInSeconds the time after which a cached value expires, 0 disables the cache
+     * @param maxSize             the maximum number of values cached on this node
+     * @param groupsOfKey         returns the groups of the value with the given key
+     */
+    public InvalidatableCache(HazelcastInstance hazelcastInstance, String invalidationTopic, int timeToLiveInSeconds, int maxSize,
+            Function<K, Collection<G>> groupsOfKey) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.timeToLive = Duration.ofSeconds(Math.max(0, timeToLiveInSeconds));
+        this.groupsOfKey = groupsOfKey;
+        int capacity = Math.max(1, maxSize);
+        this.cachedValues = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.invalidations = hazelcastInstance.getTopic(invalidationTopic);
+        this.invalidations.addMessageListener(message -> {
+            // the publishing node already invalidated its values
+            if (!hazelcastInstance.getCluster().getLocalMember().equals(message.getPublishingMember())) {
+                invalidateLocally(message.getMessageObject());
+            }
+        });
+    }
+
+    /**
+     * @return true if values are cached, i.e. the time to live is positive
+     */
+    public boolean isEnabled() {
+        return !timeToLive.isZero();
+    }
+
+    /**
+     * Returns the cached value of the key, if it is neither expired nor invalidated
+     *
+     * @param key the key of the value
+     * @return the cached value or null, if no valid value is cached
+     */
+    @Nullable
+    public V get(K key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CachedValue<V> cached;
+        synchronized (cachedValues) {
+            cached = cachedValues.get(key);
+        }
+        return cached != null && isValid(key, cached.creationDate(), cached.currentDate()) ? cached.value() : null;
+    }
+
+    /**
+     * Caches the value of the key, unless one of its groups was invalidated since the loading of the value started or the value is expired already
+     *
+     * @param key          the key of the value
+     * @param value        the loaded value
+     * @param loadingStart the date when the loading of the value started, i.e. before the data of the value was read
+     */
+    public void put(K key, V value, Instant loadingStart) {
+        if (!isEnabled() || value == null || !isValid(key, loadingStart, loadingStart)) {
+            return;
+        }
+        CachedValue<V> cached = new CachedValue<>(value, loadingStart, loadingStart);
+        synchronized (cachedValues) {
+            cachedValues.put(key, cached);
+        }
+        // a group invalidated in the meantime might have removed the values of the group before this value was added
+        if (!isValid(key, loadingStart, loadingStart)) {
+            synchronized (cachedValues) {
+                cachedValues.remove(key, cached);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached value of the key or loads (and caches) the value, if it is not cached, expired or invalidated
+     *
+     * @param key    the key of the value
+     * @param loader loads the value
+     * @return the cached or loaded value
+     */
+    public V getOrLoad(K key, Supplier<V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        // the loading start is the creation date of the value, so that an invalidation during the loading is not lost
+        Instant loadingStart = Instant.now();
+        value = loader.get();
+        put(key, value, loadingStart);
+        return value;
+    }
+
+    /**
+     * Removes the values of the group on all nodes
+     *
+     * @param group the group whose data changed
+     */
+    public void invalidate(G group) {
+        if (!isEnabled()) {
+            return;
+        }
+        invalidateLocally(group);
+        invalidations.publish(group);
+    }
+
+    /**
+     * Updates the cached value of the key on this node (e.g. incrementally) and removes the values of its groups on the other nodes. Values of the groups on this node
+     * whose loading started before the update are not cached anymore, because they might not contain the change.
+     *
+     * @param key    the key of the value
+     * @param update applies the change to the cached value, called while the cache is locked
+     */
+    public void updateLocally(K key, Consumer<V> update) {
+        if (!isEnabled()) {
+            return;
+        }
+        Collection<G> groups = groupsOfKey.apply(key);
+        Instant changeDate = Instant.now();
+        groups.forEach(group -> addInvalidationDate(group, changeDate));
+        synchronized (cachedValues) {
+            CachedValue<V> cached = cachedValues.get(key);
+            if (cached != null && cached.creationDate().plus(timeToLive).isAfter(changeDate)) {
+                update.accept(cached.value());
+                // the updated value contains the change, so it is as recent as a value loaded right after the change, but it still expires with its creation date
+                cachedValues.put(key, new CachedValue<>(cached.value(), cached.creationDate(), changeDate.plusNanos(1)));
+            }
+        }
+        groups.forEach(invalidations::publish);
+    }
+
+    /**
+     * Checks if the group was invalidated since the given date, e.g. to decide whether data loaded outside of this cache is outdated
+     *
+     * @param group the group
+     * @param date  the date when the loading of the data started
+     * @return true if the group was invalidated at or after the given date
+     */
+    public boolean isInvalidatedSince(G group, Instant date) {
+        Instant invalidationDate = invalidationDates.get(group);
+        return invalidationDate != null && !date.isAfter(invalidationDate);
+    }
+
+    /**
+     * Adds a listener which is notified when a group is invalidated on this node, either by this node or by another node
+     *
+     * @param listener the listener receiving the invalidated group
+     */
+    public void addInvalidationListener(Consumer<G> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * @return the number of values cached on this node, including expired values which were not evicted yet
+     */
+    public int size() {
+        synchronized (cachedValues) {
+            return cachedValues.size();
+        }
+    }
+
+    private void invalidateLocally(G group) {
+        addInvalidationDate(group, Instant.now());
+        synchronized (cachedValues) {
+            cachedValues.keySet().removeIf(key -> groupsOfKey.apply(key).contains(group));
+        }
+        invalidationListeners.forEach(listener -> listener.accept(group));
+    }
+
+    private void addInvalidationDate(G group, Instant invalidationDate) {
+        // values loaded before an invalidation which is older than the time to live are expired anyway
+        invalidationDates.values().removeIf(date -> date.plus(timeToLive).isBefore(invalidationDate));
+        invalidationDates.put(group, invalidationDate);
+    }
+
+    private boolean isValid(K key, Instant creationDate, Instant currentDate) {
+        if (!creationDate.plus(timeToLive).isAfter(Instant.now())) {
+            return false;
+        }
+        return groupsOfKey.apply(key).stream().noneMatch(group -> isInvalidatedSince(group, currentDate));
+    }
+}
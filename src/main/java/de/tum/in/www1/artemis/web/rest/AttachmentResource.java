@@ -2,13 +2,13 @@ package de.tum.in.www1.artemis.web.rest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +20,9 @@ import de.tum.in.www1.artemis.repository.AttachmentRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
+import de.tum.in.www1.artemis.service.FileContentCache;
 import de.tum.in.www1.artemis.service.FileService;
+import de.tum.in.www1.artemis.service.MergedLecturePdfService;
 import de.tum.in.www1.artemis.service.notifications.GroupNotificationService;
 import de.tum.in.www1.artemis.web.rest.errors.BadRequestAlertException;
 import de.tum.in.www1.artemis.web.rest.util.HeaderUtil;
@@ -50,16 +52,19 @@ public class AttachmentResource {
 
     private final FileService fileService;
 
-    private final CacheManager cacheManager;
+    private final FileContentCache fileContentCache;
+
+    private final MergedLecturePdfService mergedLecturePdfService;
 
     public AttachmentResource(AttachmentRepository attachmentRepository, GroupNotificationService groupNotificationService, AuthorizationCheckService authorizationCheckService,
-            UserRepository userRepository, FileService fileService, CacheManager cacheManager) {
+            UserRepository userRepository, FileService fileService, FileContentCache fileContentCache, MergedLecturePdfService mergedLecturePdfService) {
         this.attachmentRepository = attachmentRepository;
         this.groupNotificationService = groupNotificationService;
         this.authorizationCheckService = authorizationCheckService;
         this.userRepository = userRepository;
         this.fileService = fileService;
-        this.cacheManager = cacheManager;
+        this.fileContentCache = fileContentCache;
+        this.mergedLecturePdfService = mergedLecturePdfService;
     }
 
     /**
@@ -77,7 +82,10 @@ public class AttachmentResource {
             throw new BadRequestAlertException("A new attachment cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Attachment result = attachmentRepository.save(attachment);
-        this.cacheManager.getCache("files").evict(fileService.actualPathForPublicPath(result.getLink()));
+        fileContentCache.evict(Path.of(fileService.actualPathForPublicPath(result.getLink())));
+        if (result.getAttachmentUnit() != null) {
+            mergedLecturePdfService.scheduleMergeForAttachmentUnit(result.getAttachmentUnit().getId());
+        }
         return ResponseEntity.created(new URI("/api/attachments/" + result.getId()))
                 .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString())).body(result);
     }
@@ -103,7 +111,10 @@ public class AttachmentResource {
         originalAttachment.ifPresent(value -> attachment.setAttachmentUnit(value.getAttachmentUnit()));
 
         Attachment result = attachmentRepository.save(attachment);
-        this.cacheManager.getCache("files").evict(fileService.actualPathForPublicPath(result.getLink()));
+        fileContentCache.evict(Path.of(fileService.actualPathForPublicPath(result.getLink())));
+        if (result.getAttachmentUnit() != null) {
+            mergedLecturePdfService.scheduleMergeForAttachmentUnit(result.getAttachmentUnit().getId());
+        }
         if (notificationText != null) {
             groupNotificationService.notifyStudentGroupAboutAttachmentChange(result, notificationText);
         }
@@ -158,7 +169,7 @@ public class AttachmentResource {
             course = attachment.getLecture().getCourse();
             relatedEntity = "lecture " + attachment.getLecture().getTitle();
             try {
-                this.cacheManager.getCache("files").evict(fileService.actualPathForPublicPath(attachment.getLink()));
+                fileContentCache.evict(Path.of(fileService.actualPathForPublicPath(attachment.getLink())));
             }
             catch (RuntimeException exception) {
                 // this catch is required for deleting wrongly formatted attachment database entries
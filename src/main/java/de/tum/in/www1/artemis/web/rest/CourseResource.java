@@ -108,13 +108,15 @@ public class CourseResource {
 
     private final RatingService ratingService;
 
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
     public CourseResource(UserRepository userRepository, CourseService courseService, CourseRepository courseRepository, ExerciseService exerciseService,
             AuthorizationCheckService authCheckService, TutorParticipationRepository tutorParticipationRepository, RatingService ratingService,
             ComplaintRepository complaintRepository, ComplaintResponseRepository complaintResponseRepository, SubmissionRepository submissionRepository,
             SubmissionService submissionService, ComplaintService complaintService, TutorLeaderboardService tutorLeaderboardService, ResultRepository resultRepository,
             ProgrammingExerciseRepository programmingExerciseRepository, AuditEventRepository auditEventRepository, ParticipantScoreRepository participantScoreRepository,
             Optional<VcsUserManagementService> optionalVcsUserManagementService, AssessmentDashboardService assessmentDashboardService, ExerciseRepository exerciseRepository,
-            Optional<CIUserManagementService> optionalCiUserManagementService) {
+            Optional<CIUserManagementService> optionalCiUserManagementService, WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache) {
         this.courseService = courseService;
         this.courseRepository = courseRepository;
         this.exerciseService = exerciseService;
@@ -136,6 +138,7 @@ public class CourseResource {
         this.resultRepository = resultRepository;
         this.participantScoreRepository = participantScoreRepository;
         this.ratingService = ratingService;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
     }
 
     /**
@@ -254,7 +257,14 @@ public class CourseResource {
         final var oldInstructorGroup = existingCourse.getInstructorGroupName();
         final var oldEditorGroup = existingCourse.getEditorGroupName();
         final var oldTeachingAssistantGroup = existingCourse.getTeachingAssistantGroupName();
+        final boolean groupsChanged = !Objects.equals(existingCourse.getStudentGroupName(), updatedCourse.getStudentGroupName())
+                || !Objects.equals(oldTeachingAssistantGroup, updatedCourse.getTeachingAssistantGroupName())
+                || !Objects.equals(oldEditorGroup, updatedCourse.getEditorGroupName()) || !Objects.equals(oldInstructorGroup, updatedCourse.getInstructorGroupName());
         Course result = courseRepository.save(updatedCourse);
+        if (groupsChanged) {
+            // the users of the groups might subscribe to other websocket topics of the course now
+            websocketSubscriptionAuthorizationCache.invalidateAll();
+        }
         optionalVcsUserManagementService
                 .ifPresent(userManagementService -> userManagementService.updateCoursePermissions(result, oldInstructorGroup, oldEditorGroup, oldTeachingAssistantGroup));
         optionalCiUserManagementService
@@ -677,7 +687,7 @@ public class CourseResource {
             courseDTO.setExerciseDTOS(exerciseService.getStatisticsForCourseManagementOverview(courseId, amountOfStudentsInCourse));
 
             var exerciseIds = exerciseRepository.findAllIdsByCourseId(courseId);
-            courseDTO.setActiveStudents(courseService.getActiveStudents(exerciseIds, 0, 4, ZonedDateTime.now()));
+            courseDTO.setActiveStudents(courseService.getActiveStudents(courseId, exerciseIds, 0, 4, ZonedDateTime.now()));
             courseDTOs.add(courseDTO);
         }
 
@@ -1125,7 +1135,7 @@ public class CourseResource {
     public ResponseEntity<List<Integer>> getActiveStudentsForCourseDetailView(@PathVariable Long courseId, @RequestParam Long periodIndex) {
         authCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.TEACHING_ASSISTANT, courseRepository.findByIdElseThrow(courseId), null);
         var exerciseIds = exerciseRepository.findAllIdsByCourseId(courseId);
-        return ResponseEntity.ok(courseService.getActiveStudents(exerciseIds, periodIndex, 17, ZonedDateTime.now()));
+        return ResponseEntity.ok(courseService.getActiveStudents(courseId, exerciseIds, periodIndex, 17, ZonedDateTime.now()));
     }
 
     /**
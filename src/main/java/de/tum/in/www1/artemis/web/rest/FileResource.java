@@ -7,20 +7,20 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLConnection;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.ZonedDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import javax.activation.MimetypesFileTypeMap;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,7 +33,6 @@ import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.FileUploadExercise;
 import de.tum.in.www1.artemis.domain.FileUploadSubmission;
 import de.tum.in.www1.artemis.domain.Lecture;
-import de.tum.in.www1.artemis.domain.enumeration.AttachmentType;
 import de.tum.in.www1.artemis.domain.enumeration.ProgrammingLanguage;
 import de.tum.in.www1.artemis.domain.enumeration.ProjectType;
 import de.tum.in.www1.artemis.domain.lecture.AttachmentUnit;
@@ -41,8 +40,10 @@ import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.security.jwt.TokenProvider;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
+import de.tum.in.www1.artemis.service.FileContentCache;
 import de.tum.in.www1.artemis.service.FilePathService;
 import de.tum.in.www1.artemis.service.FileService;
+import de.tum.in.www1.artemis.service.MergedLecturePdfService;
 import de.tum.in.www1.artemis.service.ResourceLoaderService;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 
@@ -73,6 +74,10 @@ public class FileResource {
 
     private final AuthorizationCheckService authCheckService;
 
+    private final FileContentCache fileContentCache;
+
+    private final MergedLecturePdfService mergedLecturePdfService;
+
     // NOTE: this list has to be the same as in file-uploader.service.ts
     private final List<String> allowedFileExtensions = new ArrayList<>(Arrays.asList("png", "jpg", "jpeg", "svg", "pdf", "zip"));
 
@@ -86,7 +91,8 @@ public class FileResource {
 
     public FileResource(FileService fileService, ResourceLoaderService resourceLoaderService, LectureRepository lectureRepository, TokenProvider tokenProvider,
             FileUploadSubmissionRepository fileUploadSubmissionRepository, FileUploadExerciseRepository fileUploadExerciseRepository,
-            AttachmentUnitRepository attachmentUnitRepository, AuthorizationCheckService authCheckService, CourseRepository courseRepository) {
+            AttachmentUnitRepository attachmentUnitRepository, AuthorizationCheckService authCheckService, CourseRepository courseRepository, FileContentCache fileContentCache,
+            MergedLecturePdfService mergedLecturePdfService) {
         this.fileService = fileService;
         this.resourceLoaderService = resourceLoaderService;
         this.lectureRepository = lectureRepository;
@@ -96,6 +102,8 @@ public class FileResource {
         this.attachmentUnitRepository = attachmentUnitRepository;
         this.authCheckService = authCheckService;
         this.courseRepository = courseRepository;
+        this.fileContentCache = fileContentCache;
+        this.mergedLecturePdfService = mergedLecturePdfService;
     }
 
     /**
@@ -122,7 +130,7 @@ public class FileResource {
      */
     @GetMapping("files/temp/{filename:.+}")
     @PreAuthorize("hasRole('TA')")
-    public ResponseEntity<byte[]> getTempFile(@PathVariable String filename) {
+    public ResponseEntity<Resource> getTempFile(@PathVariable String filename) {
         log.debug("REST request to get file : {}", filename);
         return responseEntityForFilePath(FilePathService.getTempFilePath(), filename);
     }
@@ -151,7 +159,7 @@ public class FileResource {
      */
     @GetMapping("files/markdown/{filename:.+}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<byte[]> getMarkdownFile(@PathVariable String filename) {
+    public ResponseEntity<Resource> getMarkdownFile(@PathVariable String filename) {
         log.debug("REST request to get file : {}", filename);
         return buildFileResponse(FilePathService.getMarkdownFilePath(), filename);
     }
@@ -200,7 +208,7 @@ public class FileResource {
      */
     @GetMapping("files/drag-and-drop/backgrounds/{questionId}/{filename:.+}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<byte[]> getDragAndDropBackgroundFile(@PathVariable Long questionId, @PathVariable String filename) {
+    public ResponseEntity<Resource> getDragAndDropBackgroundFile(@PathVariable Long questionId, @PathVariable String filename) {
         log.debug("REST request to get file : {}", filename);
         return responseEntityForFilePath(FilePathService.getDragAndDropBackgroundFilePath(), filename);
     }
@@ -214,7 +222,7 @@ public class FileResource {
      */
     @GetMapping("files/drag-and-drop/drag-items/{dragItemId}/{filename:.+}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<byte[]> getDragItemFile(@PathVariable Long dragItemId, @PathVariable String filename) {
+    public ResponseEntity<Resource> getDragItemFile(@PathVariable Long dragItemId, @PathVariable String filename) {
         log.debug("REST request to get file : {}", filename);
         return responseEntityForFilePath(FilePathService.getDragItemFilePath(), filename);
     }
@@ -230,13 +238,13 @@ public class FileResource {
      */
     @GetMapping("files/file-upload-exercises/{exerciseId}/submissions/{submissionId}/{filename:.+}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<byte[]> getFileUploadSubmission(@PathVariable Long exerciseId, @PathVariable Long submissionId, @PathVariable String filename,
+    public ResponseEntity<Resource> getFileUploadSubmission(@PathVariable Long exerciseId, @PathVariable Long submissionId, @PathVariable String filename,
             @RequestParam("access_token") String temporaryAccessToken) {
         log.debug("REST request to get file : {}", filename);
         if (!validateTemporaryAccessToken(temporaryAccessToken, filename)) {
             // NOTE: this is a special case, because we like to show this error message directly in the browser (without the angular client being active)
             String errorMessage = "You don't have the access rights for this file! Please login to Artemis and download the file in the corresponding exercise";
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorMessage.getBytes());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ByteArrayResource(errorMessage.getBytes()));
         }
 
         Optional<FileUploadSubmission> optionalSubmission = fileUploadSubmissionRepository.findById(submissionId);
@@ -256,7 +264,7 @@ public class FileResource {
      */
     @GetMapping("files/course/icons/{courseId}/{filename:.+}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<byte[]> getCourseIcon(@PathVariable Long courseId, @PathVariable String filename) {
+    public ResponseEntity<Resource> getCourseIcon(@PathVariable Long courseId, @PathVariable String filename) {
         log.debug("REST request to get file : {}", filename);
         return responseEntityForFilePath(FilePathService.getCourseIconFilePath(), filename);
     }
@@ -315,7 +323,7 @@ public class FileResource {
      */
     @GetMapping("files/attachments/lecture/{lectureId}/{filename:.+}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<byte[]> getLectureAttachment(@PathVariable Long lectureId, @PathVariable String filename, @RequestParam("access_token") String temporaryAccessToken) {
+    public ResponseEntity<Resource> getLectureAttachment(@PathVariable Long lectureId, @PathVariable String filename, @RequestParam("access_token") String temporaryAccessToken) {
         log.debug("REST request to get file : {}", filename);
         Optional<Lecture> optionalLecture = lectureRepository.findById(lectureId);
         if (optionalLecture.isEmpty()) {
@@ -324,7 +332,7 @@ public class FileResource {
         if (!validateTemporaryAccessToken(temporaryAccessToken, filename)) {
             // NOTE: this is a special case, because we like to show this error message directly in the browser (without the angular client being active)
             String errorMessage = "You don't have the access rights for this file! Please login to Artemis and download the attachment in the corresponding lecture";
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorMessage.getBytes());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ByteArrayResource(errorMessage.getBytes()));
         }
         return buildFileResponse(Paths.get(FilePathService.getLectureAttachmentFilePath(), String.valueOf(optionalLecture.get().getId())).toString(), filename);
     }
@@ -341,31 +349,32 @@ public class FileResource {
      */
     @GetMapping("files/attachments/lecture/{lectureId}/merge-pdf")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<byte[]> getLecturePdfAttachmentsMerged(@PathVariable Long lectureId, @RequestParam("access_token") String temporaryAccessToken) {
+    public ResponseEntity<Resource> getLecturePdfAttachmentsMerged(@PathVariable Long lectureId, @RequestParam("access_token") String temporaryAccessToken) {
         log.debug("REST request to get merged pdf files for a lecture with id : {}", lectureId);
 
         if (!validateTemporaryAccessTokenForCourse(temporaryAccessToken, lectureRepository.findByIdElseThrow(lectureId).getCourse())) {
             // NOTE: this is a special case, because we like to show this error message directly in the browser (without the angular client being active)
             String errorMessage = "You don't have the access rights for this file! Please login to Artemis and download the attachment in the corresponding attachmentUnit";
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorMessage.getBytes());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ByteArrayResource(errorMessage.getBytes()));
         }
 
-        Set<AttachmentUnit> lectureAttachments = attachmentUnitRepository.findAllByLectureIdAndAttachmentTypeElseThrow(lectureId, AttachmentType.FILE);
-
-        List<String> attachmentLinks = lectureAttachments.stream()
-                .filter(unit -> unit.isVisibleToStudents() && "pdf".equals(StringUtils.substringAfterLast(unit.getAttachment().getLink(), ".")))
-                .map(unit -> Paths
-                        .get(FilePathService.getAttachmentUnitFilePath(), String.valueOf(unit.getId()), StringUtils.substringAfterLast(unit.getAttachment().getLink(), "/"))
-                        .toString())
-                .collect(Collectors.toList());
-
-        Optional<byte[]> file = fileService.mergePdfFiles(attachmentLinks);
-        if (file.isEmpty()) {
+        Optional<Path> mergedPdf = mergedLecturePdfService.getMergedPdf(lectureId);
+        if (mergedPdf.isEmpty()) {
             log.error("Failed to merge PDF lecture units for lecture with id : " + lectureId);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_PDF).body(file.get());
-
+        try {
+            // the merged PDF is streamed like the other files, so that PDF viewers can request parts of it and unchanged merged PDFs are not downloaded again
+            Optional<Resource> file = fileContentCache.getFile(mergedPdf.get());
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+            return fileResponse(file.get()).contentType(MediaType.APPLICATION_PDF).body(file.get());
+        }
+        catch (IOException e) {
+            log.error("Failed to read the merged PDF lecture units for lecture with id : " + lectureId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     /**
@@ -378,7 +387,7 @@ public class FileResource {
      */
     @GetMapping("files/attachments/attachment-unit/{attachmentUnitId}/{filename:.+}")
     @PreAuthorize("permitAll()")
-    public ResponseEntity<byte[]> getAttachmentUnitAttachment(@PathVariable Long attachmentUnitId, @PathVariable String filename,
+    public ResponseEntity<Resource> getAttachmentUnitAttachment(@PathVariable Long attachmentUnitId, @PathVariable String filename,
             @RequestParam("access_token") String temporaryAccessToken) {
         log.debug("REST request to get file : {}", filename);
         Optional<AttachmentUnit> optionalAttachmentUnit = attachmentUnitRepository.findById(attachmentUnitId);
@@ -388,7 +397,7 @@ public class FileResource {
         if (!validateTemporaryAccessToken(temporaryAccessToken, filename)) {
             // NOTE: this is a special case, because we like to show this error message directly in the browser (without the angular client being active)
             String errorMessage = "You don't have the access rights for this file! Please login to Artemis and download the attachment in the corresponding attachmentUnit";
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorMessage.getBytes());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ByteArrayResource(errorMessage.getBytes()));
         }
         return buildFileResponse(Paths.get(FilePathService.getAttachmentUnitFilePath(), String.valueOf(optionalAttachmentUnit.get().getId())).toString(), filename);
     }
@@ -515,11 +524,10 @@ public class FileResource {
      * @param filename the name of the file
      * @return response entity
      */
-    private ResponseEntity<byte[]> buildFileResponse(String path, String filename) {
+    private ResponseEntity<Resource> buildFileResponse(String path, String filename) {
         try {
-            var actualPath = Paths.get(path, filename).toString();
-            var file = fileService.getFileForPath(actualPath);
-            if (file == null) {
+            var file = fileContentCache.getFile(Paths.get(path, filename));
+            if (file.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
 
@@ -538,7 +546,7 @@ public class FileResource {
                 MimetypesFileTypeMap fileTypeMap = new MimetypesFileTypeMap();
                 mimeType = fileTypeMap.getContentType(filename);
             }
-            return ResponseEntity.ok().headers(headers).contentType(MediaType.parseMediaType(mimeType)).header("filename", filename).body(file);
+            return fileResponse(file.get()).headers(headers).contentType(MediaType.parseMediaType(mimeType)).header("filename", filename).body(file.get());
         }
         catch (IOException ex) {
             log.error("Failed to download file: " + filename + "on path: " + path, ex);
@@ -552,14 +560,13 @@ public class FileResource {
      * @param path the path for the file to read
      * @return ResponseEntity with status 200 and the file as byte stream, status 404 if the file doesn't exist, or status 500 if there is an error while reading the file
      */
-    private ResponseEntity<byte[]> responseEntityForFilePath(String path, String filename) {
+    private ResponseEntity<Resource> responseEntityForFilePath(String path, String filename) {
         try {
-            var actualPath = Paths.get(path, filename).toString();
-            var file = fileService.getFileForPath(actualPath);
-            if (file == null) {
+            var file = fileContentCache.getFile(Paths.get(path, filename));
+            if (file.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-            return ResponseEntity.ok(file);
+            return fileResponse(file.get()).body(file.get());
         }
         catch (IOException e) {
             e.printStackTrace();
@@ -567,4 +574,19 @@ public class FileResource {
         }
     }
 
+    /**
+     * Starts the response for the file with its ETag and last modification date. Spring answers conditional requests (If-None-Match or If-Modified-Since) for
+     * unchanged files with 304 (Not Modified) and range requests with 206 (Partial Content), so that e.g. PDF viewers only download the requested parts of the file.
+     *
+     * @param file the file with content length and last modification date
+     * @return the response builder with status 200 and the validation headers
+     * @throws IOException if the file attributes cannot be read
+     */
+    private static ResponseEntity.BodyBuilder fileResponse(Resource file) throws IOException {
+        long lastModified = file.lastModified();
+        // files are only cached by the browser of the user and revalidated before every use, as the access might have been revoked
+        return ResponseEntity.ok().eTag(Long.toHexString(lastModified) + "-" + Long.toHexString(file.contentLength())).lastModified(lastModified)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
 }
@@ -21,6 +21,7 @@ import de.tum.in.www1.artemis.repository.GradingScaleRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
 import de.tum.in.www1.artemis.service.GradingScaleService;
+import de.tum.in.www1.artemis.service.exam.ExamScoresCache;
 import de.tum.in.www1.artemis.web.rest.errors.BadRequestAlertException;
 import de.tum.in.www1.artemis.web.rest.util.HeaderUtil;
 
@@ -48,13 +49,16 @@ public class GradingScaleResource {
 
     private final AuthorizationCheckService authCheckService;
 
+    private final ExamScoresCache examScoresCache;
+
     public GradingScaleResource(GradingScaleService gradingScaleService, GradingScaleRepository gradingScaleRepository, CourseRepository courseRepository,
-            ExamRepository examRepository, AuthorizationCheckService authCheckService) {
+            ExamRepository examRepository, AuthorizationCheckService authCheckService, ExamScoresCache examScoresCache) {
         this.gradingScaleService = gradingScaleService;
         this.gradingScaleRepository = gradingScaleRepository;
         this.courseRepository = courseRepository;
         this.examRepository = examRepository;
         this.authCheckService = authCheckService;
+        this.examScoresCache = examScoresCache;
     }
 
     /**
@@ -156,6 +160,7 @@ public class GradingScaleResource {
         gradingScale.setExam(exam);
 
         GradingScale savedGradingScale = gradingScaleService.saveGradingScale(gradingScale);
+        examScoresCache.invalidate(examId);
         return ResponseEntity.created(new URI("/api/courses/" + courseId + "/exams/" + examId + "/grading-scale/"))
                 .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, "")).body(savedGradingScale);
     }
@@ -207,6 +212,7 @@ public class GradingScaleResource {
         }
         gradingScale.setExam(exam);
         GradingScale savedGradingScale = gradingScaleService.saveGradingScale(gradingScale);
+        examScoresCache.invalidate(examId);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, "")).body(savedGradingScale);
     }
 
@@ -242,6 +248,7 @@ public class GradingScaleResource {
         GradingScale gradingScale = gradingScaleRepository.findByExamIdOrElseThrow(examId);
         authCheckService.checkHasAtLeastRoleInCourseElseThrow(Role.INSTRUCTOR, course, null);
         gradingScaleRepository.delete(gradingScale);
+        examScoresCache.invalidate(examId);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, "")).build();
     }
 
@@ -188,6 +188,7 @@ public class ProgrammingAssessmentResource extends AssessmentResource {
 
         if (submit) {
             newManualResult = resultRepository.submitManualAssessment(existingManualResult.getId());
+            programmingAssessmentService.addToAssessmentQueueOfSecondCorrectionRound(newManualResult);
             Optional<User> optionalStudent = ((StudentParticipation) submission.getParticipation()).getStudent();
             if (optionalStudent.isPresent()) {
                 singleUserNotificationService.checkNotificationForAssessmentExerciseSubmission(programmingExercise, optionalStudent.get(), newManualResult);
@@ -12,6 +12,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import tech.jhipster.web.util.ResponseUtil;
+
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.SubmissionType;
@@ -28,8 +30,10 @@ import de.tum.in.www1.artemis.service.connectors.ContinuousIntegrationService;
 import de.tum.in.www1.artemis.service.connectors.VersionControlService;
 import de.tum.in.www1.artemis.service.feature.Feature;
 import de.tum.in.www1.artemis.service.feature.FeatureToggle;
+import de.tum.in.www1.artemis.service.programming.ProgrammingBuildTriggerService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingExerciseParticipationService;
 import de.tum.in.www1.artemis.service.programming.ProgrammingSubmissionService;
+import de.tum.in.www1.artemis.web.rest.dto.BuildTriggerProgressDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 import de.tum.in.www1.artemis.web.rest.errors.BadRequestAlertException;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
@@ -69,12 +73,14 @@ public class ProgrammingSubmissionResource {
 
     private final ExerciseDateService exerciseDateService;
 
+    private final ProgrammingBuildTriggerService programmingBuildTriggerService;
+
     public ProgrammingSubmissionResource(ProgrammingSubmissionService programmingSubmissionService, ExerciseRepository exerciseRepository,
             ParticipationRepository participationRepository, AuthorizationCheckService authCheckService, ProgrammingExerciseRepository programmingExerciseRepository,
             ProgrammingExerciseParticipationService programmingExerciseParticipationService,
             ProgrammingExerciseStudentParticipationRepository programmingExerciseStudentParticipationRepository, Optional<VersionControlService> versionControlService,
             UserRepository userRepository, Optional<ContinuousIntegrationService> continuousIntegrationService, GradingCriterionRepository gradingCriterionRepository,
-            SubmissionRepository submissionRepository, ExerciseDateService exerciseDateService) {
+            SubmissionRepository submissionRepository, ExerciseDateService exerciseDateService, ProgrammingBuildTriggerService programmingBuildTriggerService) {
         this.programmingSubmissionService = programmingSubmissionService;
         this.exerciseRepository = exerciseRepository;
         this.participationRepository = participationRepository;
@@ -88,6 +94,7 @@ public class ProgrammingSubmissionResource {
         this.gradingCriterionRepository = gradingCriterionRepository;
         this.submissionRepository = submissionRepository;
         this.exerciseDateService = exerciseDateService;
+        this.programmingBuildTriggerService = programmingBuildTriggerService;
     }
 
     /**
@@ -264,11 +271,45 @@ public class ProgrammingSubmissionResource {
         log.info("Trigger (failed) instructor build for participations {} in exercise {} with id {}", participationIds, programmingExercise.getTitle(),
                 programmingExercise.getId());
         var participations = programmingExerciseStudentParticipationRepository.findWithSubmissionsByExerciseIdAndParticipationIds(exerciseId, participationIds);
+        // the builds are triggered in the background, the instructors are notified if some of them fail
         programmingSubmissionService.triggerBuildForParticipations(participations);
 
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * GET /programming-exercises/:exerciseId/build-run : get the progress of the latest run in which the builds of many participations of the exercise were triggered.
+     * Note: the progress is only known on the node that triggers the builds.
+     *
+     * @param exerciseId to identify the programming exercise.
+     * @return the progress of the build run, notFound (404) if there was no build run on this node, forbidden (403) if the user is not allowed to access the exercise.
+     */
+    @GetMapping("/programming-exercises/{exerciseId}/build-run")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<BuildTriggerProgressDTO> getBuildRunProgress(@PathVariable Long exerciseId) {
+        ProgrammingExercise programmingExercise = programmingExerciseRepository.findByIdElseThrow(exerciseId);
+        authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.INSTRUCTOR, programmingExercise, null);
+        return ResponseUtil.wrapOrNotFound(programmingBuildTriggerService.getProgress(exerciseId));
+    }
+
+    /**
+     * DELETE /programming-exercises/:exerciseId/build-run : cancel the running build run of the exercise. Builds that were already triggered are not stopped.
+     *
+     * @param exerciseId to identify the programming exercise.
+     * @return ok if the build run was cancelled, notFound (404) if no build run is running on this node, forbidden (403) if the user is not allowed to access the exercise.
+     */
+    @DeleteMapping("/programming-exercises/{exerciseId}/build-run")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<Void> cancelBuildRun(@PathVariable Long exerciseId) {
+        ProgrammingExercise programmingExercise = programmingExerciseRepository.findByIdElseThrow(exerciseId);
+        authCheckService.checkHasAtLeastRoleForExerciseElseThrow(Role.INSTRUCTOR, programmingExercise, null);
+        log.info("REST request to cancel the build run of programming exercise {}", exerciseId);
+        if (!programmingBuildTriggerService.cancel(exerciseId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * POST /programming-exercises/test-cases-changed/:exerciseId : informs Artemis about changed test cases for the "exerciseId" programmingExercise.
      *
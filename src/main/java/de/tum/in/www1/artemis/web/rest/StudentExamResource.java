@@ -33,6 +33,7 @@ import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
 import de.tum.in.www1.artemis.service.exam.*;
 import de.tum.in.www1.artemis.service.util.HttpRequestUtils;
+import de.tum.in.www1.artemis.web.rest.dto.ExamExerciseStartProgressDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 import de.tum.in.www1.artemis.web.rest.errors.ConflictException;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
@@ -441,6 +442,21 @@ public class StudentExamResource {
         return ResponseEntity.ok().body(numberOfGeneratedParticipations);
     }
 
+    /**
+     * GET /courses/{courseId}/exams/{examId}/student-exams/start-exercises/progress : Get the progress of the latest start of the exercises of the exam
+     *
+     * @param courseId the course to which the exam belongs to
+     * @param examId   the exam to which the student exams belong to
+     * @return ResponseEntity containing the number of started and failed participations or 404 (Not Found) if the exercises were not started on this server instance
+     */
+    @GetMapping("/courses/{courseId}/exams/{examId}/student-exams/start-exercises/progress")
+    @PreAuthorize("hasRole('INSTRUCTOR')")
+    public ResponseEntity<ExamExerciseStartProgressDTO> getStartExercisesProgress(@PathVariable Long courseId, @PathVariable Long examId) {
+        log.debug("REST request to get the progress of starting the exercises of exam {}", examId);
+        examAccessService.checkCourseAndExamAccessForInstructorElseThrow(courseId, examId);
+        return ResponseEntity.of(studentExamService.getExerciseStartProgress(examId));
+    }
+
     /**
      * Sets the started flag and initial started date.
      * Calls {@link StudentExamResource#fetchParticipationsSubmissionsAndResultsForStudentExam} to set up the exercises.
@@ -31,6 +31,7 @@ import de.tum.in.www1.artemis.service.AuthorizationCheckService;
 import de.tum.in.www1.artemis.service.ParticipationService;
 import de.tum.in.www1.artemis.service.SubmissionService;
 import de.tum.in.www1.artemis.service.TeamService;
+import de.tum.in.www1.artemis.service.TotalScoreService;
 import de.tum.in.www1.artemis.service.dto.TeamSearchUserDTO;
 import de.tum.in.www1.artemis.web.rest.errors.AccessForbiddenException;
 import de.tum.in.www1.artemis.web.rest.errors.BadRequestAlertException;
@@ -75,10 +76,12 @@ public class TeamResource {
 
     private final TeamScoreRepository teamScoreRepository;
 
+    private final TotalScoreService totalScoreService;
+
     public TeamResource(TeamRepository teamRepository, TeamService teamService, TeamWebsocketService teamWebsocketService, CourseRepository courseRepository,
             ExerciseRepository exerciseRepository, UserRepository userRepository, AuthorizationCheckService authCheckService, ParticipationService participationService,
             SubmissionService submissionService, AuditEventRepository auditEventRepository, StudentParticipationRepository studentParticipationRepository,
-            TeamScoreRepository teamScoreRepository) {
+            TeamScoreRepository teamScoreRepository, TotalScoreService totalScoreService) {
         this.teamRepository = teamRepository;
         this.teamService = teamService;
         this.teamWebsocketService = teamWebsocketService;
@@ -91,6 +94,7 @@ public class TeamResource {
         this.auditEventRepository = auditEventRepository;
         this.studentParticipationRepository = studentParticipationRepository;
         this.teamScoreRepository = teamScoreRepository;
+        this.totalScoreService = totalScoreService;
     }
 
     /**
@@ -281,6 +285,7 @@ public class TeamResource {
         // Delete all participations of the team first and then the team itself
         participationService.deleteAllByTeamId(teamId, false, false);
         // delete all team scores associated with the team
+        teamScoreRepository.findAllByTeam(team).forEach(totalScoreService::removeParticipantScore);
         teamScoreRepository.deleteAllByTeam(team);
 
         teamRepository.delete(team);
@@ -32,6 +32,7 @@ import de.tum.in.www1.artemis.security.ArtemisAuthenticationProvider;
 import de.tum.in.www1.artemis.service.dto.UserDTO;
 import de.tum.in.www1.artemis.service.dto.UserInitializationDTO;
 import de.tum.in.www1.artemis.service.user.UserCreationService;
+import de.tum.in.www1.artemis.service.user.UserPrincipalCache;
 import de.tum.in.www1.artemis.service.user.UserService;
 import de.tum.in.www1.artemis.web.rest.dto.PageableSearchDTO;
 import de.tum.in.www1.artemis.web.rest.errors.*;
@@ -83,14 +84,18 @@ public class UserResource {
 
     private final LtiUserIdRepository ltiUserIdRepository;
 
+    private final UserPrincipalCache userPrincipalCache;
+
     public UserResource(UserRepository userRepository, UserService userService, UserCreationService userCreationService,
-            ArtemisAuthenticationProvider artemisAuthenticationProvider, AuthorityRepository authorityRepository, LtiUserIdRepository ltiUserIdRepository) {
+            ArtemisAuthenticationProvider artemisAuthenticationProvider, AuthorityRepository authorityRepository, LtiUserIdRepository ltiUserIdRepository,
+            UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.userCreationService = userCreationService;
         this.artemisAuthenticationProvider = artemisAuthenticationProvider;
         this.authorityRepository = authorityRepository;
         this.ltiUserIdRepository = ltiUserIdRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     private static void checkUsernameAndPasswordValidity(String username, String password) {
@@ -284,6 +289,7 @@ public class UserResource {
         log.debug("REST request to update notification date for logged in user");
         User user = userRepository.getUser();
         userRepository.updateUserNotificationReadDate(user.getId());
+        userPrincipalCache.invalidate(user.getLogin());
         return ResponseEntity.ok().build();
     }
 
@@ -301,6 +307,7 @@ public class UserResource {
         // if all notifications (regardless of their creation date) should be shown hideUntil should be null
         ZonedDateTime hideUntil = showAllNotifications ? null : ZonedDateTime.now();
         userService.updateUserNotificationVisibility(user.getId(), hideUntil);
+        userPrincipalCache.invalidate(user.getLogin());
         return ResponseEntity.ok().build();
     }
 
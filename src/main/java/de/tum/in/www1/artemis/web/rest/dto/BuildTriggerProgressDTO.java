@@ -0,0 +1,14 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress of the latest build run of a programming exercise, in which the builds of many participations are triggered one after another.
+ * The rate is the number of builds per second that are currently triggered on this node, it decreases when the continuous integration server responds slowly.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BuildTriggerProgressDTO(Long exerciseId, int total, int triggered, int failed, int skipped, int waiting, boolean cancelled, ZonedDateTime startDate,
+        ZonedDateTime finishDate, double ratePerSecond) {
+}
@@ -0,0 +1,13 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+import java.time.ZonedDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress of the latest start of the exercises of an exam, i.e. of creating the missing participations of all student exams.
+ * The total contains all participations that had to be created or initialized, participations which already existed before are not counted.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ExamExerciseStartProgressDTO(Long examId, int total, int started, int failed, ZonedDateTime startDate, ZonedDateTime finishDate) {
+}
@@ -0,0 +1,22 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+import java.time.ZonedDateTime;
+
+import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
+
+/**
+ * A rated result of a legal submission in an exam, used to calculate the exam scores without loading the participations, submissions and results
+ *
+ * @param participationId the id of the student participation
+ * @param studentId       the id of the student of the participation
+ * @param exerciseId      the id of the exercise
+ * @param submissionId    the id of the submission
+ * @param submissionDate  the submission date of the submission
+ * @param resultIndex     the position of the result in the results of the submission
+ * @param score           the score of the result
+ * @param completionDate  the completion date of the result
+ * @param assessmentType  the assessment type of the result
+ */
+public record ExamResultScoreDTO(Long participationId, Long studentId, Long exerciseId, Long submissionId, ZonedDateTime submissionDate, Integer resultIndex, Double score,
+        ZonedDateTime completionDate, AssessmentType assessmentType) {
+}
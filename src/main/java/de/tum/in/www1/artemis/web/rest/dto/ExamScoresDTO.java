@@ -43,6 +43,9 @@ public class ExamScoresDTO {
 
         public Long numberOfParticipants;
 
+        // the average points of the students with a result in one of the exercises of the group
+        public Double averagePointsAchieved;
+
         public List<ExerciseInfo> containedExercises = new ArrayList<>();
 
         public ExerciseGroup() {
@@ -0,0 +1,11 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+/**
+ * The content of a modeling submission of a participation
+ *
+ * @param participationId the id of the participation
+ * @param model           the model of the submission
+ * @param explanationText the explanation text of the submission
+ */
+public record ParticipationModelDTO(Long participationId, String model, String explanationText) {
+}
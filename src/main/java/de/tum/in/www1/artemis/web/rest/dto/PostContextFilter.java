@@ -32,6 +32,9 @@ public class PostContextFilter {
 
     private SortingOrder sortingOrder;
 
+    // keyset pagination: if set, the page contains the posts following this post in the requested order (instead of the posts of the requested page number)
+    private Long afterPostId;
+
     public Long getCourseId() {
         return courseId;
     }
@@ -111,4 +114,12 @@ public class PostContextFilter {
     public void setSortingOrder(SortingOrder sortingOrder) {
         this.sortingOrder = sortingOrder;
     }
+
+    public Long getAfterPostId() {
+        return afterPostId;
+    }
+
+    public void setAfterPostId(Long afterPostId) {
+        this.afterPostId = afterPostId;
+    }
 }
@@ -0,0 +1,19 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+import java.time.ZonedDateTime;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import de.tum.in.www1.artemis.domain.Result;
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
+
+/**
+ * The participation of a student in a quiz exercise including the result and the submitted answers, which is sent to the student when the quiz has ended.
+ * It has the same JSON structure as a student participation, but the quiz exercise is the same for all students and therefore only serialized once and included as raw JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record QuizParticipationResultDTO(Long id, String type, InitializationState initializationState, ZonedDateTime initializationDate, @JsonRawValue String exercise,
+        Set<Result> results) {
+}
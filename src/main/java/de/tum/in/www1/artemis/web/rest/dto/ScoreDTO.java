@@ -21,8 +21,12 @@ public class ScoreDTO {
     public Double regularPointsAchievable;
 
     public ScoreDTO(User user) {
-        this.studentId = user.getId();
-        this.studentLogin = user.getLogin();
+        this(user.getId(), user.getLogin());
+    }
+
+    public ScoreDTO(Long studentId, String studentLogin) {
+        this.studentId = studentId;
+        this.studentLogin = studentLogin;
         this.pointsAchieved = 0.0;
         this.scoreAchieved = 0.0;
         this.regularPointsAchievable = 0.0;
@@ -0,0 +1,12 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
+
+/**
+ * The initialization state of a participation of a student
+ *
+ * @param studentId           the id of the student
+ * @param initializationState the initialization state of the participation, might be null
+ */
+public record StudentInitializationStateDTO(Long studentId, InitializationState initializationState) {
+}
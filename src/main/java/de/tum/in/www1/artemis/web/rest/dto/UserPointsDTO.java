@@ -0,0 +1,10 @@
+package de.tum.in.www1.artemis.web.rest.dto;
+
+/**
+ * The points a user achieved in a set of exercises
+ *
+ * @param userId the id of the user
+ * @param points the sum of the achieved points, null if the user has no rated result
+ */
+public record UserPointsDTO(Long userId, Double points) {
+}
@@ -18,6 +18,7 @@ import de.tum.in.www1.artemis.repository.AttachmentUnitRepository;
 import de.tum.in.www1.artemis.repository.LectureRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.AuthorizationCheckService;
+import de.tum.in.www1.artemis.service.MergedLecturePdfService;
 import de.tum.in.www1.artemis.web.rest.util.HeaderUtil;
 
 @RestController
@@ -37,10 +38,14 @@ public class AttachmentUnitResource {
 
     private final AuthorizationCheckService authorizationCheckService;
 
-    public AttachmentUnitResource(AttachmentUnitRepository attachmentUnitRepository, LectureRepository lectureRepository, AuthorizationCheckService authorizationCheckService) {
+    private final MergedLecturePdfService mergedLecturePdfService;
+
+    public AttachmentUnitResource(AttachmentUnitRepository attachmentUnitRepository, LectureRepository lectureRepository, AuthorizationCheckService authorizationCheckService,
+            MergedLecturePdfService mergedLecturePdfService) {
         this.attachmentUnitRepository = attachmentUnitRepository;
         this.lectureRepository = lectureRepository;
         this.authorizationCheckService = authorizationCheckService;
+        this.mergedLecturePdfService = mergedLecturePdfService;
     }
 
     /**
@@ -86,6 +91,8 @@ public class AttachmentUnitResource {
         attachmentUnit.setAttachment(originalAttachmentUnit.getAttachment());
 
         AttachmentUnit result = attachmentUnitRepository.save(attachmentUnit);
+        // e.g. the release date of the unit might have changed, which changes the merged PDF of the lecture
+        mergedLecturePdfService.scheduleMerge(lectureId);
         return ResponseEntity.ok().headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, attachmentUnit.getId().toString())).body(result);
     }
 
@@ -116,6 +123,7 @@ public class AttachmentUnitResource {
         attachmentUnit.setLecture(lecture);
         lecture.addLectureUnit(attachmentUnit);
         lectureRepository.save(lecture);
+        mergedLecturePdfService.scheduleMerge(lectureId);
 
         // cleanup before sending to client
         attachmentUnit.getLecture().setLectureUnits(null);
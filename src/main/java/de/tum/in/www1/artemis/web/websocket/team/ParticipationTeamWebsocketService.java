@@ -1,16 +1,23 @@
 package de.tum.in.www1.artemis.web.websocket.team;
 
+import java.io.Serializable;
 import java.security.Principal;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -19,6 +26,7 @@ import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.simp.user.*;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
@@ -31,10 +39,14 @@ import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.ExerciseRepository;
 import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
+import de.tum.in.www1.artemis.repository.SubmissionRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.service.ExerciseDateService;
 import de.tum.in.www1.artemis.service.ModelingSubmissionService;
 import de.tum.in.www1.artemis.service.TextSubmissionService;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache.SubscriptionTopic;
 import de.tum.in.www1.artemis.web.websocket.dto.OnlineTeamStudentDTO;
 import de.tum.in.www1.artemis.web.websocket.dto.SubmissionSyncPayload;
 
@@ -63,9 +75,35 @@ public class ParticipationTeamWebsocketService {
 
     private final ModelingSubmissionService modelingSubmissionService;
 
+    private final SubmissionRepository submissionRepository;
+
+    private final ExerciseDateService exerciseDateService;
+
+    private final TaskScheduler scheduler;
+
+    private final WebsocketSubscriptionAuthorizationCache authorizationCache;
+
+    private final Duration saveInterval;
+
+    private final Map<Long, SubmissionState> submissionStates;
+
+    // participationId -> the scheduled save of the latest submission of the team on this node
+    private final Map<Long, ScheduledFuture<?>> scheduledSaves = new ConcurrentHashMap<>();
+
+    // sessionId -> user of the session, so that the user is only loaded once per session
+    private final Map<String, User> sessionUsers = new ConcurrentHashMap<>();
+
+    /**
+     * The latest submission of a team which was synchronized to the team members, but not saved yet
+     */
+    private record SubmissionState(Submission submission, User sender, String username, long exerciseId, String topicPath, Instant receivedAt) implements Serializable {
+    }
+
     public ParticipationTeamWebsocketService(SimpMessageSendingOperations messagingTemplate, SimpUserRegistry simpUserRegistry, UserRepository userRepository,
             StudentParticipationRepository studentParticipationRepository, ExerciseRepository exerciseRepository, TextSubmissionService textSubmissionService,
-            ModelingSubmissionService modelingSubmissionService, HazelcastInstance hazelcastInstance) {
+            ModelingSubmissionService modelingSubmissionService, HazelcastInstance hazelcastInstance, SubmissionRepository submissionRepository,
+            ExerciseDateService exerciseDateService, @Qualifier("taskScheduler") TaskScheduler scheduler, WebsocketSubscriptionAuthorizationCache authorizationCache,
+            @Value("${artemis.team-submission-sync.save-interval:10}") int saveIntervalInSeconds) {
         this.messagingTemplate = messagingTemplate;
         this.simpUserRegistry = simpUserRegistry;
         this.userRepository = userRepository;
@@ -73,6 +111,11 @@ public class ParticipationTeamWebsocketService {
         this.exerciseRepository = exerciseRepository;
         this.textSubmissionService = textSubmissionService;
         this.modelingSubmissionService = modelingSubmissionService;
+        this.submissionRepository = submissionRepository;
+        this.exerciseDateService = exerciseDateService;
+        this.scheduler = scheduler;
+        this.authorizationCache = authorizationCache;
+        this.saveInterval = Duration.ofSeconds(Math.max(0, saveIntervalInSeconds));
 
         // participationId-username -> timestamp
         this.lastTypingTracker = hazelcastInstance.getMap("lastTypingTracker");
@@ -80,6 +123,8 @@ public class ParticipationTeamWebsocketService {
         this.lastActionTracker = hazelcastInstance.getMap("lastActionTracker");
         // sessionId -> destination
         this.destinationTracker = hazelcastInstance.getMap("destinationTracker");
+        // participationId -> latest submission of the team that was not saved yet
+        this.submissionStates = hazelcastInstance.getMap("teamSubmissionStates");
     }
 
     /**
@@ -96,6 +141,8 @@ public class ParticipationTeamWebsocketService {
         final String destination = getDestination(participationId);
         destinationTracker.put(stompHeaderAccessor.getSessionId(), destination);
         sendOnlineTeamStudents(participationId);
+        // the joining team member might have loaded the submission before the latest changes of the team were saved
+        Optional.ofNullable(submissionStates.get(participationId)).ifPresent(state -> sendSubmission(participationId, state.submission(), state.sender(), state.topicPath()));
     }
 
     /**
@@ -124,73 +171,144 @@ public class ParticipationTeamWebsocketService {
     /**
      * Called by a student of a team to update the modeling submission of the team for their participation
      *
-     * @param participationId    id of participation
-     * @param modelingSubmission updated modeling submission
-     * @param principal          principal of user who wants to update the text submission
+     * @param participationId     id of participation
+     * @param modelingSubmission  updated modeling submission
+     * @param principal           principal of user who wants to update the text submission
+     * @param stompHeaderAccessor header from STOMP frame
      */
     @MessageMapping("/topic/participations/{participationId}/team/modeling-submissions/update")
-    public void updateModelingSubmission(@DestinationVariable Long participationId, @Payload ModelingSubmission modelingSubmission, Principal principal) {
+    public void updateModelingSubmission(@DestinationVariable Long participationId, @Payload ModelingSubmission modelingSubmission, Principal principal,
+            StompHeaderAccessor stompHeaderAccessor) {
         long start = System.currentTimeMillis();
-        updateSubmission(participationId, modelingSubmission, principal, "/modeling-submissions");
+        updateSubmission(participationId, modelingSubmission, principal, stompHeaderAccessor.getSessionId(), "/modeling-submissions");
         log.info("Websocket endpoint updateModelingSubmission took {}ms for submission with id {}", System.currentTimeMillis() - start, modelingSubmission.getId());
     }
 
     /**
      * Called by a student of a team to update the text submission of the team for their participation
      *
-     * @param participationId id of participation
-     * @param textSubmission  updated text submission
-     * @param principal       principal of user who wants to update the text submission
+     * @param participationId     id of participation
+     * @param textSubmission      updated text submission
+     * @param principal           principal of user who wants to update the text submission
+     * @param stompHeaderAccessor header from STOMP frame
      */
     @MessageMapping("/topic/participations/{participationId}/team/text-submissions/update")
-    public void updateTextSubmission(@DestinationVariable Long participationId, @Payload TextSubmission textSubmission, Principal principal) {
+    public void updateTextSubmission(@DestinationVariable Long participationId, @Payload TextSubmission textSubmission, Principal principal,
+            StompHeaderAccessor stompHeaderAccessor) {
         long start = System.currentTimeMillis();
-        updateSubmission(participationId, textSubmission, principal, "/text-submissions");
+        updateSubmission(participationId, textSubmission, principal, stompHeaderAccessor.getSessionId(), "/text-submissions");
         log.info("Websocket endpoint updateTextSubmission took {}ms for submission with id {}", System.currentTimeMillis() - start, textSubmission.getId());
     }
 
     /**
-     * Updates a modeling or text submission
+     * Updates a modeling or text submission. The updated submission is sent to the team members immediately, but it is only saved once per save interval (and when a team
+     * member leaves), because the team members send their changes every few seconds while they are working. Updates shortly before the due date are saved immediately.
      *
      * @param participationId id of participation
      * @param submission      updated modeling text submission
      * @param principal       principal of user who wants to update the submission
+     * @param sessionId       id of the websocket session of the user
      * @param topicPath       path of websocket destination topic where to send the new submission
      */
-    private void updateSubmission(@DestinationVariable Long participationId, @Payload Submission submission, Principal principal, String topicPath) {
+    private void updateSubmission(Long participationId, Submission submission, Principal principal, String sessionId, String topicPath) {
         // Without this, custom jpa repository methods don't work in websocket channel.
         SecurityUtils.setAuthorizationObject();
 
-        final StudentParticipation participation = studentParticipationRepository.findByIdElseThrow(participationId);
-
-        // user must belong to the team who owns the participation in order to update a submission
-        if (!participation.isOwnedBy(principal.getName())) {
+        // user must belong to the team who owns the participation in order to update a submission, the decision is the same as for subscribing to the team topic and
+        // it is invalidated when the members of the team change
+        if (!authorizationCache.isSubscriptionAllowed(principal.getName(), SubscriptionTopic.PARTICIPATION_TEAM, participationId,
+                () -> studentParticipationRepository.findByIdElseThrow(participationId).isOwnedBy(principal.getName()))) {
             return;
         }
 
-        final User user = userRepository.getUserWithGroupsAndAuthorities(principal.getName());
+        // the participation and exercise are loaded for every update, because the due dates might change while the team members are working
+        final StudentParticipation participation = studentParticipationRepository.findByIdElseThrow(participationId);
+
+        final User user = sessionUsers.computeIfAbsent(sessionId, id -> userRepository.getUserWithGroupsAndAuthorities(principal.getName()));
         final Exercise exercise = exerciseRepository.findByIdElseThrow(participation.getExercise().getId());
 
-        if (submission instanceof ModelingSubmission && exercise instanceof ModelingExercise) {
-            submission = modelingSubmissionService.save((ModelingSubmission) submission, (ModelingExercise) exercise, principal.getName());
-            modelingSubmissionService.hideDetails(submission, user);
-        }
-        else if (submission instanceof TextSubmission && exercise instanceof TextExercise) {
-            submission = textSubmissionService.handleTextSubmission((TextSubmission) submission, (TextExercise) exercise, principal);
-            textSubmissionService.hideDetails(submission, user);
+        // new submissions are saved immediately, so that all team members continue with the saved submission, and updates after the due date are rejected as before
+        if (saveInterval.isZero() || submission.getId() == null || isDueSoon(participation)) {
+            submission = saveSubmission(submission, exercise, principal);
         }
         else {
-            throw new IllegalArgumentException("Submission type '" + submission.getType() + "' not allowed.");
+            checkSubmissionType(submission, exercise);
+            submissionStates.put(participationId, new SubmissionState(submission, user, principal.getName(), exercise.getId(), topicPath, Instant.now()));
+            scheduledSaves.computeIfAbsent(participationId, id -> scheduler.schedule(() -> saveSubmissionState(id), Instant.now().plus(saveInterval)));
         }
 
         // update the last action date for the user and send out list of team members
         updateValue(lastActionTracker, participationId, principal.getName());
         sendOnlineTeamStudents(participationId);
 
-        SubmissionSyncPayload payload = new SubmissionSyncPayload(submission, user);
+        sendSubmission(participationId, submission, user, topicPath);
+    }
+
+    /**
+     * Checks whether the due date of the participation has passed or a deferred save might happen after the due date, which would reject the changes of the team.
+     * Twice the save interval leaves time for a delayed save.
+     *
+     * @param participation the participation with its exercise
+     * @return true if the submission has to be saved immediately
+     */
+    private boolean isDueSoon(StudentParticipation participation) {
+        return exerciseDateService.isAfterDueDate(participation)
+                || exerciseDateService.getDueDate(participation).map(dueDate -> dueDate.isBefore(ZonedDateTime.now().plus(saveInterval.multipliedBy(2)))).orElse(false);
+    }
+
+    private void sendSubmission(Long participationId, Submission submission, User sender, String topicPath) {
+        if (submission instanceof ModelingSubmission) {
+            modelingSubmissionService.hideDetails(submission, sender);
+        }
+        else {
+            textSubmissionService.hideDetails(submission, sender);
+        }
+        SubmissionSyncPayload payload = new SubmissionSyncPayload(submission, sender);
         messagingTemplate.convertAndSend(getDestination(participationId, topicPath), payload);
     }
 
+    /**
+     * Saves the latest submission of the team that was not saved yet, unless a team member saved a newer version of the submission (e.g. by submitting it) in the meantime
+     *
+     * @param participationId id of participation
+     */
+    private void saveSubmissionState(Long participationId) {
+        Optional.ofNullable(scheduledSaves.remove(participationId)).ifPresent(scheduledSave -> scheduledSave.cancel(false));
+        // removing the state ensures that only one node saves it
+        SubmissionState state = submissionStates.remove(participationId);
+        if (state == null) {
+            return;
+        }
+        try {
+            // Without this, custom jpa repository methods don't work in websocket channel.
+            SecurityUtils.setAuthorizationObject();
+            Submission savedSubmission = submissionRepository.findById(state.submission().getId()).orElse(null);
+            if (savedSubmission == null || savedSubmission.getSubmissionDate() != null && savedSubmission.getSubmissionDate().toInstant().isAfter(state.receivedAt())) {
+                log.debug("Skipped saving the team submission of participation {} because it was saved in the meantime", participationId);
+                return;
+            }
+            final Exercise exercise = exerciseRepository.findByIdElseThrow(state.exerciseId());
+            saveSubmission(state.submission(), exercise, state::username);
+        }
+        catch (Exception ex) {
+            log.error("Failed to save the team submission of participation {}", participationId, ex);
+        }
+    }
+
+    private Submission saveSubmission(Submission submission, Exercise exercise, Principal principal) {
+        checkSubmissionType(submission, exercise);
+        if (submission instanceof ModelingSubmission modelingSubmission) {
+            return modelingSubmissionService.save(modelingSubmission, (ModelingExercise) exercise, principal.getName());
+        }
+        return textSubmissionService.handleTextSubmission((TextSubmission) submission, (TextExercise) exercise, principal);
+    }
+
+    private static void checkSubmissionType(Submission submission, Exercise exercise) {
+        if (!(submission instanceof ModelingSubmission && exercise instanceof ModelingExercise) && !(submission instanceof TextSubmission && exercise instanceof TextExercise)) {
+            throw new IllegalArgumentException("Submission type '" + submission.getType() + "' not allowed.");
+        }
+    }
+
     /**
      * Sends out a list of online team students to all members of the team
      *
@@ -240,10 +358,13 @@ public class ParticipationTeamWebsocketService {
      * @param sessionId id of the sessions which is unsubscribing
      */
     public void unsubscribe(String sessionId) {
+        sessionUsers.remove(sessionId);
         Optional.ofNullable(destinationTracker.get(sessionId)).ifPresent(destination -> {
             Long participationId = getParticipationIdFromDestination(destination);
             sendOnlineTeamStudents(participationId, sessionId);
             destinationTracker.remove(sessionId);
+            // save the changes of the team when a team member leaves, so that the team member gets them when loading the submission again
+            saveSubmissionState(participationId);
         });
     }
 
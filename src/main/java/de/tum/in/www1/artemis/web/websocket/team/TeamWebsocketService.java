@@ -13,6 +13,7 @@ import de.tum.in.www1.artemis.domain.Exercise;
 import de.tum.in.www1.artemis.domain.Team;
 import de.tum.in.www1.artemis.domain.User;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache;
 import de.tum.in.www1.artemis.web.websocket.dto.TeamAssignmentPayload;
 
 @Controller
@@ -22,14 +23,18 @@ public class TeamWebsocketService {
 
     private final SimpMessageSendingOperations messagingTemplate;
 
+    private final WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache;
+
     private final String assignmentTopic = "/topic/team-assignments";
 
-    public TeamWebsocketService(SimpMessageSendingOperations messagingTemplate) {
+    public TeamWebsocketService(SimpMessageSendingOperations messagingTemplate, WebsocketSubscriptionAuthorizationCache websocketSubscriptionAuthorizationCache) {
         this.messagingTemplate = messagingTemplate;
+        this.websocketSubscriptionAuthorizationCache = websocketSubscriptionAuthorizationCache;
     }
 
     /**
-     * Sends out team assignment information for an exercise to students of a created/updated/deleted team
+     * Sends out team assignment information for an exercise to students of a created/updated/deleted team. The team members might subscribe to other participations
+     * afterwards, so their cached subscription decisions are invalidated.
      *
      * Cases:
      * 1. Team was created: sendTeamAssignmentUpdate(exercise, null, createdTeam);
@@ -47,7 +52,10 @@ public class TeamWebsocketService {
             TeamAssignmentPayload payload = new TeamAssignmentPayload(exercise, null);
             Set<User> unassignedUsers = new HashSet<>(existingTeam.getStudents());
             unassignedUsers.removeAll(Optional.ofNullable(updatedTeam).map(Team::getStudents).orElse(Set.of()));
-            unassignedUsers.forEach(user -> messagingTemplate.convertAndSendToUser(user.getLogin(), assignmentTopic, payload));
+            unassignedUsers.forEach(user -> {
+                websocketSubscriptionAuthorizationCache.invalidateUser(user.getLogin());
+                messagingTemplate.convertAndSendToUser(user.getLogin(), assignmentTopic, payload);
+            });
         }
 
         // Users in the updated team that were not yet part of the existing team were newly assigned => inform them
@@ -55,7 +63,10 @@ public class TeamWebsocketService {
             TeamAssignmentPayload payload = new TeamAssignmentPayload(exercise, updatedTeam, participationsOfUpdatedTeam);
             Set<User> assignedUsers = new HashSet<>(updatedTeam.getStudents());
             assignedUsers.removeAll(Optional.ofNullable(existingTeam).map(Team::getStudents).orElse(Set.of()));
-            assignedUsers.forEach(user -> messagingTemplate.convertAndSendToUser(user.getLogin(), assignmentTopic, payload));
+            assignedUsers.forEach(user -> {
+                websocketSubscriptionAuthorizationCache.invalidateUser(user.getLogin());
+                messagingTemplate.convertAndSendToUser(user.getLogin(), assignmentTopic, payload);
+            });
         }
     }
 
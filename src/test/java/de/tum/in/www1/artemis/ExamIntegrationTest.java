@@ -26,6 +26,7 @@ import de.tum.in.www1.artemis.domain.*;
 import de.tum.in.www1.artemis.domain.enumeration.AssessmentType;
 import de.tum.in.www1.artemis.domain.enumeration.DiagramType;
 import de.tum.in.www1.artemis.domain.enumeration.IncludedInOverallScore;
+import de.tum.in.www1.artemis.domain.enumeration.InitializationState;
 import de.tum.in.www1.artemis.domain.exam.Exam;
 import de.tum.in.www1.artemis.domain.exam.ExerciseGroup;
 import de.tum.in.www1.artemis.domain.exam.StudentExam;
@@ -529,6 +530,40 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         request.delete("/api/courses/" + course1.getId() + "/exams/" + exam.getId(), HttpStatus.OK);
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testStartExercisesOnlyOncePerStudent() throws Exception {
+        Exam exam = database.setupExamWithExerciseGroupsExercisesRegisteredStudents(course1);
+        request.postListWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam.getId() + "/generate-student-exams", Optional.empty(), StudentExam.class,
+                HttpStatus.OK);
+
+        Integer numberOfGeneratedParticipations = request.postWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam.getId() + "/student-exams/start-exercises",
+                Optional.empty(), Integer.class, HttpStatus.OK);
+        assertThat(numberOfGeneratedParticipations).isEqualTo(16);
+
+        var progress = request.get("/api/courses/" + course1.getId() + "/exams/" + exam.getId() + "/student-exams/start-exercises/progress", HttpStatus.OK,
+                ExamExerciseStartProgressDTO.class);
+        assertThat(progress.total()).isEqualTo(16);
+        assertThat(progress.started()).isEqualTo(16);
+        assertThat(progress.failed()).isZero();
+        assertThat(progress.finishDate()).isNotNull();
+
+        // starting the exercises again must not create additional participations or submissions
+        numberOfGeneratedParticipations = request.postWithResponseBody("/api/courses/" + course1.getId() + "/exams/" + exam.getId() + "/student-exams/start-exercises",
+                Optional.empty(), Integer.class, HttpStatus.OK);
+        assertThat(numberOfGeneratedParticipations).isZero();
+
+        List<StudentParticipation> participations = new ArrayList<>();
+        for (Exercise exercise : examRepository.findAllExercisesByExamId(exam.getId())) {
+            participations.addAll(studentParticipationRepository.findByExerciseId(exercise.getId()));
+        }
+        assertThat(participations).hasSize(16);
+        for (StudentParticipation participation : participations) {
+            assertThat(participation.getInitializationState()).isEqualTo(InitializationState.INITIALIZED);
+            assertThat(submissionRepository.findAllByParticipationId(participation.getId())).hasSize(1);
+        }
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = "ADMIN")
     public void testRemovingAllStudents() throws Exception {
@@ -1613,6 +1648,7 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
                 assertThat(Long.valueOf(originalExercise.getStudentParticipations().size())).isEqualTo(exerciseDTO.numberOfParticipants);
             }
             assertThat(noOfExerciseGroupParticipations).isEqualTo(exerciseGroupDTO.numberOfParticipants);
+            assertEquals(exerciseGroupDTO.averagePointsAchieved, groupMaxScoreFromExam * resultScore / 100, EPSILON);
         }
 
         // Ensure that all registered students have a StudentResult
@@ -1667,6 +1703,20 @@ public class ExamIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
             }
         }
 
+        // the scores are cached, but changing a result of the exam invalidates them
+        var cachedResponse = request.get("/api/courses/" + course.getId() + "/exams/" + exam.getId() + "/scores", HttpStatus.OK, ExamScoresDTO.class);
+        assertThat(cachedResponse.averagePointsAchieved).isEqualTo(response.averagePointsAchieved);
+        var changedStudentResult = response.studentResults.get(0);
+        var changedExerciseGroupId = changedStudentResult.exerciseGroupIdToExerciseResult.keySet().iterator().next();
+        var changedExerciseId = changedStudentResult.exerciseGroupIdToExerciseResult.get(changedExerciseGroupId).exerciseId;
+        var changedParticipation = studentParticipationRepository.findByExerciseIdAndStudentId(changedExerciseId, changedStudentResult.userId).get(0);
+        Result changedResult = resultRepository.findFirstByParticipationIdOrderByCompletionDateDesc(changedParticipation.getId()).get();
+        changedResult.setScore(100D);
+        resultRepository.save(changedResult);
+        var updatedResponse = request.get("/api/courses/" + course.getId() + "/exams/" + exam.getId() + "/scores", HttpStatus.OK, ExamScoresDTO.class);
+        var updatedStudentResult = updatedResponse.studentResults.stream().filter(studentResult -> studentResult.userId.equals(changedStudentResult.userId)).findFirst().get();
+        assertThat(updatedStudentResult.exerciseGroupIdToExerciseResult.get(changedExerciseGroupId).achievedScore).isEqualTo(100D);
+
         // change back to instructor user
         database.changeUser("instructor1");
 
@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -14,13 +17,17 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.util.LinkedMultiValueMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
 import de.tum.in.www1.artemis.domain.*;
+import de.tum.in.www1.artemis.domain.enumeration.AttachmentType;
 import de.tum.in.www1.artemis.domain.lecture.AttachmentUnit;
 import de.tum.in.www1.artemis.domain.quiz.DragAndDropQuestion;
 import de.tum.in.www1.artemis.domain.quiz.DragItem;
@@ -50,6 +57,9 @@ public class FileIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
     @Autowired
     private LectureRepository lectureRepo;
 
+    @Autowired
+    private AttachmentUnitRepository attachmentUnitRepo;
+
     @BeforeEach
     public void initTestCase() {
         database.addUsers(2, 2, 0, 1);
@@ -180,6 +190,29 @@ public class FileIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         request.get(attachmentPath + "?access_token=random_non_valid_token", HttpStatus.FORBIDDEN, String.class);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testGetLectureAttachment_rangeAndConditionalRequests() throws Exception {
+        String filename = "attachment.pdf";
+        String attachmentPath = createLectureWithAttachment(filename, HttpStatus.CREATED);
+        String accessToken = request.get("/api/files/attachments/access-token/" + filename, HttpStatus.OK, String.class);
+        String attachmentUrl = attachmentPath + "?access_token=" + accessToken;
+
+        HttpHeaders rangeHeaders = new HttpHeaders();
+        rangeHeaders.setRange(List.of(HttpRange.createByteRange(5, 8)));
+        String receivedRange = request.get(attachmentUrl, HttpStatus.PARTIAL_CONTENT, String.class, new LinkedMultiValueMap<>(), rangeHeaders);
+        assertThat(receivedRange).isEqualTo("data");
+
+        // the file was not modified since then
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.setIfModifiedSince(System.currentTimeMillis() + 60 * 1000);
+        request.get(attachmentUrl, HttpStatus.NOT_MODIFIED, String.class, new LinkedMultiValueMap<>(), conditionalHeaders);
+
+        // the cached file is replaced when the file changes
+        Files.writeString(Paths.get(fileService.actualPathForPublicPath(attachmentPath)), "some other data");
+        assertThat(request.get(attachmentUrl, HttpStatus.OK, String.class)).isEqualTo("some other data");
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void testGetLectureAttachment_unsupportedFileType() throws Exception {
@@ -335,6 +368,61 @@ public class FileIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         }
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testGetLecturePdfAttachmentsMerged_reusedUntilAttachmentChanges() throws Exception {
+        Lecture lecture = createLectureWithLectureUnits(HttpStatus.CREATED);
+        String accessToken = request.get("/api/files/attachments/course/" + lecture.getCourse().getId() + "/access-token", HttpStatus.OK, String.class);
+        String mergedPdfUrl = "/api/files/attachments/lecture/" + lecture.getId() + "/merge-pdf?access_token=" + accessToken;
+        Path mergedPdfFolder = Paths.get(FilePathService.getMergedLecturePdfFilePath(), String.valueOf(lecture.getId()));
+
+        request.get(mergedPdfUrl, HttpStatus.OK, byte[].class);
+        List<Path> mergedPdfs = listFiles(mergedPdfFolder);
+        assertThat(mergedPdfs).hasSize(1);
+
+        // the merged PDF is reused as long as the attachments are unchanged
+        byte[] receivedFile = request.get(mergedPdfUrl, HttpStatus.OK, byte[].class);
+        assertThat(listFiles(mergedPdfFolder)).isEqualTo(mergedPdfs);
+        try (PDDocument mergedDoc = PDDocument.load(receivedFile)) {
+            assertEquals(5, mergedDoc.getNumberOfPages());
+        }
+
+        // replace the attachment with two pages by an attachment with one page
+        AttachmentUnit changedUnit = attachmentUnitRepo.findAllByLectureIdAndAttachmentType(lecture.getId(), AttachmentType.FILE).stream()
+                .filter(unit -> unit.getAttachment().getLink().endsWith("filename3.pdf")).findFirst().orElseThrow();
+        try (PDDocument doc = new PDDocument()) {
+            doc.addPage(new PDPage());
+            doc.save(Paths.get(FilePathService.getAttachmentUnitFilePath(), String.valueOf(changedUnit.getId()), "filename3.pdf").toFile());
+        }
+
+        receivedFile = request.get(mergedPdfUrl, HttpStatus.OK, byte[].class);
+        try (PDDocument mergedDoc = PDDocument.load(receivedFile)) {
+            assertEquals(4, mergedDoc.getNumberOfPages());
+        }
+        // the outdated merged PDF was deleted
+        assertThat(listFiles(mergedPdfFolder)).hasSize(1).doesNotContainAnyElementsOf(mergedPdfs);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testGetLecturePdfAttachmentsMerged_deletedWithLecture() throws Exception {
+        Lecture lecture = createLectureWithLectureUnits(HttpStatus.CREATED);
+        String accessToken = request.get("/api/files/attachments/course/" + lecture.getCourse().getId() + "/access-token", HttpStatus.OK, String.class);
+        Path mergedPdfFolder = Paths.get(FilePathService.getMergedLecturePdfFilePath(), String.valueOf(lecture.getId()));
+
+        request.get("/api/files/attachments/lecture/" + lecture.getId() + "/merge-pdf?access_token=" + accessToken, HttpStatus.OK, byte[].class);
+        assertThat(listFiles(mergedPdfFolder)).hasSize(1);
+
+        request.delete("/api/lectures/" + lecture.getId(), HttpStatus.OK);
+        assertThat(mergedPdfFolder).doesNotExist();
+    }
+
+    private static List<Path> listFiles(Path folder) throws Exception {
+        try (var files = Files.list(folder)) {
+            return files.toList();
+        }
+    }
+
     public Lecture createLectureWithLectureUnits(HttpStatus expectedStatus) throws Exception {
         Lecture lecture = database.createCourseWithLecture(true);
 
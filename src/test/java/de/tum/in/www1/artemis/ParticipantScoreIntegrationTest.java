@@ -19,6 +19,7 @@ import de.tum.in.www1.artemis.domain.lecture.ExerciseUnit;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.TextAssessmentKnowledgeService;
+import de.tum.in.www1.artemis.service.TotalScoreService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreAverageDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ParticipantScoreDTO;
@@ -72,6 +73,12 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
     @Autowired
     private TextAssessmentKnowledgeService textAssessmentKnowledgeService;
 
+    @Autowired
+    private TotalScoreService totalScoreService;
+
+    @Autowired
+    private TotalScoreRepository totalScoreRepository;
+
     @AfterEach
     public void resetDatabase() {
         database.resetDatabase();
@@ -191,6 +198,33 @@ public class ParticipantScoreIntegrationTest extends AbstractSpringIntegrationBa
         assertThat(scoreOfStudent1.regularPointsAchievable).isEqualTo(20.0);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void getCourseScores_afterRebuildOfTotalScores_shouldReturnSameCourseScores() throws Exception {
+        var totalScoresBefore = totalScoreRepository.findPointsOfUsersByCourseId(idOfCourse);
+        totalScoreService.rebuildAllTotalScores();
+        assertThat(totalScoreRepository.findPointsOfUsersByCourseId(idOfCourse)).containsExactlyInAnyOrderElementsOf(totalScoresBefore);
+
+        List<ScoreDTO> courseScores = request.getList("/api/courses/" + idOfCourse + "/course-scores", HttpStatus.OK, ScoreDTO.class);
+        ScoreDTO scoreOfStudent1 = courseScores.stream().filter(scoreDTO -> scoreDTO.studentId.equals(idOfStudent1)).findFirst().get();
+        assertThat(scoreOfStudent1.pointsAchieved).isEqualTo(10.0);
+        List<ScoreDTO> examScores = request.getList("/api/exams/" + idOfExam + "/exam-scores", HttpStatus.OK, ScoreDTO.class);
+        assertThat(examScores).hasSize(1);
+        assertThat(examScores.get(0).pointsAchieved).isEqualTo(5.0);
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void getCourseScores_afterDeletionOfExercise_shouldNotContainPointsOfExercise() throws Exception {
+        request.delete("/api/text-exercises/" + idOfTeamTextExercise, HttpStatus.OK);
+
+        List<ScoreDTO> courseScores = request.getList("/api/courses/" + idOfCourse + "/course-scores", HttpStatus.OK, ScoreDTO.class);
+        ScoreDTO scoreOfStudent1 = courseScores.stream().filter(scoreDTO -> scoreDTO.studentId.equals(idOfStudent1)).findFirst().get();
+        assertThat(scoreOfStudent1.pointsAchieved).isEqualTo(5.0);
+        assertThat(scoreOfStudent1.scoreAchieved).isEqualTo(50.0);
+        assertThat(scoreOfStudent1.regularPointsAchievable).isEqualTo(10.0);
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void getExamScores_asInstructorOfCourse_shouldReturnExamScores() throws Exception {
@@ -17,12 +17,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.test.context.support.WithMockUser;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.tum.in.www1.artemis.config.Constants;
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.Result;
@@ -32,6 +36,7 @@ import de.tum.in.www1.artemis.domain.quiz.*;
 import de.tum.in.www1.artemis.repository.*;
 import de.tum.in.www1.artemis.service.QuizExerciseService;
 import de.tum.in.www1.artemis.service.scheduled.quiz.QuizScheduleService;
+import de.tum.in.www1.artemis.web.rest.dto.QuizParticipationResultDTO;
 import de.tum.in.www1.artemis.web.websocket.QuizSubmissionWebsocketService;
 
 public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
@@ -68,6 +73,9 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private ResultRepository resultRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private final int multiplier = 10;
 
     @BeforeEach
@@ -176,6 +184,79 @@ public class QuizSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmit_resultsSentToParticipantsWhenQuizEnds() throws Exception {
+        QuizExercise quizExercise = setupQuizExerciseParameters();
+        quizExercise = quizExerciseService.save(quizExercise);
+
+        int numberOfParticipants = 3;
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            final var username = "student" + i;
+            final Principal principal = () -> username;
+            quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), database.generateSubmissionForThreeQuestions(quizExercise, i, true, null), principal);
+        }
+
+        // End the quiz right now so that the results are sent to the participants
+        quizExercise = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExercise.getId());
+        quizExercise.setDuration((int) (Duration.between(quizExercise.getReleaseDate(), ZonedDateTime.now()).getSeconds() - Constants.QUIZ_GRACE_PERIOD_IN_SECONDS));
+        exerciseRepository.saveAndFlush(quizExercise);
+        quizScheduleService.processCachedQuizSubmissions();
+
+        String participationTopic = "/topic/exercise/" + quizExercise.getId() + "/participation";
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            ArgumentCaptor<QuizParticipationResultDTO> resultCaptor = ArgumentCaptor.forClass(QuizParticipationResultDTO.class);
+            verify(messagingTemplate).convertAndSendToUser(eq("student" + i), eq(participationTopic), resultCaptor.capture());
+            QuizParticipationResultDTO participationResult = resultCaptor.getValue();
+            assertThat(participationResult.id()).isNotNull();
+            assertThat(participationResult.type()).isEqualTo("student");
+            // the quiz exercise is serialized once for all participants and without its course
+            JsonNode exerciseNode = objectMapper.readTree(participationResult.exercise());
+            assertThat(exerciseNode.get("id").asLong()).isEqualTo(quizExercise.getId());
+            assertThat(exerciseNode.get("quizQuestions")).hasSize(3);
+            assertThat(exerciseNode.has("course")).isFalse();
+            assertThat(participationResult.results()).hasSize(1);
+            Result result = participationResult.results().iterator().next();
+            assertThat(result.getParticipation()).isNull();
+            assertThat(((QuizSubmission) result.getSubmission()).getSubmittedAnswers()).hasSize(3)
+                    .allSatisfy(submittedAnswer -> assertThat(submittedAnswer.getQuizQuestion().getTitle()).isNull());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testQuizSubmit_statisticsAggregatedUntilQuizEnds() throws Exception {
+        QuizExercise quizExercise = setupQuizExerciseParameters();
+        quizExercise = quizExerciseService.save(quizExercise);
+
+        int numberOfParticipants = 10;
+        for (int i = 1; i <= numberOfParticipants; i++) {
+            QuizSubmission quizSubmission = database.generateSubmissionForThreeQuestions(quizExercise, i, true, null);
+            final var username = "student" + i;
+            final Principal principal = () -> username;
+            quizSubmissionWebsocketService.saveSubmission(quizExercise.getId(), quizSubmission, principal);
+        }
+        quizScheduleService.processCachedQuizSubmissions();
+        assertThat(submissionRepository.countByExerciseIdSubmitted(quizExercise.getId())).isEqualTo(numberOfParticipants);
+
+        // while the quiz is running, the statistics are only aggregated in the cache
+        QuizExercise quizExerciseWithStatistic = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExercise.getId());
+        assertThat(quizExerciseWithStatistic.getQuizPointStatistic().getParticipantsRated()).isZero();
+
+        // End the quiz right now so that the aggregated statistics are saved
+        quizExerciseWithStatistic.setDuration((int) (Duration.between(quizExerciseWithStatistic.getReleaseDate(), ZonedDateTime.now()).getSeconds()
+                - Constants.QUIZ_GRACE_PERIOD_IN_SECONDS));
+        exerciseRepository.saveAndFlush(quizExerciseWithStatistic);
+        quizScheduleService.processCachedQuizSubmissions();
+
+        quizExerciseWithStatistic = quizExerciseRepository.findOneWithQuestionsAndStatistics(quizExercise.getId());
+        assertThat(quizExerciseWithStatistic.getQuizPointStatistic().getParticipantsRated()).isEqualTo(numberOfParticipants);
+        assertThat(quizExerciseWithStatistic.getQuizPointStatistic().getPointCounters().stream().mapToInt(PointCounter::getRatedCounter).sum()).isEqualTo(numberOfParticipants);
+        for (var question : quizExerciseWithStatistic.getQuizQuestions()) {
+            assertThat(question.getQuizQuestionStatistic().getParticipantsRated()).isEqualTo(numberOfParticipants);
+        }
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testQuizSubmit_partial_points() throws Exception {
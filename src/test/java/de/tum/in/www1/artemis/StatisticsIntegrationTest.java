@@ -4,8 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,10 +24,12 @@ import de.tum.in.www1.artemis.domain.enumeration.SpanType;
 import de.tum.in.www1.artemis.domain.enumeration.StatisticsView;
 import de.tum.in.www1.artemis.domain.metis.AnswerPost;
 import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.repository.StatisticsHourlyCountRepository;
 import de.tum.in.www1.artemis.repository.TextExerciseRepository;
 import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.repository.metis.AnswerPostRepository;
 import de.tum.in.www1.artemis.repository.metis.PostRepository;
+import de.tum.in.www1.artemis.service.StatisticsRollupService;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.web.rest.dto.CourseManagementStatisticsDTO;
 import de.tum.in.www1.artemis.web.rest.dto.ExerciseManagementStatisticsDTO;
@@ -47,6 +48,12 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
     @Autowired
     private AnswerPostRepository answerPostRepository;
 
+    @Autowired
+    private StatisticsHourlyCountRepository statisticsHourlyCountRepository;
+
+    @Autowired
+    private StatisticsRollupService statisticsRollupService;
+
     private Course course;
 
     private TextExercise exercise;
@@ -159,6 +166,41 @@ public class StatisticsIntegrationTest extends AbstractSpringIntegrationBambooBi
         }
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void testGetChartDataFromHourlyCounts() throws Exception {
+        TextSubmission textSubmission = new TextSubmission();
+        textSubmission.submissionDate(ZonedDateTime.now().minusDays(2));
+        var submission = database.addSubmission(exercise, textSubmission, "student1");
+        database.addResultToSubmission(submission, AssessmentType.MANUAL, database.getUserByLogin("tutor1"));
+
+        List<GraphType> graphs = List.of(GraphType.SUBMISSIONS, GraphType.CREATED_RESULTS, GraphType.CREATED_FEEDBACKS, GraphType.POSTS, GraphType.RESOLVED_POSTS);
+        Map<String, Integer[]> countedResults = new HashMap<>();
+        for (GraphType graph : graphs) {
+            for (int periodIndex : List.of(0, -2)) {
+                SpanType span = periodIndex == 0 ? SpanType.WEEK : SpanType.DAY;
+                countedResults.put(graph + "-course" + periodIndex, request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                        buildParameters(span, periodIndex, graph, StatisticsView.COURSE, course.getId())));
+                countedResults.put(graph + "-exercise" + periodIndex, request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                        buildParameters(span, periodIndex, graph, StatisticsView.EXERCISE, exercise.getId())));
+            }
+        }
+
+        statisticsRollupService.rollUp();
+        assertThat(statisticsHourlyCountRepository.count()).isPositive();
+
+        // the covered hours are read from the hourly counts, the current hour is still counted directly
+        for (GraphType graph : graphs) {
+            for (int periodIndex : List.of(0, -2)) {
+                SpanType span = periodIndex == 0 ? SpanType.WEEK : SpanType.DAY;
+                assertThat(request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                        buildParameters(span, periodIndex, graph, StatisticsView.COURSE, course.getId()))).isEqualTo(countedResults.get(graph + "-course" + periodIndex));
+                assertThat(request.get("/api/management/statistics/data-for-content", HttpStatus.OK, Integer[].class,
+                        buildParameters(span, periodIndex, graph, StatisticsView.EXERCISE, exercise.getId()))).isEqualTo(countedResults.get(graph + "-exercise" + periodIndex));
+            }
+        }
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testGetCourseStatistics() throws Exception {
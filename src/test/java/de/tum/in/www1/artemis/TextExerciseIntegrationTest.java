@@ -2,7 +2,9 @@ package de.tum.in.www1.artemis;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -27,6 +29,8 @@ import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismStatus;
 import de.tum.in.www1.artemis.domain.plagiarism.text.TextPlagiarismResult;
 import de.tum.in.www1.artemis.domain.plagiarism.text.TextSubmissionElement;
 import de.tum.in.www1.artemis.repository.*;
+import de.tum.in.www1.artemis.service.plagiarism.PlagiarismResultCache;
+import de.tum.in.www1.artemis.util.ConfigUtil;
 import de.tum.in.www1.artemis.util.DatabaseUtilService;
 import de.tum.in.www1.artemis.util.InvalidExamExerciseDatesArgumentProvider;
 import de.tum.in.www1.artemis.util.InvalidExamExerciseDatesArgumentProvider.InvalidExamExerciseDateConfiguration;
@@ -73,6 +77,9 @@ public class TextExerciseIntegrationTest extends AbstractSpringIntegrationBamboo
     @Autowired
     private StudentParticipationRepository studentParticipationRepository;
 
+    @Autowired
+    private PlagiarismResultCache plagiarismResultCache;
+
     @BeforeEach
     public void initTestCase() {
         database.addUsers(2, 1, 0, 1);
@@ -884,6 +891,49 @@ public class TextExerciseIntegrationTest extends AbstractSpringIntegrationBamboo
         assertThat(plagiarismComparisonRepository.findByIdWithSubmissionsStudentsElseThrow(comparison.getId()).getStatus()).isEqualTo(PlagiarismStatus.NONE);
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testCheckPlagiarismReusesResultOfUnchangedSubmissions() throws Throwable {
+        final Course course = database.addCourseWithOneReleasedTextExercise();
+        TextExercise textExercise = textExerciseRepository.findByCourseIdWithCategories(course.getId()).get(0);
+
+        var text = """
+                Lorem ipsum dolor sit amet, consectetur adipiscing elit.
+                Aenean vitae vestibulum metus, nec tincidunt lectus.
+                Proin a lacus massa. Vivamus nulla libero, commodo nec nibh consectetur, aliquam gravida mauris.
+                Etiam condimentum sem id purus feugiat molestie.
+                Donec malesuada eu diam sed viverra.
+                Morbi interdum massa non purus consequat, quis aliquam quam lacinia.
+                """;
+        database.createSubmissionForTextExercise(textExercise, database.getUserByLogin("student1"), text);
+        database.createSubmissionForTextExercise(textExercise, database.getUserByLogin("student2"), text);
+
+        var path = "/api/text-exercises/" + textExercise.getId() + "/check-plagiarism";
+        var topic = "/topic/text-exercises/" + textExercise.getId() + "/plagiarism-check";
+        // the test configuration disables the cache, so that the checks of the other tests do not depend on each other
+        ConfigUtil.testWithChangedConfig(plagiarismResultCache, "retention", Duration.ofMinutes(60), () -> {
+            var result = request.get(path, HttpStatus.OK, TextPlagiarismResult.class, database.getDefaultPlagiarismOptions());
+            assertThat(result.getComparisons()).hasSize(1);
+            verify(websocketMessagingService, atLeastOnce()).sendMessage(eq(topic), contains("RUNNING"));
+
+            // a check of the unchanged submissions with a higher threshold neither exports nor compares the submissions again
+            clearInvocations(websocketMessagingService);
+            var cachedResult = request.get(path, HttpStatus.OK, TextPlagiarismResult.class, database.getPlagiarismOptions(60D, 0, 0));
+            verify(websocketMessagingService, never()).sendMessage(eq(topic), contains("RUNNING"));
+            assertThat(cachedResult.getComparisons()).hasSize(1);
+            PlagiarismComparison<TextSubmissionElement> comparison = cachedResult.getComparisons().iterator().next();
+            assertThat(comparison.getSimilarity()).isEqualTo(result.getComparisons().iterator().next().getSimilarity());
+            assertThat(comparison.getMatches()).hasSize(1);
+
+            // a new submission has to be compared with all submissions again
+            database.createSubmissionForTextExercise(textExercise, database.getUserByLogin("tutor1"), text);
+            clearInvocations(websocketMessagingService);
+            var newResult = request.get(path, HttpStatus.OK, TextPlagiarismResult.class, database.getDefaultPlagiarismOptions());
+            verify(websocketMessagingService, atLeastOnce()).sendMessage(eq(topic), contains("RUNNING"));
+            assertThat(newResult.getComparisons()).hasSize(3);
+        });
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void testCheckPlagiarismIdenticalShortTexts() throws Exception {
@@ -53,6 +53,9 @@ public class TextSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private ActiveStudentSketchRegisterRepository activeStudentSketchRegisterRepository;
+
     private TextExercise finishedTextExercise;
 
     private TextExercise releasedTextExercise;
@@ -352,6 +355,16 @@ public class TextSubmissionIntegrationTest extends AbstractSpringIntegrationBamb
         request.put("/api/exercises/" + releasedTextExercise.getId() + "/text-submissions", textSubmission, HttpStatus.OK);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void submitExercise_beforeDueDate_addsStudentToActiveStudentSketch() throws Exception {
+        request.put("/api/exercises/" + releasedTextExercise.getId() + "/text-submissions", textSubmission, HttpStatus.OK);
+
+        // the register is written after the commit of the submission, on the thread of the request
+        assertThat(activeStudentSketchRegisterRepository.findAll()).as("register of the student was saved")
+                .anyMatch(register -> register.getCourseId() == releasedTextExercise.getCourseViaExerciseGroupOrCourseMember().getId());
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void submitExercise_beforeDueDateWithTwoSubmissions_allowed() throws Exception {
@@ -0,0 +1,107 @@
+package de.tum.in.www1.artemis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.repository.UserRepository;
+import de.tum.in.www1.artemis.service.user.UserCreationService;
+import de.tum.in.www1.artemis.service.user.UserService;
+
+/**
+ * Checks that users cached by {@link de.tum.in.www1.artemis.service.user.UserPrincipalCache} (enabled with a positive time to live in the test configuration) are
+ * invalidated when they are changed
+ */
+public class UserPrincipalCacheIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCreationService userCreationService;
+
+    @BeforeEach
+    public void initTestCase() {
+        database.addUsers(1, 0, 0, 0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.resetDatabase();
+    }
+
+    @Test
+    public void testCachedUserIsInvalidatedWhenItIsSaved() {
+        User cachedUser = userRepository.getUserWithGroupsAndAuthorities("student1");
+        assertThat(cachedUser.getFirstName()).isNotEqualTo("Changed");
+
+        // the entity listener invalidates the user, even though the user is saved directly with the repository
+        User user = userRepository.findOneByLogin("student1").orElseThrow();
+        user.setFirstName("Changed");
+        userRepository.save(user);
+
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getFirstName()).isEqualTo("Changed");
+    }
+
+    @Test
+    public void testCachedUserIsInvalidatedWhenItsGroupsAreChanged() {
+        User cachedUser = userRepository.getUserWithGroupsAndAuthorities("student1");
+        assertThat(cachedUser.getGroups()).contains("tumuser");
+
+        userService.removeGroupFromUsers("tumuser");
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getGroups()).doesNotContain("tumuser");
+
+        User user = userRepository.getUserWithGroupsAndAuthorities("student1");
+        Set<String> groups = new HashSet<>(user.getGroups());
+        groups.add("new-group");
+        user.setGroups(groups);
+        userCreationService.saveUser(user);
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getGroups()).contains("new-group");
+    }
+
+    @Test
+    public void testCachedUserIsInvalidatedWhenOnlyItsGroupsAreSavedWithTheRepository() {
+        User user = userRepository.getUserWithGroupsAndAuthorities("student1");
+        assertThat(user.getGroups()).doesNotContain("new-group");
+
+        // changing only the groups does not update the user itself, so the entity listener is not called
+        Set<String> groups = new HashSet<>(user.getGroups());
+        groups.add("new-group");
+        user.setGroups(groups);
+        userRepository.save(user);
+
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getGroups()).contains("new-group");
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testCachedUserIsInvalidatedWhenTheNotificationDateIsUpdated() throws Exception {
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getLastNotificationRead()).isNull();
+
+        request.put("/api/users/notification-date", null, HttpStatus.OK);
+
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getLastNotificationRead()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testCachedUserIsInvalidatedWhenTheNotificationVisibilityIsUpdated() throws Exception {
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getHideNotificationsUntil()).isNull();
+
+        request.put("/api/users/notification-visibility", false, HttpStatus.OK);
+
+        assertThat(userRepository.getUserWithGroupsAndAuthorities("student1").getHideNotificationsUntil()).isNotNull();
+    }
+}
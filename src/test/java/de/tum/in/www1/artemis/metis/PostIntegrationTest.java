@@ -281,6 +281,29 @@ public class PostIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         assertThat(similarPosts).hasSize(TOP_K_SIMILARITY_RESULTS);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testSimilarityCheck_findsCreatedPost() throws Exception {
+        Post postToCheck = new Post();
+        postToCheck.setTitle("Complexity of the sorting algorithm");
+        // the first check indexes the existing course posts, the created post is added to the index afterwards
+        request.postListWithResponseBody("/api/courses/" + courseId + "/posts/similarity-check", postToCheck, Post.class, HttpStatus.OK);
+
+        Post postToSave = createPostWithoutContext();
+        postToSave.setTitle("Complexity of the sorting algorithm");
+        postToSave.setCourse(course);
+        postToSave.setCourseWideContext(CourseWideContext.TECH_SUPPORT);
+        Post createdPost = request.postWithResponseBody("/api/courses/" + courseId + "/posts", postToSave, Post.class, HttpStatus.CREATED);
+
+        List<Post> similarPosts = request.postListWithResponseBody("/api/courses/" + courseId + "/posts/similarity-check", postToCheck, Post.class, HttpStatus.OK);
+        assertThat(similarPosts).hasSize(TOP_K_SIMILARITY_RESULTS);
+        assertThat(similarPosts.get(0).getId()).isEqualTo(createdPost.getId());
+
+        request.delete("/api/courses/" + courseId + "/posts/" + createdPost.getId(), HttpStatus.OK);
+        similarPosts = request.postListWithResponseBody("/api/courses/" + courseId + "/posts/similarity-check", postToCheck, Post.class, HttpStatus.OK);
+        assertThat(similarPosts).extracting(Post::getId).doesNotContain(createdPost.getId());
+    }
+
     // UPDATE
 
     @Test
@@ -641,6 +664,27 @@ public class PostIntegrationTest extends AbstractSpringIntegrationBambooBitbucke
         assertThat(returnedPosts.size()).isIn(returnedPosts.size(), MAX_POSTS_PER_PAGE);
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    public void testGetPostsPageForCourse_afterPost() throws Exception {
+        var params = new LinkedMultiValueMap<String, String>();
+        params.add("pagingEnabled", "true");
+        params.add("page", "0");
+        params.add("size", "10");
+        params.add("postSortCriterion", PostSortCriterion.CREATION_DATE.toString());
+        params.add("sortingOrder", SortingOrder.DESCENDING.toString());
+        List<Post> expectedPosts = request.getList("/api/courses/" + courseId + "/posts", HttpStatus.OK, Post.class, params);
+
+        // the next page starts after the last post of the previous page
+        params.set("size", "5");
+        List<Post> firstPage = request.getList("/api/courses/" + courseId + "/posts", HttpStatus.OK, Post.class, params);
+        params.add("afterPostId", String.valueOf(firstPage.get(firstPage.size() - 1).getId()));
+        List<Post> secondPage = request.getList("/api/courses/" + courseId + "/posts", HttpStatus.OK, Post.class, params);
+
+        assertThat(firstPage).isEqualTo(expectedPosts.subList(0, 5));
+        assertThat(secondPage).isEqualTo(expectedPosts.subList(5, Math.min(10, expectedPosts.size())));
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void testGetPostsPageForCourse_badRequest() throws Exception {
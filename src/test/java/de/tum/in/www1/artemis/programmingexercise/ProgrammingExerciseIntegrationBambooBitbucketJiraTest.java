@@ -748,6 +748,12 @@ class ProgrammingExerciseIntegrationBambooBitbucketJiraTest extends AbstractSpri
         programmingExerciseIntegrationTestService.testCheckPlagiarism();
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testCheckPlagiarismReusesCachedRepositories() throws Throwable {
+        programmingExerciseIntegrationTestService.testCheckPlagiarismReusesCachedRepositories();
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void testCheckPlagiarismJplagReport() throws Exception {
@@ -838,6 +838,12 @@ public class ProgrammingExerciseIntegrationJenkinsGitlabTest extends AbstractSpr
         programmingExerciseIntegrationTestService.testCheckPlagiarism();
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    public void testCheckPlagiarismReusesCachedRepositories() throws Throwable {
+        programmingExerciseIntegrationTestService.testCheckPlagiarismReusesCachedRepositories();
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     public void testCheckPlagiarismJplagReport() throws Exception {
@@ -60,6 +60,7 @@ import de.tum.in.www1.artemis.service.FileService;
 import de.tum.in.www1.artemis.service.UrlService;
 import de.tum.in.www1.artemis.service.connectors.GitService;
 import de.tum.in.www1.artemis.service.connectors.VersionControlService;
+import de.tum.in.www1.artemis.service.plagiarism.ProgrammingPlagiarismDetectionService;
 import de.tum.in.www1.artemis.util.*;
 import de.tum.in.www1.artemis.web.rest.ProgrammingExerciseResourceEndpoints;
 import de.tum.in.www1.artemis.web.rest.ProgrammingExerciseTestCaseResource;
@@ -120,6 +121,9 @@ public class ProgrammingExerciseIntegrationTestService {
     // this will be a SpyBean because it was configured as SpyBean in the super class of the actual test class (see AbstractArtemisIntegrationTest)
     private GitService gitService;
 
+    @Autowired
+    private ProgrammingPlagiarismDetectionService programmingPlagiarismDetectionService;
+
     private Course course;
 
     public ProgrammingExercise programmingExercise;
@@ -1556,6 +1560,41 @@ public class ProgrammingExerciseIntegrationTestService {
         }
     }
 
+    public void testCheckPlagiarismReusesCachedRepositories() throws Throwable {
+        // the test configuration does not keep the repositories, so that the other tests can provide the repositories in a unique folder
+        ConfigUtil.testWithChangedConfig(programmingPlagiarismDetectionService, "cacheRetentionInMinutes", 60, () -> {
+            RevCommit commit1 = localGit.commit().setMessage("submission").setAllowEmpty(true).setSign(false).setAuthor("test", "test@test.com").call();
+            RevCommit commit2 = localGit2.commit().setMessage("submission").setAllowEmpty(true).setSign(false).setAuthor("test", "test@test.com").call();
+            database.addResultToSubmission(database.createProgrammingSubmission(participation1, false, commit1.getName()), AssessmentType.AUTOMATIC, null);
+            database.addResultToSubmission(database.createProgrammingSubmission(participation2, false, commit2.getName()), AssessmentType.AUTOMATIC, null);
+
+            // JPlag compares the files in the folder of the cached repositories of the exercise
+            var cachePath = Path.of(repoDownloadClonePath, "plagiarism-cache", String.valueOf(programmingExercise.getId())).toString();
+            writeTwoEqualSubmissionsForPlagiarismChecks(Path.of(cachePath, programmingExercise.getProjectKey()));
+            doReturn(null).when(urlService).getRepositorySlugFromRepositoryUrl(any());
+
+            var repository1 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile.toPath(), null);
+            var repository2 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile2.toPath(), null);
+            doReturn(repository1).when(gitService).getOrCheckoutRepositoryForJPlag(argThat(participation -> participation1.getId().equals(participation.getId())), anyString());
+            doReturn(repository2).when(gitService).getOrCheckoutRepositoryForJPlag(argThat(participation -> participation2.getId().equals(participation.getId())), anyString());
+            doNothing().when(gitService).resetToOriginHead(any());
+
+            final var path = ROOT + CHECK_PLAGIARISM.replace("{exerciseId}", String.valueOf(programmingExercise.getId()));
+            request.get(path, HttpStatus.OK, TextPlagiarismResult.class, database.getDefaultPlagiarismOptions());
+            verify(gitService, times(2)).getOrCheckoutRepositoryForJPlag(any(), eq(cachePath));
+
+            // the repositories are still checked out at the commits of the latest submissions, so the second check neither clones nor fetches them
+            doReturn(repository1).when(gitService).getExistingCheckedOutRepositoryByLocalPath(eq(gitService.getLocalPathOfRepoForJPlag(participation1, cachePath)), any());
+            doReturn(repository2).when(gitService).getExistingCheckedOutRepositoryByLocalPath(eq(gitService.getLocalPathOfRepoForJPlag(participation2, cachePath)), any());
+            var result = request.get(path, HttpStatus.OK, TextPlagiarismResult.class, database.getDefaultPlagiarismOptions());
+            assertPlagiarismResult(programmingExercise, result, 100.0);
+            verify(gitService, times(2)).getOrCheckoutRepositoryForJPlag(any(), anyString());
+
+            programmingPlagiarismDetectionService.deleteCachedRepositories(programmingExercise);
+            assertThat(Path.of(cachePath)).doesNotExist();
+        });
+    }
+
     private void assertPlagiarismResult(ProgrammingExercise programmingExercise, TextPlagiarismResult result, double expectedSimilarity) {
         assertThat(result.getComparisons()).hasSize(1);
         assertThat(result.getExercise().getId()).isEqualTo(programmingExercise.getId());
@@ -1575,8 +1614,18 @@ public class ProgrammingExerciseIntegrationTestService {
         database.addResultToSubmission(submissionStudent2, AssessmentType.AUTOMATIC, null);
 
         var jPlagReposDir = Path.of(repoDownloadClonePath, "jplag-repos").toString();
-        var projectKey = programmingExercise.getProjectKey();
+        writeTwoEqualSubmissionsForPlagiarismChecks(Path.of(jPlagReposDir, programmingExercise.getProjectKey()));
+
+        doReturn(jPlagReposDir).when(fileService).getUniquePathString(any());
+        doReturn(null).when(urlService).getRepositorySlugFromRepositoryUrl(any());
+
+        var repository1 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile.toPath(), null);
+        var repository2 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile2.toPath(), null);
+        doReturn(repository1).when(gitService).getOrCheckoutRepository(eq(participation1.getVcsRepositoryUrl()), anyString(), anyBoolean());
+        doReturn(repository2).when(gitService).getOrCheckoutRepository(eq(participation2.getVcsRepositoryUrl()), anyString(), anyBoolean());
+    }
 
+    private void writeTwoEqualSubmissionsForPlagiarismChecks(Path projectFolder) throws IOException {
         var exampleProgram = """
                 public class Main {
 
@@ -1610,19 +1659,11 @@ public class ProgrammingExerciseIntegrationTestService {
                 }
                 """;
 
-        Files.createDirectories(Path.of(jPlagReposDir, projectKey));
-        Path file1 = Files.createFile(Path.of(jPlagReposDir, projectKey, "Submission-1.java"));
+        Files.createDirectories(projectFolder);
+        Path file1 = Files.createFile(projectFolder.resolve("Submission-1.java"));
         Files.writeString(file1, exampleProgram);
-        Path file2 = Files.createFile(Path.of(jPlagReposDir, projectKey, "Submission-2.java"));
+        Path file2 = Files.createFile(projectFolder.resolve("Submission-2.java"));
         Files.writeString(file2, exampleProgram);
-
-        doReturn(jPlagReposDir).when(fileService).getUniquePathString(any());
-        doReturn(null).when(urlService).getRepositorySlugFromRepositoryUrl(any());
-
-        var repository1 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile.toPath(), null);
-        var repository2 = gitService.getExistingCheckedOutRepositoryByLocalPath(localRepoFile2.toPath(), null);
-        doReturn(repository1).when(gitService).getOrCheckoutRepository(eq(participation1.getVcsRepositoryUrl()), anyString(), anyBoolean());
-        doReturn(repository2).when(gitService).getOrCheckoutRepository(eq(participation2.getVcsRepositoryUrl()), anyString(), anyBoolean());
     }
 
     public void testGetPlagiarismResult() throws Exception {
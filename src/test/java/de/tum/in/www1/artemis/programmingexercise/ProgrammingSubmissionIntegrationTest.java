@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jgit.lib.ObjectId;
 import org.junit.jupiter.api.AfterEach;
@@ -47,9 +49,11 @@ import de.tum.in.www1.artemis.repository.ProgrammingExerciseStudentParticipation
 import de.tum.in.www1.artemis.repository.ProgrammingSubmissionRepository;
 import de.tum.in.www1.artemis.repository.StudentParticipationRepository;
 import de.tum.in.www1.artemis.service.connectors.bamboo.dto.BambooBuildPlanDTO;
+import de.tum.in.www1.artemis.service.programming.ProgrammingBuildTriggerService;
 import de.tum.in.www1.artemis.util.FileUtils;
 import de.tum.in.www1.artemis.util.ModelFactory;
 import de.tum.in.www1.artemis.util.TestConstants;
+import de.tum.in.www1.artemis.web.rest.dto.BuildTriggerProgressDTO;
 import de.tum.in.www1.artemis.web.rest.errors.EntityNotFoundException;
 
 public class ProgrammingSubmissionIntegrationTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
@@ -72,6 +76,9 @@ public class ProgrammingSubmissionIntegrationTest extends AbstractSpringIntegrat
     @Autowired
     private StudentParticipationRepository studentParticipationRepository;
 
+    @Autowired
+    private ProgrammingBuildTriggerService programmingBuildTriggerService;
+
     private ProgrammingExercise exercise;
 
     private ProgrammingExerciseStudentParticipation programmingExerciseStudentParticipation;
@@ -301,6 +308,20 @@ public class ProgrammingSubmissionIntegrationTest extends AbstractSpringIntegrat
         assertThat(submissions).isEmpty();
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    void triggerBuildForParticipationsInstructorNotifiedAboutFailedBuilds() throws Exception {
+        var submission = database.addProgrammingSubmission(exercise, ModelFactory.generateProgrammingSubmission(true), "student3");
+        doThrow(ContinuousIntegrationException.class).when(continuousIntegrationService).triggerBuild(any());
+
+        String url = "/api/programming-exercises/" + exercise.getId() + "/trigger-instructor-build";
+        request.postWithoutLocation(url, List.of(submission.getParticipation().getId()), HttpStatus.OK, new HttpHeaders());
+
+        // the builds are triggered in the background, so we need to wait until the build run is finished
+        verify(groupNotificationService, timeout(5000)).notifyEditorAndInstructorGroupAboutExerciseUpdate(any(),
+                eq(Constants.BUILD_RUN_FAILED_FOR_PROGRAMMING_EXERCISE_NOTIFICATION + 1));
+    }
+
     @Test
     @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
     void triggerBuildForParticipationsInstructorParticipationsEmpty() throws Exception {
@@ -329,6 +350,62 @@ public class ProgrammingSubmissionIntegrationTest extends AbstractSpringIntegrat
         request.postWithoutLocation(url, new ArrayList<>(), HttpStatus.FORBIDDEN, new HttpHeaders());
     }
 
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    void getBuildRunProgress() throws Exception {
+        String url = "/api/programming-exercises/" + exercise.getId() + "/build-run";
+        request.get(url, HttpStatus.NOT_FOUND, BuildTriggerProgressDTO.class);
+
+        programmingBuildTriggerService.triggerBuilds(exercise.getId(), List.of(programmingExerciseStudentParticipation), participation -> true).get(10, TimeUnit.SECONDS);
+
+        var progress = request.get(url, HttpStatus.OK, BuildTriggerProgressDTO.class);
+        assertThat(progress.exerciseId()).isEqualTo(exercise.getId());
+        assertThat(progress.total()).isEqualTo(1);
+        assertThat(progress.triggered()).isEqualTo(1);
+        assertThat(progress.waiting()).isZero();
+        assertThat(progress.cancelled()).isFalse();
+        assertThat(progress.finishDate()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(username = "instructor1", roles = "INSTRUCTOR")
+    void cancelBuildRun() throws Exception {
+        String url = "/api/programming-exercises/" + exercise.getId() + "/build-run";
+        request.delete(url, HttpStatus.NOT_FOUND);
+
+        var release = new CountDownLatch(1);
+        var result = programmingBuildTriggerService.triggerBuilds(exercise.getId(), List.of(programmingExerciseStudentParticipation), participation -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                return false;
+            }
+        });
+
+        request.delete(url, HttpStatus.OK);
+        release.countDown();
+        result.get(10, TimeUnit.SECONDS);
+
+        var progress = request.get(url, HttpStatus.OK, BuildTriggerProgressDTO.class);
+        assertThat(progress.cancelled()).isTrue();
+        assertThat(progress.finishDate()).isNotNull();
+        // the build run is finished, so there is nothing left to cancel
+        request.delete(url, HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @WithMockUser(username = "tutor1", roles = "TA")
+    void getBuildRunProgressTutorForbidden() throws Exception {
+        request.get("/api/programming-exercises/" + exercise.getId() + "/build-run", HttpStatus.FORBIDDEN, BuildTriggerProgressDTO.class);
+    }
+
+    @Test
+    @WithMockUser(username = "tutor1", roles = "TA")
+    void cancelBuildRunTutorForbidden() throws Exception {
+        request.delete("/api/programming-exercises/" + exercise.getId() + "/build-run", HttpStatus.FORBIDDEN);
+    }
+
     @Test
     @WithMockUser(username = "student1", roles = "USER")
     public void triggerFailedBuildResultPresentInCIOk() throws Exception {
@@ -0,0 +1,68 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.*;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+import de.tum.in.www1.artemis.domain.assessment.dashboard.ExerciseAssessmentStatistics;
+import de.tum.in.www1.artemis.web.rest.dto.DueDateStat;
+
+class AssessmentDashboardStatisticsCacheTest {
+
+    private ITopic<Long> topic;
+
+    private AssessmentDashboardStatisticsCache statisticsCache;
+
+    private final List<Set<Long>> calculations = new ArrayList<>();
+
+    private final Function<Set<Long>, Map<Long, ExerciseAssessmentStatistics>> calculator = exerciseIds -> {
+        calculations.add(Set.copyOf(exerciseIds));
+        Map<Long, ExerciseAssessmentStatistics> statistics = new HashMap<>();
+        exerciseIds.forEach(exerciseId -> statistics.put(exerciseId, statistics(exerciseId)));
+        return statistics;
+    };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        topic = mock(ITopic.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(topic).when(hazelcastInstance).getTopic(anyString());
+        statisticsCache = new AssessmentDashboardStatisticsCache(hazelcastInstance, 30);
+    }
+
+    @Test
+    void testOnlyMissingStatisticsAreCalculatedTogether() {
+        statisticsCache.getOrCalculate(Set.of(1L, 2L), false, calculator);
+        var statistics = statisticsCache.getOrCalculate(Set.of(1L, 2L, 3L), false, calculator);
+
+        assertThat(statistics).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(statistics.get(3L).numberOfSubmissions().inTime()).isEqualTo(3L);
+        assertThat(calculations).containsExactly(Set.of(1L, 2L), Set.of(3L));
+    }
+
+    @Test
+    void testInvalidatedStatisticsAreCalculatedAgain() {
+        statisticsCache.getOrCalculate(Set.of(1L, 2L), false, calculator);
+        statisticsCache.getOrCalculate(Set.of(1L, 2L), true, calculator);
+        statisticsCache.invalidate(1L);
+        statisticsCache.getOrCalculate(Set.of(1L, 2L), false, calculator);
+        statisticsCache.getOrCalculate(Set.of(1L, 2L), true, calculator);
+
+        assertThat(calculations).containsExactly(Set.of(1L, 2L), Set.of(1L, 2L), Set.of(1L), Set.of(1L));
+        verify(topic).publish(1L);
+    }
+
+    private static ExerciseAssessmentStatistics statistics(long exerciseId) {
+        DueDateStat assessments = new DueDateStat(exerciseId, 0L);
+        return new ExerciseAssessmentStatistics(new DueDateStat(exerciseId, 0L), assessments, new DueDateStat[] { assessments }, 0L, 0L, 0L, 0L, null, null);
+    }
+}
@@ -0,0 +1,116 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import de.tum.in.www1.artemis.domain.BuildLogArchive;
+import de.tum.in.www1.artemis.domain.BuildLogEntry;
+import de.tum.in.www1.artemis.domain.ProgrammingSubmission;
+import de.tum.in.www1.artemis.repository.BuildLogArchiveRepository;
+import de.tum.in.www1.artemis.repository.BuildLogEntryRepository;
+import de.tum.in.www1.artemis.repository.ProgrammingSubmissionRepository;
+
+class BuildLogEntryServiceTest {
+
+    private BuildLogEntryRepository buildLogEntryRepository;
+
+    private BuildLogArchiveRepository buildLogArchiveRepository;
+
+    private ProgrammingSubmissionRepository programmingSubmissionRepository;
+
+    private BuildLogEntryService buildLogEntryService;
+
+    private ProgrammingSubmission programmingSubmission;
+
+    private List<BuildLogEntry> buildLogs;
+
+    @BeforeEach
+    void init() {
+        buildLogEntryRepository = mock(BuildLogEntryRepository.class);
+        buildLogArchiveRepository = mock(BuildLogArchiveRepository.class);
+        programmingSubmissionRepository = mock(ProgrammingSubmissionRepository.class);
+        buildLogEntryService = new BuildLogEntryService(buildLogEntryRepository, buildLogArchiveRepository, programmingSubmissionRepository, true);
+
+        programmingSubmission = new ProgrammingSubmission();
+        programmingSubmission.setId(1L);
+        var time = ZonedDateTime.now();
+        buildLogs = new ArrayList<>();
+        buildLogs.add(new BuildLogEntry(time, "[ERROR] COMPILATION ERROR : "));
+        buildLogs.add(new BuildLogEntry(null, "src/de/tum/Example.java:[3,1] class, interface, or enum expected ü"));
+        buildLogs.add(new BuildLogEntry(time.plusSeconds(1), "x".repeat(1000)));
+        buildLogs.add(new BuildLogEntry(time.plusSeconds(2), ""));
+    }
+
+    @Test
+    void testSaveCompressedBuildLogs() {
+        var entriesOfSubmission = buildLogEntryService.saveBuildLogs(buildLogs, programmingSubmission);
+
+        assertThat(entriesOfSubmission).isEmpty();
+        verify(buildLogEntryRepository, never()).save(any());
+        verify(buildLogArchiveRepository).deleteAllByProgrammingSubmissionId(1L);
+        ArgumentCaptor<BuildLogArchive> archiveCaptor = ArgumentCaptor.forClass(BuildLogArchive.class);
+        verify(buildLogArchiveRepository).save(archiveCaptor.capture());
+        assertThat(archiveCaptor.getValue().getEntryCount()).isEqualTo(4);
+        assertThat(archiveCaptor.getValue().getProgrammingSubmission()).isEqualTo(programmingSubmission);
+    }
+
+    @Test
+    void testReadBuildLogArchive() {
+        var archive = buildLogEntryService.createBuildLogArchive(buildLogs, programmingSubmission);
+
+        var decodedLogs = buildLogEntryService.readBuildLogArchive(archive, 0, archive.getEntryCount());
+
+        assertThat(decodedLogs).hasSize(4);
+        for (int i = 0; i < buildLogs.size(); i++) {
+            assertThat(decodedLogs.get(i).getLog()).isEqualTo(buildLogs.get(i).getLog());
+            if (buildLogs.get(i).getTime() == null) {
+                assertThat(decodedLogs.get(i).getTime()).isNull();
+            }
+            else {
+                assertThat(decodedLogs.get(i).getTime().toInstant()).isEqualTo(buildLogs.get(i).getTime().toInstant());
+            }
+        }
+        // the log is not truncated in the archive
+        assertThat(decodedLogs.get(2).getLog()).hasSize(1000);
+    }
+
+    @Test
+    void testReadSingleEntriesOfBuildLogArchive() {
+        var archive = buildLogEntryService.createBuildLogArchive(buildLogs, programmingSubmission);
+
+        assertThat(buildLogEntryService.readBuildLogArchive(archive, 1, 2)).extracting(BuildLogEntry::getLog).containsExactly(buildLogs.get(1).getLog(),
+                buildLogs.get(2).getLog());
+        assertThat(buildLogEntryService.readBuildLogArchive(archive, 3, 10)).extracting(BuildLogEntry::getLog).containsExactly("");
+        assertThat(buildLogEntryService.readBuildLogArchive(archive, 4, 10)).isEmpty();
+    }
+
+    @Test
+    void testGetLatestBuildLogsFromArchive() {
+        var archive = buildLogEntryService.createBuildLogArchive(buildLogs, programmingSubmission);
+        when(programmingSubmissionRepository.findWithEagerBuildLogEntriesById(1L)).thenReturn(Optional.of(programmingSubmission));
+        when(buildLogArchiveRepository.findFirstByProgrammingSubmissionIdOrderByIdDesc(1L)).thenReturn(Optional.of(archive));
+
+        assertThat(buildLogEntryService.getLatestBuildLogs(programmingSubmission)).extracting(BuildLogEntry::getLog)
+                .containsExactlyElementsOf(buildLogs.stream().map(BuildLogEntry::getLog).toList());
+    }
+
+    @Test
+    void testGetLatestBuildLogsPrefersEntries() {
+        var submissionWithEntries = new ProgrammingSubmission();
+        submissionWithEntries.setId(1L);
+        submissionWithEntries.setBuildLogEntries(List.of(new BuildLogEntry(ZonedDateTime.now(), "saved entry")));
+        when(programmingSubmissionRepository.findWithEagerBuildLogEntriesById(1L)).thenReturn(Optional.of(submissionWithEntries));
+
+        assertThat(buildLogEntryService.getLatestBuildLogs(programmingSubmission)).extracting(BuildLogEntry::getLog).containsExactly("saved entry");
+        verifyNoInteractions(buildLogArchiveRepository);
+    }
+}
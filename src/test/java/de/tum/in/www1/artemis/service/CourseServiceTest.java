@@ -2,10 +2,13 @@ package de.tum.in.www1.artemis.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.DayOfWeek;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.AfterEach;
@@ -14,8 +17,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
+import de.tum.in.www1.artemis.domain.Submission;
 import de.tum.in.www1.artemis.domain.TextSubmission;
 import de.tum.in.www1.artemis.domain.enumeration.Language;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
@@ -43,6 +48,12 @@ public class CourseServiceTest extends AbstractSpringIntegrationBambooBitbucketJ
     @Autowired
     private ExerciseRepository exerciseRepo;
 
+    @Autowired
+    private ActiveStudentSketchRegisterRepository activeStudentSketchRegisterRepository;
+
+    @Autowired
+    private ActiveStudentSketchService activeStudentSketchService;
+
     @AfterEach
     public void tearDown() {
         database.resetDatabase();
@@ -112,7 +123,7 @@ public class CourseServiceTest extends AbstractSpringIntegrationBambooBitbucketJ
 
         var exerciseList = new HashSet<Long>();
         exerciseList.add(exercise.getId());
-        var activeStudents = courseService.getActiveStudents(exerciseList, 0, 4, date);
+        var activeStudents = courseService.getActiveStudents(course.getId(), exerciseList, 0, 4, date);
         assertThat(activeStudents).hasSize(4).containsExactly(0, 1, 1, 2);
     }
 
@@ -144,10 +155,55 @@ public class CourseServiceTest extends AbstractSpringIntegrationBambooBitbucketJ
 
         var exerciseList = new HashSet<Long>();
         exerciseList.add(exercise.getId());
-        var activeStudents = courseService.getActiveStudents(exerciseList, 0, 4, ZonedDateTime.of(2022, 1, 25, 0, 0, 0, 0, ZoneId.systemDefault()));
+        var activeStudents = courseService.getActiveStudents(course.getId(), exerciseList, 0, 4, ZonedDateTime.of(2022, 1, 25, 0, 0, 0, 0, ZoneId.systemDefault()));
         assertThat(activeStudents).hasSize(4).containsExactly(1, 0, 0, 0);
     }
 
+    @Test
+    public void testGetActiveStudents_rebuiltSketchesAndExactCalculation() {
+        // the middle of the current week, so that the dates of the submissions do not depend on the time zone of the database
+        ZonedDateTime date = ZonedDateTime.now().with(DayOfWeek.WEDNESDAY).withHour(12);
+        SecurityUtils.setAuthorizationObject();
+        var course = database.addEmptyCourse();
+        var exercise = ModelFactory.generateTextExercise(date, date, date, course);
+        course.addExercises(exercise);
+        exercise = exerciseRepo.save(exercise);
+
+        var users = database.addUsers(3, 0, 0, 0);
+        var submissions = new ArrayList<Submission>();
+        for (int i = 0; i < users.size(); i++) {
+            var participation = new StudentParticipation();
+            participation.setParticipant(users.get(i));
+            participation.exercise(exercise);
+            studentParticipationRepo.save(participation);
+            // all students are active in the current week, the first two students also one week before
+            for (int weeksBefore = 0; weeksBefore <= (i < 2 ? 1 : 0); weeksBefore++) {
+                var submission = new TextSubmission();
+                submission.text("text of text submission");
+                submission.setSubmitted(true);
+                submission.setParticipation(participation);
+                submission.setSubmissionDate(date.minusWeeks(weeksBefore));
+                submissions.add(submission);
+            }
+        }
+        submissionRepository.saveAll(submissions);
+        var exerciseIds = Set.of(exercise.getId());
+        assertThat(courseService.getActiveStudents(course.getId(), exerciseIds, 0, 4, date)).containsExactly(0, 0, 2, 3);
+
+        activeStudentSketchRegisterRepository.deleteAll();
+        assertThat(courseService.getActiveStudents(course.getId(), exerciseIds, 0, 4, date)).containsExactly(0, 0, 0, 0);
+        activeStudentSketchService.rebuildSketches(course.getId(), date.minusWeeks(3));
+        assertThat(courseService.getActiveStudents(course.getId(), exerciseIds, 0, 4, date)).containsExactly(0, 0, 2, 3);
+
+        ReflectionTestUtils.setField(courseService, "exactActiveStudents", true);
+        try {
+            assertThat(courseService.getActiveStudents(course.getId(), exerciseIds, 0, 4, date)).containsExactly(0, 0, 2, 3);
+        }
+        finally {
+            ReflectionTestUtils.setField(courseService, "exactActiveStudents", false);
+        }
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = "ADMIN")
     public void testGetOverviewAsAdmin() {
@@ -0,0 +1,80 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import de.tum.in.www1.artemis.domain.Repository;
+import de.tum.in.www1.artemis.service.connectors.GitRepositoryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GitRepositoryCacheTest {
+
+    private final Path path1 = Path.of("repos", "repo1");
+
+    private final Path path2 = Path.of("repos", "repo2");
+
+    private final Path path3 = Path.of("repos", "repo3");
+
+    private MeterRegistry meterRegistry;
+
+    private GitRepositoryCache gitRepositoryCache;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        gitRepositoryCache = new GitRepositoryCache(meterRegistry, mock(TaskScheduler.class), 2, 30, 10, 128, 10);
+    }
+
+    @Test
+    void testLeastRecentlyUsedRepositoryIsClosed() {
+        Repository repository1 = mock(Repository.class);
+        Repository repository2 = mock(Repository.class);
+        Repository repository3 = mock(Repository.class);
+        gitRepositoryCache.put(path1, repository1);
+        gitRepositoryCache.put(path2, repository2);
+
+        // the access makes the second repository the least recently used one
+        assertThat(gitRepositoryCache.get(path1)).isSameAs(repository1);
+        gitRepositoryCache.put(path3, repository3);
+
+        assertThat(gitRepositoryCache.size()).isEqualTo(2);
+        assertThat(gitRepositoryCache.contains(path2)).isFalse();
+        assertThat(gitRepositoryCache.get(path2)).isNull();
+        verify(repository2).close();
+        verify(repository1, never()).close();
+        verify(repository3, never()).close();
+
+        assertThat(meterRegistry.get("artemis.git.repository.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository.cache.evictions").tag("cause", "size").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.git.repository.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testConcurrentlyOpenedRepositoryIsClosed() {
+        Repository cachedRepository = mock(Repository.class);
+        Repository concurrentlyOpenedRepository = mock(Repository.class);
+        gitRepositoryCache.put(path1, cachedRepository);
+
+        assertThat(gitRepositoryCache.put(path1, concurrentlyOpenedRepository)).isSameAs(cachedRepository);
+        verify(concurrentlyOpenedRepository).close();
+        verify(cachedRepository, never()).close();
+    }
+
+    @Test
+    void testRemovedRepositoryIsNotClosed() {
+        Repository repository = mock(Repository.class);
+        gitRepositoryCache.put(path1, repository);
+
+        assertThat(gitRepositoryCache.remove(path1)).isSameAs(repository);
+        assertThat(gitRepositoryCache.contains(path1)).isFalse();
+        verify(repository, never()).close();
+    }
+}
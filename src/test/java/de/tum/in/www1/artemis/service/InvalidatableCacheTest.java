@@ -0,0 +1,125 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+import de.tum.in.www1.artemis.service.util.InvalidatableCache;
+
+class InvalidatableCacheTest {
+
+    private ITopic<Long> topic;
+
+    private HazelcastInstance hazelcastInstance;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        topic = mock(ITopic.class);
+        hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(topic).when(hazelcastInstance).getTopic(anyString());
+    }
+
+    @Test
+    void testValuesAreCachedUntilTheirGroupIsInvalidated() {
+        var cache = createCache(30, 10);
+
+        assertThat(cache.getOrLoad(1L, () -> load("a"))).isEqualTo("a");
+        assertThat(cache.getOrLoad(1L, () -> load("b"))).isEqualTo("a");
+        cache.invalidate(1L);
+        assertThat(cache.getOrLoad(1L, () -> load("c"))).isEqualTo("c");
+
+        assertThat(loads.get()).isEqualTo(2);
+        verify(topic).publish(1L);
+    }
+
+    @Test
+    void testValuesLoadedDuringAnInvalidationAreNotCached() {
+        var cache = createCache(30, 10);
+
+        cache.getOrLoad(1L, () -> {
+            cache.invalidate(1L);
+            return load("a");
+        });
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.isInvalidatedSince(1L, Instant.now().minusSeconds(1))).isTrue();
+    }
+
+    @Test
+    void testLeastRecentlyUsedValuesAreEvicted() {
+        var cache = createCache(30, 2);
+
+        cache.getOrLoad(1L, () -> load("a"));
+        cache.getOrLoad(2L, () -> load("b"));
+        cache.get(1L);
+        cache.getOrLoad(3L, () -> load("c"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L)).isEqualTo("a");
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isEqualTo("c");
+    }
+
+    @Test
+    void testLocallyUpdatedValuesStayCached() {
+        InvalidatableCache<Long, Long, List<String>> cache = new InvalidatableCache<>(hazelcastInstance, "test-invalidation", 30, 10, Set::of);
+
+        cache.getOrLoad(1L, () -> new ArrayList<>(List.of("a")));
+        Instant loadingStart = Instant.now();
+        cache.updateLocally(1L, values -> values.add("b"));
+        cache.put(1L, List.of("outdated"), loadingStart);
+
+        assertThat(cache.get(1L)).containsExactly("a", "b");
+        verify(topic).publish(1L);
+    }
+
+    @Test
+    void testLocallyUpdatedValuesExpireWithTheirCreationDate() throws InterruptedException {
+        InvalidatableCache<Long, Long, List<String>> cache = new InvalidatableCache<>(hazelcastInstance, "test-invalidation", 1, 10, Set::of);
+
+        cache.getOrLoad(1L, () -> new ArrayList<>(List.of("a")));
+        Thread.sleep(500);
+        cache.updateLocally(1L, values -> values.add("b"));
+        assertThat(cache.get(1L)).containsExactly("a", "b");
+
+        // the value expires one second after it was loaded, not one second after the update
+        await().atMost(Duration.ofMillis(800)).until(() -> cache.get(1L) == null);
+    }
+
+    @Test
+    void testNothingIsCachedWithoutTimeToLive() {
+        var cache = createCache(0, 10);
+
+        cache.getOrLoad(1L, () -> load("a"));
+        cache.getOrLoad(1L, () -> load("a"));
+        cache.invalidate(1L);
+
+        assertThat(loads.get()).isEqualTo(2);
+        verify(topic, never()).publish(any());
+    }
+
+    private InvalidatableCache<Long, Long, String> createCache(int timeToLiveInSeconds, int maxSize) {
+        return new InvalidatableCache<>(hazelcastInstance, "test-invalidation", timeToLiveInSeconds, maxSize, Set::of);
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
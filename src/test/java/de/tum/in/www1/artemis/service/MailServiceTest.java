@@ -1,17 +1,31 @@
 package de.tum.in.www1.artemis.service;
 
+import static de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants.NEW_ANNOUNCEMENT_POST_TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
+import java.net.URL;
+import java.util.*;
+
+import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 
+import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.domain.metis.Post;
+import de.tum.in.www1.artemis.domain.notification.GroupNotification;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -75,7 +89,12 @@ public class MailServiceTest {
         jHipsterProperties = mock(JHipsterProperties.class);
         when(jHipsterProperties.getMail()).thenReturn(mail);
 
-        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService);
+        mailService = new MailService(jHipsterProperties, javaMailSender, messageSource, templateEngine, timeService, 2, 2, 10);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mailService.shutdown();
     }
 
     /**
@@ -86,4 +105,76 @@ public class MailServiceTest {
         mailService.sendEmail(student1, subject, content, false, true);
         verify(javaMailSender, times(1)).send(mimeMessage);
     }
+
+    /**
+     * Checks that the content of a notification email for multiple users is only created once and personalized for each user, and that the emails are sent in batches
+     */
+    @Test
+    public void testSendNotificationEmailForMultipleUsers() throws Exception {
+        FakeJavaMailSender fakeJavaMailSender = new FakeJavaMailSender();
+        templateEngine = mock(SpringTemplateEngine.class);
+        when(templateEngine.process(anyString(), any(Context.class)))
+                .thenAnswer(invocation -> "<p>Hello " + ((User) invocation.getArgument(1, Context.class).getVariable("user")).getName() + "</p>");
+        mailService.shutdown();
+        mailService = new MailService(jHipsterProperties, fakeJavaMailSender, messageSource, templateEngine, timeService, 2, 2, 10);
+        ReflectionTestUtils.setField(mailService, "artemisServerUrl", new URL("http://localhost:8080"));
+
+        Course course = new Course();
+        course.setId(1L);
+        course.setTitle("course");
+        Post post = new Post();
+        post.setId(2L);
+        post.setTitle("announcement");
+        post.setCourse(course);
+        GroupNotification notification = new GroupNotification();
+        notification.setTitle(NEW_ANNOUNCEMENT_POST_TITLE);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setEmail("student" + i + "@test.de");
+            user.setFirstName("Student <" + i + ">");
+            user.setLangKey("en");
+            users.add(user);
+        }
+
+        mailService.sendNotificationEmailForMultipleUsers(notification, users, post);
+
+        await().untilAsserted(() -> assertThat(fakeJavaMailSender.getSentMessages()).hasSize(5));
+        // the content is created once for all users with the same language
+        verify(templateEngine, times(1)).process(anyString(), any(Context.class));
+        // 5 emails are sent in batches of at most 2 emails
+        assertThat(fakeJavaMailSender.getNumberOfBatches()).isEqualTo(3);
+        for (MimeMessage message : fakeJavaMailSender.getSentMessages()) {
+            String recipient = ((InternetAddress) message.getAllRecipients()[0]).getAddress();
+            int index = Integer.parseInt(recipient.substring("student".length(), recipient.indexOf('@')));
+            assertThat((String) message.getContent()).isEqualTo("<p>Hello Student &lt;" + index + "&gt;</p>");
+            assertThat(message.getSubject()).isEqualTo("New announcement \"announcement\" in course \"course\"");
+        }
+    }
+
+    /**
+     * Creates real messages but only records them instead of sending them to a mail server
+     */
+    private static class FakeJavaMailSender extends JavaMailSenderImpl {
+
+        private final List<MimeMessage> sentMessages = Collections.synchronizedList(new ArrayList<>());
+
+        private int numberOfBatches = 0;
+
+        @Override
+        protected synchronized void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            numberOfBatches++;
+            sentMessages.addAll(Arrays.asList(mimeMessages));
+        }
+
+        public List<MimeMessage> getSentMessages() {
+            return sentMessages;
+        }
+
+        public synchronized int getNumberOfBatches() {
+            return numberOfBatches;
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package de.tum.in.www1.artemis.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,8 +20,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import de.tum.in.www1.artemis.AbstractSpringIntegrationBambooBitbucketJiraTest;
 import de.tum.in.www1.artemis.domain.Course;
 import de.tum.in.www1.artemis.domain.modeling.ModelingExercise;
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
 import de.tum.in.www1.artemis.domain.participation.Participation;
 import de.tum.in.www1.artemis.domain.participation.StudentParticipation;
+import de.tum.in.www1.artemis.repository.ExerciseRepository;
+import de.tum.in.www1.artemis.repository.ModelingSubmissionRepository;
+import de.tum.in.www1.artemis.util.ModelFactory;
+import de.tum.in.www1.artemis.web.websocket.dto.SubmissionSyncPayload;
 import de.tum.in.www1.artemis.web.websocket.team.ParticipationTeamWebsocketService;
 
 class ParticipationTeamWebsocketServiceTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
@@ -26,6 +34,14 @@ class ParticipationTeamWebsocketServiceTest extends AbstractSpringIntegrationBam
     @Autowired
     private ParticipationTeamWebsocketService participationTeamWebsocketService;
 
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private ModelingSubmissionRepository modelingSubmissionRepository;
+
+    private ModelingExercise modelingExercise;
+
     private StudentParticipation participation;
 
     private static String websocketTopic(Participation participation) {
@@ -36,7 +52,7 @@ class ParticipationTeamWebsocketServiceTest extends AbstractSpringIntegrationBam
     void init() {
         database.addUsers(3, 0, 0, 0);
         Course course = database.addCourseWithOneModelingExercise();
-        ModelingExercise modelingExercise = database.findModelingExerciseWithTitle(course.getExercises(), "ClassDiagram");
+        modelingExercise = database.findModelingExerciseWithTitle(course.getExercises(), "ClassDiagram");
         participation = database.createAndSaveParticipationForExercise(modelingExercise, "student1");
 
         MockitoAnnotations.openMocks(this);
@@ -79,6 +95,54 @@ class ParticipationTeamWebsocketServiceTest extends AbstractSpringIntegrationBam
         assertThat(participationTeamWebsocketService.getDestinationTracker()).as("Correct session was removed.").containsKey(stompHeaderAccessor2.getSessionId());
     }
 
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    void testUpdatedSubmissionIsSentImmediatelyAndSavedAfterTheSaveInterval() {
+        ModelingSubmission submission = database.addModelingSubmission(modelingExercise, ModelFactory.generateModelingSubmission("old model", true), "student1");
+
+        participationTeamWebsocketService.updateModelingSubmission(participation.getId(), getUpdatedSubmission(submission), () -> "student1", getStompHeaderAccessorMock());
+
+        verify(messagingTemplate, times(1)).convertAndSend(eq(websocketTopic(participation) + "/modeling-submissions"), any(SubmissionSyncPayload.class));
+        assertThat(getSavedModel(submission)).as("The update is not saved immediately").isEqualTo("old model");
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(getSavedModel(submission)).isEqualTo("new model"));
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    void testPendingSubmissionIsSavedWhenTeamMemberLeaves() {
+        ModelingSubmission submission = database.addModelingSubmission(modelingExercise, ModelFactory.generateModelingSubmission("old model", true), "student1");
+        StompHeaderAccessor stompHeaderAccessor = getStompHeaderAccessorMock();
+
+        participationTeamWebsocketService.subscribe(participation.getId(), stompHeaderAccessor);
+        participationTeamWebsocketService.updateModelingSubmission(participation.getId(), getUpdatedSubmission(submission), () -> "student1", stompHeaderAccessor);
+        assertThat(getSavedModel(submission)).as("The update is not saved immediately").isEqualTo("old model");
+        participationTeamWebsocketService.unsubscribe(stompHeaderAccessor.getSessionId());
+
+        assertThat(getSavedModel(submission)).as("The update is saved when the team member leaves").isEqualTo("new model");
+    }
+
+    @Test
+    @WithMockUser(username = "student1", roles = "USER")
+    void testSubmissionIsSavedImmediatelyShortlyBeforeTheDueDate() {
+        ModelingSubmission submission = database.addModelingSubmission(modelingExercise, ModelFactory.generateModelingSubmission("old model", true), "student1");
+        modelingExercise.setDueDate(ZonedDateTime.now().plusSeconds(3));
+        exerciseRepository.save(modelingExercise);
+
+        participationTeamWebsocketService.updateModelingSubmission(participation.getId(), getUpdatedSubmission(submission), () -> "student1", getStompHeaderAccessorMock());
+
+        assertThat(getSavedModel(submission)).as("The update is saved before the due date").isEqualTo("new model");
+    }
+
+    private static ModelingSubmission getUpdatedSubmission(ModelingSubmission submission) {
+        ModelingSubmission updatedSubmission = ModelFactory.generateModelingSubmission("new model", true);
+        updatedSubmission.setId(submission.getId());
+        return updatedSubmission;
+    }
+
+    private String getSavedModel(ModelingSubmission submission) {
+        return modelingSubmissionRepository.findById(submission.getId()).orElseThrow().getModel();
+    }
+
     private StompHeaderAccessor getStompHeaderAccessorMock() {
         String fakeSessionId = UUID.randomUUID().toString();
         StompHeaderAccessor stompHeaderAccessor = mock(StompHeaderAccessor.class, RETURNS_MOCKS);
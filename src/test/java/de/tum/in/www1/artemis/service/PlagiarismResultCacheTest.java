@@ -0,0 +1,121 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismComparison;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismMatch;
+import de.tum.in.www1.artemis.domain.plagiarism.PlagiarismSubmission;
+import de.tum.in.www1.artemis.domain.plagiarism.text.TextPlagiarismResult;
+import de.tum.in.www1.artemis.domain.plagiarism.text.TextSubmissionElement;
+import de.tum.in.www1.artemis.service.plagiarism.PlagiarismResultCache;
+
+class PlagiarismResultCacheTest {
+
+    private static final long EXERCISE_ID = 42;
+
+    private final String fingerprint = PlagiarismResultCache.fingerprint(List.of("1:student1:hash1", "2:student2:hash2", "3:student3:hash3"));
+
+    private PlagiarismResultCache plagiarismResultCache;
+
+    @BeforeEach
+    void init() {
+        plagiarismResultCache = new PlagiarismResultCache(60);
+        TextPlagiarismResult result = new TextPlagiarismResult();
+        result.getComparisons().add(comparison(1, 2, 80));
+        result.getComparisons().add(comparison(1, 3, 60));
+        result.setSimilarityDistribution(new int[] { 0, 0, 0, 0, 0, 0, 1, 0, 1, 0 });
+        result.setDuration(1234);
+        plagiarismResultCache.putResult(EXERCISE_ID, fingerprint, 50, result);
+    }
+
+    @Test
+    void testFingerprintIgnoresOrderOfParts() {
+        assertThat(PlagiarismResultCache.fingerprint(List.of("3:student3:hash3", "1:student1:hash1", "2:student2:hash2"))).isEqualTo(fingerprint);
+        assertThat(PlagiarismResultCache.fingerprint(List.of("1:student1:hash1", "2:student2:changed", "3:student3:hash3"))).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void testGetResultWithSameThreshold() {
+        TextPlagiarismResult result = plagiarismResultCache.getResult(EXERCISE_ID, fingerprint, 50).orElseThrow();
+
+        assertThat(result.getComparisons()).hasSize(2);
+        assertThat(result.getDuration()).isEqualTo(1234);
+        assertThat(result.getSimilarityDistribution()).containsExactly(0, 0, 0, 0, 0, 0, 1, 0, 1, 0);
+        for (PlagiarismComparison<TextSubmissionElement> comparison : result.getComparisons()) {
+            assertThat(comparison.getId()).isNull();
+            assertThat(comparison.getPlagiarismResult()).isSameAs(result);
+            assertThat(comparison.getSubmissionA().getSubmissionId()).isEqualTo(1);
+            assertThat(comparison.getSubmissionA().getElements()).hasSize(2);
+            assertThat(comparison.getMatches()).hasSize(1);
+        }
+        // each comparison gets its own submission entities, although both comparisons contain the first submission
+        var comparisons = List.copyOf(result.getComparisons());
+        assertThat(comparisons.get(0).getSubmissionA()).isNotSameAs(comparisons.get(1).getSubmissionA());
+    }
+
+    @Test
+    void testGetResultWithHigherThreshold() {
+        TextPlagiarismResult result = plagiarismResultCache.getResult(EXERCISE_ID, fingerprint, 70).orElseThrow();
+
+        assertThat(result.getComparisons()).hasSize(1);
+        assertThat(result.getComparisons().iterator().next().getSubmissionB().getSubmissionId()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetResultWithLowerThreshold() {
+        // the cached result does not contain the comparisons below its threshold
+        assertThat(plagiarismResultCache.getResult(EXERCISE_ID, fingerprint, 40)).isEmpty();
+    }
+
+    @Test
+    void testGetResultWithOtherFingerprint() {
+        assertThat(plagiarismResultCache.getResult(EXERCISE_ID, PlagiarismResultCache.fingerprint(List.of("1:student1:hash1")), 50)).isEmpty();
+        assertThat(plagiarismResultCache.getResult(EXERCISE_ID + 1, fingerprint, 50)).isEmpty();
+    }
+
+    @Test
+    void testDisabledCache() {
+        PlagiarismResultCache disabledCache = new PlagiarismResultCache(0);
+        TextPlagiarismResult result = new TextPlagiarismResult();
+        result.getComparisons().add(comparison(1, 2, 80));
+        result.setSimilarityDistribution(new int[0]);
+        disabledCache.putResult(EXERCISE_ID, fingerprint, 50, result);
+
+        assertThat(disabledCache.isEnabled()).isFalse();
+        assertThat(disabledCache.getResult(EXERCISE_ID, fingerprint, 50)).isEmpty();
+    }
+
+    private static PlagiarismComparison<TextSubmissionElement> comparison(long submissionIdA, long submissionIdB, double similarity) {
+        PlagiarismComparison<TextSubmissionElement> comparison = new PlagiarismComparison<>();
+        comparison.setSubmissionA(submission(submissionIdA));
+        comparison.setSubmissionB(submission(submissionIdB));
+        PlagiarismMatch match = new PlagiarismMatch();
+        match.setStartA(0);
+        match.setStartB(1);
+        match.setLength(1);
+        comparison.setMatches(Set.of(match));
+        comparison.setSimilarity(similarity);
+        return comparison;
+    }
+
+    private static PlagiarismSubmission<TextSubmissionElement> submission(long submissionId) {
+        PlagiarismSubmission<TextSubmissionElement> submission = new PlagiarismSubmission<>();
+        submission.setSubmissionId(submissionId);
+        submission.setStudentLogin("student" + submissionId);
+        submission.setSize(2);
+        TextSubmissionElement first = new TextSubmissionElement();
+        first.setLine(1);
+        first.setLength(5);
+        TextSubmissionElement second = new TextSubmissionElement();
+        second.setLine(2);
+        second.setLength(3);
+        submission.setElements(List.of(first, second));
+        return submission;
+    }
+}
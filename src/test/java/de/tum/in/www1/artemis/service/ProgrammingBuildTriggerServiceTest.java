@@ -0,0 +1,114 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.participation.ProgrammingExerciseStudentParticipation;
+import de.tum.in.www1.artemis.service.programming.ProgrammingBuildTriggerService;
+
+class ProgrammingBuildTriggerServiceTest {
+
+    private static final long EXERCISE_ID = 1;
+
+    private ProgrammingBuildTriggerService programmingBuildTriggerService;
+
+    @BeforeEach
+    void init() {
+        // 2 requests per 100ms, at most 2 at the same time
+        programmingBuildTriggerService = new ProgrammingBuildTriggerService(2, 100, 2, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        programmingBuildTriggerService.shutdown();
+    }
+
+    @Test
+    void testTriggerBuilds() throws Exception {
+        Set<Long> triggeredParticipationIds = ConcurrentHashMap.newKeySet();
+        var participations = participations(1, 6);
+
+        var result = programmingBuildTriggerService.triggerBuilds(EXERCISE_ID, participations,
+                participation -> triggeredParticipationIds.add(participation.getId()) && participation.getId() != 6);
+        var finalProgress = result.get(10, TimeUnit.SECONDS);
+
+        assertThat(finalProgress.failed()).isEqualTo(1);
+
+        assertThat(triggeredParticipationIds).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L);
+        var progress = programmingBuildTriggerService.getProgress(EXERCISE_ID).orElseThrow();
+        assertThat(progress.total()).isEqualTo(6);
+        assertThat(progress.triggered()).isEqualTo(5);
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(progress.waiting()).isZero();
+        assertThat(progress.finishDate()).isNotNull();
+    }
+
+    @Test
+    void testMaximumNumberOfRequestsInFlight() throws Exception {
+        var inFlight = new Semaphore(0);
+        var release = new CountDownLatch(1);
+        var result = programmingBuildTriggerService.triggerBuilds(EXERCISE_ID, participations(1, 4), participation -> {
+            inFlight.release();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                return false;
+            }
+        });
+
+        await().until(() -> inFlight.availablePermits() == 2);
+        // the other participations wait until one of the first two requests is finished
+        await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(1)).until(() -> inFlight.availablePermits() == 2);
+        release.countDown();
+        result.get(10, TimeUnit.SECONDS);
+        assertThat(inFlight.availablePermits()).isEqualTo(4);
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        var release = new CountDownLatch(1);
+        var result = programmingBuildTriggerService.triggerBuilds(EXERCISE_ID, participations(1, 20), participation -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                return false;
+            }
+        });
+
+        assertThat(programmingBuildTriggerService.cancel(EXERCISE_ID)).isTrue();
+        release.countDown();
+        result.get(10, TimeUnit.SECONDS);
+
+        var progress = programmingBuildTriggerService.getProgress(EXERCISE_ID).orElseThrow();
+        assertThat(progress.cancelled()).isTrue();
+        assertThat(progress.skipped()).isPositive();
+        assertThat(progress.triggered() + progress.skipped()).isEqualTo(20);
+        assertThat(programmingBuildTriggerService.cancel(EXERCISE_ID)).isFalse();
+    }
+
+    @Test
+    void testNoProgressWithoutBuildRun() {
+        assertThat(programmingBuildTriggerService.getProgress(EXERCISE_ID)).isEmpty();
+        assertThat(programmingBuildTriggerService.cancel(EXERCISE_ID)).isFalse();
+    }
+
+    private static List<ProgrammingExerciseStudentParticipation> participations(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId).mapToObj(id -> {
+            var participation = new ProgrammingExerciseStudentParticipation();
+            participation.setId(id);
+            return participation;
+        }).toList();
+    }
+}
@@ -262,6 +262,33 @@ public class SubmissionServiceTest extends AbstractSpringIntegrationBambooBitbuc
         assertThat(submissionListTutor2CorrectionRound1).isEmpty();
     }
 
+    @Test
+    @WithMockUser(username = "tutor1", roles = "TA")
+    public void testTextExerciseClaimSubmissionEligibleForNewAssessmentDifferentSubmissionsForTutors() {
+        submission1 = new TextSubmission();
+        submission2 = new TextSubmission();
+        // setup
+        queryTestingBasics(this.examTextExercise);
+
+        // submissions which are not claimed are handed out again
+        database.changeUser("tutor1");
+        var unclaimedSubmission = submissionService.getRandomSubmissionEligibleForNewAssessment(examTextExercise, true, 0);
+        assertThat(submissionService.getRandomSubmissionEligibleForNewAssessment(examTextExercise, true, 0)).isEqualTo(unclaimedSubmission);
+
+        // the first tutor claimed one of the submissions, so the second tutor gets the other one
+        var claimedSubmissionTutor1 = submissionService.claimSubmissionEligibleForNewAssessment(examTextExercise, true, 0);
+        database.changeUser("tutor2");
+        var claimedSubmissionTutor2 = submissionService.claimSubmissionEligibleForNewAssessment(examTextExercise, true, 0);
+        assertThat(claimedSubmissionTutor1).isPresent();
+        assertThat(claimedSubmissionTutor2).isPresent();
+        assertThat(claimedSubmissionTutor1.get()).isIn(submission1, submission2);
+        assertThat(claimedSubmissionTutor2.get()).isIn(submission1, submission2).isNotEqualTo(claimedSubmissionTutor1.get());
+
+        // all submissions were claimed, but none was locked, so the unassessed submissions are handed out again
+        database.changeUser("tutor1");
+        assertThat(submissionService.claimSubmissionEligibleForNewAssessment(examTextExercise, true, 0)).isPresent();
+    }
+
     @Test
     @WithMockUser(username = "tutor1", roles = "TA")
     public void testTextExerciseGetRandomSubmissionEligibleForNewAssessmentOneAssessmentsWithoutLock() {
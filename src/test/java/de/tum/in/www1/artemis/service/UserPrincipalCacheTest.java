@@ -0,0 +1,130 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.user.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserPrincipalCacheTest {
+
+    private ITopic<String> topic;
+
+    private HazelcastInstance hazelcastInstance;
+
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<Optional<User>> userLoader = () -> {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("student1");
+        user.setGroups(Set.of("students"));
+        return Optional.of(user);
+    };
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        topic = mock(ITopic.class);
+        hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(topic).when(hazelcastInstance).getTopic(anyString());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testCachedUsersAreCopies() {
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(hazelcastInstance, meterRegistry, 30, 100);
+
+        User loadedUser = userPrincipalCache.get("student1", userLoader).orElseThrow();
+        loadedUser.setGroups(Set.of("tutors"));
+        User cachedUser = userPrincipalCache.get("student1", userLoader).orElseThrow();
+
+        assertThat(cachedUser).isNotSameAs(loadedUser);
+        assertThat(cachedUser.getGroups()).containsExactly("students");
+        assertThat(userPrincipalCache.get("student1", userLoader).orElseThrow()).isNotSameAs(cachedUser);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("artemis.user.principal.cache.requests").tag("result", "hit").tag("scope", "node").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("artemis.user.principal.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidatedUsersAreLoadedAgain() {
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(hazelcastInstance, meterRegistry, 30, 100);
+
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.invalidate("student1");
+        userPrincipalCache.get("student1", userLoader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        verify(topic).publish("student1");
+    }
+
+    @Test
+    void testLeastRecentlyUsedUsersAreEvicted() {
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(hazelcastInstance, meterRegistry, 30, 2);
+
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student2", userLoader);
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student3", userLoader);
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student2", userLoader);
+
+        // student2 was evicted as least recently used user when student3 was loaded, student1 stayed cached
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("artemis.user.principal.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testAllUsersAreInvalidated() {
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(hazelcastInstance, meterRegistry, 30, 100);
+
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student2", userLoader);
+        userPrincipalCache.invalidateAll();
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student2", userLoader);
+
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testUsersAreOnlyCachedPerRequestWithoutTimeToLive() {
+        UserPrincipalCache userPrincipalCache = new UserPrincipalCache(hazelcastInstance, meterRegistry, 0, 100);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userPrincipalCache.get("student1", userLoader);
+        userPrincipalCache.get("student1", userLoader);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userPrincipalCache.get("student1", userLoader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("artemis.user.principal.cache.requests").tag("result", "hit").tag("scope", "request").counter().count()).isEqualTo(1);
+        verify(topic, never()).publish(any());
+    }
+}
@@ -0,0 +1,121 @@
+package de.tum.in.www1.artemis.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+
+import de.tum.in.www1.artemis.domain.User;
+import de.tum.in.www1.artemis.service.WebsocketSubscriptionAuthorizationCache.SubscriptionTopic;
+
+class WebsocketSubscriptionAuthorizationCacheTest {
+
+    private ITopic<Object> topic;
+
+    private WebsocketSubscriptionAuthorizationCache authorizationCache;
+
+    private final AtomicInteger decisions = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void init() {
+        topic = mock(ITopic.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(topic).when(hazelcastInstance).getTopic(anyString());
+        authorizationCache = new WebsocketSubscriptionAuthorizationCache(hazelcastInstance, 300, 1000);
+    }
+
+    @Test
+    void testDecisionsAreCachedPerUserTopicAndEntity() {
+        assertThat(isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, true)).isTrue();
+        assertThat(isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, false)).isTrue();
+        assertThat(isAllowed("student1", SubscriptionTopic.EXERCISE_RESULTS, 1L, false)).isFalse();
+        assertThat(isAllowed("student2", SubscriptionTopic.PARTICIPATION_TEAM, 1L, false)).isFalse();
+
+        assertThat(decisions.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testInvalidatedDecisionsAreMadeAgain() {
+        isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, false);
+        isAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, false);
+        isAllowed("tutor2", SubscriptionTopic.EXERCISE_RESULTS, 3L, false);
+
+        authorizationCache.invalidateUser("student1");
+        authorizationCache.invalidateExercise(2L);
+
+        assertThat(isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, true)).isTrue();
+        assertThat(isAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, true)).isTrue();
+        assertThat(isAllowed("tutor2", SubscriptionTopic.EXERCISE_RESULTS, 3L, true)).isFalse();
+        assertThat(decisions.get()).isEqualTo(5);
+        verify(topic, times(2)).publish(any());
+    }
+
+    @Test
+    void testDecisionsMadeDuringAnInvalidationAreNotCached() {
+        authorizationCache.isSubscriptionAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, () -> {
+            decisions.incrementAndGet();
+            authorizationCache.invalidateUser("student1");
+            return true;
+        });
+        authorizationCache.isSubscriptionAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, () -> {
+            decisions.incrementAndGet();
+            authorizationCache.invalidateExercise(2L);
+            return true;
+        });
+
+        assertThat(isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, false)).isFalse();
+        assertThat(isAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, false)).isFalse();
+        assertThat(decisions.get()).isEqualTo(4);
+    }
+
+    @Test
+    void testInvalidateAllRemovesAllDecisionsAndSessionUsers() {
+        User user = new User();
+        user.setLogin("tutor1");
+        authorizationCache.getSessionUser("session1", () -> user);
+        isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, false);
+        isAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, false);
+
+        authorizationCache.invalidateAll();
+
+        assertThat(isAllowed("student1", SubscriptionTopic.PARTICIPATION_TEAM, 1L, true)).isTrue();
+        assertThat(isAllowed("tutor1", SubscriptionTopic.EXERCISE_RESULTS, 2L, true)).isTrue();
+        assertThat(authorizationCache.getSessionUser("session1", User::new)).isNotSameAs(user);
+    }
+
+    @Test
+    void testSessionUserIsLoadedOncePerSession() {
+        User user = new User();
+        user.setLogin("tutor1");
+        AtomicInteger loads = new AtomicInteger();
+
+        authorizationCache.getSessionUser("session1", () -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        assertThat(authorizationCache.getSessionUser("session1", User::new)).isSameAs(user);
+
+        authorizationCache.invalidateUser("tutor1");
+        authorizationCache.getSessionUser("session1", () -> {
+            loads.incrementAndGet();
+            return user;
+        });
+        authorizationCache.removeSession("session1");
+        assertThat(authorizationCache.getSessionUser("session1", User::new)).isNotSameAs(user);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private boolean isAllowed(String login, SubscriptionTopic topic, long entityId, boolean allowed) {
+        return authorizationCache.isSubscriptionAllowed(login, topic, entityId, () -> {
+            decisions.incrementAndGet();
+            return allowed;
+        });
+    }
+}
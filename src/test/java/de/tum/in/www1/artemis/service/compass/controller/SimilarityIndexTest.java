@@ -0,0 +1,71 @@
+package de.tum.in.www1.artemis.service.compass.controller;
+
+import static de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLClass.UMLClassType.CLASS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.www1.artemis.domain.modeling.ModelingSubmission;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
+import de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLAttribute;
+import de.tum.in.www1.artemis.service.compass.umlmodel.classdiagram.UMLClass;
+import de.tum.in.www1.artemis.service.compass.utils.CompassConfiguration;
+import de.tum.in.www1.artemis.util.FileUtils;
+import de.tum.in.www1.artemis.util.ModelFactory;
+
+public class SimilarityIndexTest {
+
+    private SimilarityIndex similarityIndex;
+
+    @BeforeEach
+    public void initTestCase() {
+        similarityIndex = new SimilarityIndex();
+    }
+
+    @Test
+    public void testGetCandidates_similarClassNames() {
+        UMLClass vehicle = new UMLClass("Vehicle", List.of(), List.of(), "vehicle", CLASS);
+        UMLClass car = new UMLClass("Car", List.of(), List.of(), "car", CLASS);
+        similarityIndex.add(vehicle);
+        similarityIndex.add(car);
+
+        assertThat(similarityIndex.size()).isEqualTo(2);
+        assertThat(similarityIndex.getCandidates(new UMLClass("Vehicles", List.of(), List.of(), "vehicles", CLASS))).containsExactly(vehicle);
+        assertThat(similarityIndex.getCandidates(new UMLClass("Cars", List.of(), List.of(), "cars", CLASS))).isEmpty();
+        assertThat(similarityIndex.getCandidates(new UMLClass("Bicycle", List.of(), List.of(), "bicycle", CLASS))).isEmpty();
+    }
+
+    @Test
+    public void testGetCandidates_differentTypes() {
+        UMLClass vehicle = new UMLClass("Vehicle", List.of(), List.of(), "vehicle", CLASS);
+        similarityIndex.add(vehicle);
+
+        assertThat(similarityIndex.getCandidates(new UMLAttribute("Vehicle", "String", "attribute"))).isEmpty();
+    }
+
+    @Test
+    public void testGetCandidates_containAllSimilarElements() throws Exception {
+        ModelClusterFactory modelClusterFactory = new ModelClusterFactory();
+        List<UMLElement> knownElements = modelClusterFactory.getModelElements(loadSubmission("test-data/model-submission/model.54727.json", 1L));
+        List<UMLElement> elements = modelClusterFactory.getModelElements(loadSubmission("test-data/model-submission/model.54727.cpy.json", 2L));
+        knownElements.forEach(similarityIndex::add);
+
+        for (UMLElement element : elements) {
+            List<UMLElement> candidates = similarityIndex.getCandidates(element);
+            for (UMLElement knownElement : knownElements) {
+                if (knownElement.similarity(element) > CompassConfiguration.EQUALITY_THRESHOLD) {
+                    assertThat(candidates).as("similar element " + knownElement + " is a candidate for " + element).contains(knownElement);
+                }
+            }
+        }
+    }
+
+    private ModelingSubmission loadSubmission(String path, long id) throws Exception {
+        ModelingSubmission submission = ModelFactory.generateModelingSubmission(FileUtils.loadFileFromResources(path), true);
+        submission.setId(id);
+        return submission;
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import de.tum.in.www1.artemis.service.compass.umlmodel.AbstractUMLDiagramTest;
+import de.tum.in.www1.artemis.service.compass.umlmodel.UMLDiagram;
 import de.tum.in.www1.artemis.service.compass.umlmodel.UMLElement;
 
 public class UMLClassDiagramTest extends AbstractUMLDiagramTest {
@@ -154,4 +156,16 @@ public class UMLClassDiagramTest extends AbstractUMLDiagramTest {
     void similarityClassDiagram_DifferentModels() {
         compareSubmissions(modelingSubmission(UMLClassDiagrams.CLASS_MODEL_1), modelingSubmission(UMLClassDiagrams.CLASS_MODEL_2), 0.0, 30.95);
     }
+
+    @Test
+    void similarityUpperBound() {
+        UMLClassDiagram classesOnly = new UMLClassDiagram(987654321, List.of(umlClass1, umlClass2, umlClass3), Collections.emptyList(), Collections.emptyList());
+        var counts = classDiagram.countModelElementsBySimilarityType();
+        var classesOnlyCounts = classesOnly.countModelElementsBySimilarityType();
+
+        assertThat(counts).containsEntry(UMLClass.class, 3).containsEntry(UMLRelationship.class, 3).containsEntry(UMLPackage.class, 3);
+        assertThat(UMLDiagram.similarityUpperBound(counts, classesOnlyCounts)).isEqualTo(1.0 / 3);
+        assertThat(UMLDiagram.similarityUpperBound(classesOnlyCounts, counts)).isEqualTo(1.0 / 3);
+        assertThat(UMLDiagram.similarityUpperBound(counts, Map.of())).isZero();
+    }
 }
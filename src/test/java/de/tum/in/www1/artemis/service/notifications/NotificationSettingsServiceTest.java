@@ -20,7 +20,9 @@ import de.tum.in.www1.artemis.domain.notification.GroupNotification;
 import de.tum.in.www1.artemis.domain.notification.Notification;
 import de.tum.in.www1.artemis.domain.notification.NotificationTitleTypeConstants;
 import de.tum.in.www1.artemis.repository.NotificationSettingRepository;
+import de.tum.in.www1.artemis.repository.UserRepository;
 import de.tum.in.www1.artemis.security.SecurityUtils;
+import de.tum.in.www1.artemis.util.ModelFactory;
 
 public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBambooBitbucketJiraTest {
 
@@ -30,6 +32,9 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
     @Autowired
     private NotificationSettingRepository notificationSettingRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
     private Notification notification;
 
     private User student1;
@@ -125,6 +130,29 @@ public class NotificationSettingsServiceTest extends AbstractSpringIntegrationBa
                 .as("Emails with type EXAM_ARCHIVE_STARTED should not be allowed for the given user").isFalse();
     }
 
+    /**
+     * Tests the method filterUsersWhoAllowNotificationOrEmailBySettings
+     * Users with saved notification settings are filtered based on their settings, all other users based on the default settings
+     */
+    @Test
+    public void testFilterUsersWhoAllowNotificationOrEmailBySettings() {
+        User userWithDefaultSettings = userRepository.save(ModelFactory.generateActivatedUser("student-with-default-settings"));
+        List<User> users = List.of(student1, userWithDefaultSettings);
+
+        // student1 activated the emails for attachment changes, they are deactivated by default
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(ATTACHMENT_CHANGE));
+        assertThat(notificationSettingsService.filterUsersWhoAllowNotificationOrEmailBySettings(notification, users, EMAIL)).containsExactly(student1);
+
+        // student1 deactivated the emails for archiving, they are also deactivated by default
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(EXAM_ARCHIVE_STARTED));
+        assertThat(notificationSettingsService.filterUsersWhoAllowNotificationOrEmailBySettings(notification, users, EMAIL)).isEmpty();
+
+        // emails for announcements are activated by default and student1 has not changed this setting
+        notification.setTitle(NotificationTitleTypeConstants.findCorrespondingNotificationTitle(NEW_ANNOUNCEMENT_POST));
+        assertThat(notificationSettingsService.filterUsersWhoAllowNotificationOrEmailBySettings(notification, users, EMAIL)).containsExactly(student1,
+                userWithDefaultSettings);
+    }
+
     /**
      * Tests the method checkLoadedNotificationSettingsForCorrectness with an empty input
      */
@@ -61,6 +61,7 @@ import de.tum.in.www1.artemis.repository.metis.PostRepository;
 import de.tum.in.www1.artemis.security.Role;
 import de.tum.in.www1.artemis.service.*;
 import de.tum.in.www1.artemis.service.user.PasswordService;
+import de.tum.in.www1.artemis.service.user.UserPrincipalCache;
 import de.tum.in.www1.artemis.web.rest.dto.PageableSearchDTO;
 
 /**
@@ -244,6 +245,9 @@ public class DatabaseUtilService {
     @Autowired
     private DatabaseCleanupService databaseCleanupService;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Autowired
     private AuxiliaryRepositoryRepository auxiliaryRepositoryRepository;
 
@@ -271,6 +275,8 @@ public class DatabaseUtilService {
 
     public void resetDatabase() {
         databaseCleanupService.clearDatabase();
+        // the users were deleted directly in the database
+        userPrincipalCache.invalidateAll();
     }
 
     // TODO: this should probably be moved into another service